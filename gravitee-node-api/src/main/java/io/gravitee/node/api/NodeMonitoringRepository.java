@@ -15,9 +15,11 @@
  */
 package io.gravitee.node.api;
 
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import java.util.Collection;
 
 /**
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
@@ -50,6 +52,22 @@ public interface NodeMonitoringRepository {
      */
     Single<Monitoring> update(Monitoring monitoring);
 
+    /**
+     * Creates and updates several {@link Monitoring} objects at once.
+     * The default implementation creates and updates them one by one, implementations should override it with a bulk write.
+     *
+     * @param toCreate the monitoring objects to create.
+     * @param toUpdate the monitoring objects to update.
+     *
+     * @return a {@link Completable} completing once all the monitoring objects have been written.
+     */
+    default Completable bulkCreateOrUpdate(Collection<Monitoring> toCreate, Collection<Monitoring> toUpdate) {
+        return Flowable
+            .fromIterable(toCreate)
+            .concatMapCompletable(monitoring -> create(monitoring).ignoreElement())
+            .andThen(Flowable.fromIterable(toUpdate).concatMapCompletable(monitoring -> update(monitoring).ignoreElement()));
+    }
+
     /**
      * Returns all the {@link Monitoring} objects corresponding to the specified type for the specified time frame.
      *
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking view of a {@link Cache}, meant to be used from an event loop.
+ *
+ * <p>
+ * Operations are lazy: nothing happens until the returned source is subscribed. Depending on the implementation, a source
+ * completes either inline (local caches) or on a thread owned by the cache provider (distributed caches), so callers have to
+ * switch back to their own context if they need to.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public interface AsyncCache<K, V> {
+    String getName();
+
+    /**
+     * @return a {@link Maybe} emitting the value of the key, or completing empty when the key is not in the cache.
+     */
+    Maybe<V> get(final K key);
+
+    /**
+     * @return a {@link Single} emitting the keys found in the cache with their value.
+     */
+    Single<Map<K, V>> getAll(final Collection<? extends K> keys);
+
+    Single<Boolean> containsKey(final K key);
+
+    /**
+     * @return a {@link Maybe} emitting the previous value of the key, or completing empty when there was none.
+     */
+    Maybe<V> put(final K key, final V value);
+
+    Maybe<V> put(final K key, final V value, final long ttl, final TimeUnit ttlUnit);
+
+    Completable putAll(final Map<? extends K, ? extends V> m);
+
+    /**
+     * @return a {@link Maybe} emitting the evicted value, or completing empty when the key was not in the cache.
+     */
+    Maybe<V> evict(final K key);
+
+    Completable evictAll(final Collection<? extends K> keys);
+}
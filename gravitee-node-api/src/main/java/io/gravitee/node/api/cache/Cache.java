@@ -16,6 +16,7 @@
 package io.gravitee.node.api.cache;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
@@ -38,12 +39,48 @@ public interface Cache<K, V> {
 
     V get(final K key);
 
+    /**
+     * Get the values of all the given keys at once. Implementations should fetch them in a single pass or a single round trip.
+     *
+     * @param keys the keys to look for
+     * @return a map of the keys found in the cache with their value. Missing keys are not part of the map.
+     */
+    default Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param keys the keys to look for
+     * @return <code>true</code> if all the given keys are present in the cache, <code>false</code> otherwise.
+     */
+    default boolean containsAll(final Collection<? extends K> keys) {
+        return getAll(keys).keySet().containsAll(keys);
+    }
+
     V put(final K key, final V value);
 
     V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit);
 
     void putAll(final Map<? extends K, ? extends V> m);
 
+    /**
+     * Put all the given entries with the same time to live.
+     *
+     * @param m the entries to put
+     * @param ttl the time to live of the entries
+     * @param ttlUnit the unit of the time to live
+     */
+    default void putAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        m.forEach((key, value) -> put(key, value, ttl, ttlUnit));
+    }
+
     V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
 
     V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
@@ -52,9 +89,37 @@ public interface Cache<K, V> {
 
     V evict(final K key);
 
+    /**
+     * Evict all the given keys at once.
+     *
+     * @param keys the keys to evict
+     */
+    default void evictAll(final Collection<? extends K> keys) {
+        keys.forEach(this::evict);
+    }
+
     void clear();
 
     String addCacheListener(CacheListener<K, V> listener);
 
     boolean removeCacheListener(final String listenerCacheId);
+
+    /**
+     * Get a non-blocking view of this cache. By default, operations run inline on the subscribing thread, distributed
+     * implementations override it to rely on their asynchronous operations.
+     *
+     * @return the {@link AsyncCache} view of this cache.
+     */
+    default AsyncCache<K, V> async() {
+        return new InlineAsyncCache<>(this);
+    }
+
+    /**
+     * Get the statistics of this cache. By default, only the size is known.
+     *
+     * @return a snapshot of the {@link CacheStats} of this cache.
+     */
+    default CacheStats stats() {
+        return CacheStats.builder().estimatedSize(size()).build();
+    }
 }
@@ -36,9 +36,75 @@ public class CacheConfiguration {
     @Builder.Default
     private long maxSize = -1;
 
+    /**
+     * Maximum approximate heap memory used by the entries, in bytes. When set, it takes precedence over {@link #maxSize}.
+     */
+    @Builder.Default
+    private long maxWeightBytes = -1;
+
+    /**
+     * Estimate the size of the entries when {@link #maxWeightBytes} is set, a default estimator handling strings, byte arrays and
+     * buffers is used when none is given. Distributed caches rely on the size of the serialized entries instead.
+     */
+    private Weigher<?, ?> weigher;
+
+    /**
+     * Keep the values of a standalone cache serialized in direct memory instead of the heap, only the keys and a small index entry
+     * per value stay on heap. Values must be strings, byte arrays or {@link java.io.Serializable} and {@link #maxWeightBytes} then
+     * bounds the off-heap memory used by the values. Ignored by loading caches and by the other cache plugins.
+     */
+    @Builder.Default
+    private boolean offHeap = false;
+
     @Builder.Default
     private long timeToLiveInMs = -1;
 
     @Builder.Default
     private long timeToIdleInMs = -1;
+
+    /**
+     * Age after which the value of a {@link LoadingCache} is reloaded in the background on its next read, the current value being
+     * returned until the reload completes. Ignored by the other caches.
+     */
+    @Builder.Default
+    private long refreshAfterWriteInMs = -1;
+
+    /**
+     * Record the hits, misses and load times exposed by {@link Cache#stats()}, at the cost of a few counter updates per operation.
+     */
+    @Builder.Default
+    private boolean statsEnabled = true;
+
+    /**
+     * Number of ordered lanes used to notify {@link CacheListener}s. With a single lane, all notifications of the cache are
+     * delivered in order. With more lanes, notifications are spread by key hash and only the order per key is guaranteed.
+     */
+    @Builder.Default
+    private int listenerStripes = 1;
+
+    /**
+     * Maximum number of pending {@link CacheListener} notifications per lane.
+     */
+    @Builder.Default
+    private int listenerQueueCapacity = 10_000;
+
+    /**
+     * Behavior when a lane of {@link CacheListener} notifications is full. Notifications are dropped by default so that a slow
+     * listener never blocks the writers, which may be event loop threads.
+     */
+    @Builder.Default
+    private CacheListenerBackpressure listenerBackpressure = CacheListenerBackpressure.DROP;
+
+    /**
+     * Keep a bounded local copy of the entries read from a distributed cache, invalidated when the entries change in the cluster.
+     * Ignored for caches which are not distributed.
+     */
+    @Builder.Default
+    private boolean nearCacheEnabled = false;
+
+    @Builder.Default
+    private long nearCacheMaxSize = 10_000;
+
+    @Builder.Default
+    private long nearCacheTimeToLiveInMs = -1;
 }
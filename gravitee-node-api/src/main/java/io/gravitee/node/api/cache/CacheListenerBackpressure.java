@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+/**
+ * Define how a cache behaves when the buffer of pending {@link CacheListener} notifications is full.
+ *
+ * @author GraviteeSource Team
+ */
+public enum CacheListenerBackpressure {
+    /**
+     * The notification is dropped and the writer is never slowed down. This is the default.
+     */
+    DROP,
+    /**
+     * The writer waits until some room is available in the buffer. No notification is lost, except for the writes made by the
+     * listeners themselves: they never wait, as they would wait for their own delivery, and their notification is dropped when the
+     * buffer is full. Writers running on an event loop must not opt in for this behavior.
+     */
+    BLOCK,
+    /**
+     * A notification replaces the one already pending for the same key, so listeners only observe the latest change of a key.
+     * When the buffer is full of distinct keys, the notification is dropped.
+     */
+    COALESCE,
+}
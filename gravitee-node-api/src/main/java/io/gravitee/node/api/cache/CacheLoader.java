@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Maybe;
+
+/**
+ * Compute the values of a {@link LoadingCache}.
+ *
+ * @author GraviteeSource Team
+ */
+@FunctionalInterface
+public interface CacheLoader<K, V> {
+    /**
+     * @return a {@link Maybe} emitting the value of the key, or completing empty when the key has no value.
+     */
+    Maybe<V> load(final K key);
+
+    /**
+     * Compute a new value for a key already in the cache, once its value is older than
+     * {@link CacheConfiguration#getRefreshAfterWriteInMs()}. Loads the key again by default.
+     *
+     * @return a {@link Maybe} emitting the new value of the key, or completing empty to keep the current value.
+     */
+    default Maybe<V> reload(final K key, final V oldValue) {
+        return load(key);
+    }
+}
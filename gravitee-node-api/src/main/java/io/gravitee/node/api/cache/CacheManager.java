@@ -16,6 +16,8 @@
 package io.gravitee.node.api.cache;
 
 import io.gravitee.common.service.Service;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * @author Kamiel Ahmadpour (kamiel.ahmadpour at graviteesource.com)
@@ -26,5 +28,47 @@ public interface CacheManager extends Service<CacheManager> {
 
     <K, V> Cache<K, V> getOrCreateCache(String name, CacheConfiguration configuration);
 
+    /**
+     * Get or create the cache with the given name and return its non-blocking view.
+     *
+     * @see Cache#async()
+     */
+    default <K, V> AsyncCache<K, V> getOrCreateAsyncCache(String name) {
+        return this.<K, V>getOrCreateCache(name).async();
+    }
+
+    /**
+     * Get or create the cache with the given name and configuration and return its non-blocking view.
+     *
+     * @see Cache#async()
+     */
+    default <K, V> AsyncCache<K, V> getOrCreateAsyncCache(String name, CacheConfiguration configuration) {
+        return this.<K, V>getOrCreateCache(name, configuration).async();
+    }
+
+    /**
+     * Get or create the cache with the given name and configuration, computing its missing values with the given loader.
+     * The loader of an existing cache is kept.
+     *
+     * <p>
+     * By default, the cache returned by {@link #getOrCreateCache(String, CacheConfiguration)} is decorated with the loader, which
+     * runs in the current process: each call decorates the cache with the loader it is given, concurrent loads of a key are only
+     * shared by the callers of the returned cache, and values are never reloaded after
+     * {@link CacheConfiguration#getRefreshAfterWriteInMs()}. Implementations override it to keep a single loader per cache.
+     * </p>
+     *
+     * @throws IllegalStateException if a cache which isn't a loading cache already exists with this name.
+     */
+    default <K, V> LoadingCache<K, V> getOrCreateLoadingCache(String name, CacheConfiguration configuration, CacheLoader<K, V> loader) {
+        return new InlineLoadingCache<>(this.<K, V>getOrCreateCache(name, configuration), loader);
+    }
+
     void destroy(String name);
+
+    /**
+     * @return the caches currently managed by this manager, mainly to expose their {@link Cache#stats()}.
+     */
+    default Collection<Cache<?, ?>> getCaches() {
+        return List.of();
+    }
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point in time statistics of a {@link Cache}. A statistic the implementation can't provide is {@link #UNAVAILABLE}.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class CacheStats {
+
+    public static final long UNAVAILABLE = -1;
+
+    /**
+     * Number of lookups which found a value.
+     */
+    @Builder.Default
+    private final long hitCount = UNAVAILABLE;
+
+    /**
+     * Number of lookups which didn't find any value.
+     */
+    @Builder.Default
+    private final long missCount = UNAVAILABLE;
+
+    /**
+     * Number of values written.
+     */
+    @Builder.Default
+    private final long putCount = UNAVAILABLE;
+
+    /**
+     * Number of entries removed because their time to live or time to idle elapsed.
+     */
+    @Builder.Default
+    private final long expirationCount = UNAVAILABLE;
+
+    /**
+     * Number of entries removed to keep the cache under its maximum size.
+     */
+    @Builder.Default
+    private final long sizeEvictionCount = UNAVAILABLE;
+
+    /**
+     * Number of entries removed on demand, see {@link Cache#evict(Object)}.
+     */
+    @Builder.Default
+    private final long explicitEvictionCount = UNAVAILABLE;
+
+    /**
+     * Approximate number of entries.
+     */
+    @Builder.Default
+    private final long estimatedSize = UNAVAILABLE;
+
+    /**
+     * Number of values loaded by a {@link LoadingCache}, whether the loader found a value or not.
+     */
+    @Builder.Default
+    private final long loadSuccessCount = UNAVAILABLE;
+
+    /**
+     * Number of loads of a {@link LoadingCache} which failed.
+     */
+    @Builder.Default
+    private final long loadFailureCount = UNAVAILABLE;
+
+    /**
+     * Number of background reloads which replaced a stale value of a {@link LoadingCache}.
+     */
+    @Builder.Default
+    private final long refreshCount = UNAVAILABLE;
+
+    /**
+     * Number of background reloads of a {@link LoadingCache} which failed, keeping the stale value.
+     */
+    @Builder.Default
+    private final long refreshFailureCount = UNAVAILABLE;
+
+    /**
+     * Average time spent computing the values, in nanoseconds.
+     */
+    @Builder.Default
+    private final double averageLoadPenaltyNanos = UNAVAILABLE;
+
+    /**
+     * Approximate heap memory used by the entries, in bytes.
+     */
+    @Builder.Default
+    private final long heapCost = UNAVAILABLE;
+
+    /**
+     * @return the ratio of lookups which found a value, 1 when there was no lookup yet and {@link #UNAVAILABLE} when the
+     * lookups aren't tracked.
+     */
+    public double getHitRatio() {
+        if (hitCount == UNAVAILABLE || missCount == UNAVAILABLE) {
+            return UNAVAILABLE;
+        }
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link AsyncCache} running the operations of the underlying {@link Cache} inline, on the subscribing thread.
+ * Only suitable for caches which never block, such as in-memory caches.
+ *
+ * @author GraviteeSource Team
+ */
+@RequiredArgsConstructor
+class InlineAsyncCache<K, V> implements AsyncCache<K, V> {
+
+    private final Cache<K, V> cache;
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Maybe<V> get(final K key) {
+        return Maybe.fromCallable(() -> cache.get(key));
+    }
+
+    @Override
+    public Single<Map<K, V>> getAll(final Collection<? extends K> keys) {
+        return Single.fromCallable(() -> cache.getAll(keys));
+    }
+
+    @Override
+    public Single<Boolean> containsKey(final K key) {
+        return Single.fromCallable(() -> cache.containsKey(key));
+    }
+
+    @Override
+    public Maybe<V> put(final K key, final V value) {
+        return Maybe.fromCallable(() -> cache.put(key, value));
+    }
+
+    @Override
+    public Maybe<V> put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return Maybe.fromCallable(() -> cache.put(key, value, ttl, ttlUnit));
+    }
+
+    @Override
+    public Completable putAll(final Map<? extends K, ? extends V> m) {
+        return Completable.fromRunnable(() -> cache.putAll(m));
+    }
+
+    @Override
+    public Maybe<V> evict(final K key) {
+        return Maybe.fromCallable(() -> cache.evict(key));
+    }
+
+    @Override
+    public Completable evictAll(final Collection<? extends K> keys) {
+        return Completable.fromRunnable(() -> cache.evictAll(keys));
+    }
+}
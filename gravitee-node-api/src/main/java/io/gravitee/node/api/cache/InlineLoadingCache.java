@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Maybe;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link LoadingCache} decorating a {@link Cache} with a {@link CacheLoader} running in the current process.
+ * The concurrent callers of this decorator share a single load per key, values are then stored in the underlying cache unless
+ * another value has been stored meanwhile. Values are only reloaded on {@link #refresh(Object)}.
+ *
+ * @author GraviteeSource Team
+ */
+@RequiredArgsConstructor
+class InlineLoadingCache<K, V> implements LoadingCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final CacheLoader<K, V> loader;
+    private final Map<K, Maybe<V>> loads = new ConcurrentHashMap<>();
+
+    @Override
+    public V get(final K key) {
+        return getOrLoad(key).blockingGet();
+    }
+
+    @Override
+    public Maybe<V> getOrLoad(final K key) {
+        return Maybe.defer(() -> {
+            V value = cache.get(key);
+            return value != null ? Maybe.just(value) : loads.computeIfAbsent(key, this::load);
+        });
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>(cache.getAll(keys));
+        for (K key : keys) {
+            if (!values.containsKey(key)) {
+                V value = get(key);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void refresh(final K key) {
+        V oldValue = cache.get(key);
+        Maybe<V> reload = oldValue == null ? loader.load(key) : loader.reload(key, oldValue);
+        // A failed reload keeps the current value
+        reload.onErrorComplete().subscribe(value -> cache.put(key, value));
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return cache.isEmpty();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return cache.values();
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return cache.containsKey(key);
+    }
+
+    @Override
+    public boolean containsAll(final Collection<? extends K> keys) {
+        return cache.containsAll(keys);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return cache.put(key, value);
+    }
+
+    @Override
+    public V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return cache.put(key, value, ttl, ttlUnit);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        cache.putAll(m);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        cache.putAll(m, ttl, ttlUnit);
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        return cache.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return cache.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return cache.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V evict(final K key) {
+        return cache.evict(key);
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        cache.evictAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String addCacheListener(final CacheListener<K, V> listener) {
+        return cache.addCacheListener(listener);
+    }
+
+    @Override
+    public boolean removeCacheListener(final String listenerCacheId) {
+        return cache.removeCacheListener(listenerCacheId);
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Load the value once for all the callers waiting for it, and store it unless another value has been stored meanwhile.
+     */
+    private Maybe<V> load(final K key) {
+        return Maybe
+            .defer(() -> loader.load(key))
+            .map(value -> cache.computeIfAbsent(key, k -> value))
+            .doFinally(() -> loads.remove(key))
+            .cache();
+    }
+}
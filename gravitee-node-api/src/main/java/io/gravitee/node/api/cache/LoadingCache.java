@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Maybe;
+
+/**
+ * {@link Cache} computing its missing values with a {@link CacheLoader}.
+ *
+ * <p>
+ * Concurrent lookups of a missing key share a single load. When {@link CacheConfiguration#getRefreshAfterWriteInMs()} is set,
+ * a value older than that delay keeps being returned while a single reload runs in the background and replaces it once done.
+ * A failed reload keeps the current value.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public interface LoadingCache<K, V> extends Cache<K, V> {
+    /**
+     * Get the value of the key, loading it when it isn't in the cache. The calling thread is blocked during the load, see
+     * {@link #getOrLoad(Object)} for a non-blocking variant.
+     *
+     * @return the value of the key, or <code>null</code> when the loader has no value for it.
+     */
+    @Override
+    V get(final K key);
+
+    /**
+     * @return a {@link Maybe} emitting the value of the key, loaded when it isn't in the cache, or completing empty when the
+     * loader has no value for it.
+     */
+    Maybe<V> getOrLoad(final K key);
+
+    /**
+     * Reload the value of the key in the background, the current value is returned until the reload completes.
+     */
+    void refresh(final K key);
+}
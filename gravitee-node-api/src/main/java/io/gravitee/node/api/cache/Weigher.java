@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+/**
+ * Estimate the heap memory used by an entry, for caches bounded by {@link CacheConfiguration#getMaxWeightBytes()}.
+ *
+ * @author GraviteeSource Team
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+    /**
+     * @param key the key of the entry
+     * @param value the value of the entry
+     * @return the approximate size of the entry in bytes, must not be negative
+     */
+    int weigh(K key, V value);
+}
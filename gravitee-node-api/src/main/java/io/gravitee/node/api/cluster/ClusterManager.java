@@ -16,8 +16,16 @@
 package io.gravitee.node.api.cluster;
 
 import io.gravitee.common.service.Service;
+import io.gravitee.node.api.cluster.counter.Counter;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import io.gravitee.node.api.cluster.counter.RateLimiter;
+import io.gravitee.node.api.cluster.counter.RateLimiterConfiguration;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import io.gravitee.node.api.cluster.messaging.MessagingMetrics;
 import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.ReliableTopic;
 import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
 import java.util.Set;
 
 /**
@@ -25,6 +33,11 @@ import java.util.Set;
  * @author GraviteeSource Team
  */
 public interface ClusterManager extends Service<ClusterManager> {
+    /**
+     * The leadership group led by the primary member of the cluster.
+     */
+    String PRIMARY_LEADERSHIP_GROUP = "primary";
+
     /**
      * @return the unique cluster identifier
      */
@@ -51,6 +64,80 @@ public interface ClusterManager extends Service<ClusterManager> {
      */
     void removeMemberListener(final MemberListener listener);
 
+    /**
+     * @return <code>true</code> if the local member is the primary member of the cluster, i.e. the leader of the
+     * {@link #PRIMARY_LEADERSHIP_GROUP}.
+     */
+    default boolean isLeader() {
+        return isLeader(PRIMARY_LEADERSHIP_GROUP);
+    }
+
+    /**
+     * Each leadership group is led by a single member of the cluster, elected from the current members. Different groups may be
+     * led by different members, so that singleton tasks can be spread across the cluster.
+     * @param group the name of the leadership group
+     * @return <code>true</code> if the local member is the leader of the group.
+     */
+    default boolean isLeader(final String group) {
+        return self().primary();
+    }
+
+    /**
+     * Allow to add a {@link LeadershipListener} notified when the local member gains or loses the leadership of the
+     * {@link #PRIMARY_LEADERSHIP_GROUP}.
+     * @param listener the listener to be notified
+     */
+    default void addLeadershipListener(final LeadershipListener listener) {
+        addLeadershipListener(PRIMARY_LEADERSHIP_GROUP, listener);
+    }
+
+    /**
+     * Allow to add a {@link LeadershipListener} notified when the local member gains or loses the leadership of the given group.
+     * The listener is notified right away if the local member is already the leader.
+     * <p>
+     * By default, the leadership follows {@link #isLeader(String)}, checked each time the {@link MemberListener}s are notified.
+     * </p>
+     * @param group the name of the leadership group
+     * @param listener the listener to be notified
+     */
+    default void addLeadershipListener(final String group, final LeadershipListener listener) {
+        MemberLeadershipListener memberListener = new MemberLeadershipListener(this, group, listener);
+        addMemberListener(memberListener);
+        memberListener.update();
+    }
+
+    /**
+     * Allow to remove an existing {@link LeadershipListener} of the {@link #PRIMARY_LEADERSHIP_GROUP}.
+     * @param listener the listener to be removed
+     */
+    default void removeLeadershipListener(final LeadershipListener listener) {
+        removeLeadershipListener(PRIMARY_LEADERSHIP_GROUP, listener);
+    }
+
+    /**
+     * Allow to remove an existing {@link LeadershipListener} of the given group. It won't be notified anymore.
+     * @param group the name of the leadership group
+     * @param listener the listener to be removed
+     */
+    default void removeLeadershipListener(final String group, final LeadershipListener listener) {
+        removeMemberListener(new MemberLeadershipListener(this, group, listener));
+    }
+
+    /**
+     * Register the {@link MessageCodec} used to serialize the messages of its type published to the topics and queues of the
+     * cluster. Cluster managers which don't serialize the messages, such as the standalone one, ignore the codecs.
+     * @param codec the codec to register
+     * @throws IllegalArgumentException if another codec is already registered with the same id or for the same type
+     */
+    default void registerCodec(final MessageCodec<?> codec) {}
+
+    /**
+     * Set the {@link MessagingMetrics} recording the activity of the topics and queues of the cluster. Topics and queues retrieved
+     * before may not be instrumented, so it is meant to be set before starting the cluster manager.
+     * @param messagingMetrics the metrics of the topics and queues
+     */
+    default void setMessagingMetrics(final MessagingMetrics messagingMetrics) {}
+
     /**
      * Return a {@link Topic<T>} used to publish or consume messages.
      * @param name the name used to retrieve the topic
@@ -59,6 +146,35 @@ public interface ClusterManager extends Service<ClusterManager> {
      */
     <T> Topic<T> topic(final String name);
 
+    /**
+     * Return a {@link Topic<T>} used to publish or consume messages, configured with the given {@link TopicConfiguration} the
+     * first time it is retrieved. A reliable configuration returns the {@link #reliableTopic(String, TopicConfiguration)}.
+     * @param name the name used to retrieve the topic
+     * @param configuration the configuration of the topic
+     * @return a {@link Topic<T>}
+     * @param <T> the type of content that will be published or consumed.
+     * @throws UnsupportedOperationException if a reliable topic is requested from a cluster manager which doesn't provide them
+     */
+    default <T> Topic<T> topic(final String name, final TopicConfiguration configuration) {
+        if (configuration.isReliable()) {
+            return reliableTopic(name, configuration);
+        }
+        return topic(name);
+    }
+
+    /**
+     * Return a {@link ReliableTopic<T>} retaining its last messages, configured with the given {@link TopicConfiguration} the
+     * first time it is retrieved. The reliable flag of the configuration is ignored.
+     * @param name the name used to retrieve the topic
+     * @param configuration the capacity and read batch size of the topic
+     * @return a {@link ReliableTopic<T>}
+     * @param <T> the type of content that will be published or consumed.
+     * @throws UnsupportedOperationException if this cluster manager doesn't provide reliable topics
+     */
+    default <T> ReliableTopic<T> reliableTopic(final String name, final TopicConfiguration configuration) {
+        throw new UnsupportedOperationException("Reliable topics are not supported by this cluster manager");
+    }
+
     /**
      * Return a {@link Queue <T>} used to send or consume messages.
      * @param name the name used to retrieve the queue
@@ -66,4 +182,46 @@ public interface ClusterManager extends Service<ClusterManager> {
      * @param <T> the type of content that will be published or consumed.
      */
     <T> Queue<T> queue(final String name);
+
+    /**
+     * Return a {@link Counter} shared by the members of the cluster, batching its updates with the default
+     * {@link CounterConfiguration}.
+     * @param name the name used to retrieve the counter
+     * @return a {@link Counter}
+     */
+    default Counter counter(final String name) {
+        return counter(name, CounterConfiguration.builder().build());
+    }
+
+    /**
+     * Return a {@link Counter} shared by the members of the cluster, configured with the given {@link CounterConfiguration} the first
+     * time it is retrieved. A cluster manager running a single member keeps it in memory.
+     * @param name the name used to retrieve the counter
+     * @param configuration the batching of the updates of the counter
+     * @return a {@link Counter}
+     */
+    Counter counter(final String name, final CounterConfiguration configuration);
+
+    /**
+     * Release the local resources of a counter which isn't used anymore, after applying its pending updates. The value shared by
+     * the members of the cluster is kept. Retrieving the counter again creates a new one.
+     * @param name the name of the counter
+     */
+    void releaseCounter(final String name);
+
+    /**
+     * Return a {@link RateLimiter} shared by the members of the cluster, configured with the given {@link RateLimiterConfiguration}
+     * the first time it is retrieved. A cluster manager running a single member keeps it in memory.
+     * @param name the name used to retrieve the rate limiter
+     * @param configuration the limit and period of the rate limiter
+     * @return a {@link RateLimiter}
+     */
+    RateLimiter rateLimiter(final String name, final RateLimiterConfiguration configuration);
+
+    /**
+     * Release the local resources of a rate limiter which isn't used anymore, after applying its pending updates. Retrieving the
+     * rate limiter again creates a new one.
+     * @param name the name of the rate limiter
+     */
+    void releaseRateLimiter(final String name);
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Spread keys, e.g. the identifiers of the jobs to run, across the members of the cluster. Each key is owned by a single member
+ * and all the members agree on the owner of a key from the same membership, so that a workload can be shared by the members
+ * without any coordination and scales with the size of the cluster.
+ *
+ * <p>
+ * Keys are moved as little as possible when a member joins or leaves the cluster. The keys to watch must be tracked so that the
+ * {@link OwnershipListener}s are notified of the keys gained or lost by the local member.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public interface ClusterPartitioner {
+    /**
+     * @param key the key to look up
+     * @return the member currently owning the given key.
+     */
+    Member owner(final String key);
+
+    /**
+     * @param key the key to look up
+     * @return <code>true</code> if the given key is currently owned by the local member.
+     */
+    boolean isOwner(final String key);
+
+    /**
+     * @return the tracked keys currently owned by the local member.
+     */
+    Set<String> ownedKeys();
+
+    /**
+     * Start watching the ownership of the given keys. The {@link OwnershipListener}s are notified right away of the keys owned by
+     * the local member, then each time the local member gains or loses some of them.
+     * @param keys the keys to track
+     */
+    void track(final Collection<String> keys);
+
+    /**
+     * Stop watching the ownership of the given keys. The {@link OwnershipListener}s are notified of the loss of the keys which were
+     * owned by the local member.
+     * @param keys the keys to untrack
+     */
+    void untrack(final Collection<String> keys);
+
+    /**
+     * Allow to add an {@link OwnershipListener} notified when the local member gains or loses tracked keys. The listener is notified
+     * right away of the tracked keys already owned by the local member.
+     * @param listener the listener to be notified
+     */
+    void addOwnershipListener(final OwnershipListener listener);
+
+    /**
+     * Allow to remove an existing {@link OwnershipListener}. It won't be notified anymore.
+     * @param listener the listener to be removed
+     */
+    void removeOwnershipListener(final OwnershipListener listener);
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster;
+
+/**
+ * Notified when the local member gains or loses the leadership of a group, see {@link ClusterManager#addLeadershipListener}.
+ *
+ * @author GraviteeSource Team
+ */
+public interface LeadershipListener {
+    /**
+     * The local member is now the leader of the group. Also called on registration if the local member already leads the group.
+     * @param group the name of the leadership group
+     */
+    void onElected(final String group);
+
+    /**
+     * The local member is no longer the leader of the group.
+     * @param group the name of the leadership group
+     */
+    void onRevoked(final String group);
+}
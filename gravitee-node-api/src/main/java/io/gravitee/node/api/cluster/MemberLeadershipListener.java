@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link MemberListener} notifying a {@link LeadershipListener} when {@link ClusterManager#isLeader(String)} changes, for the
+ * cluster managers which don't track the leadership of the groups themselves.
+ *
+ * <p>
+ * Two instances are equal when they notify the same listener about the same group, so that a listener can be removed with a new
+ * instance.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+final class MemberLeadershipListener implements MemberListener {
+
+    private final ClusterManager clusterManager;
+    private final String group;
+    private final LeadershipListener listener;
+    private final AtomicBoolean leader = new AtomicBoolean();
+
+    MemberLeadershipListener(final ClusterManager clusterManager, final String group, final LeadershipListener listener) {
+        this.clusterManager = clusterManager;
+        this.group = group;
+        this.listener = listener;
+    }
+
+    @Override
+    public void onMemberAdded(final Member member) {
+        update();
+    }
+
+    @Override
+    public void onMemberRemoved(final Member member) {
+        update();
+    }
+
+    @Override
+    public void onPrimaryChanged(final Member primary) {
+        update();
+    }
+
+    /**
+     * Notify the listener if the leadership of the local member changed since the last update.
+     */
+    void update() {
+        boolean elected = clusterManager.isLeader(group);
+        if (leader.compareAndSet(!elected, elected)) {
+            if (elected) {
+                listener.onElected(group);
+            } else {
+                listener.onRevoked(group);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MemberLeadershipListener that)) {
+            return false;
+        }
+        return clusterManager == that.clusterManager && group.equals(that.group) && listener.equals(that.listener);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(clusterManager), group, listener);
+    }
+}
@@ -23,4 +23,10 @@ public interface MemberListener {
     void onMemberAdded(final Member member);
 
     void onMemberRemoved(final Member member);
+
+    /**
+     * Notified when another member becomes the primary member of the cluster, e.g. because the previous one left.
+     * @param primary the new primary member
+     */
+    default void onPrimaryChanged(final Member primary) {}
 }
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster;
+
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+public interface OwnershipListener {
+    /**
+     * The local member now owns the given keys.
+     * @param keys the keys gained by the local member
+     */
+    void onKeysGained(final Set<String> keys);
+
+    /**
+     * The local member no longer owns the given keys, they are now handled by other members.
+     * @param keys the keys lost by the local member
+     */
+    void onKeysLost(final Set<String> keys);
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+/**
+ * Counter shared by the members of the cluster, e.g. to count the requests of a quota.
+ *
+ * <p>
+ * Implementations may batch the updates locally and apply them to the cluster periodically, as configured by the
+ * {@link CounterConfiguration}, to avoid a network round trip per update. The value returned by {@link #get()} is then the last
+ * value known from the cluster plus the local updates, which doesn't include the updates of the other members not applied yet.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public interface Counter {
+    /**
+     * @return the name of the counter
+     */
+    String name();
+
+    /**
+     * Add the given delta, which may be negative, to the counter.
+     * @param delta the value to add
+     */
+    void add(final long delta);
+
+    default void increment() {
+        add(1);
+    }
+
+    default void decrement() {
+        add(-1);
+    }
+
+    /**
+     * @return the current value of the counter as known by the local member.
+     */
+    long get();
+
+    /**
+     * Apply the local updates to the cluster and refresh the value known by the local member. Blocks until done, so it must not be
+     * called from an event loop.
+     */
+    void flush();
+}
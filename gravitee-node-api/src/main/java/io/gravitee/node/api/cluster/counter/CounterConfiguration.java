@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Trade the accuracy of a {@link Counter} against the latency of its updates. Local updates are applied to the cluster every
+ * {@link #flushIntervalInMs} or as soon as {@link #flushThreshold} updates are pending, whichever comes first. A threshold of 1
+ * applies each update right away, at the cost of a network round trip per update.
+ *
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class CounterConfiguration {
+
+    @Builder.Default
+    private long flushIntervalInMs = 100;
+
+    @Builder.Default
+    private int flushThreshold = 100;
+
+    /**
+     * Keep the value in a linearizable atomic long rather than in a conflict-free replicated counter. Strongly consistent counters
+     * are slower to update and rely on the CP subsystem of the cluster when it is enabled.
+     */
+    @Builder.Default
+    private boolean strongConsistency = false;
+}
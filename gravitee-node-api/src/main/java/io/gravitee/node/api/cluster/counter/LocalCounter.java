@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link Counter} kept in the memory of the local member, for the cluster managers without distributed counters such as the
+ * standalone one. The local value is the value of the counter so there is nothing to batch or flush.
+ *
+ * @author GraviteeSource Team
+ */
+@RequiredArgsConstructor
+public class LocalCounter implements Counter {
+
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void add(final long delta) {
+        value.add(delta);
+    }
+
+    @Override
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void flush() {
+        // Nothing to flush, updates are applied right away
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free fixed window {@link RateLimiter} kept in the memory of the local member, for the cluster managers without distributed
+ * counters such as the standalone one. Permits are acquired with a compare-and-set on the usage of
+ * the current window, which is replaced by a new one when the period elapses.
+ *
+ * @author GraviteeSource Team
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final String name;
+    private final long limit;
+    private final long periodInMs;
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window(-1));
+
+    public LocalRateLimiter(final String name, final RateLimiterConfiguration configuration) {
+        this.name = name;
+        this.limit = configuration.getLimit();
+        this.periodInMs = Math.max(1, configuration.getPeriodInMs());
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean tryAcquire(final long permits) {
+        AtomicLong used = window().used;
+        long current;
+        do {
+            current = used.get();
+            if (current + permits > limit) {
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + permits));
+        return true;
+    }
+
+    @Override
+    public long availablePermits() {
+        return Math.max(0, limit - window().used.get());
+    }
+
+    private Window window() {
+        long index = System.currentTimeMillis() / periodInMs;
+        Window current = window.get();
+        while (current.index < index) {
+            // Losing the race means another thread already started the window, use the one it installed.
+            Window next = new Window(index);
+            if (window.compareAndSet(current, next)) {
+                return next;
+            }
+            current = window.get();
+        }
+        return current;
+    }
+
+    private record Window(long index, AtomicLong used) {
+        private Window(final long index) {
+            this(index, new AtomicLong());
+        }
+    }
+}
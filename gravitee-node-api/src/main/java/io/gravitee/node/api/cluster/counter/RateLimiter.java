@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+/**
+ * Limit the number of permits acquired across the cluster during fixed time windows.
+ *
+ * <p>
+ * Implementations batching the updates of their counters, as configured by the {@link CounterConfiguration} of the
+ * {@link RateLimiterConfiguration}, decide locally from the last usage known from the cluster. The members may then acquire
+ * together slightly more permits than the limit, up to the updates not applied yet to the cluster.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public interface RateLimiter {
+    /**
+     * @return the name of the rate limiter
+     */
+    String name();
+
+    default boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Acquire the given number of permits if they are available in the current window.
+     * @param permits the number of permits to acquire
+     * @return <code>true</code> if the permits have been acquired, <code>false</code> if the limit would be exceeded.
+     */
+    boolean tryAcquire(final long permits);
+
+    /**
+     * @return the number of permits still available in the current window, as known by the local member.
+     */
+    long availablePermits();
+}
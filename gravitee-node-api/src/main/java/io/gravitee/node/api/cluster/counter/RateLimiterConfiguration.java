@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class RateLimiterConfiguration {
+
+    /**
+     * Number of permits which can be acquired during a period.
+     */
+    private long limit;
+
+    /**
+     * Duration of the fixed windows in which the permits are counted, aligned on the epoch.
+     */
+    @Builder.Default
+    private long periodInMs = 1000;
+
+    /**
+     * Batching of the updates of the counter of the current window.
+     */
+    @Builder.Default
+    private CounterConfiguration counter = CounterConfiguration.builder().build();
+}
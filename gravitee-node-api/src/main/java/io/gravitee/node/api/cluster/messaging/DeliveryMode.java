@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+/**
+ * Thread on which the messages of a subscription are delivered to its {@link MessageListener}. Cluster managers delivering the
+ * messages on their own threads ignore it.
+ *
+ * @author GraviteeSource Team
+ */
+public enum DeliveryMode {
+    /**
+     * Deliver the messages inline, on the event loop receiving them. Only suitable for listeners which never block.
+     */
+    EVENT_LOOP,
+    /**
+     * Deliver the messages in order on the worker pool, by batches when they arrive faster than they are processed.
+     */
+    WORKER_ORDERED,
+    /**
+     * Deliver the messages on the worker pool, by batches processed in parallel when they arrive faster than they are processed.
+     */
+    WORKER_UNORDERED,
+    /**
+     * Deliver the messages as {@link #WORKER_UNORDERED} but on virtual threads, falling back to the worker pool on runtimes without
+     * virtual threads.
+     */
+    VIRTUAL_THREAD,
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+/**
+ * Record the activity of a single {@link Topic} or {@link Queue}. Called on the publishing and consuming paths, implementations
+ * must be thread safe and cheap.
+ *
+ * @author GraviteeSource Team
+ */
+public interface DestinationMetrics {
+    /**
+     * Size given for the messages which are not serialized by the implementation or whose serialized size is not known.
+     */
+    long UNKNOWN_SIZE = -1;
+
+    DestinationMetrics NOOP = new DestinationMetrics() {};
+
+    /**
+     * @param payloadBytes the serialized size of the published message, or {@link #UNKNOWN_SIZE}
+     */
+    default void published(final long payloadBytes) {}
+
+    /**
+     * @param payloadBytes the serialized size of the received message, or {@link #UNKNOWN_SIZE}
+     */
+    default void received(final long payloadBytes) {}
+
+    /**
+     * @param durationNanos the time spent by a {@link MessageListener} on a message
+     * @param failed <code>true</code> if the listener threw an exception
+     */
+    default void processed(final long durationNanos, final boolean failed) {}
+}
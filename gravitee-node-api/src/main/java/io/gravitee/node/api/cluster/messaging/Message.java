@@ -29,6 +29,8 @@ import lombok.experimental.Accessors;
 @Accessors(fluent = true)
 public class Message<T> {
 
+    public static final long NO_SEQUENCE = -1;
+
     /**
      * Could be either a topic or queue name
      */
@@ -39,4 +41,13 @@ public class Message<T> {
      * Actual message content
      */
     private final T content;
+
+    /**
+     * Position of the message in a reliable topic, {@link #NO_SEQUENCE} for the other destinations
+     */
+    private final long sequence;
+
+    public Message(@NonNull final String destination, final T content) {
+        this(destination, content, NO_SEQUENCE);
+    }
 }
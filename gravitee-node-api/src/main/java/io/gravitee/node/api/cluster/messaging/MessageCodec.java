@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary codec of the messages of a given type, used by the cluster managers serializing the messages published to the
+ * {@link Topic}s and {@link Queue}s instead of their default serialization, usually Java serialization.
+ *
+ * <p>
+ * A codec must be registered with {@link io.gravitee.node.api.cluster.ClusterManager#registerCodec(MessageCodec)} on all the
+ * members publishing or consuming the type. Encoded messages are tagged with the {@link #id()} of the codec, which must therefore be
+ * unique and stable across the versions of the members.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public interface MessageCodec<T> {
+    /**
+     * @return the identifier of the codec written along with the encoded messages.
+     */
+    int id();
+
+    /**
+     * @return the type of the messages handled by this codec. Subtypes are not handled and keep the default serialization.
+     */
+    Class<T> type();
+
+    void encode(final T message, final DataOutput output) throws IOException;
+
+    T decode(final DataInput input) throws IOException;
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Provide the {@link DestinationMetrics} of the topics and queues of a {@link io.gravitee.node.api.cluster.ClusterManager}, e.g. to
+ * expose them as meters of a metrics registry.
+ *
+ * @author GraviteeSource Team
+ */
+public interface MessagingMetrics {
+    MessagingMetrics NOOP = new MessagingMetrics() {};
+
+    /**
+     * @param name the name of the topic
+     * @return the metrics of the topic, which may be retrieved several times for the same topic.
+     */
+    default DestinationMetrics topic(final String name) {
+        return DestinationMetrics.NOOP;
+    }
+
+    /**
+     * @param name the name of the queue
+     * @param depth the number of messages waiting to be consumed, which may be costly to compute and must only be read on demand
+     * @return the metrics of the queue, which may be retrieved several times for the same queue.
+     */
+    default DestinationMetrics queue(final String name, final LongSupplier depth) {
+        return DestinationMetrics.NOOP;
+    }
+}
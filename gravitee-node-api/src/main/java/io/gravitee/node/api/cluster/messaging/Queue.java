@@ -15,6 +15,10 @@
  */
 package io.gravitee.node.api.cluster.messaging;
 
+import io.reactivex.rxjava3.core.Completable;
+import java.util.Collection;
+import java.util.Optional;
+
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
@@ -27,6 +31,16 @@ public interface Queue<T> {
      */
     void add(T item);
 
+    /**
+     * Publish several messages on the current queue, in order, without blocking the caller
+     * @param items the items to send
+     * @return a {@link Completable} adding the items when subscribed and completing once they have been added, or failing with an
+     * {@link IllegalStateException} if they cannot be added at this time due to capacity restrictions.
+     */
+    default Completable addAllAsync(final Collection<? extends T> items) {
+        return Completable.fromRunnable(() -> items.forEach(this::add));
+    }
+
     /**
      * Add a new listener on this queue. The given listener will be notified on any new message on the queue.
      * @param messageListener the listener to notify
@@ -34,10 +48,30 @@ public interface Queue<T> {
      */
     String addMessageListener(final MessageListener<T> messageListener);
 
+    /**
+     * Add a new listener on this queue, consuming the messages as configured. Implementations which can't be tuned ignore the
+     * configuration.
+     * @param messageListener the listener to notify
+     * @param configuration the concurrency and batching of the consumer
+     * @return the subscription identifier. Could be used to remove this listener.
+     */
+    default String addMessageListener(final MessageListener<T> messageListener, final QueueConsumerConfiguration configuration) {
+        return addMessageListener(messageListener);
+    }
+
     /**
      * Remove a listener on this queue from its subscription id.
      * @param subscriptionId the subscription id used to remove the listener
      * @return <code>true</code> if any listener has been removed, <code>false</code> otherwise.
      */
     boolean removeMessageListener(final String subscriptionId);
+
+    /**
+     * Get the statistics of a listener of this queue.
+     * @param subscriptionId the subscription id of the listener
+     * @return a snapshot of the {@link QueueConsumerStats} of the listener, or empty if unknown or not tracked by the implementation.
+     */
+    default Optional<QueueConsumerStats> consumerStats(final String subscriptionId) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tune how the messages of a {@link Queue} are consumed by a {@link MessageListener}.
+ *
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class QueueConsumerConfiguration {
+
+    /**
+     * Maximum number of messages processed in parallel by the listener. With a single one, the listener receives the messages of
+     * the queue in order.
+     */
+    @Builder.Default
+    private int concurrency = 1;
+
+    /**
+     * Maximum number of messages taken from the queue at once. Batches grow up to this size while the queue has a backlog and
+     * shrink back when it is drained.
+     */
+    @Builder.Default
+    private int maxBatchSize = 100;
+
+    /**
+     * Interval at which an idle consumer checks the queue for messages it may not have been notified of, in milliseconds.
+     */
+    @Builder.Default
+    private long idleCheckIntervalInMs = 1000;
+
+    /**
+     * Thread on which the messages are delivered, for the implementations delivering them on the threads of the node. Messages are
+     * delivered in order on the worker pool by default.
+     */
+    @Builder.Default
+    private DeliveryMode deliveryMode = DeliveryMode.WORKER_ORDERED;
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point in time statistics of a listener consuming a {@link Queue}.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+@Builder
+@ToString
+public class QueueConsumerStats {
+
+    /**
+     * Number of messages waiting in the queue.
+     */
+    private final long lag;
+
+    /**
+     * Number of messages given to the listener.
+     */
+    private final long consumedCount;
+
+    /**
+     * Number of messages for which the listener threw an exception.
+     */
+    private final long failureCount;
+
+    /**
+     * Number of batches taken from the queue.
+     */
+    private final long batchCount;
+
+    /**
+     * Average time spent by the listener on a message, in nanoseconds.
+     */
+    private final double averageProcessingTimeNanos;
+
+    /**
+     * @return the average number of messages taken from the queue at once.
+     */
+    public double getAverageBatchSize() {
+        return batchCount == 0 ? 0 : (double) consumedCount / batchCount;
+    }
+}
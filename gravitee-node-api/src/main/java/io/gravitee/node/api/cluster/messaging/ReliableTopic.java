@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+/**
+ * {@link Topic} retaining its last messages, so that its listeners can replay them from a sequence.
+ *
+ * @author GraviteeSource Team
+ */
+public interface ReliableTopic<T> extends Topic<T> {
+    /**
+     * Add a new listener on this topic, replaying the messages still retained by the topic from the given sequence.
+     * A listener resuming after the last message it processed should start from {@link Message#sequence()} + 1.
+     * @param messageListener the listener to notify
+     * @param fromSequence the sequence of the first message to deliver. The oldest retained message is delivered first if that
+     * sequence is no longer retained.
+     * @return the subscription identifier. Could be used to remove this listener.
+     */
+    String addMessageListener(final MessageListener<T> messageListener, final long fromSequence);
+}
@@ -15,6 +15,9 @@
  */
 package io.gravitee.node.api.cluster.messaging;
 
+import io.reactivex.rxjava3.core.Completable;
+import java.util.Collection;
+
 /**
  * @author Kamiel Ahmadpour (kamiel.ahmadpour at graviteesource.com)
  * @author GraviteeSource Team
@@ -26,6 +29,23 @@ public interface Topic<T> {
      */
     void publish(T event);
 
+    /**
+     * Publish several events on the current topic, in order
+     * @param events the events to publish
+     */
+    default void publishAll(final Collection<? extends T> events) {
+        events.forEach(this::publish);
+    }
+
+    /**
+     * Publish a new event on the current topic without blocking the caller
+     * @param event the event to publish
+     * @return a {@link Completable} publishing the event when subscribed and completing once it has been published.
+     */
+    default Completable publishAsync(final T event) {
+        return Completable.fromRunnable(() -> publish(event));
+    }
+
     /**
      * Add a new listener on this topic. The given listener will be notified on any new message on the topic.
      * @param messageListener the listener to notify
@@ -33,6 +53,17 @@ public interface Topic<T> {
      */
     String addMessageListener(final MessageListener<T> messageListener);
 
+    /**
+     * Add a new listener on this topic, notified on the threads of the given {@link DeliveryMode}. Implementations which deliver
+     * the messages on their own threads ignore the delivery mode.
+     * @param messageListener the listener to notify
+     * @param deliveryMode the threads on which the listener is notified
+     * @return the subscription identifier. Could be used to remove this listener.
+     */
+    default String addMessageListener(final MessageListener<T> messageListener, final DeliveryMode deliveryMode) {
+        return addMessageListener(messageListener);
+    }
+
     /**
      * Remove a listener on this topic from its subscription id.
      * @param subscriptionId the subscription id used to remove the listener
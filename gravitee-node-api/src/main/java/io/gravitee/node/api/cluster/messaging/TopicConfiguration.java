@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class TopicConfiguration {
+
+    /**
+     * Retain the last messages of the topic in a ring buffer. Listeners read the buffer at their own pace, so a slow or briefly
+     * disconnected listener catches up instead of losing messages, and can replay the retained messages from a sequence.
+     */
+    @Builder.Default
+    private boolean reliable = false;
+
+    /**
+     * Number of messages retained by a reliable topic. A listener lagging further behind skips to the oldest retained message.
+     */
+    @Builder.Default
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of messages read from the ring buffer at once by a listener of a reliable topic.
+     */
+    @Builder.Default
+    private int readBatchSize = 10;
+}
@@ -23,6 +23,12 @@ import java.io.Serializable;
  */
 public class Result implements Serializable {
 
+    /**
+     * The identifier computed for the class before it carried the evaluation information, so previously serialized results remain
+     * readable.
+     */
+    private static final long serialVersionUID = 759266843390309860L;
+
     private static final Result HEALTHY = new Result(true, null);
     private static final Result NOT_READY = new Result(false, "not ready");
 
@@ -30,15 +36,22 @@ public class Result implements Serializable {
 
     private final boolean healthy;
     private final String message;
+    private final Long evaluatedAt;
+    private final Long durationMs;
 
     public Result() {
-        this.healthy = true;
-        this.message = null;
+        this(true, null);
     }
 
     protected Result(boolean isHealthy, String message) {
+        this(isHealthy, message, null, null);
+    }
+
+    protected Result(boolean isHealthy, String message, Long evaluatedAt, Long durationMs) {
         this.healthy = isHealthy;
         this.message = message;
+        this.evaluatedAt = evaluatedAt;
+        this.durationMs = durationMs;
     }
 
     public static Result unhealthy(Throwable error) {
@@ -77,6 +90,31 @@ public class Result implements Serializable {
         return message;
     }
 
+    /**
+     * @return the time at which the evaluation of the probe started, in milliseconds since epoch, or <code>null</code> if unknown.
+     */
+    public Long getEvaluatedAt() {
+        return evaluatedAt;
+    }
+
+    /**
+     * @return the time the evaluation of the probe took, in milliseconds, or <code>null</code> if unknown.
+     */
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Returns a copy of this result carrying the given evaluation information.
+     *
+     * @param evaluatedAt the time at which the evaluation of the probe started, in milliseconds since epoch.
+     * @param durationMs the time the evaluation of the probe took, in milliseconds.
+     * @return a copy of this result with the given evaluation information.
+     */
+    public Result withEvaluation(long evaluatedAt, long durationMs) {
+        return new Result(healthy, message, evaluatedAt, durationMs);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -103,6 +141,9 @@ public class Result implements Serializable {
         if (message != null) {
             builder.append(", message=").append(message);
         }
+        if (durationMs != null) {
+            builder.append(", durationMs=").append(durationMs);
+        }
         builder.append('}');
         return builder.toString();
     }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class InlineLoadingCacheTest {
+
+    private static final String TEST_KEY = "key1";
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private Cache<String, String> cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void beforeEach() {
+        cache = mock(Cache.class);
+        when(cache.get(any())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(cache.put(any(), any())).thenAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)));
+        when(cache.computeIfAbsent(any(), any()))
+            .thenAnswer(invocation ->
+                values.computeIfAbsent(invocation.getArgument(0), invocation.<Function<String, String>>getArgument(1))
+            );
+    }
+
+    @Test
+    void should_load_missing_key_once_for_concurrent_callers() {
+        LoadingCache<String, String> loadingCache = new InlineLoadingCache<>(
+            cache,
+            key -> Maybe.fromCallable(() -> key + "-" + loadCount.incrementAndGet()).delay(100, TimeUnit.MILLISECONDS)
+        );
+
+        List<String> loaded = Observable.range(0, 10).flatMapMaybe(i -> loadingCache.getOrLoad(TEST_KEY)).toList().blockingGet();
+
+        assertThat(loaded).hasSize(10).containsOnly(TEST_KEY + "-1");
+        assertThat(values).containsExactly(Map.entry(TEST_KEY, TEST_KEY + "-1"));
+        assertThat(loadingCache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    void should_keep_value_stored_while_loading() {
+        LoadingCache<String, String> loadingCache = new InlineLoadingCache<>(
+            cache,
+            key ->
+                Maybe.fromCallable(() -> {
+                    values.put(key, "stored");
+                    return "loaded";
+                })
+        );
+
+        assertThat(loadingCache.get(TEST_KEY)).isEqualTo("stored");
+        assertThat(values).containsExactly(Map.entry(TEST_KEY, "stored"));
+    }
+
+    @Test
+    void should_not_store_anything_when_loader_has_no_value() {
+        LoadingCache<String, String> loadingCache = new InlineLoadingCache<>(cache, key -> Maybe.empty());
+
+        assertThat(loadingCache.get(TEST_KEY)).isNull();
+        assertThat(values).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ClusterManagerTest {
+
+    private final Set<MemberListener> memberListeners = new CopyOnWriteArraySet<>();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final LeadershipListener leadershipListener = new LeadershipListener() {
+        @Override
+        public void onElected(final String group) {
+            events.add("elected " + group);
+        }
+
+        @Override
+        public void onRevoked(final String group) {
+            events.add("revoked " + group);
+        }
+    };
+    private Member self;
+    private ClusterManager cut;
+
+    @BeforeEach
+    void beforeEach() {
+        self = mock(Member.class);
+        cut = mock(ClusterManager.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+        doAnswer(invocation -> self).when(cut).self();
+        doAnswer(invocation -> memberListeners.add(invocation.getArgument(0))).when(cut).addMemberListener(any());
+        doAnswer(invocation -> memberListeners.remove(invocation.<MemberListener>getArgument(0))).when(cut).removeMemberListener(any());
+    }
+
+    @Test
+    void should_notify_leadership_listener_right_away_when_already_leader() {
+        when(self.primary()).thenReturn(true);
+
+        cut.addLeadershipListener(leadershipListener);
+
+        assertThat(events).containsExactly("elected " + ClusterManager.PRIMARY_LEADERSHIP_GROUP);
+    }
+
+    @Test
+    void should_notify_leadership_listener_when_primary_changes() {
+        cut.addLeadershipListener("group", leadershipListener);
+        assertThat(events).isEmpty();
+
+        when(self.primary()).thenReturn(true);
+        memberListeners.forEach(listener -> listener.onPrimaryChanged(self));
+        memberListeners.forEach(listener -> listener.onMemberAdded(mock(Member.class)));
+        when(self.primary()).thenReturn(false);
+        memberListeners.forEach(listener -> listener.onPrimaryChanged(mock(Member.class)));
+
+        assertThat(events).containsExactly("elected group", "revoked group");
+    }
+
+    @Test
+    void should_remove_leadership_listener() {
+        cut.addLeadershipListener("group", leadershipListener);
+
+        cut.removeLeadershipListener("group", leadershipListener);
+
+        assertThat(memberListeners).isEmpty();
+    }
+}
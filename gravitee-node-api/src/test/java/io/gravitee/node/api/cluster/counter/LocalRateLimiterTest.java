@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LocalRateLimiterTest {
+
+    @Test
+    void should_not_grant_more_permits_than_the_limit() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter("test", configuration(10, 60_000));
+
+        assertThat(rateLimiter.tryAcquire(9)).isTrue();
+        assertThat(rateLimiter.tryAcquire(2)).isFalse();
+        assertThat(rateLimiter.availablePermits()).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void should_grant_exactly_the_limit_to_concurrent_callers() throws InterruptedException {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter("test", configuration(1000, 60_000));
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 500; j++) {
+                    if (rateLimiter.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted).hasValue(1000);
+    }
+
+    @Test
+    void should_grant_permits_again_in_the_next_window() throws InterruptedException {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter("test", configuration(10, 100));
+
+        while (rateLimiter.tryAcquire()) {
+            // Exhaust the current window
+        }
+
+        // The next window starts at most one period later
+        Thread.sleep(150);
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+    }
+
+    private static RateLimiterConfiguration configuration(final long limit, final long periodInMs) {
+        return RateLimiterConfiguration.builder().limit(limit).periodInMs(periodInMs).build();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import io.gravitee.node.plugin.cache.hazelcast.HazelcastCacheManager;
+import io.gravitee.node.plugin.cache.standalone.StandaloneCache;
+
+/**
+ * {@link Cache} implementations covered by the benchmarks.
+ *
+ * @author GraviteeSource Team
+ */
+public enum CacheBackend {
+    IN_MEMORY {
+        @Override
+        <K, V> Cache<K, V> create(final String name, final CacheConfiguration configuration) {
+            return new InMemoryCache<>(name, configuration);
+        }
+    },
+    STANDALONE {
+        @Override
+        <K, V> Cache<K, V> create(final String name, final CacheConfiguration configuration) {
+            return new StandaloneCache<>(name, configuration);
+        }
+    },
+    /**
+     * Distributed cache of an embedded single member cluster, so it measures the serialization and partition overhead
+     * without any network hop.
+     */
+    HAZELCAST {
+        @Override
+        <K, V> Cache<K, V> create(final String name, final CacheConfiguration configuration) {
+            if (hazelcastInstance == null) {
+                hazelcastInstance = Hazelcast.newHazelcastInstance(embeddedConfig());
+            }
+            CacheConfiguration distributedConfiguration = CacheConfiguration
+                .builder()
+                .distributed(true)
+                .maxSize(configuration.getMaxSize())
+                .timeToLiveInMs(configuration.getTimeToLiveInMs())
+                .timeToIdleInMs(configuration.getTimeToIdleInMs())
+                .build();
+            return new HazelcastCacheManager(hazelcastInstance).getOrCreateCache(name, distributedConfiguration);
+        }
+
+        @Override
+        void shutdown() {
+            if (hazelcastInstance != null) {
+                hazelcastInstance.shutdown();
+                hazelcastInstance = null;
+            }
+        }
+    };
+
+    private static HazelcastInstance hazelcastInstance;
+
+    abstract <K, V> Cache<K, V> create(String name, CacheConfiguration configuration);
+
+    /**
+     * Release the resources held by the backend once the trial is over.
+     */
+    void shutdown() {}
+
+    private static Config embeddedConfig() {
+        Config config = new Config();
+        config.setClusterName("gio-cache-benchmarks");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.setProperty("hazelcast.logging.type", "none");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        return config;
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the cache benchmarks with an increasing number of threads, from 1 to the number of available processors, and export
+ * the results of each run as JSON so they can be compared from one release to another.
+ *
+ * <pre>
+ * java -cp gravitee-node-cache-benchmarks/target/benchmarks.jar io.gravitee.node.plugin.cache.benchmarks.CacheBenchmarkRunner \
+ *     [JMH options, e.g. CacheOperationsBenchmark -p backend=IN_MEMORY]
+ * </pre>
+ *
+ * The results are written to the directory given by the <code>benchmarks.results.dir</code> system property,
+ * <code>target/jmh-results</code> by default, one <code>cache-&lt;threads&gt;-threads.json</code> file per thread count.
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheBenchmarkRunner {
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        File resultsDir = new File(System.getProperty("benchmarks.results.dir", "target/jmh-results"));
+        if (!resultsDir.isDirectory() && !resultsDir.mkdirs()) {
+            throw new IllegalStateException("Unable to create the results directory " + resultsDir);
+        }
+
+        for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+            OptionsBuilder builder = new OptionsBuilder();
+            builder.parent(commandLineOptions);
+            if (commandLineOptions.getIncludes().isEmpty()) {
+                builder
+                    .include(CacheOperationsBenchmark.class.getSimpleName())
+                    .include(CacheMixedWorkloadBenchmark.class.getSimpleName());
+            }
+            Options options = builder
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(resultsDir, "cache-" + threads + "-threads.json").getPath())
+                .build();
+            new Runner(options).run();
+        }
+    }
+
+    /**
+     * @return 1, 2, 4... up to the given number of processors, which is always included.
+     */
+    static List<Integer> threadCounts(final int processors) {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+        return threadCounts;
+    }
+}
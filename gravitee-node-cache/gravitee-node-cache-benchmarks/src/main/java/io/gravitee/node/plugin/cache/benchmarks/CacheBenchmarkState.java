@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cache shared by all the threads of a trial, pre-populated with {@link #KEY_COUNT} entries.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+public class CacheBenchmarkState {
+
+    static final int KEY_COUNT = 10_000;
+
+    @Param({ "IN_MEMORY", "STANDALONE", "HAZELCAST" })
+    public CacheBackend backend;
+
+    @Param({ "UNIFORM", "ZIPFIAN" })
+    public KeyDistribution distribution;
+
+    /**
+     * Time to live given on each write, 0 to keep the entries until they are evicted.
+     */
+    @Param({ "0", "60000" })
+    public long ttlInMs;
+
+    @Param({ "0", "1", "4" })
+    public int listeners;
+
+    final LongAdder notifications = new LongAdder();
+    Cache<String, String> cache;
+    String[] keys;
+    String[] values;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CacheConfiguration configuration = CacheConfiguration.builder().maxSize(KEY_COUNT * 2L).build();
+        cache = backend.create("benchmark-" + UUID.randomUUID(), configuration);
+        for (int i = 0; i < listeners; i++) {
+            cache.addCacheListener(new CountingListener());
+        }
+
+        keys = new String[KEY_COUNT];
+        values = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key-" + i;
+            values[i] = "value-" + i;
+            put(keys[i], values[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.clear();
+        backend.shutdown();
+    }
+
+    String put(final String key, final String value) {
+        return ttlInMs > 0 ? cache.put(key, value, ttlInMs, TimeUnit.MILLISECONDS) : cache.put(key, value);
+    }
+
+    private class CountingListener implements CacheListener<String, String> {
+
+        @Override
+        public void onEntryAdded(final String key, final String value) {
+            notifications.increment();
+        }
+
+        @Override
+        public void onEntryUpdated(final String key, final String oldValue, final String value) {
+            notifications.increment();
+        }
+
+        @Override
+        public void onEntryEvicted(final String key, final String value) {
+            notifications.increment();
+        }
+
+        @Override
+        public void onEntryExpired(final String key, final String value) {
+            notifications.increment();
+        }
+    }
+}
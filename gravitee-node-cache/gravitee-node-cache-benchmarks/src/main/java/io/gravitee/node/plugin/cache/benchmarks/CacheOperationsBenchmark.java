@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of each single cache operation.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheOperationsBenchmark {
+
+    @Benchmark
+    public String get(final CacheBenchmarkState state, final KeyCursor cursor) {
+        return state.cache.get(state.keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public String put(final CacheBenchmarkState state, final KeyCursor cursor) {
+        int index = cursor.next();
+        return state.put(state.keys[index], state.values[index]);
+    }
+
+    @Benchmark
+    public String compute(final CacheBenchmarkState state, final KeyCursor cursor) {
+        int index = cursor.next();
+        return state.cache.compute(state.keys[index], (key, value) -> state.values[index]);
+    }
+
+    /**
+     * One access out of sixteen targets a key which is not in the cache, then evicts it to keep the cache size stable.
+     */
+    @Benchmark
+    public String computeIfAbsent(final CacheBenchmarkState state, final KeyCursor cursor) {
+        int index = cursor.next();
+        if ((index & 15) == 0) {
+            String key = state.keys[index] + "-absent";
+            String value = state.cache.computeIfAbsent(key, k -> state.values[index]);
+            state.cache.evict(key);
+            return value;
+        }
+        return state.cache.computeIfAbsent(state.keys[index], key -> state.values[index]);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the get and put throughput of the {@link InMemoryCache} expiring entries through Caffeine's variable expiry
+ * policy with the former implementation wrapping each value with its expiration time ({@link LegacyInMemoryCache}).
+ *
+ * <pre>
+ * java -jar gravitee-node-cache-benchmarks/target/benchmarks.jar InMemoryCacheExpiryBenchmark
+ * </pre>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryCacheExpiryBenchmark {
+
+    private static final int KEY_COUNT = 10_000;
+
+    @Param({ "legacy", "variable-expiry" })
+    public String implementation;
+
+    /**
+     * Time to live given on each put, 0 to rely on the configuration only.
+     */
+    @Param({ "0", "60000" })
+    public long ttlInMs;
+
+    private CacheOperations cache;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        CacheConfiguration configuration = CacheConfiguration.builder().maxSize(KEY_COUNT * 2L).timeToLiveInMs(600_000).build();
+        if ("legacy".equals(implementation)) {
+            LegacyInMemoryCache<String, String> legacy = new LegacyInMemoryCache<>(configuration);
+            cache = new CacheOperations(legacy::get, legacy::put);
+        } else {
+            InMemoryCache<String, String> inMemoryCache = new InMemoryCache<>("benchmark", configuration);
+            cache = new CacheOperations(inMemoryCache::get, inMemoryCache::put);
+        }
+
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key-" + i;
+            cache.put().put(keys[i], "value-" + i, ttlInMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return cache.get().get(nextKey());
+    }
+
+    @Benchmark
+    public String put() {
+        return cache.put().put(nextKey(), "value", ttlInMs, TimeUnit.MILLISECONDS);
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+    }
+
+    private record CacheOperations(Getter get, Putter put) {}
+
+    @FunctionalInterface
+    private interface Getter {
+        String get(String key);
+    }
+
+    @FunctionalInterface
+    private interface Putter {
+        String put(String key, String value, long ttl, TimeUnit ttlUnit);
+    }
+}
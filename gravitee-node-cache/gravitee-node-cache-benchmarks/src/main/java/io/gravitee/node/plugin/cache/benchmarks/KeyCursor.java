@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per thread sequence of keys, following the distribution of the trial.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Thread)
+public class KeyCursor {
+
+    private static final int SAMPLE_SIZE = 1 << 16;
+    private static final int SAMPLE_MASK = SAMPLE_SIZE - 1;
+    private static final AtomicLong SEEDS = new AtomicLong();
+
+    private int[] indexes;
+    private int position;
+    private int operation;
+
+    @Setup
+    public void setup(final CacheBenchmarkState state) {
+        indexes = state.distribution.sample(CacheBenchmarkState.KEY_COUNT, SAMPLE_SIZE, SEEDS.incrementAndGet());
+    }
+
+    /**
+     * @return the index of the next key to access.
+     */
+    int next() {
+        return indexes[position++ & SAMPLE_MASK];
+    }
+
+    /**
+     * @return a value between 0 and 99 going through all of them every 100 calls, in a scattered order.
+     */
+    int nextPercentile() {
+        // 37 is coprime with 100 so the sequence visits each percentile once per cycle
+        operation = (operation + 37) % 100;
+        return operation;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of the keys accessed by the benchmarks.
+ *
+ * @author GraviteeSource Team
+ */
+public enum KeyDistribution {
+    /**
+     * Every key has the same probability to be accessed.
+     */
+    UNIFORM {
+        @Override
+        int[] sample(final int keyCount, final int size, final long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = random.nextInt(keyCount);
+            }
+            return indexes;
+        }
+    },
+
+    /**
+     * A few hot keys receive most of the accesses, as API keys or subscriptions do on a gateway.
+     */
+    ZIPFIAN {
+        @Override
+        int[] sample(final int keyCount, final int size, final long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            // Inverse of the cumulative distribution, computed once per sample
+            double[] cumulative = new double[keyCount];
+            double sum = 0;
+            for (int i = 0; i < keyCount; i++) {
+                sum += 1 / Math.pow(i + 1, ZIPFIAN_CONSTANT);
+                cumulative[i] = sum;
+            }
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                indexes[i] = Math.min(keyCount - 1, index >= 0 ? index : -index - 1);
+            }
+            return indexes;
+        }
+    };
+
+    private static final double ZIPFIAN_CONSTANT = 0.99;
+
+    /**
+     * Pre-compute a sequence of key indexes so that no random number is drawn during the measurement.
+     *
+     * @param keyCount the number of distinct keys
+     * @param size the length of the sequence, better a power of two
+     * @param seed the seed of the random generator, different for each thread
+     * @return the indexes of the keys to access, in order
+     */
+    abstract int[] sample(int keyCount, int size, long seed);
+}
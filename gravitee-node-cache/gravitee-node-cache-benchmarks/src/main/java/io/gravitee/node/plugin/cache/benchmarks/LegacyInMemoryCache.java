@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read and write paths of the in memory cache as they were before the variable expiry policy: every value is wrapped in a
+ * holder carrying its own expiration time, checked against the wall clock on each read.
+ *
+ * <p>
+ * Only kept as a baseline for {@link InMemoryCacheExpiryBenchmark}.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+class LegacyInMemoryCache<K, V> {
+
+    private final Cache<K, ExpiringValue<V>> internalCache;
+
+    LegacyInMemoryCache(final CacheConfiguration configuration) {
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
+        if (configuration.getMaxSize() > 0) {
+            cacheBuilder.maximumSize(configuration.getMaxSize());
+        }
+        if (configuration.getTimeToIdleInMs() > 0) {
+            cacheBuilder.expireAfterAccess(configuration.getTimeToIdleInMs(), TimeUnit.MILLISECONDS);
+        }
+        if (configuration.getTimeToLiveInMs() > 0) {
+            cacheBuilder.expireAfterWrite(configuration.getTimeToLiveInMs(), TimeUnit.MILLISECONDS);
+        }
+        internalCache = cacheBuilder.build();
+    }
+
+    V get(final K key) {
+        ExpiringValue<V> expiringValue = internalCache.getIfPresent(key);
+        if (expiringValue != null) {
+            if (expiringValue.hasExpired()) {
+                internalCache.invalidate(key);
+                return null;
+            }
+            return expiringValue.value();
+        }
+        return null;
+    }
+
+    V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        long ttlMillis = TimeUnit.MILLISECONDS.convert(ttl, ttlUnit);
+        V oldValue = get(key);
+        long expirationTimeMillis = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+        internalCache.put(key, new ExpiringValue<>(value, expirationTimeMillis));
+        return oldValue;
+    }
+
+    private record ExpiringValue<T>(T value, long expirationTimeMillis) {
+        boolean hasExpired() {
+            return expirationTimeMillis > 0 && expirationTimeMillis <= System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Variable {@link Expiry} policy applying the configured time to live on writes and the configured time to idle on writes and
+ * reads.
+ *
+ * <p>
+ * When both a time to live and a time to idle apply, a read extends the expiration of an entry by the time to idle but never
+ * beyond its time to live. The expiration deadlines of the entries are tracked for that purpose, only when a time to idle is
+ * configured. The cache must then {@link #forget(Object)} the deadline of the entries it removes.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheEntryExpiry<K, V> implements Expiry<K, V> {
+
+    public static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+    private final long configuredTimeToLiveInMs;
+    private final long timeToLiveNanos;
+    private final long timeToIdleNanos;
+    private final Map<K, Long> deadlines;
+
+    public CacheEntryExpiry(final CacheConfiguration configuration) {
+        this.configuredTimeToLiveInMs = configuration.getTimeToLiveInMs();
+        this.timeToLiveNanos = toNanos(configuration.getTimeToLiveInMs());
+        this.timeToIdleNanos = toNanos(configuration.getTimeToIdleInMs());
+        this.deadlines = timeToIdleNanos != NO_EXPIRATION ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * @return <code>true</code> when deadlines are tracked and must be forgotten once the entries are removed.
+     */
+    public boolean tracksDeadlines() {
+        return deadlines != null;
+    }
+
+    /**
+     * Validate the time to live given on a write against the configured one.
+     *
+     * @return the time to live in nanoseconds, <code>0</code> or less meaning the configured expiration applies.
+     * @throws IllegalArgumentException if the given time to live exceeds the configured one.
+     */
+    public long ttlNanos(final long ttl, final TimeUnit ttlUnit) {
+        long ttlMillis = TimeUnit.MILLISECONDS.convert(ttl, ttlUnit);
+        if (configuredTimeToLiveInMs > 0 && configuredTimeToLiveInMs < ttlMillis) {
+            throw new IllegalArgumentException("TTL can't be bigger than ttl defined in the cache configuration");
+        }
+        return ttlUnit.toNanos(ttl);
+    }
+
+    /**
+     * Compute the duration to give to the cache for a write made with a specific time to live, which replaces the duration
+     * computed by this policy for that write.
+     *
+     * @param key the key being written.
+     * @param ttlNanos the time to live of the write, in nanoseconds.
+     * @param currentTime the current time of the cache ticker, in nanoseconds.
+     * @return the duration until the entry expires, in nanoseconds.
+     */
+    public long expireAfterWrite(final K key, final long ttlNanos, final long currentTime) {
+        if (deadlines != null) {
+            deadlines.put(key, currentTime + ttlNanos);
+        }
+        return Math.min(ttlNanos, timeToIdleNanos);
+    }
+
+    public void forget(final K key) {
+        if (deadlines != null) {
+            deadlines.remove(key);
+        }
+    }
+
+    /**
+     * @return the number of deadlines currently tracked.
+     */
+    int trackedDeadlines() {
+        return deadlines == null ? 0 : deadlines.size();
+    }
+
+    @Override
+    public long expireAfterCreate(final K key, final V value, final long currentTime) {
+        if (deadlines != null) {
+            if (timeToLiveNanos != NO_EXPIRATION) {
+                deadlines.put(key, currentTime + timeToLiveNanos);
+            } else {
+                deadlines.remove(key);
+            }
+        }
+        return Math.min(timeToLiveNanos, timeToIdleNanos);
+    }
+
+    @Override
+    public long expireAfterUpdate(final K key, final V value, final long currentTime, final long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(final K key, final V value, final long currentTime, final long currentDuration) {
+        if (deadlines == null) {
+            return currentDuration;
+        }
+        Long deadline = deadlines.get(key);
+        return deadline == null ? timeToIdleNanos : Math.max(0, Math.min(timeToIdleNanos, deadline - currentTime));
+    }
+
+    private static long toNanos(final long millis) {
+        return millis > 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : NO_EXPIRATION;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheStats;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Listeners and write and removal counters of a cache backed by Caffeine, shared by the in-memory cache implementations.
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheEvents<K, V> {
+
+    private final Map<String, CacheListener<K, V>> cacheListeners = new ConcurrentHashMap<>();
+    private final CacheListenerDispatcher<K, V> dispatcher;
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder explicitEvictions = new LongAdder();
+
+    public CacheEvents(final String cacheName, final CacheConfiguration configuration) {
+        this.dispatcher = new CacheListenerDispatcher<>(cacheName, cacheListeners.values(), configuration);
+    }
+
+    public String addCacheListener(final CacheListener<K, V> cacheListener) {
+        String listenerCacheId = io.gravitee.common.utils.UUID.random().toString();
+        cacheListeners.put(listenerCacheId, cacheListener);
+
+        return listenerCacheId;
+    }
+
+    public boolean removeCacheListener(final String listenerCacheId) {
+        return cacheListeners.remove(listenerCacheId) != null;
+    }
+
+    public CacheListenerDispatcher<K, V> getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Count a write and notify the listeners about it.
+     */
+    public void written(final K key, final V value, final V oldValue) {
+        puts.increment();
+        if (oldValue == null) {
+            dispatcher.dispatch(key, listener -> listener.onEntryAdded(key, value));
+        } else {
+            dispatcher.dispatch(key, listener -> listener.onEntryUpdated(key, oldValue, value));
+        }
+    }
+
+    /**
+     * Count a removal and notify the listeners about it. Replacements are notified as writes and are ignored here.
+     *
+     * @param value supplies the removed value, only called when some listeners are registered.
+     */
+    public void removed(final K key, final Supplier<V> value, final RemovalCause cause) {
+        switch (cause) {
+            case EXPIRED:
+                expirations.increment();
+                if (!cacheListeners.isEmpty()) {
+                    V expired = value.get();
+                    dispatcher.dispatch(key, listener -> listener.onEntryExpired(key, expired));
+                }
+                break;
+            case EXPLICIT:
+                explicitEvictions.increment();
+                notifyEviction(key, value);
+                break;
+            case SIZE:
+                sizeEvictions.increment();
+                notifyEviction(key, value);
+                break;
+            case REPLACED:
+            case COLLECTED:
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return statistics builder filled with the counters of the writes and removals and, when statistics are recorded, with
+     * the hits, misses and load penalty of the given Caffeine cache.
+     */
+    public CacheStats.CacheStatsBuilder stats(final com.github.benmanes.caffeine.cache.Cache<K, ?> cache, final boolean statsEnabled) {
+        CacheStats.CacheStatsBuilder stats = CacheStats
+            .builder()
+            .putCount(puts.sum())
+            .expirationCount(expirations.sum())
+            .sizeEvictionCount(sizeEvictions.sum())
+            .explicitEvictionCount(explicitEvictions.sum())
+            .estimatedSize(cache.estimatedSize());
+        if (statsEnabled) {
+            com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats = cache.stats();
+            stats
+                .hitCount(caffeineStats.hitCount())
+                .missCount(caffeineStats.missCount())
+                .averageLoadPenaltyNanos(caffeineStats.averageLoadPenalty());
+        }
+        return stats;
+    }
+
+    private void notifyEviction(final K key, final Supplier<V> value) {
+        if (!cacheListeners.isEmpty()) {
+            V evicted = value.get();
+            dispatcher.dispatch(key, listener -> listener.onEntryEvicted(key, evicted));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheListenerBackpressure;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deliver {@link CacheListener} notifications of a single cache.
+ *
+ * <p>
+ * Notifications are buffered in one or several bounded lanes (stripes). Each lane is drained by at most one thread at a time
+ * from a pool shared by all the caches, which guarantees the ordering of the notifications of a same key. A lane gives the
+ * thread back after a small batch so a hot cache cannot starve the other ones.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class CacheListenerDispatcher<K, V> {
+
+    private static final int MAX_DRAIN_BATCH = 64;
+    private static final Object NULL_KEY = new Object();
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    /**
+     * Flag the threads of the pool while they deliver notifications. A listener writing to a cache must not wait for room in a
+     * lane: the lane could only be drained by the pool it is blocking, possibly by the very thread which is waiting.
+     */
+    private static final ThreadLocal<Boolean> DELIVERING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService executorService = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()),
+        r -> {
+            Thread thread = new Thread(r, "gio-cache-listeners-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    private final String cacheName;
+    private final Collection<CacheListener<K, V>> cacheListeners;
+    private final CacheListenerBackpressure backpressure;
+    private final List<Stripe> stripes;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong lastDropWarningNanos = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+    public CacheListenerDispatcher(
+        final String cacheName,
+        final Collection<CacheListener<K, V>> cacheListeners,
+        final CacheConfiguration configuration
+    ) {
+        this.cacheName = cacheName;
+        this.cacheListeners = cacheListeners;
+        this.backpressure = configuration.getListenerBackpressure();
+        int capacity = Math.max(1, configuration.getListenerQueueCapacity());
+        int stripeCount = Math.max(1, configuration.getListenerStripes());
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new Stripe(capacity));
+        }
+    }
+
+    /**
+     * Schedule the given notification for all the listeners currently registered on the cache.
+     * Nothing is buffered when no listener is registered.
+     *
+     * @param key the key the notification is about, used to select the lane
+     * @param notification the callback to invoke on each listener
+     */
+    public void dispatch(final K key, final Consumer<CacheListener<K, V>> notification) {
+        if (cacheListeners.isEmpty()) {
+            return;
+        }
+        stripeFor(key).offer(new Notification<>(key, notification, System.nanoTime()));
+    }
+
+    /**
+     * @return the number of notifications waiting to be delivered.
+     */
+    public long queueDepth() {
+        long depth = 0;
+        for (Stripe stripe : stripes) {
+            depth += stripe.size();
+        }
+        return depth;
+    }
+
+    public long dispatchedCount() {
+        return dispatched.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the average time between the moment a notification is buffered and the end of its delivery, in nanoseconds.
+     */
+    public double averageDispatchLatencyNanos() {
+        long count = dispatched.sum();
+        return count == 0 ? 0 : (double) totalLatencyNanos.sum() / count;
+    }
+
+    public long maxDispatchLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    private Stripe stripeFor(final K key) {
+        if (stripes.size() == 1) {
+            return stripes.get(0);
+        }
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes.get((hash & Integer.MAX_VALUE) % stripes.size());
+    }
+
+    /**
+     * Count a dropped notification, and warn about the notifications dropped so far at most once per minute.
+     */
+    private void drop() {
+        dropped.increment();
+        long now = System.nanoTime();
+        long last = lastDropWarningNanos.get();
+        if (now - last >= DROP_WARNING_INTERVAL_NANOS && lastDropWarningNanos.compareAndSet(last, now)) {
+            log.warn(
+                "Listeners of cache [{}] are too slow, {} notifications have been dropped so far. Consider a larger listenerQueueCapacity",
+                cacheName,
+                dropped.sum()
+            );
+        }
+    }
+
+    private void deliver(final Notification<K, V> notification) {
+        for (CacheListener<K, V> listener : cacheListeners) {
+            try {
+                notification.callback().accept(listener);
+            } catch (Exception e) {
+                log.error("Unable to trigger cache listener on cache [{}]", cacheName, e);
+            }
+        }
+        long latency = System.nanoTime() - notification.enqueuedAtNanos();
+        dispatched.increment();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+    }
+
+    private record Notification<K, V>(K key, Consumer<CacheListener<K, V>> callback, long enqueuedAtNanos) {}
+
+    private final class Stripe implements Runnable {
+
+        /**
+         * Contains notifications, or keys of the pending notifications when coalescing.
+         */
+        private final BlockingQueue<Object> queue;
+        private final Map<Object, Notification<K, V>> pendingByKey;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Stripe(final int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.pendingByKey = backpressure == CacheListenerBackpressure.COALESCE ? new ConcurrentHashMap<>() : Map.of();
+        }
+
+        private void offer(final Notification<K, V> notification) {
+            switch (backpressure) {
+                case DROP:
+                    if (!queue.offer(notification)) {
+                        drop();
+                    }
+                    break;
+                case COALESCE:
+                    // ConcurrentHashMap doesn't accept null keys
+                    Object pendingKey = notification.key() == null ? NULL_KEY : notification.key();
+                    if (pendingByKey.put(pendingKey, notification) != null) {
+                        coalesced.increment();
+                    } else if (!queue.offer(pendingKey)) {
+                        pendingByKey.remove(pendingKey);
+                        drop();
+                    }
+                    break;
+                case BLOCK:
+                default:
+                    if (DELIVERING.get()) {
+                        if (!queue.offer(notification)) {
+                            drop();
+                        }
+                        break;
+                    }
+                    try {
+                        queue.put(notification);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop();
+                    }
+                    break;
+            }
+            schedule();
+        }
+
+        private int size() {
+            return queue.size();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executorService.execute(this);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Notification<K, V> poll() {
+            Object next = queue.poll();
+            if (next == null || backpressure != CacheListenerBackpressure.COALESCE) {
+                return (Notification<K, V>) next;
+            }
+            return pendingByKey.remove(next);
+        }
+
+        @Override
+        public void run() {
+            DELIVERING.set(Boolean.TRUE);
+            try {
+                Notification<K, V> notification;
+                int drained = 0;
+                while (drained < MAX_DRAIN_BATCH && (notification = poll()) != null) {
+                    deliver(notification);
+                    drained++;
+                }
+            } finally {
+                DELIVERING.set(Boolean.FALSE);
+                scheduled.set(false);
+                // Reschedule rather than looping so that other lanes get their turn on the shared pool.
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.CacheLoader;
+import io.gravitee.node.api.cache.CacheStats;
+import io.reactivex.rxjava3.core.Maybe;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Run the loads and the background reloads of a loading cache, making sure a single one runs at a time per key in this
+ * process, and count them.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class CacheLoadCoordinator<K, V> {
+
+    private final String cacheName;
+    private final CacheLoader<K, V> loader;
+    private final Map<K, Maybe<V>> loads = new ConcurrentHashMap<>();
+    private final Set<K> refreshes = ConcurrentHashMap.newKeySet();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder refreshSuccesses = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    public CacheLoadCoordinator(final String cacheName, final CacheLoader<K, V> loader) {
+        this.cacheName = cacheName;
+        this.loader = loader;
+    }
+
+    public CacheLoader<K, V> getLoader() {
+        return loader;
+    }
+
+    /**
+     * Load the value of a key, the concurrent callers asking for the same key sharing the load in progress.
+     *
+     * @param key the key to load.
+     * @param loadFunction load the value and store it in the cache before emitting it.
+     * @return a {@link Maybe} emitting the loaded value or completing empty when there is none.
+     */
+    public Maybe<V> load(final K key, final Function<K, Maybe<V>> loadFunction) {
+        return Maybe.defer(() -> loads.computeIfAbsent(key, k -> newLoad(k, loadFunction)));
+    }
+
+    /**
+     * Reload the value of a key in the background, unless a reload of this key is already running.
+     *
+     * @param key the key to reload.
+     * @param refreshFunction reload the value and store it in the cache before emitting it, or complete empty when the current
+     * value is kept.
+     * @return a {@link Maybe} emitting the reloaded value, completing empty when there is none or when a reload is already running.
+     * Errors are counted and logged, not propagated.
+     */
+    public Maybe<V> refresh(final K key, final Function<K, Maybe<V>> refreshFunction) {
+        return Maybe.defer(() -> {
+            if (!refreshes.add(key)) {
+                return Maybe.<V>empty();
+            }
+            long start = System.nanoTime();
+            return refreshFunction
+                .apply(key)
+                .doOnEvent((value, throwable) -> {
+                    totalLoadTimeNanos.add(System.nanoTime() - start);
+                    if (value != null) {
+                        refreshSuccesses.increment();
+                    } else if (throwable != null) {
+                        refreshFailures.increment();
+                        log.warn("Unable to refresh an entry of cache [{}], keeping the current value", cacheName, throwable);
+                    }
+                })
+                .onErrorComplete()
+                .doFinally(() -> refreshes.remove(key));
+        });
+    }
+
+    /**
+     * Add the load and refresh statistics to the given ones.
+     */
+    public CacheStats withLoadStats(final CacheStats stats) {
+        long loadSuccessCount = loadSuccesses.sum();
+        long loadFailureCount = loadFailures.sum();
+        long refreshCount = refreshSuccesses.sum();
+        long refreshFailureCount = refreshFailures.sum();
+        long loadCount = loadSuccessCount + loadFailureCount + refreshCount + refreshFailureCount;
+        return stats
+            .toBuilder()
+            .loadSuccessCount(loadSuccessCount)
+            .loadFailureCount(loadFailureCount)
+            .refreshCount(refreshCount)
+            .refreshFailureCount(refreshFailureCount)
+            .averageLoadPenaltyNanos(loadCount == 0 ? 0 : (double) totalLoadTimeNanos.sum() / loadCount)
+            .build();
+    }
+
+    private Maybe<V> newLoad(final K key, final Function<K, Maybe<V>> loadFunction) {
+        long start = System.nanoTime();
+        return loadFunction
+            .apply(key)
+            .doOnEvent((value, throwable) -> {
+                totalLoadTimeNanos.add(System.nanoTime() - start);
+                if (throwable == null) {
+                    loadSuccesses.increment();
+                } else {
+                    loadFailures.increment();
+                }
+            })
+            .doFinally(() -> loads.remove(key))
+            .cache();
+    }
+}
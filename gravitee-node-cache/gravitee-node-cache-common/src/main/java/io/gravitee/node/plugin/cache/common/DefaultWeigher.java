@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.Weigher;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Estimate the heap memory used by an entry from the size of its key and value.
+ *
+ * <p>
+ * Strings, byte arrays and Vert.x buffers are weighed from their length, assuming compact (Latin-1) strings. Any other object
+ * is weighed {@link #OBJECT_WEIGHT} bytes, provide a dedicated {@link Weigher} to bound caches of such values accurately.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultWeigher<K, V> implements Weigher<K, V> {
+
+    /**
+     * Overhead of a cache entry, whatever its key and value.
+     */
+    static final int ENTRY_OVERHEAD = 64;
+
+    /**
+     * Weight of an object the estimator doesn't know.
+     */
+    static final int OBJECT_WEIGHT = 1024;
+
+    private static final int STRING_OVERHEAD = 40;
+    private static final int ARRAY_OVERHEAD = 16;
+    private static final int BUFFER_OVERHEAD = 64;
+
+    @Override
+    public int weigh(final K key, final V value) {
+        long weight = ENTRY_OVERHEAD + estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    static long estimate(final Object object) {
+        if (object == null) {
+            return 0;
+        } else if (object instanceof String string) {
+            return STRING_OVERHEAD + (long) string.length();
+        } else if (object instanceof byte[] bytes) {
+            return ARRAY_OVERHEAD + (long) bytes.length;
+        } else if (object instanceof Buffer buffer) {
+            return BUFFER_OVERHEAD + (long) buffer.length();
+        }
+        return OBJECT_WEIGHT;
+    }
+}
@@ -16,23 +16,31 @@
 package io.gravitee.node.plugin.cache.common;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.Weigher;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
+ * In memory {@link Cache} backed by Caffeine.
+ *
+ * <p>
+ * Expiration relies on a variable {@link CacheEntryExpiry} policy: the configured time to live, the time to live given on a put
+ * and the time to idle are all tracked by Caffeine's timer wheel and entries are removed proactively by its scheduler, which
+ * triggers {@link CacheListener#onEntryExpired(Object, Object)} even if the entry is never read again.
+ * </p>
+ *
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -41,58 +49,66 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
 
     private final String name;
     private final CacheConfiguration configuration;
-    private final com.github.benmanes.caffeine.cache.Cache<K, ExpiringValue<V>> internalCache;
-    private final Map<String, CacheListener<K, V>> cacheListeners = new HashMap<>();
-    private static final ExecutorService executorService = Executors.newSingleThreadExecutor(r ->
-        new Thread(r, "gio-cache-in-memory-listeners")
-    );
+    private final Ticker ticker;
+    private final CacheEntryExpiry<K, V> expiry;
+    private final com.github.benmanes.caffeine.cache.Cache<K, V> internalCache;
+    private final Policy.VarExpiration<K, V> varExpiration;
+    private final CacheEvents<K, V> events;
 
     public InMemoryCache(final String name, final CacheConfiguration configuration) {
+        this(name, configuration, Ticker.systemTicker());
+    }
+
+    InMemoryCache(final String name, final CacheConfiguration configuration, final Ticker ticker) {
+        this(name, configuration, ticker, null);
+    }
+
+    /**
+     * @param loader the loader refreshing the values after {@link CacheConfiguration#getRefreshAfterWriteInMs()}, if any.
+     */
+    @SuppressWarnings("unchecked")
+    protected InMemoryCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final Ticker ticker,
+        final com.github.benmanes.caffeine.cache.CacheLoader<K, V> loader
+    ) {
         this.name = name;
         this.configuration = configuration;
-
-        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
-        cacheBuilder.executor(executorService);
-        if (configuration.getMaxSize() > 0) {
+        this.ticker = ticker;
+        this.expiry = new CacheEntryExpiry<>(configuration);
+        this.events = new CacheEvents<>(name, configuration);
+
+        Caffeine<K, V> cacheBuilder = Caffeine
+            .newBuilder()
+            .ticker(ticker)
+            .scheduler(Scheduler.systemScheduler())
+            .expireAfter(expiry);
+        if (configuration.getMaxWeightBytes() > 0) {
+            Weigher<K, V> weigher = configuration.getWeigher() != null
+                ? (Weigher<K, V>) configuration.getWeigher()
+                : new DefaultWeigher<>();
+            cacheBuilder.maximumWeight(configuration.getMaxWeightBytes()).weigher(weigher::weigh);
+        } else if (configuration.getMaxSize() > 0) {
             cacheBuilder.maximumSize(configuration.getMaxSize());
         }
-        if (configuration.getTimeToIdleInMs() > 0) {
-            cacheBuilder.expireAfterAccess(configuration.getTimeToIdleInMs(), TimeUnit.MILLISECONDS);
+        if (configuration.isStatsEnabled()) {
+            cacheBuilder.recordStats();
         }
-        if (configuration.getTimeToLiveInMs() > 0) {
-            cacheBuilder.expireAfterWrite(configuration.getTimeToLiveInMs(), TimeUnit.MILLISECONDS);
+        if (expiry.tracksDeadlines()) {
+            // Eviction listener is invoked atomically with the removal, so a new entry can't lose its deadline
+            cacheBuilder.evictionListener((k, v, cause) -> expiry.forget(k));
         }
-        cacheBuilder.removalListener((k, v, cause) ->
-            cacheListeners.forEach((id, listener) -> {
-                try {
-                    K typeKey = (K) k;
-                    ExpiringValue<V> expiringValue = (ExpiringValue<V>) v;
-                    V value = expiringValue != null ? expiringValue.value : null;
-                    switch (cause) {
-                        case EXPLICIT:
-                            if (expiringValue != null && expiringValue.hasExpired()) {
-                                listener.onEntryExpired(typeKey, value);
-                            } else {
-                                listener.onEntryEvicted(typeKey, value);
-                            }
-                            break;
-                        case EXPIRED:
-                            listener.onEntryExpired(typeKey, value);
-                            break;
-                        case SIZE:
-                            listener.onEntryEvicted(typeKey, value);
-                            break;
-                        case REPLACED:
-                        case COLLECTED:
-                        default:
-                            break;
-                    }
-                } catch (Exception e) {
-                    log.error("Unable to trigger cache listener");
-                }
-            })
-        );
-        internalCache = cacheBuilder.build();
+        cacheBuilder.removalListener((key, value, cause) -> events.removed(key, () -> value, cause));
+        if (loader == null) {
+            internalCache = cacheBuilder.build();
+        } else {
+            if (configuration.getRefreshAfterWriteInMs() > 0) {
+                cacheBuilder.refreshAfterWrite(configuration.getRefreshAfterWriteInMs(), TimeUnit.MILLISECONDS);
+            }
+            internalCache = cacheBuilder.build(loader);
+        }
+        varExpiration = internalCache.policy().expireVariably().orElseThrow();
     }
 
     @Override
@@ -112,20 +128,8 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
 
     @Override
     public Collection<V> values() {
-        return this.internalCache.asMap()
-            .entrySet()
-            .stream()
-            .map(entry -> {
-                K key = entry.getKey();
-                ExpiringValue<V> expiringValue = entry.getValue();
-                if (expiringValue.hasExpired()) {
-                    internalCache.invalidate(key);
-                    return null;
-                }
-                return expiringValue.value;
-            })
-            .filter(Objects::nonNull)
-            .toList();
+        // Caffeine's views already skip the entries which have expired but are not removed yet
+        return List.copyOf(this.internalCache.asMap().values());
     }
 
     @Override
@@ -135,173 +139,189 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
 
     @Override
     public V get(final K key) {
-        ExpiringValue<V> expiringValue = internalCache.getIfPresent(key);
-        // If value is present and expired invalidates cache and return null, otherwise return value
-        if (expiringValue != null) {
-            if (expiringValue.hasExpired()) {
-                internalCache.invalidate(key);
-                return null;
+        return internalCache.getIfPresent(key);
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        return internalCache.getAllPresent(keys);
+    }
+
+    /**
+     * Check the presence of the keys without any side effect: the lookups are not recorded in the statistics and don't extend
+     * the expiration of the entries.
+     */
+    @Override
+    public boolean containsAll(final Collection<? extends K> keys) {
+        Policy<K, V> policy = internalCache.policy();
+        for (K key : keys) {
+            if (policy.getIfPresentQuietly(key) == null) {
+                return false;
             }
-            return expiringValue.value;
         }
-        return null;
+        return true;
     }
 
     @Override
     public V put(K key, V value) {
-        return this.put(key, value, 0, TimeUnit.MILLISECONDS);
+        V oldValue = this.internalCache.asMap().put(key, value);
+        afterWrite(key, value, oldValue);
+        return oldValue;
     }
 
     @Override
     public V put(K key, V value, long ttl, TimeUnit ttlUnit) {
-        long ttlMillis = computeTTLMillis(ttl, ttlUnit);
-
-        V oldValue = get(key);
-        long expirationTimeMillis = computeExpirationTimeMillis(ttlMillis);
-        this.internalCache.put(key, new ExpiringValue<>(value, expirationTimeMillis));
-
-        notifyListeners(key, value, oldValue);
-
+        long ttlNanos = expiry.ttlNanos(ttl, ttlUnit);
+        V oldValue = ttlNanos > 0 ? putWithTtl(key, value, ttlNanos) : this.internalCache.asMap().put(key, value);
+        afterWrite(key, value, oldValue);
         return oldValue;
     }
 
     @Override
     public void putAll(final Map<? extends K, ? extends V> values) {
-        Map<K, V> oldValues = new HashMap<>();
-        if (!cacheListeners.isEmpty()) {
-            values
-                .keySet()
-                .forEach(key -> {
-                    V oldValue = this.get(key);
-                    if (oldValue != null) {
-                        oldValues.put(key, oldValue);
-                    }
-                });
-        }
-        Map<K, ExpiringValue<V>> expiringValueMap = values
-            .entrySet()
-            .stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, e -> new ExpiringValue<>(e.getValue(), 0)));
-
-        this.internalCache.putAll(expiringValueMap);
-
-        executorService.execute(() ->
-            cacheListeners.forEach((id, listener) ->
-                values.forEach((key, value) -> {
-                    if (!oldValues.containsKey(key)) {
-                        listener.onEntryAdded(key, value);
-                    } else {
-                        listener.onEntryUpdated(key, oldValues.get(key), value);
-                    }
-                })
-            )
-        );
+        values.forEach(this::put);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values, final long ttl, final TimeUnit ttlUnit) {
+        long ttlNanos = expiry.ttlNanos(ttl, ttlUnit);
+        values.forEach((key, value) -> {
+            V oldValue = ttlNanos > 0 ? putWithTtl(key, value, ttlNanos) : this.internalCache.asMap().put(key, value);
+            afterWrite(key, value, oldValue);
+        });
     }
 
     @Override
     public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
-        this.internalCache.asMap()
-            .computeIfAbsent(
-                key,
-                k -> {
-                    V applied = mappingFunction.apply(k);
-                    notifyListeners(k, applied, null);
-                    return new ExpiringValue<>(applied, 0);
-                }
-            );
-        return get(key);
+        Write write = new Write();
+        V value = this.internalCache.asMap().computeIfAbsent(key, k -> write.apply(k, null, mappingFunction.apply(k)));
+        write.fireEvent(key);
+        return value;
     }
 
     @Override
     public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-        this.internalCache.asMap()
-            .computeIfPresent(
-                key,
-                (k, v) -> {
-                    V applied = remappingFunction.apply(k, v.value);
-                    notifyListeners(k, applied, v.value);
-                    return new ExpiringValue<>(applied, 0);
-                }
-            );
-        return get(key);
+        Write write = new Write();
+        V value = this.internalCache.asMap().computeIfPresent(key, (k, v) -> write.apply(k, v, remappingFunction.apply(k, v)));
+        write.fireEvent(key);
+        return value;
     }
 
     @Override
     public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-        this.internalCache.asMap()
-            .compute(
-                key,
-                (k, v) -> {
-                    V old = null;
-                    V applied;
-                    if (v != null) {
-                        old = v.value;
-                    }
-                    applied = remappingFunction.apply(k, old);
-                    notifyListeners(k, applied, old);
-                    return new ExpiringValue<>(applied, 0);
-                }
-            );
-        return get(key);
+        Write write = new Write();
+        V value = this.internalCache.asMap().compute(key, (k, v) -> write.apply(k, v, remappingFunction.apply(k, v)));
+        write.fireEvent(key);
+        return value;
     }
 
+    /**
+     * Remove the entry and forget its deadline while the entry is locked, so that a concurrent put of the same key keeps its own.
+     */
     @Override
     public V evict(final K key) {
-        V currentValue = this.get(key);
-        this.internalCache.invalidate(key);
-        return currentValue;
+        Write write = new Write();
+        this.internalCache.asMap().computeIfPresent(key, (k, v) -> write.apply(k, v, null));
+        return write.oldValue;
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        keys.forEach(this::evict);
     }
 
     @Override
     public void clear() {
-        this.internalCache.invalidateAll();
+        this.internalCache.asMap().keySet().forEach(this::evict);
+    }
+
+    /**
+     * @return the dispatcher delivering the notifications of this cache, mainly to expose its queue depth and latency.
+     */
+    public CacheListenerDispatcher<K, V> getListenerDispatcher() {
+        return events.getDispatcher();
     }
 
     @Override
-    public String addCacheListener(final CacheListener<K, V> cacheListener) {
-        String listenerCacheId = io.gravitee.common.utils.UUID.random().toString();
-        cacheListeners.put(listenerCacheId, cacheListener);
+    public CacheStats stats() {
+        CacheStats.CacheStatsBuilder stats = events.stats(internalCache, configuration.isStatsEnabled());
+        if (configuration.getMaxWeightBytes() > 0) {
+            internalCache.policy().eviction().ifPresent(eviction -> eviction.weightedSize().ifPresent(stats::heapCost));
+        }
+        return stats.build();
+    }
 
-        return listenerCacheId;
+    @Override
+    public String addCacheListener(final CacheListener<K, V> cacheListener) {
+        return events.addCacheListener(cacheListener);
     }
 
     @Override
     public boolean removeCacheListener(final String listenerCacheId) {
-        return cacheListeners.remove(listenerCacheId) != null;
+        return events.removeCacheListener(listenerCacheId);
     }
 
-    private long computeTTLMillis(final long ttl, final TimeUnit ttlUnit) {
-        long ttlMillis = TimeUnit.MILLISECONDS.convert(ttl, ttlUnit);
-        if (this.configuration.getTimeToLiveInMs() > 0 && this.configuration.getTimeToLiveInMs() < ttlMillis) {
-            throw new IllegalArgumentException("TTL can't be bigger than ttl defined in the cache configuration");
+    /**
+     * Reload the value of the key in the background, only for the caches created with a loader.
+     */
+    protected void refreshValue(final K key) {
+        if (internalCache instanceof com.github.benmanes.caffeine.cache.LoadingCache<K, V> loadingCache) {
+            loadingCache.refresh(key);
         }
-        return ttlMillis;
     }
 
-    private long computeExpirationTimeMillis(final long ttlMillis) {
-        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+    /**
+     * @return the number of expiration deadlines tracked for the entries of this cache.
+     */
+    int trackedDeadlines() {
+        return expiry.trackedDeadlines();
     }
 
-    private void notifyListeners(final K key, final V value, final V oldValue) {
-        executorService.execute(() ->
-            cacheListeners.forEach((id, listener) -> {
-                if (oldValue == null) {
-                    listener.onEntryAdded(key, value);
-                } else {
-                    listener.onEntryUpdated(key, oldValue, value);
-                }
-            })
-        );
+    /**
+     * Run the pending maintenance of the underlying cache, such as the removal of the expired entries.
+     */
+    void cleanUp() {
+        internalCache.cleanUp();
     }
 
-    @RequiredArgsConstructor
-    private static class ExpiringValue<T> {
+    private V putWithTtl(final K key, final V value, final long ttlNanos) {
+        // The duration given here replaces the one computed by the expiry policy for this write
+        return varExpiration.put(key, value, expiry.expireAfterWrite(key, ttlNanos, ticker.read()), TimeUnit.NANOSECONDS);
+    }
 
-        private final T value;
-        private final long expirationTimeMillis;
+    /**
+     * Count the write and notify the listeners about it.
+     */
+    protected void afterWrite(final K key, final V value, final V oldValue) {
+        events.written(key, value, oldValue);
+    }
 
-        public boolean hasExpired() {
-            return expirationTimeMillis > 0 && expirationTimeMillis <= System.currentTimeMillis();
+    /**
+     * Write made by a compute function, notified once the compute completed so that listeners never run while the entry is
+     * locked.
+     */
+    private final class Write {
+
+        private V oldValue;
+        private V value;
+
+        /**
+         * Record the result of the compute function, called while the entry is locked.
+         */
+        private V apply(final K key, final V oldValue, final V value) {
+            this.oldValue = oldValue;
+            this.value = value;
+            if (value == null) {
+                // The entry is removed, or not created, by the compute: its deadline must not outlive it
+                expiry.forget(key);
+            }
+            return value;
+        }
+
+        private void fireEvent(final K key) {
+            if (value != null) {
+                afterWrite(key, value, oldValue);
+            }
         }
     }
 }
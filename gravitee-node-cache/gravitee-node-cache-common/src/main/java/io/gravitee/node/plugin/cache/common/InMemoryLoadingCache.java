@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.gravitee.node.api.cache.AsyncCache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheLoader;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.LoadingCache;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link InMemoryCache} loading its missing values with a {@link CacheLoader}.
+ *
+ * <p>
+ * Stale values are detected by Caffeine's <code>refreshAfterWrite</code> on reads, which triggers a single asynchronous reload
+ * per key while the current value keeps being returned.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class InMemoryLoadingCache<K, V> extends InMemoryCache<K, V> implements LoadingCache<K, V> {
+
+    private final CacheLoadCoordinator<K, V> loads;
+
+    public InMemoryLoadingCache(final String name, final CacheConfiguration configuration, final CacheLoader<K, V> loader) {
+        this(name, configuration, Ticker.systemTicker(), loader);
+    }
+
+    InMemoryLoadingCache(final String name, final CacheConfiguration configuration, final Ticker ticker, final CacheLoader<K, V> loader) {
+        this(name, configuration, ticker, new CacheLoadCoordinator<>(name, loader), new Reloader<>());
+    }
+
+    private InMemoryLoadingCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final Ticker ticker,
+        final CacheLoadCoordinator<K, V> loads,
+        final Reloader<K, V> reloader
+    ) {
+        super(name, configuration, ticker, reloader);
+        this.loads = loads;
+        reloader.cache = this;
+    }
+
+    @Override
+    public V get(final K key) {
+        return getOrLoad(key).blockingGet();
+    }
+
+    @Override
+    public Maybe<V> getOrLoad(final K key) {
+        return Maybe.defer(() -> {
+            V value = super.get(key);
+            if (value != null) {
+                return Maybe.just(value);
+            }
+            return loads.load(key, k -> loads.getLoader().load(k).doOnSuccess(loaded -> put(k, loaded)));
+        });
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>(super.getAll(keys));
+        List<? extends K> missingKeys = keys.stream().filter(key -> !values.containsKey(key)).toList();
+        if (!missingKeys.isEmpty()) {
+            Flowable
+                .fromIterable(missingKeys)
+                .flatMapMaybe(key -> getOrLoad(key).map(value -> Map.entry(key, value)))
+                .blockingForEach(entry -> values.put(entry.getKey(), entry.getValue()));
+        }
+        return values;
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return super.get(key) != null;
+    }
+
+    @Override
+    public boolean containsAll(final Collection<? extends K> keys) {
+        return super.getAll(keys).size() == keys.stream().distinct().count();
+    }
+
+    @Override
+    public void refresh(final K key) {
+        if (super.get(key) != null) {
+            refreshValue(key);
+        }
+    }
+
+    @Override
+    public AsyncCache<K, V> async() {
+        return new LoadingAsyncCache<>(this, super.async());
+    }
+
+    @Override
+    public CacheStats stats() {
+        return loads.withLoadStats(super.stats());
+    }
+
+    private Maybe<V> reload(final K key, final V oldValue) {
+        return loads.refresh(
+            key,
+            k ->
+                loads
+                    .getLoader()
+                    .reload(k, oldValue)
+                    .doOnSuccess(value -> afterWrite(k, value, oldValue))
+        );
+    }
+
+    /**
+     * Bridge between Caffeine's refreshes and the {@link CacheLoader}. Initial loads don't go through Caffeine so that they can
+     * be non-blocking.
+     */
+    private static class Reloader<K, V> implements com.github.benmanes.caffeine.cache.CacheLoader<K, V> {
+
+        private volatile InMemoryLoadingCache<K, V> cache;
+
+        @Override
+        public V load(final K key) {
+            return cache.loads.getLoader().load(key).blockingGet();
+        }
+
+        @Override
+        public CompletableFuture<? extends V> asyncReload(final K key, final V oldValue, final Executor executor) {
+            // Completing with the old value keeps it when the reload fails, has no value or is already running
+            return cache
+                .reload(key, oldValue)
+                .subscribeOn(Schedulers.from(executor))
+                .defaultIfEmpty(oldValue)
+                .toCompletionStage()
+                .toCompletableFuture();
+        }
+    }
+}
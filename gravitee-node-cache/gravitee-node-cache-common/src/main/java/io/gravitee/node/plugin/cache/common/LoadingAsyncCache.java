@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.AsyncCache;
+import io.gravitee.node.api.cache.LoadingCache;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link AsyncCache} view of a {@link LoadingCache}, loading the missing values on {@link #get(Object)} and
+ * {@link #getAll(Collection)} without blocking, and delegating the other operations to the non-blocking view of the underlying
+ * cache.
+ *
+ * @author GraviteeSource Team
+ */
+@RequiredArgsConstructor
+public class LoadingAsyncCache<K, V> implements AsyncCache<K, V> {
+
+    private final LoadingCache<K, V> cache;
+    private final AsyncCache<K, V> delegate;
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Maybe<V> get(final K key) {
+        return cache.getOrLoad(key);
+    }
+
+    @Override
+    public Single<Map<K, V>> getAll(final Collection<? extends K> keys) {
+        return Flowable
+            .fromIterable(new LinkedHashSet<K>(keys))
+            .flatMapMaybe(key -> cache.getOrLoad(key).map(value -> Map.entry(key, value)))
+            .toMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Single<Boolean> containsKey(final K key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public Maybe<V> put(final K key, final V value) {
+        return delegate.put(key, value);
+    }
+
+    @Override
+    public Maybe<V> put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return delegate.put(key, value, ttl, ttlUnit);
+    }
+
+    @Override
+    public Completable putAll(final Map<? extends K, ? extends V> m) {
+        return delegate.putAll(m);
+    }
+
+    @Override
+    public Maybe<V> evict(final K key) {
+        return delegate.evict(key);
+    }
+
+    @Override
+    public Completable evictAll(final Collection<? extends K> keys) {
+        return delegate.evictAll(keys);
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheListenerBackpressure;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CacheListenerDispatcherTest {
+
+    private static final String CACHE_NAME = "test-cache";
+
+    @Test
+    void should_not_buffer_anything_without_listener() {
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            List.of(),
+            CacheConfiguration.builder().build()
+        );
+        cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+
+        assertThat(cut.queueDepth()).isZero();
+        assertThat(cut.dispatchedCount()).isZero();
+    }
+
+    @Test
+    void should_keep_order_per_key_with_several_stripes() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<CacheListener<String, String>> listeners = List.of(
+            new CacheListener<>() {
+                @Override
+                public void onEntryUpdated(final String key, final String oldValue, final String value) {
+                    if (key.equals("key1")) {
+                        received.add(value);
+                    }
+                }
+            }
+        );
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            listeners,
+            CacheConfiguration.builder().listenerStripes(4).build()
+        );
+
+        for (int i = 0; i < 500; i++) {
+            String value = String.valueOf(i);
+            cut.dispatch("key1", listener -> listener.onEntryUpdated("key1", null, value));
+            cut.dispatch("key" + i, listener -> listener.onEntryUpdated("key" + value, null, value));
+        }
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).hasSize(501));
+        assertThat(received.subList(0, 2)).containsExactly("0", "1");
+        for (int i = 2; i < received.size(); i++) {
+            assertThat(Integer.parseInt(received.get(i))).isGreaterThanOrEqualTo(Integer.parseInt(received.get(i - 1)));
+        }
+        assertThat(cut.averageDispatchLatencyNanos()).isPositive();
+        assertThat(cut.maxDispatchLatencyNanos()).isPositive();
+    }
+
+    @Test
+    void should_drop_notifications_when_buffer_is_full() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CacheListener<String, String>> listeners = List.of(blockingListener(blocked, release));
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            listeners,
+            CacheConfiguration.builder().listenerQueueCapacity(2).listenerBackpressure(CacheListenerBackpressure.DROP).build()
+        );
+
+        cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+        assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+        }
+
+        assertThat(cut.queueDepth()).isEqualTo(2);
+        assertThat(cut.droppedCount()).isEqualTo(3);
+        release.countDown();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cut.dispatchedCount()).isEqualTo(3));
+    }
+
+    @Test
+    void should_drop_notifications_by_default_instead_of_blocking_writer() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CacheListener<String, String>> listeners = List.of(blockingListener(blocked, release));
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            listeners,
+            CacheConfiguration.builder().listenerQueueCapacity(1).build()
+        );
+
+        cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+        assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+        cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+        cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+
+        assertThat(cut.droppedCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void should_coalesce_notifications_of_a_same_key() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<CacheListener<String, String>> listeners = List.of(
+            blockingListener(blocked, release),
+            new CacheListener<>() {
+                @Override
+                public void onEntryUpdated(final String key, final String oldValue, final String value) {
+                    received.add(value);
+                }
+            }
+        );
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            listeners,
+            CacheConfiguration.builder().listenerBackpressure(CacheListenerBackpressure.COALESCE).build()
+        );
+
+        cut.dispatch("other", listener -> listener.onEntryAdded("other", "value"));
+        assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 10; i++) {
+            String value = String.valueOf(i);
+            cut.dispatch("key", listener -> listener.onEntryUpdated("key", null, value));
+        }
+
+        assertThat(cut.queueDepth()).isEqualTo(1);
+        assertThat(cut.coalescedCount()).isEqualTo(9);
+        release.countDown();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).containsExactly("9"));
+    }
+
+    @Test
+    void should_coalesce_notifications_of_a_null_key() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<CacheListener<String, String>> listeners = List.of(
+            new CacheListener<>() {
+                @Override
+                public void onEntryUpdated(final String key, final String oldValue, final String value) {
+                    received.add(value);
+                }
+            }
+        );
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            listeners,
+            CacheConfiguration.builder().listenerBackpressure(CacheListenerBackpressure.COALESCE).build()
+        );
+
+        cut.dispatch(null, listener -> listener.onEntryUpdated(null, null, "value"));
+
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).containsExactly("value"));
+    }
+
+    @Test
+    void should_not_block_listener_writing_to_its_own_full_cache() {
+        List<CacheListener<String, String>> listeners = new CopyOnWriteArrayList<>();
+        CacheListenerDispatcher<String, String> cut = new CacheListenerDispatcher<>(
+            CACHE_NAME,
+            listeners,
+            CacheConfiguration.builder().listenerQueueCapacity(1).listenerBackpressure(CacheListenerBackpressure.BLOCK).build()
+        );
+        listeners.add(
+            new CacheListener<>() {
+                @Override
+                public void onEntryAdded(final String key, final String value) {
+                    for (int i = 0; i < 5; i++) {
+                        cut.dispatch(key, listener -> listener.onEntryUpdated(key, value, value));
+                    }
+                }
+            }
+        );
+
+        cut.dispatch("key", listener -> listener.onEntryAdded("key", "value"));
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cut.dispatchedCount() + cut.droppedCount()).isEqualTo(6));
+        assertThat(cut.droppedCount()).isPositive();
+    }
+
+    private static CacheListener<String, String> blockingListener(final CountDownLatch blocked, final CountDownLatch release) {
+        return new CacheListener<>() {
+            @Override
+            public void onEntryAdded(final String key, final String value) {
+                blocked.countDown();
+                try {
+                    release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
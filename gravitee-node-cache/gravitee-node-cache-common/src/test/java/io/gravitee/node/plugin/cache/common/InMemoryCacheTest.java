@@ -16,14 +16,21 @@
 package io.gravitee.node.plugin.cache.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.awaitility.Awaitility.await;
 
+import io.gravitee.node.api.cache.AsyncCache;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.Weigher;
+import io.vertx.core.buffer.Buffer;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Nested;
@@ -503,4 +510,327 @@ class InMemoryCacheTest {
                 });
         }
     }
+
+    @Nested
+    class ExpiryTest {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Test
+        void should_notify_listener_when_entry_expires_without_being_read() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            AtomicBoolean listenerCalled = new AtomicBoolean();
+            cache.addCacheListener(
+                new CacheListener<>() {
+                    @Override
+                    public void onEntryExpired(final String key, final String value) {
+                        listenerCalled.set(true);
+                    }
+                }
+            );
+            cache.put(TEST_KEY, TEST_VALUE, 50, TimeUnit.MILLISECONDS);
+
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(listenerCalled).isTrue());
+        }
+
+        @Test
+        void should_forget_deadline_of_entry_removed_by_compute() {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToLiveInMs(60_000).timeToIdleInMs(10_000).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+            assertThat(cache.trackedDeadlines()).isEqualTo(2);
+
+            cache.compute(TEST_KEY, (key, value) -> null);
+            cache.computeIfPresent(TEST_KEY2, (key, value) -> null);
+
+            assertThat(cache.trackedDeadlines()).isZero();
+        }
+
+        @Test
+        void should_forget_deadlines_of_evicted_entries() {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToLiveInMs(60_000).timeToIdleInMs(10_000).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+            cache.put("key3", "value3");
+
+            assertThat(cache.evict(TEST_KEY)).isEqualTo(TEST_VALUE);
+            assertThat(cache.trackedDeadlines()).isEqualTo(2);
+            cache.evictAll(List.of(TEST_KEY2));
+            assertThat(cache.trackedDeadlines()).isEqualTo(1);
+            cache.clear();
+
+            assertThat(cache.trackedDeadlines()).isZero();
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        void should_return_old_value_on_put() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+
+            assertThat(cache.put(TEST_KEY, TEST_VALUE, 1, TimeUnit.MINUTES)).isNull();
+            assertThat(cache.put(TEST_KEY, TEST_VALUE_UPDATED, 1, TimeUnit.MINUTES)).isEqualTo(TEST_VALUE);
+            assertThat(cache.put(TEST_KEY, TEST_VALUE)).isEqualTo(TEST_VALUE_UPDATED);
+        }
+
+        @Test
+        void should_extend_expiration_on_read_when_time_to_idle_is_configured() {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToIdleInMs(100).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration, nanos::get);
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            advance(80);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+            advance(80);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+            advance(101);
+            assertThat(cache.get(TEST_KEY)).isNull();
+        }
+
+        @Test
+        void should_not_extend_expiration_beyond_time_to_live_when_reading() {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToIdleInMs(100).timeToLiveInMs(200).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration, nanos::get);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2, 150, TimeUnit.MILLISECONDS);
+
+            advance(80);
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2))).hasSize(2);
+            advance(80);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+            assertThat(cache.get(TEST_KEY2)).isNull();
+            advance(41);
+            assertThat(cache.get(TEST_KEY)).isNull();
+        }
+
+        @Test
+        void should_remove_expired_entries_on_clean_up() {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToLiveInMs(10_000).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration, nanos::get);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2, 5, TimeUnit.SECONDS);
+
+            advance(6_000);
+            cache.cleanUp();
+            assertThat(cache.size()).isEqualTo(1);
+            assertThat(cache.values()).containsOnly(TEST_VALUE);
+
+            advance(6_000);
+            cache.cleanUp();
+            assertThat(cache.size()).isZero();
+        }
+
+        private void advance(final long millis) {
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    @Nested
+    class StatsTest {
+
+        @Test
+        void should_record_hits_misses_and_puts() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY, TEST_VALUE_UPDATED);
+            cache.get(TEST_KEY);
+            cache.get(TEST_KEY2);
+            cache.computeIfAbsent(TEST_KEY2, key -> TEST_VALUE2);
+
+            CacheStats stats = cache.stats();
+            assertThat(stats.getHitCount()).isEqualTo(1);
+            assertThat(stats.getMissCount()).isEqualTo(2);
+            assertThat(stats.getHitRatio()).isEqualTo(1.0 / 3);
+            assertThat(stats.getPutCount()).isEqualTo(3);
+            assertThat(stats.getEstimatedSize()).isEqualTo(2);
+            assertThat(stats.getAverageLoadPenaltyNanos()).isPositive();
+            assertThat(stats.getHeapCost()).isEqualTo(CacheStats.UNAVAILABLE);
+        }
+
+        @Test
+        void should_record_removals_by_cause() {
+            CacheConfiguration configuration = CacheConfiguration.builder().maxSize(1).build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.evict(TEST_KEY);
+            cache.put(TEST_KEY, TEST_VALUE, 1, TimeUnit.MILLISECONDS);
+
+            await()
+                .atMost(2, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    CacheStats stats = cache.stats();
+                    assertThat(stats.getExplicitEvictionCount()).isEqualTo(1);
+                    assertThat(stats.getExpirationCount()).isEqualTo(1);
+                });
+
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.stats().getSizeEvictionCount()).isEqualTo(1));
+        }
+
+        @Test
+        void should_not_record_lookups_when_stats_are_disabled() {
+            CacheConfiguration configuration = CacheConfiguration.builder().statsEnabled(false).build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.get(TEST_KEY);
+
+            CacheStats stats = cache.stats();
+            assertThat(stats.getHitCount()).isEqualTo(CacheStats.UNAVAILABLE);
+            assertThat(stats.getHitRatio()).isEqualTo(CacheStats.UNAVAILABLE);
+            assertThat(stats.getEstimatedSize()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class WeightTest {
+
+        @Test
+        void should_evict_entries_to_stay_under_max_weight() {
+            CacheConfiguration configuration = CacheConfiguration.builder().maxWeightBytes(10_000).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            for (int i = 0; i < 100; i++) {
+                cache.put("key" + i, "x".repeat(1_000));
+            }
+            cache.cleanUp();
+
+            assertThat(cache.size()).isLessThan(10);
+            assertThat(cache.stats().getHeapCost()).isLessThanOrEqualTo(10_000);
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.stats().getSizeEvictionCount()).isPositive());
+        }
+
+        @Test
+        void should_use_given_weigher() {
+            Weigher<String, String> weigher = (key, value) -> value.length();
+            CacheConfiguration configuration = CacheConfiguration.builder().maxWeightBytes(100).weigher(weigher).build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, "x".repeat(60));
+            cache.put(TEST_KEY2, "x".repeat(30));
+            cache.cleanUp();
+
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.stats().getHeapCost()).isEqualTo(90);
+        }
+
+        @Test
+        void should_estimate_weight_of_known_types() {
+            DefaultWeigher<Object, Object> weigher = new DefaultWeigher<>();
+
+            assertThat(weigher.weigh("key", "value")).isEqualTo(DefaultWeigher.ENTRY_OVERHEAD + 40 + 3 + 40 + 5);
+            assertThat(weigher.weigh("key", new byte[1_000])).isEqualTo(DefaultWeigher.ENTRY_OVERHEAD + 40 + 3 + 16 + 1_000);
+            assertThat(weigher.weigh("key", Buffer.buffer(new byte[1_000]))).isEqualTo(DefaultWeigher.ENTRY_OVERHEAD + 40 + 3 + 64 + 1_000);
+            assertThat(weigher.weigh("key", new Object())).isEqualTo(DefaultWeigher.ENTRY_OVERHEAD + 40 + 3 + DefaultWeigher.OBJECT_WEIGHT);
+        }
+    }
+
+    @Nested
+    class BulkTest {
+
+        @Test
+        void should_get_all_present_values() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2, "no_key"))).containsOnly(
+                entry(TEST_KEY, TEST_VALUE),
+                entry(TEST_KEY2, TEST_VALUE2)
+            );
+        }
+
+        @Test
+        void should_check_all_keys_are_present() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            assertThat(cache.containsAll(List.of(TEST_KEY, TEST_KEY2))).isTrue();
+            assertThat(cache.containsAll(List.of(TEST_KEY, "no_key"))).isFalse();
+        }
+
+        @Test
+        void should_check_all_keys_are_present_without_recording_lookups() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            cache.containsAll(List.of(TEST_KEY, "no_key"));
+
+            assertThat(cache.stats().getHitCount()).isZero();
+            assertThat(cache.stats().getMissCount()).isZero();
+        }
+
+        @Test
+        void should_put_all_values_with_ttl_and_expired_after_ttl() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2), 200, TimeUnit.MILLISECONDS);
+            assertThat(cache.containsAll(List.of(TEST_KEY, TEST_KEY2))).isTrue();
+
+            await()
+                .atMost(400, TimeUnit.MILLISECONDS)
+                .untilAsserted(() -> {
+                    assertThat(cache.get(TEST_KEY)).isNull();
+                    assertThat(cache.get(TEST_KEY2)).isNull();
+                });
+        }
+
+        @Test
+        void should_evict_all_values() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2));
+
+            cache.evictAll(List.of(TEST_KEY, TEST_KEY2));
+
+            assertThat(cache.get(TEST_KEY)).isNull();
+            assertThat(cache.get(TEST_KEY2)).isNull();
+        }
+    }
+
+    @Nested
+    class AsyncTest {
+
+        @Test
+        void should_put_and_get_value_asynchronously() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            AsyncCache<String, String> cache = new InMemoryCache<String, String>(CACHE_NAME, configuration).async();
+
+            cache.put(TEST_KEY, TEST_VALUE).test().awaitDone(2, TimeUnit.SECONDS).assertComplete().assertNoValues();
+            cache.put(TEST_KEY, TEST_VALUE_UPDATED).test().awaitDone(2, TimeUnit.SECONDS).assertValue(TEST_VALUE);
+            cache.get(TEST_KEY).test().awaitDone(2, TimeUnit.SECONDS).assertValue(TEST_VALUE_UPDATED);
+            cache.containsKey(TEST_KEY).test().awaitDone(2, TimeUnit.SECONDS).assertValue(true);
+        }
+
+        @Test
+        void should_complete_empty_when_getting_non_existing_key() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            AsyncCache<String, String> cache = new InMemoryCache<String, String>(CACHE_NAME, configuration).async();
+
+            cache.get("no_key").test().awaitDone(2, TimeUnit.SECONDS).assertComplete().assertNoValues();
+            cache.containsKey("no_key").test().awaitDone(2, TimeUnit.SECONDS).assertValue(false);
+        }
+
+        @Test
+        void should_put_get_and_evict_all_values_asynchronously() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            AsyncCache<String, String> cache = new InMemoryCache<String, String>(CACHE_NAME, configuration).async();
+
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2)).test().awaitDone(2, TimeUnit.SECONDS).assertComplete();
+            cache
+                .getAll(List.of(TEST_KEY, TEST_KEY2, "no_key"))
+                .test()
+                .awaitDone(2, TimeUnit.SECONDS)
+                .assertValue(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2));
+            cache.evict(TEST_KEY).test().awaitDone(2, TimeUnit.SECONDS).assertValue(TEST_VALUE);
+            cache.evictAll(List.of(TEST_KEY2)).test().awaitDone(2, TimeUnit.SECONDS).assertComplete();
+            cache.getAll(List.of(TEST_KEY, TEST_KEY2)).test().awaitDone(2, TimeUnit.SECONDS).assertValue(Map.of());
+        }
+    }
 }
@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheLoader;
+import io.gravitee.node.api.cache.CacheStats;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.MaybeSubject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class InMemoryLoadingCacheTest {
+
+    private static final String CACHE_NAME = "test-cache";
+    private static final String TEST_KEY = "key1";
+    private static final String TEST_KEY2 = "key2";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final CacheLoader<String, String> countingLoader = key -> {
+        int count = loadCount.incrementAndGet();
+        return key.equals("missing") ? Maybe.empty() : Maybe.just(key + "-" + count);
+    };
+
+    @Nested
+    class LoadTest {
+
+        @Test
+        void should_load_missing_value_once() {
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(
+                CACHE_NAME,
+                CacheConfiguration.builder().build(),
+                countingLoader
+            );
+
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+            assertThat(cache.containsKey(TEST_KEY2)).isFalse();
+            assertThat(cache.get("missing")).isNull();
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2, "missing")))
+                .containsOnly(Map.entry(TEST_KEY, TEST_KEY + "-1"), Map.entry(TEST_KEY2, TEST_KEY2 + "-3"));
+            // Keys without value aren't cached and are loaded again
+            assertThat(loadCount).hasValue(4);
+        }
+
+        @Test
+        void should_share_the_load_between_concurrent_callers() {
+            MaybeSubject<String> pendingLoad = MaybeSubject.create();
+            AtomicInteger loads = new AtomicInteger();
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(
+                CACHE_NAME,
+                CacheConfiguration.builder().build(),
+                key -> {
+                    loads.incrementAndGet();
+                    return pendingLoad;
+                }
+            );
+
+            TestObserver<String> first = cache.getOrLoad(TEST_KEY).test();
+            TestObserver<String> second = cache.getOrLoad(TEST_KEY).test();
+            TestObserver<String> third = cache.async().get(TEST_KEY).test();
+            first.assertNotComplete();
+
+            pendingLoad.onSuccess("value");
+
+            first.assertValue("value");
+            second.assertValue("value");
+            third.assertValue("value");
+            assertThat(loads).hasValue(1);
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+        }
+
+        @Test
+        void should_load_again_after_a_failure() {
+            AtomicInteger loads = new AtomicInteger();
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(
+                CACHE_NAME,
+                CacheConfiguration.builder().build(),
+                key -> loads.incrementAndGet() == 1 ? Maybe.error(new RuntimeException("failure")) : Maybe.just("value")
+            );
+
+            cache.getOrLoad(TEST_KEY).test().assertError(RuntimeException.class);
+            cache.getOrLoad(TEST_KEY).test().assertValue("value");
+
+            CacheStats stats = cache.stats();
+            assertThat(stats.getLoadSuccessCount()).isEqualTo(1);
+            assertThat(stats.getLoadFailureCount()).isEqualTo(1);
+            assertThat(stats.getAverageLoadPenaltyNanos()).isPositive();
+        }
+
+        @Test
+        void should_notify_listeners_outside_of_compute() {
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(
+                CACHE_NAME,
+                CacheConfiguration.builder().build(),
+                countingLoader
+            );
+            List<String> added = new CopyOnWriteArrayList<>();
+            cache.addCacheListener(
+                new CacheListener<>() {
+                    @Override
+                    public void onEntryAdded(final String key, final String value) {
+                        // Reading the same key from a listener would dead lock if it was notified within the compute
+                        added.add(cache.computeIfPresent(key, (k, v) -> v));
+                    }
+                }
+            );
+
+            cache.computeIfAbsent(TEST_KEY, key -> "value");
+            cache.get(TEST_KEY2);
+
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(added).containsExactlyInAnyOrder("value", TEST_KEY2 + "-1"));
+        }
+    }
+
+    @Nested
+    class RefreshTest {
+
+        @Test
+        void should_serve_stale_value_while_reloading_it() {
+            MaybeSubject<String> pendingReload = MaybeSubject.create();
+            AtomicInteger reloads = new AtomicInteger();
+            CacheLoader<String, String> loader = new CacheLoader<>() {
+                @Override
+                public Maybe<String> load(final String key) {
+                    return Maybe.just("value");
+                }
+
+                @Override
+                public Maybe<String> reload(final String key, final String oldValue) {
+                    reloads.incrementAndGet();
+                    return pendingReload;
+                }
+            };
+            CacheConfiguration configuration = CacheConfiguration.builder().refreshAfterWriteInMs(10_000).build();
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(CACHE_NAME, configuration, nanos::get, loader);
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+
+            advance(5_000);
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+            assertThat(reloads).hasValue(0);
+
+            advance(6_000);
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(reloads).hasValue(1));
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+            assertThat(reloads).hasValue(1);
+
+            pendingReload.onSuccess("reloaded");
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.get(TEST_KEY)).isEqualTo("reloaded"));
+            assertThat(cache.stats().getRefreshCount()).isEqualTo(1);
+        }
+
+        @Test
+        void should_keep_stale_value_when_reload_fails() {
+            AtomicInteger loads = new AtomicInteger();
+            CacheConfiguration configuration = CacheConfiguration.builder().refreshAfterWriteInMs(10_000).build();
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(
+                CACHE_NAME,
+                configuration,
+                nanos::get,
+                key -> loads.incrementAndGet() == 1 ? Maybe.just("value") : Maybe.error(new RuntimeException("failure"))
+            );
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+
+            advance(11_000);
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.stats().getRefreshFailureCount()).isEqualTo(1));
+            assertThat(cache.get(TEST_KEY)).isEqualTo("value");
+        }
+
+        @Test
+        void should_refresh_on_demand() {
+            InMemoryLoadingCache<String, String> cache = new InMemoryLoadingCache<>(
+                CACHE_NAME,
+                CacheConfiguration.builder().build(),
+                countingLoader
+            );
+            cache.refresh(TEST_KEY);
+            assertThat(cache.containsKey(TEST_KEY)).isFalse();
+
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+            cache.refresh(TEST_KEY);
+
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-2"));
+        }
+
+        private void advance(final long millis) {
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+}
@@ -18,6 +18,13 @@ package io.gravitee.node.cache;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.Node;
 import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.configuration.Configuration;
+import io.gravitee.node.cache.management.NodeCachesManagementEndpoint;
+import io.gravitee.node.cache.metrics.CacheMetricsBinder;
+import io.gravitee.node.management.http.endpoint.ManagementEndpointManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.micrometer.backends.BackendRegistries;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +37,8 @@ import org.springframework.context.annotation.Lazy;
 @Slf4j
 public class NodeCacheService extends AbstractService<NodeCacheService> {
 
+    private static final long METRICS_REFRESH_DELAY = 10_000;
+
     @Autowired
     private Node node;
 
@@ -37,6 +46,17 @@ public class NodeCacheService extends AbstractService<NodeCacheService> {
     @Lazy
     private CacheManager cacheManager;
 
+    @Autowired
+    private ManagementEndpointManager managementEndpointManager;
+
+    @Autowired
+    private Configuration configuration;
+
+    @Autowired
+    private Vertx vertx;
+
+    private long metricsTimerId = -1;
+
     @Override
     public void doStart() throws Exception {
         super.doStart();
@@ -46,11 +66,26 @@ public class NodeCacheService extends AbstractService<NodeCacheService> {
             log.error("No Cache manager has been registered.");
             throw new NoCacheManagerException();
         }
+
+        managementEndpointManager.register(new NodeCachesManagementEndpoint(cacheManager));
+
+        if (configuration.getProperty("services.metrics.enabled", Boolean.class, false)) {
+            MeterRegistry registry = BackendRegistries.getDefaultNow();
+            if (registry != null) {
+                // Caches are created on demand, look for new ones periodically
+                CacheMetricsBinder metricsBinder = new CacheMetricsBinder(cacheManager, registry);
+                metricsBinder.refresh();
+                metricsTimerId = vertx.setPeriodic(METRICS_REFRESH_DELAY, metricsBinder);
+            }
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
         super.doStop();
+        if (metricsTimerId > 0) {
+            vertx.cancelTimer(metricsTimerId);
+        }
         if (cacheManager != null) {
             cacheManager.stop();
         }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.management;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.management.http.endpoint.ManagementEndpoint;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.Comparator;
+
+/**
+ * List the caches of the node with their statistics. Statistics the cache implementation doesn't provide are omitted.
+ *
+ * @author GraviteeSource Team
+ */
+public class NodeCachesManagementEndpoint implements ManagementEndpoint {
+
+    private final CacheManager cacheManager;
+
+    public NodeCachesManagementEndpoint(final CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public HttpMethod method() {
+        return HttpMethod.GET;
+    }
+
+    @Override
+    public String path() {
+        return "/caches";
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        HttpServerResponse response = ctx.response();
+
+        JsonArray payload = new JsonArray();
+        cacheManager.getCaches().stream().sorted(Comparator.comparing(Cache::getName)).forEach(cache -> payload.add(toJson(cache)));
+
+        response.setStatusCode(HttpStatusCode.OK_200);
+        response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        response.setChunked(true);
+        response.end(payload.encodePrettily());
+    }
+
+    private static JsonObject toJson(final Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        JsonObject json = new JsonObject().put("name", cache.getName());
+        putIfAvailable(json, "size", stats.getEstimatedSize());
+        putIfAvailable(json, "hits", stats.getHitCount());
+        putIfAvailable(json, "misses", stats.getMissCount());
+        if (stats.getHitRatio() != CacheStats.UNAVAILABLE) {
+            json.put("hitRatio", stats.getHitRatio());
+        }
+        putIfAvailable(json, "puts", stats.getPutCount());
+
+        JsonObject removals = new JsonObject();
+        putIfAvailable(removals, "expired", stats.getExpirationCount());
+        putIfAvailable(removals, "size", stats.getSizeEvictionCount());
+        putIfAvailable(removals, "explicit", stats.getExplicitEvictionCount());
+        if (!removals.isEmpty()) {
+            json.put("removals", removals);
+        }
+
+        JsonObject loads = new JsonObject();
+        putIfAvailable(loads, "success", stats.getLoadSuccessCount());
+        putIfAvailable(loads, "failure", stats.getLoadFailureCount());
+        putIfAvailable(loads, "refreshed", stats.getRefreshCount());
+        putIfAvailable(loads, "refreshFailure", stats.getRefreshFailureCount());
+        if (!loads.isEmpty()) {
+            json.put("loads", loads);
+        }
+
+        if (stats.getAverageLoadPenaltyNanos() != CacheStats.UNAVAILABLE) {
+            json.put("averageLoadTimeNanos", stats.getAverageLoadPenaltyNanos());
+        }
+        putIfAvailable(json, "heapCost", stats.getHeapCost());
+        return json;
+    }
+
+    private static void putIfAvailable(final JsonObject json, final String field, final long value) {
+        if (value != CacheStats.UNAVAILABLE) {
+            json.put(field, value);
+        }
+    }
+}
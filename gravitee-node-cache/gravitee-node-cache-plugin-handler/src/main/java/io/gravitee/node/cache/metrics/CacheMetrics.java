@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Expose the {@link CacheStats} of a {@link Cache} as Micrometer meters tagged with the name of the cache.
+ *
+ * <p>
+ * Besides the common <code>cache.*</code> meters, removals are detailed by cause and the loads, refreshes, load time and heap
+ * cost are exposed when the implementation provides them. The statistics are read at most once per second whatever the number of meters.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheMetrics extends CacheMeterBinder<Cache<?, ?>> {
+
+    private static final long STATS_MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final CacheStats NO_STATS = CacheStats.builder().build();
+    private static final Map<String, String> DESCRIPTIONS = Map.of(
+        "cache.removals",
+        "The number of entries removed from the cache",
+        "cache.loads",
+        "The number of values loaded by the loader of the cache",
+        "cache.refreshes",
+        "The number of stale values reloaded in the background by the loader of the cache"
+    );
+
+    private volatile CacheStats stats;
+    private volatile long statsReadAtNanos;
+
+    public CacheMetrics(final Cache<?, ?> cache, final Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return available(stats().getEstimatedSize());
+    }
+
+    @Override
+    protected long hitCount() {
+        return Math.max(0, stats().getHitCount());
+    }
+
+    @Override
+    protected Long missCount() {
+        return available(stats().getMissCount());
+    }
+
+    @Override
+    protected Long evictionCount() {
+        CacheStats current = stats();
+        if (current.getSizeEvictionCount() == CacheStats.UNAVAILABLE || current.getExpirationCount() == CacheStats.UNAVAILABLE) {
+            return null;
+        }
+        return current.getSizeEvictionCount() + current.getExpirationCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return Math.max(0, stats().getPutCount());
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(final MeterRegistry registry) {
+        CacheStats current = stats();
+        bindCounter(registry, current, "cache.removals", "cause", "expired", CacheStats::getExpirationCount);
+        bindCounter(registry, current, "cache.removals", "cause", "size", CacheStats::getSizeEvictionCount);
+        bindCounter(registry, current, "cache.removals", "cause", "explicit", CacheStats::getExplicitEvictionCount);
+        bindCounter(registry, current, "cache.loads", "result", "success", CacheStats::getLoadSuccessCount);
+        bindCounter(registry, current, "cache.loads", "result", "failure", CacheStats::getLoadFailureCount);
+        bindCounter(registry, current, "cache.refreshes", "result", "success", CacheStats::getRefreshCount);
+        bindCounter(registry, current, "cache.refreshes", "result", "failure", CacheStats::getRefreshFailureCount);
+
+        if (current.getHitRatio() != CacheStats.UNAVAILABLE) {
+            Gauge
+                .builder("cache.hit.ratio", this, metrics -> metrics.stats().getHitRatio())
+                .tags(getTagsWithCacheName())
+                .description("The ratio of cache lookups which found a value")
+                .register(registry);
+        }
+        if (current.getAverageLoadPenaltyNanos() != CacheStats.UNAVAILABLE) {
+            TimeGauge
+                .builder(
+                    "cache.load.duration",
+                    this,
+                    TimeUnit.NANOSECONDS,
+                    metrics -> Math.max(0, metrics.stats().getAverageLoadPenaltyNanos())
+                )
+                .tags(getTagsWithCacheName())
+                .description("The average time spent computing the values of the cache")
+                .register(registry);
+        }
+        if (current.getHeapCost() != CacheStats.UNAVAILABLE) {
+            Gauge
+                .builder("cache.heap.cost", this, metrics -> Math.max(0, metrics.stats().getHeapCost()))
+                .tags(getTagsWithCacheName())
+                .description("The approximate heap memory used by the entries of the cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        }
+    }
+
+    private void bindCounter(
+        final MeterRegistry registry,
+        final CacheStats current,
+        final String name,
+        final String tagKey,
+        final String tagValue,
+        final ToLongFunction<CacheStats> count
+    ) {
+        if (count.applyAsLong(current) != CacheStats.UNAVAILABLE) {
+            FunctionCounter
+                .builder(name, this, metrics -> Math.max(0, count.applyAsLong(metrics.stats())))
+                .tags(getTagsWithCacheName())
+                .tag(tagKey, tagValue)
+                .description(DESCRIPTIONS.get(name))
+                .register(registry);
+        }
+    }
+
+    private CacheStats stats() {
+        long now = System.nanoTime();
+        CacheStats current = stats;
+        if (current == null || now - statsReadAtNanos > STATS_MAX_AGE_NANOS) {
+            Cache<?, ?> cache = getCache();
+            current = cache != null ? cache.stats() : NO_STATS;
+            stats = current;
+            statsReadAtNanos = now;
+        }
+        return current;
+    }
+
+    private static Long available(final long value) {
+        return value == CacheStats.UNAVAILABLE ? null : value;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Handler;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keep the {@link CacheMetrics} of the registry in line with the caches of the {@link CacheManager}. Caches are created lazily,
+ * so this is meant to be run periodically: meters of the new caches are registered and meters of the destroyed ones removed.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class CacheMetricsBinder implements Handler<Long> {
+
+    private static final String CACHE_TAG = "cache";
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry registry;
+    private final Map<String, Cache<?, ?>> boundCaches = new HashMap<>();
+
+    public CacheMetricsBinder(final CacheManager cacheManager, final MeterRegistry registry) {
+        this.cacheManager = cacheManager;
+        this.registry = registry;
+    }
+
+    @Override
+    public void handle(final Long timerId) {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        Map<String, Cache<?, ?>> currentCaches = new HashMap<>();
+        cacheManager.getCaches().forEach(cache -> currentCaches.put(cache.getName(), cache));
+
+        Iterator<Map.Entry<String, Cache<?, ?>>> bound = boundCaches.entrySet().iterator();
+        while (bound.hasNext()) {
+            Map.Entry<String, Cache<?, ?>> entry = bound.next();
+            // A cache destroyed then created again under the same name needs new meters as well
+            if (currentCaches.get(entry.getKey()) != entry.getValue()) {
+                removeMeters(entry.getKey());
+                bound.remove();
+            }
+        }
+
+        currentCaches.forEach((name, cache) -> {
+            if (!boundCaches.containsKey(name)) {
+                log.debug("Registering metrics of cache [{}]", name);
+                new CacheMetrics(cache, Tags.empty()).bindTo(registry);
+                boundCaches.put(name, cache);
+            }
+        });
+    }
+
+    private void removeMeters(final String cacheName) {
+        log.debug("Removing metrics of cache [{}]", cacheName);
+        registry
+            .getMeters()
+            .stream()
+            .filter(meter -> meter.getId().getName().startsWith("cache.") && cacheName.equals(meter.getId().getTag(CACHE_TAG)))
+            .forEach(registry::remove);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.CacheStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheMetricsBinderTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache<Object, Object> cache;
+
+    private SimpleMeterRegistry registry;
+    private CacheMetricsBinder cut;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cut = new CacheMetricsBinder(cacheManager, registry);
+        when(cache.getName()).thenReturn("my-cache");
+    }
+
+    @Test
+    void should_register_meters_of_new_caches() {
+        when(cacheManager.getCaches()).thenReturn(List.of(cache));
+        when(cache.stats())
+            .thenReturn(CacheStats.builder().hitCount(3).missCount(1).putCount(2).expirationCount(4).estimatedSize(10).build());
+
+        cut.refresh();
+
+        assertThat(registry.get("cache.gets").tag("cache", "my-cache").tag("result", "hit").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("cache.gets").tag("cache", "my-cache").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.puts").tag("cache", "my-cache").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.size").tag("cache", "my-cache").gauge().value()).isEqualTo(10);
+        assertThat(registry.get("cache.hit.ratio").tag("cache", "my-cache").gauge().value()).isEqualTo(0.75);
+        assertThat(registry.get("cache.removals").tag("cause", "expired").functionCounter().count()).isEqualTo(4);
+        // Statistics the implementation doesn't provide are not registered
+        assertThat(registry.find("cache.removals").tag("cause", "size").functionCounter()).isNull();
+        assertThat(registry.find("cache.heap.cost").gauge()).isNull();
+    }
+
+    @Test
+    void should_remove_meters_of_destroyed_caches() {
+        when(cacheManager.getCaches()).thenReturn(List.of(cache));
+        when(cache.stats()).thenReturn(CacheStats.builder().hitCount(1).missCount(0).build());
+        cut.refresh();
+        assertThat(registry.find("cache.gets").tag("cache", "my-cache").meters()).isNotEmpty();
+
+        when(cacheManager.getCaches()).thenReturn(List.of());
+        cut.refresh();
+
+        assertThat(registry.find("cache.gets").tag("cache", "my-cache").meters()).isEmpty();
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.hazelcast;
+
+import com.hazelcast.map.IMap;
+import io.gravitee.node.api.cache.AsyncCache;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AsyncCache} relying on the asynchronous operations of the Hazelcast {@link IMap}, so the calling thread never waits
+ * for a network round trip. Sources complete on a Hazelcast thread.
+ *
+ * @author GraviteeSource Team
+ */
+public class HazelcastAsyncCache<K, V> implements AsyncCache<K, V> {
+
+    protected final HazelcastCache<K, V> syncCache;
+    private final IMap<K, V> cache;
+
+    public HazelcastAsyncCache(final HazelcastCache<K, V> syncCache) {
+        this.syncCache = syncCache;
+        this.cache = syncCache.cache;
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Maybe<V> get(final K key) {
+        return Maybe
+            .defer(() -> Maybe.fromCompletionStage(cache.getAsync(key)))
+            .doOnSuccess(value -> syncCache.recordLookups(1, 0))
+            .doOnComplete(() -> syncCache.recordLookups(0, 1));
+    }
+
+    @Override
+    public Single<Map<K, V>> getAll(final Collection<? extends K> keys) {
+        return Single.defer(() -> {
+            // IMap has no asynchronous getAll, pipeline the single gets instead
+            Map<K, CompletableFuture<V>> futures = new HashMap<>();
+            keys.forEach(key -> futures.computeIfAbsent(key, k -> cache.getAsync(k).toCompletableFuture()));
+            return Single.fromCompletionStage(
+                CompletableFuture
+                    .allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> {
+                        Map<K, V> values = new HashMap<>();
+                        futures.forEach((key, future) -> {
+                            V value = future.join();
+                            if (value != null) {
+                                values.put(key, value);
+                            }
+                        });
+                        syncCache.recordLookups(values.size(), futures.size() - values.size());
+                        return values;
+                    })
+            );
+        });
+    }
+
+    @Override
+    public Single<Boolean> containsKey(final K key) {
+        return get(key).map(value -> true).defaultIfEmpty(false);
+    }
+
+    @Override
+    public Maybe<V> put(final K key, final V value) {
+        if (syncCache.timeToLiveInMs > 0) {
+            return put(key, value, syncCache.timeToLiveInMs, TimeUnit.MILLISECONDS);
+        }
+        return Maybe.defer(() -> Maybe.fromCompletionStage(cache.putAsync(key, value)));
+    }
+
+    @Override
+    public Maybe<V> put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return Maybe.defer(() -> {
+            syncCache.checkTtl(ttl, ttlUnit);
+            return Maybe.fromCompletionStage(cache.putAsync(key, value, ttl, ttlUnit));
+        });
+    }
+
+    @Override
+    public Completable putAll(final Map<? extends K, ? extends V> m) {
+        return Completable.defer(() -> Completable.fromCompletionStage(cache.putAllAsync(m)));
+    }
+
+    @Override
+    public Maybe<V> evict(final K key) {
+        return Maybe.defer(() -> Maybe.fromCompletionStage(cache.removeAsync(key)));
+    }
+
+    @Override
+    public Completable evictAll(final Collection<? extends K> keys) {
+        return Completable.defer(() ->
+            Completable.fromCompletionStage(
+                CompletableFuture.allOf(
+                    keys.stream().distinct().map(key -> cache.removeAsync(key).toCompletableFuture()).toArray(CompletableFuture[]::new)
+                )
+            )
+        );
+    }
+}
@@ -17,15 +17,28 @@ package io.gravitee.node.plugin.cache.hazelcast;
 
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.map.IMap;
-import com.hazelcast.map.impl.MapListenerAdapter;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import io.gravitee.node.api.cache.AsyncCache;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheStats;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -35,8 +48,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class HazelcastCache<K, V> implements Cache<K, V> {
 
-    private final IMap<K, V> cache;
-    private final long timeToLiveInMs;
+    protected final IMap<K, V> cache;
+    protected final long timeToLiveInMs;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     @Override
     public String getName() {
@@ -65,7 +80,23 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
 
     @Override
     public V get(K key) {
-        return this.cache.get(key);
+        V value = this.cache.get(key);
+        recordLookups(value != null ? 1 : 0, value != null ? 0 : 1);
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Set<K> distinctKeys = new HashSet<>(keys);
+        Map<K, V> values = this.cache.getAll(distinctKeys);
+        recordLookups(values.size(), distinctKeys.size() - values.size());
+        return values;
+    }
+
+    @Override
+    public boolean containsAll(final Collection<? extends K> keys) {
+        Set<K> distinctKeys = new HashSet<>(keys);
+        return this.cache.getAll(distinctKeys).size() == distinctKeys.size();
     }
 
     @Override
@@ -79,9 +110,7 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
 
     @Override
     public V put(K key, V value, long ttl, TimeUnit ttlUnit) {
-        if (timeToLiveInMs > 0 && timeToLiveInMs < TimeUnit.MILLISECONDS.convert(ttl, ttlUnit)) {
-            throw new IllegalArgumentException("Single TTL can't be bigger than TTL defined in the configuration");
-        }
+        checkTtl(ttl, ttlUnit);
 
         return this.cache.put(key, value, ttl, ttlUnit);
     }
@@ -91,6 +120,14 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
         this.cache.putAll(m);
     }
 
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        checkTtl(ttl, ttlUnit);
+
+        // Pipeline the operations instead of waiting for a round trip per entry
+        awaitAll(m.entrySet().stream().map(entry -> this.cache.setAsync(entry.getKey(), entry.getValue(), ttl, ttlUnit)));
+    }
+
     @Override
     public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
         return this.cache.computeIfAbsent(key, mappingFunction);
@@ -114,6 +151,11 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
         return v;
     }
 
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        awaitAll(keys.stream().distinct().map(this.cache::removeAsync));
+    }
+
     @Override
     public void clear() {
         cache.clear();
@@ -123,39 +165,35 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
     public String addCacheListener(CacheListener<K, V> cacheListener) {
         UUID id =
             this.cache.addEntryListener(
-                    new MapListenerAdapter<K, V>() {
-                        @Override
-                        public void onEntryEvent(EntryEvent<K, V> event) {
-                            switch (event.getEventType()) {
-                                case ADDED:
-                                    cacheListener.onEntryAdded(event.getKey(), event.getValue());
-                                    break;
-                                case REMOVED:
-                                case EVICTED:
-                                    cacheListener.onEntryEvicted(event.getKey(), event.getOldValue());
-                                    break;
-                                case UPDATED:
-                                    cacheListener.onEntryUpdated(event.getKey(), event.getOldValue(), event.getValue());
-                                    break;
-                                case EXPIRED:
-                                    cacheListener.onEntryExpired(event.getKey(), event.getValue());
-                                    break;
-                                case EVICT_ALL:
-                                case CLEAR_ALL:
-                                case MERGED:
-                                case INVALIDATION:
-                                case LOADED:
-                                default:
-                                    break;
-                            }
-                        }
-                    },
+                    new CacheListenerAdapter<>(cacheListener),
                     true
                 );
 
         return id.toString();
     }
 
+    @Override
+    public AsyncCache<K, V> async() {
+        return new HazelcastAsyncCache<>(this);
+    }
+
+    /**
+     * Hits and misses are counted from the point of view of this member, the other statistics come from the entries this
+     * member owns. Evictions and load times are not tracked by Hazelcast.
+     */
+    @Override
+    public CacheStats stats() {
+        LocalMapStats localMapStats = cache.getLocalMapStats();
+        return CacheStats
+            .builder()
+            .hitCount(hits.sum())
+            .missCount(misses.sum())
+            .putCount(localMapStats.getPutOperationCount() + localMapStats.getSetOperationCount())
+            .estimatedSize(localMapStats.getOwnedEntryCount())
+            .heapCost(localMapStats.getHeapCost())
+            .build();
+    }
+
     @Override
     public boolean removeCacheListener(final String cacheListenerId) {
         if (cacheListenerId != null) {
@@ -163,4 +201,62 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
         }
         return false;
     }
+
+    void recordLookups(final long hitCount, final long missCount) {
+        hits.add(hitCount);
+        misses.add(missCount);
+    }
+
+    void checkTtl(final long ttl, final TimeUnit ttlUnit) {
+        if (timeToLiveInMs > 0 && timeToLiveInMs < TimeUnit.MILLISECONDS.convert(ttl, ttlUnit)) {
+            throw new IllegalArgumentException("Single TTL can't be bigger than TTL defined in the configuration");
+        }
+    }
+
+    private static void awaitAll(final Stream<? extends CompletionStage<?>> operations) {
+        CompletableFuture.allOf(operations.map(CompletionStage::toCompletableFuture).toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Forward the entry events of the distributed map to a {@link CacheListener}.
+     */
+    private static class CacheListenerAdapter<K, V>
+        implements
+            EntryAddedListener<K, V>,
+            EntryRemovedListener<K, V>,
+            EntryEvictedListener<K, V>,
+            EntryUpdatedListener<K, V>,
+            EntryExpiredListener<K, V> {
+
+        private final CacheListener<K, V> cacheListener;
+
+        private CacheListenerAdapter(final CacheListener<K, V> cacheListener) {
+            this.cacheListener = cacheListener;
+        }
+
+        @Override
+        public void entryAdded(final EntryEvent<K, V> event) {
+            cacheListener.onEntryAdded(event.getKey(), event.getValue());
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<K, V> event) {
+            cacheListener.onEntryEvicted(event.getKey(), event.getOldValue());
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<K, V> event) {
+            cacheListener.onEntryEvicted(event.getKey(), event.getOldValue());
+        }
+
+        @Override
+        public void entryUpdated(final EntryEvent<K, V> event) {
+            cacheListener.onEntryUpdated(event.getKey(), event.getOldValue(), event.getValue());
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<K, V> event) {
+            cacheListener.onEntryExpired(event.getKey(), event.getValue());
+        }
+    }
 }
@@ -18,12 +18,18 @@ package io.gravitee.node.plugin.cache.hazelcast;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.core.HazelcastInstance;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheLoader;
 import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.LoadingCache;
 import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import io.gravitee.node.plugin.cache.common.InMemoryLoadingCache;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +44,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class HazelcastCacheManager extends AbstractService<CacheManager> implements CacheManager {
 
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
     private final ConcurrentMap<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
 
     private final HazelcastInstance hazelcastInstance;
@@ -65,6 +73,9 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
                     configureCache(s, configuration);
 
                     // Then create the cache entity
+                    if (configuration.isNearCacheEnabled()) {
+                        return new NearCachedHazelcastCache<>(hazelcastInstance.getMap(name), configuration);
+                    }
                     return new HazelcastCache<>(hazelcastInstance.getMap(name), configuration.getTimeToLiveInMs());
                 } else {
                     return new InMemoryCache<>(name, configuration);
@@ -73,11 +84,46 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
         );
     }
 
+    /**
+     * Distributed loading caches don't support the near cache.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> LoadingCache<K, V> getOrCreateLoadingCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final CacheLoader<K, V> loader
+    ) {
+        Cache<?, ?> cache = caches.computeIfAbsent(
+            name,
+            s -> {
+                if (configuration.isDistributed()) {
+                    configureCache(s, configuration);
+                    return new HazelcastLoadingCache<>(hazelcastInstance.<K, V>getMap(name), configuration, loader);
+                } else {
+                    return new InMemoryLoadingCache<>(name, configuration, loader);
+                }
+            }
+        );
+        if (!(cache instanceof LoadingCache)) {
+            throw new IllegalStateException("Cache [" + name + "] already exists and is not a loading cache");
+        }
+        return (LoadingCache<K, V>) cache;
+    }
+
+    @Override
+    public Collection<Cache<?, ?>> getCaches() {
+        return List.copyOf(caches.values());
+    }
+
     @Override
     public void destroy(final String cacheName) {
         Cache<?, ?> cache = caches.remove(cacheName);
         if (cache != null) {
             cache.clear();
+            if (cache instanceof NearCachedHazelcastCache<?, ?> nearCachedCache) {
+                nearCachedCache.close();
+            }
         }
     }
 
@@ -87,8 +133,14 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
         if (!config.getMapConfigs().containsKey(name)) {
             MapConfig mapConfig = new MapConfig(name);
 
-            if (configuration.getMaxSize() > 0) {
-                mapConfig.getEvictionConfig().setSize((int) configuration.getMaxSize());
+            if (configuration.getMaxWeightBytes() > 0) {
+                // Hazelcast weighs the entries from their serialized form and bounds the heap used per member in megabytes
+                mapConfig
+                    .getEvictionConfig()
+                    .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE)
+                    .setSize((int) Math.max(1, (configuration.getMaxWeightBytes() + BYTES_PER_MEGABYTE - 1) / BYTES_PER_MEGABYTE));
+            } else if (configuration.getMaxSize() > 0) {
+                mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.PER_NODE).setSize((int) configuration.getMaxSize());
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy().equals(EvictionPolicy.NONE)) {
@@ -104,6 +156,11 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
                 mapConfig.setTimeToLiveSeconds((int) TimeUnit.SECONDS.convert(configuration.getTimeToLiveInMs(), TimeUnit.MILLISECONDS));
             }
 
+            if (configuration.getRefreshAfterWriteInMs() > 0) {
+                // Loading caches rely on the last update time of the entries to skip the values refreshed by other members
+                mapConfig.setPerEntryStatsEnabled(true);
+            }
+
             config.addMapConfig(mapConfig);
         }
     }
@@ -0,0 +1,247 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.hazelcast;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.map.IMap;
+import io.gravitee.node.api.cache.AsyncCache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheLoader;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.LoadingCache;
+import io.gravitee.node.plugin.cache.common.CacheLoadCoordinator;
+import io.gravitee.node.plugin.cache.common.LoadingAsyncCache;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HazelcastCache} loading its missing values with a {@link CacheLoader}.
+ *
+ * <p>
+ * The concurrent callers of a member share a single load per key, and the members take the lock of the key in the cluster
+ * before loading it: the first one loads and stores the value, the other ones find it once they get the lock. The lock is leased
+ * for {@link #LOCK_LEASE_MS} at most, so a slow or hung loader only delays the other members that long before they load the value
+ * themselves. Loaded values are only stored if the key is still absent, never overwriting a value stored meanwhile.
+ * </p>
+ *
+ * <p>
+ * Each member tracks the age of the values it reads, from the moment it loaded or first read them. Once a value is older than
+ * {@link CacheConfiguration#getRefreshAfterWriteInMs()}, the next read returns it and triggers a background reload, which is
+ * skipped when another member holds the lock of the key or, when the per entry statistics of the map are enabled, has updated
+ * the value meanwhile. The reloaded value only replaces the one it has been reloaded from.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class HazelcastLoadingCache<K, V> extends HazelcastCache<K, V> implements LoadingCache<K, V> {
+
+    private static final long MIN_TRACKED_KEYS = 10_000;
+    static final long LOCK_LEASE_MS = 30_000;
+
+    private final CacheLoadCoordinator<K, V> loads;
+    private final long refreshAfterWriteInMs;
+    /**
+     * Last time the values were written, in milliseconds since the epoch, only when a refresh delay is configured.
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<K, Long> writeTimes;
+
+    public HazelcastLoadingCache(final IMap<K, V> cache, final CacheConfiguration configuration, final CacheLoader<K, V> loader) {
+        super(cache, configuration.getTimeToLiveInMs());
+        this.loads = new CacheLoadCoordinator<>(cache.getName(), loader);
+        this.refreshAfterWriteInMs = configuration.getRefreshAfterWriteInMs();
+        if (refreshAfterWriteInMs > 0) {
+            this.writeTimes = Caffeine.newBuilder().maximumSize(Math.max(MIN_TRACKED_KEYS, configuration.getMaxSize())).build();
+        } else {
+            this.writeTimes = null;
+        }
+    }
+
+    @Override
+    public V get(final K key) {
+        return getOrLoad(key).blockingGet();
+    }
+
+    @Override
+    public Maybe<V> getOrLoad(final K key) {
+        return Maybe
+            .defer(() -> Maybe.fromCompletionStage(cache.getAsync(key)))
+            .doOnEvent((value, throwable) -> {
+                if (throwable == null) {
+                    recordLookups(value != null ? 1 : 0, value != null ? 0 : 1);
+                }
+            })
+            .doOnSuccess(value -> refreshIfStale(key))
+            .switchIfEmpty(loads.load(key, this::load));
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>(super.getAll(keys));
+        values.keySet().forEach(this::refreshIfStale);
+        List<? extends K> missingKeys = keys.stream().distinct().filter(key -> !values.containsKey(key)).toList();
+        if (!missingKeys.isEmpty()) {
+            Flowable
+                .fromIterable(missingKeys)
+                .flatMapMaybe(key -> loads.load(key, this::load).map(value -> Map.entry(key, value)))
+                .blockingForEach(entry -> values.put(entry.getKey(), entry.getValue()));
+        }
+        return values;
+    }
+
+    @Override
+    public void refresh(final K key) {
+        loads.refresh(key, k -> reload(k, true)).subscribe();
+    }
+
+    @Override
+    public V evict(final K key) {
+        forget(key);
+        return super.evict(key);
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        if (writeTimes != null) {
+            writeTimes.invalidateAll(keys);
+        }
+        super.evictAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        if (writeTimes != null) {
+            writeTimes.invalidateAll();
+        }
+        super.clear();
+    }
+
+    @Override
+    public AsyncCache<K, V> async() {
+        return new LoadingAsyncCache<>(this, super.async());
+    }
+
+    @Override
+    public CacheStats stats() {
+        return loads.withLoadStats(super.stats());
+    }
+
+    private void refreshIfStale(final K key) {
+        if (writeTimes != null) {
+            long now = System.currentTimeMillis();
+            long writeTime = writeTimes.get(key, k -> now);
+            if (now - writeTime >= refreshAfterWriteInMs) {
+                loads.refresh(key, k -> reload(k, false)).subscribe();
+            }
+        }
+    }
+
+    private void forget(final K key) {
+        if (writeTimes != null) {
+            writeTimes.invalidate(key);
+        }
+    }
+
+    /**
+     * Load the value under the lock of the key, unless another member stored it while this one was waiting for the lock. The
+     * value is loaded anyway once the lease of the member holding the lock expired.
+     */
+    private Maybe<V> load(final K key) {
+        return Maybe
+            .fromCallable(() -> {
+                boolean locked = cache.tryLock(key, LOCK_LEASE_MS, TimeUnit.MILLISECONDS, LOCK_LEASE_MS, TimeUnit.MILLISECONDS);
+                try {
+                    V value = cache.get(key);
+                    if (value == null) {
+                        value = loads.getLoader().load(key).blockingGet();
+                        if (value != null) {
+                            value = putIfAbsent(key, value);
+                        }
+                    }
+                    if (value != null && writeTimes != null) {
+                        writeTimes.put(key, System.currentTimeMillis());
+                    }
+                    return value;
+                } finally {
+                    if (locked) {
+                        unlock(key);
+                    }
+                }
+            })
+            .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Reload the value under the lock of the key, skipped if the lock is already held or, unless forced, if the value has been
+     * updated by another member since it was read.
+     */
+    private Maybe<V> reload(final K key, final boolean force) {
+        return Maybe
+            .fromCallable(() -> {
+                if (!cache.tryLock(key, 0, TimeUnit.MILLISECONDS, LOCK_LEASE_MS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+                try {
+                    EntryView<K, V> entry = cache.getEntryView(key);
+                    if (entry == null) {
+                        forget(key);
+                        return null;
+                    }
+                    long now = System.currentTimeMillis();
+                    // The last update time is only known when the per entry statistics of the map are enabled
+                    if (!force && entry.getLastUpdateTime() > 0 && now - entry.getLastUpdateTime() < refreshAfterWriteInMs) {
+                        writeTimes.put(key, entry.getLastUpdateTime());
+                        return null;
+                    }
+                    V value = loads.getLoader().reload(key, entry.getValue()).blockingGet();
+                    if (value == null || !cache.replace(key, entry.getValue(), value)) {
+                        return null;
+                    }
+                    if (writeTimes != null) {
+                        writeTimes.put(key, now);
+                    }
+                    return value;
+                } finally {
+                    unlock(key);
+                }
+            })
+            .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * @return the value stored, which is the one of another member if it stored one first.
+     */
+    private V putIfAbsent(final K key, final V value) {
+        V current = timeToLiveInMs > 0
+            ? cache.putIfAbsent(key, value, timeToLiveInMs, TimeUnit.MILLISECONDS)
+            : cache.putIfAbsent(key, value);
+        return current != null ? current : value;
+    }
+
+    private void unlock(final K key) {
+        try {
+            cache.unlock(key);
+        } catch (IllegalMonitorStateException e) {
+            // The lease expired while loading, the lock may already be held by another member
+        }
+    }
+}
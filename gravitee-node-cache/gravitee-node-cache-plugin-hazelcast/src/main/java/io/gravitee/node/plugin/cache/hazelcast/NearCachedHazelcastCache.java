@@ -0,0 +1,357 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.hazelcast;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryMergedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+import io.gravitee.node.api.cache.AsyncCache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheStats;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link HazelcastCache} keeping a bounded in-process copy (L1) of the entries read from the distributed map (L2).
+ *
+ * <p>
+ * Reads are served from the L1 when possible. Local writes invalidate the L1 synchronously while writes made by other members
+ * invalidate it through the entry events of the map, so a read may observe a stale value for the time the event takes to
+ * arrive. The optional near cache TTL bounds this staleness.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class NearCachedHazelcastCache<K, V> extends HazelcastCache<K, V> {
+
+    private final com.github.benmanes.caffeine.cache.Cache<K, V> nearCache;
+    private final UUID invalidationListenerId;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NearCachedHazelcastCache(final IMap<K, V> cache, final CacheConfiguration configuration) {
+        super(cache, configuration.getTimeToLiveInMs());
+        Caffeine<Object, Object> nearCacheBuilder = Caffeine.newBuilder().recordStats();
+        if (configuration.getNearCacheMaxSize() > 0) {
+            nearCacheBuilder.maximumSize(configuration.getNearCacheMaxSize());
+        }
+        if (configuration.getNearCacheTimeToLiveInMs() > 0) {
+            nearCacheBuilder.expireAfterWrite(configuration.getNearCacheTimeToLiveInMs(), TimeUnit.MILLISECONDS);
+        }
+        this.nearCache = nearCacheBuilder.build();
+        this.invalidationListenerId = cache.addEntryListener(new InvalidationListener(), false);
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return nearCache.getIfPresent(key) != null || super.containsKey(key);
+    }
+
+    @Override
+    public V get(final K key) {
+        V value = nearCache.getIfPresent(key);
+        if (value == null) {
+            long invalidationsBeforeRead = invalidations.get();
+            value = super.get(key);
+            // Don't keep a value which may have been invalidated while it was being read from the cluster
+            if (value != null && invalidations.get() == invalidationsBeforeRead) {
+                nearCache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>(nearCache.getAllPresent(keys));
+        if (values.size() < keys.size()) {
+            List<? extends K> missingKeys = keys.stream().filter(key -> !values.containsKey(key)).toList();
+            long invalidationsBeforeRead = invalidations.get();
+            Map<K, V> remoteValues = super.getAll(missingKeys);
+            if (invalidations.get() == invalidationsBeforeRead) {
+                nearCache.putAll(remoteValues);
+            }
+            values.putAll(remoteValues);
+        }
+        return values;
+    }
+
+    @Override
+    public boolean containsAll(final Collection<? extends K> keys) {
+        return getAll(keys).keySet().containsAll(keys);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        try {
+            return super.put(key, value);
+        } finally {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        try {
+            return super.put(key, value, ttl, ttlUnit);
+        } finally {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        try {
+            super.putAll(m);
+        } finally {
+            nearCache.invalidateAll(m.keySet());
+        }
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        try {
+            super.putAll(m, ttl, ttlUnit);
+        } finally {
+            nearCache.invalidateAll(m.keySet());
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        try {
+            return super.computeIfAbsent(key, mappingFunction);
+        } finally {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.computeIfPresent(key, remappingFunction);
+        } finally {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return super.compute(key, remappingFunction);
+        } finally {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public V evict(final K key) {
+        try {
+            return super.evict(key);
+        } finally {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        try {
+            super.evictAll(keys);
+        } finally {
+            nearCache.invalidateAll(keys);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            super.clear();
+        } finally {
+            nearCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public AsyncCache<K, V> async() {
+        return new NearCachedAsyncCache();
+    }
+
+    /**
+     * Lookups served by the near cache are counted as hits, the other ones are counted by the distributed map.
+     */
+    @Override
+    public CacheStats stats() {
+        CacheStats stats = super.stats();
+        return CacheStats
+            .builder()
+            .hitCount(stats.getHitCount() + nearCache.stats().hitCount())
+            .missCount(stats.getMissCount())
+            .putCount(stats.getPutCount())
+            .estimatedSize(stats.getEstimatedSize())
+            .heapCost(stats.getHeapCost())
+            .build();
+    }
+
+    /**
+     * @return the hit, miss and eviction statistics of the near cache.
+     */
+    public com.github.benmanes.caffeine.cache.stats.CacheStats nearCacheStats() {
+        return nearCache.stats();
+    }
+
+    public long nearCacheSize() {
+        return nearCache.estimatedSize();
+    }
+
+    /**
+     * Stop listening to the invalidation events of the distributed map and drop the local copies.
+     */
+    public void close() {
+        cache.removeEntryListener(invalidationListenerId);
+        nearCache.invalidateAll();
+    }
+
+    private class NearCachedAsyncCache extends HazelcastAsyncCache<K, V> {
+
+        private NearCachedAsyncCache() {
+            super(NearCachedHazelcastCache.this);
+        }
+
+        @Override
+        public Maybe<V> get(final K key) {
+            return Maybe.defer(() -> {
+                V value = nearCache.getIfPresent(key);
+                if (value != null) {
+                    return Maybe.just(value);
+                }
+                long invalidationsBeforeRead = invalidations.get();
+                return super
+                    .get(key)
+                    .doOnSuccess(remoteValue -> {
+                        if (invalidations.get() == invalidationsBeforeRead) {
+                            nearCache.put(key, remoteValue);
+                        }
+                    });
+            });
+        }
+
+        @Override
+        public Maybe<V> put(final K key, final V value) {
+            return super.put(key, value).doFinally(() -> nearCache.invalidate(key));
+        }
+
+        @Override
+        public Maybe<V> put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+            return super.put(key, value, ttl, ttlUnit).doFinally(() -> nearCache.invalidate(key));
+        }
+
+        @Override
+        public Completable putAll(final Map<? extends K, ? extends V> m) {
+            return super.putAll(m).doFinally(() -> nearCache.invalidateAll(m.keySet()));
+        }
+
+        @Override
+        public Maybe<V> evict(final K key) {
+            return super.evict(key).doFinally(() -> nearCache.invalidate(key));
+        }
+
+        @Override
+        public Completable evictAll(final Collection<? extends K> keys) {
+            return super.evictAll(keys).doFinally(() -> nearCache.invalidateAll(keys));
+        }
+    }
+
+    private class InvalidationListener
+        implements
+            EntryUpdatedListener<K, V>,
+            EntryRemovedListener<K, V>,
+            EntryEvictedListener<K, V>,
+            EntryExpiredListener<K, V>,
+            EntryMergedListener<K, V>,
+            MapClearedListener,
+            MapEvictedListener {
+
+        // A new entry can't be in the near cache, added and loaded entries don't need to be listened to
+
+        @Override
+        public void entryUpdated(final EntryEvent<K, V> event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<K, V> event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<K, V> event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<K, V> event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void entryMerged(final EntryEvent<K, V> event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void mapCleared(final MapEvent event) {
+            invalidateAll(event);
+        }
+
+        @Override
+        public void mapEvicted(final MapEvent event) {
+            invalidateAll(event);
+        }
+
+        private void invalidate(final EntryEvent<K, V> event) {
+            invalidations.incrementAndGet();
+            if (event.getKey() != null) {
+                nearCache.invalidate(event.getKey());
+            } else {
+                nearCache.invalidateAll();
+            }
+        }
+
+        private void invalidateAll(final MapEvent event) {
+            log.debug("Invalidating near cache [{}] on map event {}", event.getName(), event.getEventType());
+            invalidations.incrementAndGet();
+            nearCache.invalidateAll();
+        }
+    }
+}
@@ -17,9 +17,12 @@ package io.gravitee.node.plugin.cache.hazelcast;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -76,4 +79,22 @@ class HazelcastCacheManagerTest {
         assertThat(cache2).isNotNull();
         assertThat(cache).isNotSameAs(cache2);
     }
+
+    @Test
+    void should_bound_heap_used_per_member_when_max_weight_is_configured() {
+        cut.getOrCreateCache("weighted-cache", CacheConfiguration.builder().distributed(true).maxWeightBytes(3 * 1024 * 1024 + 1).build());
+
+        EvictionConfig evictionConfig = hazelcastInstance.getConfig().getMapConfig("weighted-cache").getEvictionConfig();
+        assertThat(evictionConfig.getMaxSizePolicy()).isEqualTo(MaxSizePolicy.USED_HEAP_SIZE);
+        assertThat(evictionConfig.getSize()).isEqualTo(4);
+    }
+
+    @Test
+    void should_bound_entries_per_member_when_max_size_is_configured() {
+        cut.getOrCreateCache("sized-cache", CacheConfiguration.builder().distributed(true).maxSize(100).build());
+
+        EvictionConfig evictionConfig = hazelcastInstance.getConfig().getMapConfig("sized-cache").getEvictionConfig();
+        assertThat(evictionConfig.getMaxSizePolicy()).isEqualTo(MaxSizePolicy.PER_NODE);
+        assertThat(evictionConfig.getSize()).isEqualTo(100);
+    }
 }
@@ -16,14 +16,18 @@
 package io.gravitee.node.plugin.cache.hazelcast;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.awaitility.Awaitility.await;
 
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import io.gravitee.node.api.cache.AsyncCache;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheStats;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -536,4 +540,128 @@ public class HazelcastCacheTest {
                 });
         }
     }
+
+    @Nested
+    class StatsTest {
+
+        @Test
+        void should_expose_stats_of_the_distributed_map() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.get(TEST_KEY);
+            cache.getAll(List.of(TEST_KEY, TEST_KEY2));
+
+            CacheStats stats = cache.stats();
+            assertThat(stats.getHitCount()).isEqualTo(2);
+            assertThat(stats.getMissCount()).isEqualTo(1);
+            assertThat(stats.getPutCount()).isEqualTo(1);
+            assertThat(stats.getEstimatedSize()).isEqualTo(1);
+            assertThat(stats.getHeapCost()).isPositive();
+            assertThat(stats.getExpirationCount()).isEqualTo(CacheStats.UNAVAILABLE);
+        }
+
+        @Test
+        void should_list_caches_of_the_manager() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, configuration);
+
+            assertThat(hazelcastCacheManager.getCaches()).containsExactly(cache);
+        }
+    }
+
+    @Nested
+    class BulkTest {
+
+        @Test
+        void should_get_all_present_values() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2, "no_key"))).containsOnly(
+                entry(TEST_KEY, TEST_VALUE),
+                entry(TEST_KEY2, TEST_VALUE2)
+            );
+        }
+
+        @Test
+        void should_check_all_keys_are_present() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            assertThat(cache.containsAll(List.of(TEST_KEY, TEST_KEY2))).isTrue();
+            assertThat(cache.containsAll(List.of(TEST_KEY, "no_key"))).isFalse();
+        }
+
+        @Test
+        void should_put_all_values_with_ttl_and_expired_after_ttl() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, configuration);
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2), 1, TimeUnit.SECONDS);
+            assertThat(cache.containsAll(List.of(TEST_KEY, TEST_KEY2))).isTrue();
+
+            await()
+                .atMost(2, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    assertThat(cache.get(TEST_KEY)).isNull();
+                    assertThat(cache.get(TEST_KEY2)).isNull();
+                });
+        }
+
+        @Test
+        void should_evict_all_values() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, configuration);
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2));
+
+            cache.evictAll(List.of(TEST_KEY, TEST_KEY2));
+
+            assertThat(cache.get(TEST_KEY)).isNull();
+            assertThat(cache.get(TEST_KEY2)).isNull();
+        }
+    }
+
+    @Nested
+    class AsyncTest {
+
+        @Test
+        void should_put_and_get_value_asynchronously() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            AsyncCache<String, String> cache = hazelcastCacheManager.getOrCreateAsyncCache(cacheName, configuration);
+
+            cache.put(TEST_KEY, TEST_VALUE).test().awaitDone(2, TimeUnit.SECONDS).assertComplete().assertNoValues();
+            cache.put(TEST_KEY, TEST_VALUE_UPDATED).test().awaitDone(2, TimeUnit.SECONDS).assertValue(TEST_VALUE);
+            cache.get(TEST_KEY).test().awaitDone(2, TimeUnit.SECONDS).assertValue(TEST_VALUE_UPDATED);
+            cache.containsKey(TEST_KEY).test().awaitDone(2, TimeUnit.SECONDS).assertValue(true);
+        }
+
+        @Test
+        void should_complete_empty_when_getting_non_existing_key() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            AsyncCache<String, String> cache = hazelcastCacheManager.getOrCreateAsyncCache(cacheName, configuration);
+
+            cache.get("no_key").test().awaitDone(2, TimeUnit.SECONDS).assertComplete().assertNoValues();
+            cache.containsKey("no_key").test().awaitDone(2, TimeUnit.SECONDS).assertValue(false);
+        }
+
+        @Test
+        void should_put_get_and_evict_all_values_asynchronously() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            AsyncCache<String, String> cache = hazelcastCacheManager.getOrCreateAsyncCache(cacheName, configuration);
+
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2)).test().awaitDone(2, TimeUnit.SECONDS).assertComplete();
+            cache
+                .getAll(List.of(TEST_KEY, TEST_KEY2, "no_key"))
+                .test()
+                .awaitDone(2, TimeUnit.SECONDS)
+                .assertValue(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2));
+            cache.evict(TEST_KEY).test().awaitDone(2, TimeUnit.SECONDS).assertValue(TEST_VALUE);
+            cache.evictAll(List.of(TEST_KEY2)).test().awaitDone(2, TimeUnit.SECONDS).assertComplete();
+            cache.getAll(List.of(TEST_KEY, TEST_KEY2)).test().awaitDone(2, TimeUnit.SECONDS).assertValue(Map.of());
+        }
+    }
 }
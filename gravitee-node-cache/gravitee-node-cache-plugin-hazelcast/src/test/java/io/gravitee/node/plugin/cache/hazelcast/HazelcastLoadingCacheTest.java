@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.hazelcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheLoader;
+import io.gravitee.node.api.cache.LoadingCache;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastLoadingCacheTest {
+
+    private static final String TEST_KEY = "key1";
+
+    static HazelcastInstance hazelcastInstance;
+    private String cacheName;
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private final CacheLoader<String, String> slowLoader = key ->
+        Maybe.fromCallable(() -> key + "-" + loadCount.incrementAndGet()).delay(100, TimeUnit.MILLISECONDS);
+
+    @BeforeAll
+    public static void beforeAll() {
+        hazelcastInstance = Hazelcast.newHazelcastInstance();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        if (hazelcastInstance != null) {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        cacheName = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void should_create_distributed_loading_cache() {
+        LoadingCache<String, String> cache = new HazelcastCacheManager(hazelcastInstance)
+            .getOrCreateLoadingCache(cacheName, CacheConfiguration.builder().distributed(true).build(), slowLoader);
+
+        assertThat(cache).isInstanceOf(HazelcastLoadingCache.class);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+        assertThat(hazelcastInstance.getMap(cacheName).get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+    }
+
+    @Test
+    void should_reject_loading_cache_when_a_cache_already_exists() {
+        HazelcastCacheManager cacheManager = new HazelcastCacheManager(hazelcastInstance);
+        cacheManager.getOrCreateCache(cacheName, CacheConfiguration.builder().distributed(true).build());
+
+        assertThatThrownBy(() -> cacheManager.getOrCreateLoadingCache(cacheName, CacheConfiguration.builder().build(), slowLoader))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_load_missing_key_once_across_members() {
+        // Two caches on the same map behave as two members of the cluster
+        LoadingCache<String, String> member1 = newCache(CacheConfiguration.builder().build());
+        LoadingCache<String, String> member2 = newCache(CacheConfiguration.builder().build());
+
+        List<String> values = Observable
+            .range(0, 20)
+            .flatMapMaybe(i -> (i % 2 == 0 ? member1 : member2).getOrLoad(TEST_KEY))
+            .toList()
+            .blockingGet();
+
+        assertThat(values).hasSize(20).containsOnly(TEST_KEY + "-1");
+        assertThat(loadCount).hasValue(1);
+        assertThat(member1.stats().getLoadSuccessCount() + member2.stats().getLoadSuccessCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_overwrite_value_stored_while_loading() {
+        IMap<String, String> map = hazelcastInstance.getMap(cacheName);
+        LoadingCache<String, String> cache = new HazelcastLoadingCache<>(
+            map,
+            CacheConfiguration.builder().build(),
+            key ->
+                Maybe.fromCallable(() -> {
+                    map.put(key, "stored");
+                    return "loaded";
+                })
+        );
+
+        assertThat(cache.get(TEST_KEY)).isEqualTo("stored");
+        assertThat(map.get(TEST_KEY)).isEqualTo("stored");
+    }
+
+    @Test
+    void should_load_missing_keys_of_get_all() {
+        LoadingCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        cache.put("present", "value");
+
+        assertThat(cache.getAll(List.of("present", TEST_KEY)))
+            .containsOnly(Map.entry("present", "value"), Map.entry(TEST_KEY, TEST_KEY + "-1"));
+        assertThat(cache.async().getAll(List.of("present", TEST_KEY)).blockingGet()).hasSize(2);
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    void should_serve_stale_value_while_reloading_it() throws InterruptedException {
+        LoadingCache<String, String> cache = newCache(CacheConfiguration.builder().refreshAfterWriteInMs(300).build());
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+
+        Thread.sleep(400);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_KEY + "-2"));
+        assertThat(loadCount).hasValue(2);
+        assertThat(cache.stats().getRefreshCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_reload_value_refreshed_by_another_member() throws InterruptedException {
+        hazelcastInstance.getConfig().addMapConfig(new MapConfig(cacheName).setPerEntryStatsEnabled(true));
+        // The last update time of the entries is only precise to the second, the delay leaves room for it
+        LoadingCache<String, String> member1 = newCache(CacheConfiguration.builder().refreshAfterWriteInMs(2000).build());
+        LoadingCache<String, String> member2 = newCache(CacheConfiguration.builder().refreshAfterWriteInMs(2000).build());
+        assertThat(member1.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+        assertThat(member2.get(TEST_KEY)).isEqualTo(TEST_KEY + "-1");
+
+        Thread.sleep(2100);
+        member1.get(TEST_KEY);
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(member1.get(TEST_KEY)).isEqualTo(TEST_KEY + "-2"));
+
+        // The value is stale for the second member, which notices it has been updated meanwhile
+        assertThat(member2.get(TEST_KEY)).isEqualTo(TEST_KEY + "-2");
+        Thread.sleep(200);
+        assertThat(member2.get(TEST_KEY)).isEqualTo(TEST_KEY + "-2");
+        assertThat(loadCount).hasValue(2);
+        assertThat(member2.stats().getRefreshCount()).isZero();
+    }
+
+    private LoadingCache<String, String> newCache(final CacheConfiguration configuration) {
+        return new HazelcastLoadingCache<>(hazelcastInstance.getMap(cacheName), configuration, slowLoader);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.hazelcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class NearCachedHazelcastCacheTest {
+
+    private static final String TEST_KEY = "key1";
+    private static final String TEST_VALUE = "value1";
+    private static final String TEST_VALUE_UPDATED = "value1_updated";
+
+    static HazelcastInstance hazelcastInstance;
+    private HazelcastCacheManager hazelcastCacheManager;
+    private String cacheName;
+
+    @BeforeAll
+    public static void beforeAll() {
+        hazelcastInstance = Hazelcast.newHazelcastInstance();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        if (hazelcastInstance != null) {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        hazelcastCacheManager = new HazelcastCacheManager(hazelcastInstance);
+        cacheName = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void should_create_near_cached_cache_when_enabled() {
+        Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(cacheName, nearCacheConfiguration());
+        assertThat(cache).isInstanceOf(NearCachedHazelcastCache.class);
+    }
+
+    @Test
+    void should_serve_reads_from_near_cache() {
+        NearCachedHazelcastCache<String, String> cache = (NearCachedHazelcastCache<String, String>) hazelcastCacheManager.<
+                String,
+                String
+            >getOrCreateCache(cacheName, nearCacheConfiguration());
+        cache.put(TEST_KEY, TEST_VALUE);
+
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+
+        assertThat(cache.nearCacheStats().missCount()).isEqualTo(1);
+        assertThat(cache.nearCacheStats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_invalidate_near_cache_when_entry_changes_in_the_cluster() {
+        NearCachedHazelcastCache<String, String> cache = (NearCachedHazelcastCache<String, String>) hazelcastCacheManager.<
+                String,
+                String
+            >getOrCreateCache(cacheName, nearCacheConfiguration());
+        cache.put(TEST_KEY, TEST_VALUE);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+
+        // Simulate a write coming from another member
+        IMap<String, String> map = hazelcastInstance.getMap(cacheName);
+        map.put(TEST_KEY, TEST_VALUE_UPDATED);
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE_UPDATED));
+
+        map.remove(TEST_KEY);
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.get(TEST_KEY)).isNull());
+    }
+
+    @Test
+    void should_invalidate_near_cache_when_map_is_cleared() {
+        NearCachedHazelcastCache<String, String> cache = (NearCachedHazelcastCache<String, String>) hazelcastCacheManager.<
+                String,
+                String
+            >getOrCreateCache(cacheName, nearCacheConfiguration());
+        cache.put(TEST_KEY, TEST_VALUE);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+
+        hazelcastInstance.getMap(cacheName).clear();
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.nearCacheSize()).isZero());
+        assertThat(cache.get(TEST_KEY)).isNull();
+    }
+
+    private static CacheConfiguration nearCacheConfiguration() {
+        return CacheConfiguration.builder().distributed(true).nearCacheEnabled(true).nearCacheMaxSize(100).build();
+    }
+}
@@ -18,7 +18,13 @@ package io.gravitee.node.plugin.cache.standalone;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheLoader;
 import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.LoadingCache;
+import io.gravitee.node.plugin.cache.common.InMemoryLoadingCache;
+import io.gravitee.node.plugin.cache.standalone.offheap.OffHeapCache;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -38,7 +44,29 @@ public class StandaloneCacheManager extends AbstractService<CacheManager> implem
     @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getOrCreateCache(final String cacheName, final CacheConfiguration configuration) {
-        return (Cache<K, V>) caches.computeIfAbsent(cacheName, s -> new StandaloneCache<>(cacheName, configuration));
+        return (Cache<K, V>) caches.computeIfAbsent(cacheName, s -> createCache(cacheName, configuration));
+    }
+
+    /**
+     * Loading caches always keep their values on heap.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> LoadingCache<K, V> getOrCreateLoadingCache(
+        final String cacheName,
+        final CacheConfiguration configuration,
+        final CacheLoader<K, V> loader
+    ) {
+        Cache<?, ?> cache = caches.computeIfAbsent(cacheName, s -> new InMemoryLoadingCache<>(cacheName, configuration, loader));
+        if (!(cache instanceof LoadingCache)) {
+            throw new IllegalStateException("Cache [" + cacheName + "] already exists and is not a loading cache");
+        }
+        return (LoadingCache<K, V>) cache;
+    }
+
+    @Override
+    public Collection<Cache<?, ?>> getCaches() {
+        return List.copyOf(caches.values());
     }
 
     @Override
@@ -48,4 +76,11 @@ public class StandaloneCacheManager extends AbstractService<CacheManager> implem
             cache.clear();
         }
     }
+
+    private static <K, V> Cache<K, V> createCache(final String cacheName, final CacheConfiguration configuration) {
+        if (configuration.isOffHeap()) {
+            return new OffHeapCache<>(cacheName, configuration);
+        }
+        return new StandaloneCache<>(cacheName, configuration);
+    }
 }
@@ -0,0 +1,366 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.standalone.offheap;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.plugin.cache.common.CacheEntryExpiry;
+import io.gravitee.node.plugin.cache.common.CacheEvents;
+import io.gravitee.node.plugin.cache.common.CacheListenerDispatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link Cache} keeping its values serialized in direct memory, out of the reach of the garbage collector.
+ *
+ * <p>
+ * Only the keys and a small handle per value stay on heap, in a Caffeine index which provides the eviction (by the off-heap
+ * memory used when {@link CacheConfiguration#getMaxWeightBytes()} is set, by number of entries otherwise) and the expiration.
+ * Values are copied out of direct memory and deserialized on each read, so they are never shared between callers.
+ * </p>
+ *
+ * <p>
+ * Direct memory is allocated by slabs of 4MB, counted by the JVM against <code>-XX:MaxDirectMemorySize</code>, and reused once
+ * entries are removed. The slabs reserved by a cache are bounded by its maximum weight plus one slab, or by 64MB when it is only
+ * bounded by its number of entries. Values larger than a slab, or stored once that budget is exhausted, are kept on heap in their
+ * serialized form.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class OffHeapCache<K, V> implements Cache<K, V> {
+
+    private final String name;
+    private final CacheConfiguration configuration;
+    private final Ticker ticker;
+    private final ClassLoader classLoader;
+    private final SlabAllocator allocator;
+    private final CacheEntryExpiry<K, OffHeapEntry> expiry;
+    private final com.github.benmanes.caffeine.cache.Cache<K, OffHeapEntry> index;
+    private final Policy.VarExpiration<K, OffHeapEntry> varExpiration;
+    private final CacheEvents<K, V> events;
+
+    public OffHeapCache(final String name, final CacheConfiguration configuration) {
+        this(name, configuration, Ticker.systemTicker(), SlabAllocator.forConfiguration(configuration));
+    }
+
+    OffHeapCache(final String name, final CacheConfiguration configuration, final Ticker ticker, final SlabAllocator allocator) {
+        this.name = name;
+        this.configuration = configuration;
+        this.ticker = ticker;
+        this.classLoader = Thread.currentThread().getContextClassLoader();
+        this.allocator = allocator;
+        this.expiry = new CacheEntryExpiry<>(configuration);
+        this.events = new CacheEvents<>(name, configuration);
+
+        Caffeine<K, OffHeapEntry> indexBuilder = Caffeine
+            .newBuilder()
+            .ticker(ticker)
+            .scheduler(Scheduler.systemScheduler())
+            .expireAfter(expiry);
+        if (configuration.getMaxWeightBytes() > 0) {
+            indexBuilder.maximumWeight(configuration.getMaxWeightBytes()).weigher((key, entry) -> entry.weight());
+        } else if (configuration.getMaxSize() > 0) {
+            indexBuilder.maximumSize(configuration.getMaxSize());
+        }
+        if (configuration.isStatsEnabled()) {
+            indexBuilder.recordStats();
+        }
+        if (expiry.tracksDeadlines()) {
+            indexBuilder.evictionListener((key, entry, cause) -> expiry.forget(key));
+        }
+        // Every removal, replacements included, goes through this listener which is the only one releasing the memory. It runs on
+        // the calling thread so that the memory is given back before the next write rather than on a background thread.
+        indexBuilder.executor(Runnable::run).removalListener((key, entry, cause) -> {
+            if (entry == null) {
+                return;
+            }
+            try {
+                events.removed(key, () -> read(entry), cause);
+            } finally {
+                entry.release();
+            }
+        });
+        index = indexBuilder.build();
+        varExpiration = index.policy().expireVariably().orElseThrow();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int size() {
+        return (int) index.estimatedSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>();
+        for (OffHeapEntry entry : index.asMap().values()) {
+            V value = read(entry);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return index.getIfPresent(key) != null;
+    }
+
+    @Override
+    public V get(final K key) {
+        OffHeapEntry entry = index.getIfPresent(key);
+        return entry == null ? null : read(entry);
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>();
+        index
+            .getAllPresent(keys)
+            .forEach((key, entry) -> {
+                V value = read(entry);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+        return values;
+    }
+
+    /**
+     * Check the presence of the keys without any side effect: the lookups are not recorded in the statistics and don't extend
+     * the expiration of the entries.
+     */
+    @Override
+    public boolean containsAll(final Collection<? extends K> keys) {
+        Policy<K, OffHeapEntry> policy = index.policy();
+        for (K key : keys) {
+            if (policy.getIfPresentQuietly(key) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return write(key, value, 0);
+    }
+
+    @Override
+    public V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return write(key, value, expiry.ttlNanos(ttl, ttlUnit));
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values) {
+        values.forEach(this::put);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values, final long ttl, final TimeUnit ttlUnit) {
+        long ttlNanos = expiry.ttlNanos(ttl, ttlUnit);
+        values.forEach((key, value) -> write(key, value, ttlNanos));
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        while (true) {
+            Write write = new Write();
+            OffHeapEntry entry = index.asMap().computeIfAbsent(key, k -> write.apply(k, null, mappingFunction.apply(k)));
+            if (entry == null || write.value != null) {
+                write.fireEvent(key);
+                return write.value;
+            }
+            V value = read(entry);
+            if (value != null) {
+                return value;
+            }
+            // The entry has been removed while being read, try again
+        }
+    }
+
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Write write = new Write();
+        index
+            .asMap()
+            .computeIfPresent(
+                key,
+                (k, entry) -> {
+                    V oldValue = read(entry);
+                    return write.apply(k, oldValue, remappingFunction.apply(k, oldValue));
+                }
+            );
+        write.fireEvent(key);
+        return write.value;
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Write write = new Write();
+        index
+            .asMap()
+            .compute(
+                key,
+                (k, entry) -> {
+                    V oldValue = entry == null ? null : read(entry);
+                    return write.apply(k, oldValue, remappingFunction.apply(k, oldValue));
+                }
+            );
+        write.fireEvent(key);
+        return write.value;
+    }
+
+    @Override
+    public V evict(final K key) {
+        // Forget the deadline while the entry is locked, so that a concurrent put of the same key keeps its own
+        Write write = new Write();
+        index.asMap().computeIfPresent(key, (k, entry) -> write.apply(k, read(entry), null));
+        return write.oldValue;
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        keys.forEach(this::evict);
+    }
+
+    @Override
+    public void clear() {
+        index.asMap().keySet().forEach(this::evict);
+    }
+
+    /**
+     * @return the dispatcher delivering the notifications of this cache, mainly to expose its queue depth and latency.
+     */
+    public CacheListenerDispatcher<K, V> getListenerDispatcher() {
+        return events.getDispatcher();
+    }
+
+    /**
+     * @return the direct memory used by the values currently stored, in bytes.
+     */
+    public long offHeapUsedBytes() {
+        return allocator.usedBytes();
+    }
+
+    /**
+     * @return the direct memory reserved by this cache, in bytes. It is never given back, even when the cache is cleared, but never
+     * exceeds the budget of its allocator either.
+     */
+    public long offHeapReservedBytes() {
+        return allocator.reservedBytes();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return events.stats(index, configuration.isStatsEnabled()).build();
+    }
+
+    @Override
+    public String addCacheListener(final CacheListener<K, V> cacheListener) {
+        return events.addCacheListener(cacheListener);
+    }
+
+    @Override
+    public boolean removeCacheListener(final String listenerCacheId) {
+        return events.removeCacheListener(listenerCacheId);
+    }
+
+    /**
+     * Run the pending maintenance of the index, such as the removal of the expired entries.
+     */
+    void cleanUp() {
+        index.cleanUp();
+    }
+
+    /**
+     * Write the value through a compute so the previous one is read while its memory is still owned by the index.
+     */
+    private V write(final K key, final V value, final long ttlNanos) {
+        Write write = new Write();
+        BiFunction<K, OffHeapEntry, OffHeapEntry> remapping = (k, entry) -> write.apply(k, entry == null ? null : read(entry), value);
+        if (ttlNanos > 0) {
+            // The duration given here replaces the one computed by the expiry policy for this write
+            varExpiration.compute(key, remapping, Duration.ofNanos(expiry.expireAfterWrite(key, ttlNanos, ticker.read())));
+        } else {
+            index.asMap().compute(key, remapping);
+        }
+        write.fireEvent(key);
+        return write.oldValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V read(final OffHeapEntry entry) {
+        byte[] encoded = entry.read();
+        return encoded == null ? null : (V) ValueCodec.decode(encoded, classLoader);
+    }
+
+    /**
+     * Write made by a compute function, counted and notified once the compute completed so that listeners never run while the
+     * entry is locked.
+     */
+    private final class Write {
+
+        private V oldValue;
+        private V value;
+
+        /**
+         * Record the result of the compute function and store it, called while the entry is locked.
+         */
+        private OffHeapEntry apply(final K key, final V oldValue, final V value) {
+            this.oldValue = oldValue;
+            this.value = value;
+            if (value == null) {
+                // The entry is removed, or not created, by the compute: its deadline must not outlive it
+                expiry.forget(key);
+                return null;
+            }
+            return OffHeapEntry.store(allocator, value);
+        }
+
+        private void fireEvent(final K key) {
+            if (value != null) {
+                events.written(key, value, oldValue);
+            }
+        }
+    }
+}
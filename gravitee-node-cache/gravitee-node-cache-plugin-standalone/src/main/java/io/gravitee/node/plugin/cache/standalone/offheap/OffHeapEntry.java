@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.standalone.offheap;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * On-heap handle of a value stored off-heap.
+ *
+ * <p>
+ * The block holding the value is reference counted: the cache owns a reference until the entry is removed, and each read holds
+ * one while copying the bytes. The block is given back to the allocator when the last reference is released, so a read racing
+ * with a removal either sees the value or nothing, never the bytes of another entry.
+ * </p>
+ *
+ * <p>
+ * Values larger than a slab, or which don't fit in the direct memory budget of the allocator anymore, are kept on heap in their
+ * encoded form.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+final class OffHeapEntry {
+
+    private static final AtomicIntegerFieldUpdater<OffHeapEntry> REFERENCES = AtomicIntegerFieldUpdater.newUpdater(
+        OffHeapEntry.class,
+        "references"
+    );
+
+    private final SlabAllocator allocator;
+    private final SlabAllocator.Block block;
+    private final byte[] heapBytes;
+    private final int length;
+    private volatile int references = 1;
+
+    private OffHeapEntry(final SlabAllocator allocator, final SlabAllocator.Block block, final byte[] heapBytes, final int length) {
+        this.allocator = allocator;
+        this.block = block;
+        this.heapBytes = heapBytes;
+        this.length = length;
+    }
+
+    static OffHeapEntry store(final SlabAllocator allocator, final Object value) {
+        byte type = ValueCodec.typeOf(value);
+        byte[] bytes = ValueCodec.encode(type, value);
+        int length = bytes.length + 1;
+        SlabAllocator.Block block = length > allocator.maxBlockSize() ? null : allocator.allocate(length);
+        if (block == null) {
+            byte[] heapBytes = new byte[length];
+            heapBytes[0] = type;
+            System.arraycopy(bytes, 0, heapBytes, 1, bytes.length);
+            return new OffHeapEntry(allocator, null, heapBytes, length);
+        }
+        block.write(type, bytes);
+        return new OffHeapEntry(allocator, block, null, length);
+    }
+
+    /**
+     * @return the memory used by the value, in bytes.
+     */
+    int weight() {
+        return block != null ? block.capacity() : length;
+    }
+
+    /**
+     * @return <code>true</code> if the value is kept in direct memory.
+     */
+    boolean isOffHeap() {
+        return block != null;
+    }
+
+    /**
+     * @return a copy of the encoded value, or <code>null</code> if the entry has been released meanwhile.
+     */
+    byte[] read() {
+        if (block == null) {
+            return heapBytes;
+        }
+        if (!retain()) {
+            return null;
+        }
+        try {
+            byte[] bytes = new byte[length];
+            block.read(bytes, length);
+            return bytes;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Release a reference to the value, the block is freed with the last one.
+     */
+    void release() {
+        if (REFERENCES.decrementAndGet(this) == 0 && block != null) {
+            allocator.free(block);
+        }
+    }
+
+    private boolean retain() {
+        int current;
+        do {
+            current = references;
+            if (current <= 0) {
+                return false;
+            }
+        } while (!REFERENCES.compareAndSet(this, current, current + 1));
+        return true;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.standalone.offheap;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocate blocks of direct memory out of fixed size slabs.
+ *
+ * <p>
+ * Blocks have a power of two capacity, from {@link #MIN_BLOCK_SIZE} up to the slab size, and freed blocks are kept in a free list
+ * per capacity to be reused by the next allocations. When no block of the requested size is free, a larger free block is split
+ * before a new slab is reserved.
+ * </p>
+ *
+ * <p>
+ * Slabs are allocated lazily and never released, but the direct memory they reserve never exceeds the given budget: once it is
+ * reached and no free block is large enough, {@link #allocate(int)} returns <code>null</code> and the caller keeps the value on
+ * heap instead.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+class SlabAllocator {
+
+    static final int MIN_BLOCK_SIZE = 64;
+    static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+    static final long DEFAULT_MAX_RESERVED_BYTES = 64L * 1024 * 1024;
+
+    private static final int MIN_BLOCK_SHIFT = Integer.numberOfTrailingZeros(MIN_BLOCK_SIZE);
+
+    private final int slabSize;
+    private final long maxReservedBytes;
+    private final Queue<Block>[] freeBlocks;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong reservedBytes = new AtomicLong();
+    private ByteBuffer currentSlab;
+    private int currentOffset;
+
+    /**
+     * @param slabSize the size of the slabs, a power of two which is also the largest block.
+     * @param maxReservedBytes the maximum amount of direct memory reserved by the slabs.
+     */
+    @SuppressWarnings("unchecked")
+    SlabAllocator(final int slabSize, final long maxReservedBytes) {
+        if (Integer.bitCount(slabSize) != 1 || slabSize < MIN_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Slab size must be a power of two greater than " + MIN_BLOCK_SIZE);
+        }
+        this.slabSize = slabSize;
+        this.maxReservedBytes = maxReservedBytes;
+        this.freeBlocks = new Queue[sizeClass(slabSize) + 1];
+        for (int i = 0; i < freeBlocks.length; i++) {
+            freeBlocks[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Create the allocator of a cache. Its budget is the maximum weight of the cache rounded up to whole slabs, plus one slab to
+     * absorb the fragmentation between size classes, or {@link #DEFAULT_MAX_RESERVED_BYTES} when the cache is only bounded by
+     * its number of entries.
+     */
+    static SlabAllocator forConfiguration(final CacheConfiguration configuration) {
+        long maxWeightBytes = configuration.getMaxWeightBytes();
+        if (maxWeightBytes <= 0) {
+            return new SlabAllocator(DEFAULT_SLAB_SIZE, DEFAULT_MAX_RESERVED_BYTES);
+        }
+        long slabs = (maxWeightBytes + DEFAULT_SLAB_SIZE - 1) / DEFAULT_SLAB_SIZE + 1;
+        return new SlabAllocator(DEFAULT_SLAB_SIZE, slabs * DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * @return the largest amount of bytes a single block can hold.
+     */
+    int maxBlockSize() {
+        return slabSize;
+    }
+
+    /**
+     * Allocate a block able to hold the given amount of bytes.
+     *
+     * @param length the number of bytes to store, at most {@link #maxBlockSize()}.
+     * @return a block of direct memory, which must be given back with {@link #free(Block)}, or <code>null</code> if the budget
+     * of reserved memory is exhausted.
+     */
+    Block allocate(final int length) {
+        int sizeClass = sizeClass(length);
+        Block block = freeBlocks[sizeClass].poll();
+        if (block == null) {
+            block = carve(sizeClass);
+            if (block == null) {
+                return null;
+            }
+        }
+        usedBytes.addAndGet(block.capacity());
+        return block;
+    }
+
+    void free(final Block block) {
+        usedBytes.addAndGet(-block.capacity());
+        freeBlocks[block.sizeClass()].offer(block);
+    }
+
+    /**
+     * @return the capacity of the blocks currently allocated, in bytes.
+     */
+    long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * @return the direct memory reserved by the slabs, in bytes.
+     */
+    long reservedBytes() {
+        return reservedBytes.get();
+    }
+
+    static int blockSize(final int length) {
+        return 1 << (sizeClass(length) + MIN_BLOCK_SHIFT);
+    }
+
+    private static int sizeClass(final int length) {
+        if (length <= MIN_BLOCK_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_BLOCK_SHIFT;
+    }
+
+    private synchronized Block carve(final int sizeClass) {
+        int size = 1 << (sizeClass + MIN_BLOCK_SHIFT);
+        if (currentSlab == null || currentOffset + size > slabSize) {
+            Block block = split(sizeClass);
+            if (block != null) {
+                return block;
+            }
+            if (reservedBytes.get() + slabSize > maxReservedBytes) {
+                return null;
+            }
+            if (currentSlab != null) {
+                recycleTail();
+            }
+            currentSlab = ByteBuffer.allocateDirect(slabSize);
+            currentOffset = 0;
+            reservedBytes.addAndGet(slabSize);
+        }
+        Block block = new Block(currentSlab, currentOffset, sizeClass);
+        currentOffset += size;
+        return block;
+    }
+
+    /**
+     * Take the first part of the smallest larger free block and give the rest back to the free lists, halving it down to the
+     * requested size class.
+     */
+    private Block split(final int sizeClass) {
+        for (int larger = sizeClass + 1; larger < freeBlocks.length; larger++) {
+            Block block = freeBlocks[larger].poll();
+            if (block != null) {
+                for (int half = larger - 1; half >= sizeClass; half--) {
+                    freeBlocks[half].offer(new Block(block.slab(), block.offset() + (1 << (half + MIN_BLOCK_SHIFT)), half));
+                }
+                return new Block(block.slab(), block.offset(), sizeClass);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Split the remaining space of the current slab into the largest possible blocks rather than wasting it.
+     */
+    private void recycleTail() {
+        int remaining = slabSize - currentOffset;
+        while (remaining >= MIN_BLOCK_SIZE) {
+            int sizeClass = 31 - Integer.numberOfLeadingZeros(remaining) - MIN_BLOCK_SHIFT;
+            freeBlocks[sizeClass].offer(new Block(currentSlab, currentOffset, sizeClass));
+            int size = 1 << (sizeClass + MIN_BLOCK_SHIFT);
+            currentOffset += size;
+            remaining -= size;
+        }
+    }
+
+    /**
+     * A region of a slab. Reads and writes use absolute positions so the slab is shared by all the threads without locking.
+     */
+    record Block(ByteBuffer slab, int offset, int sizeClass) {
+        int capacity() {
+            return 1 << (sizeClass + MIN_BLOCK_SHIFT);
+        }
+
+        void write(final byte header, final byte[] bytes) {
+            slab.put(offset, header);
+            slab.put(offset + 1, bytes);
+        }
+
+        void read(final byte[] destination, final int length) {
+            slab.get(offset, destination, 0, length);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.standalone.offheap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Turn the values of an {@link OffHeapCache} into bytes and back.
+ *
+ * <p>
+ * Strings and byte arrays are stored as is, the other values rely on Java serialization. The first byte of the encoded form
+ * tells which representation is used.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+final class ValueCodec {
+
+    static final byte STRING = 1;
+    static final byte BYTES = 2;
+    static final byte SERIALIZED = 3;
+
+    private ValueCodec() {}
+
+    static byte typeOf(final Object value) {
+        if (value instanceof String) {
+            return STRING;
+        }
+        if (value instanceof byte[]) {
+            return BYTES;
+        }
+        if (value instanceof Serializable) {
+            return SERIALIZED;
+        }
+        throw new IllegalArgumentException(
+            "Value of type [" + value.getClass().getName() + "] can't be stored off-heap, it must be serializable"
+        );
+    }
+
+    static byte[] encode(final byte type, final Object value) {
+        switch (type) {
+            case STRING:
+                return ((String) value).getBytes(StandardCharsets.UTF_8);
+            case BYTES:
+                return (byte[]) value;
+            default:
+                ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+                try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                    oos.writeObject(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to serialize value of type [" + value.getClass().getName() + "]", e);
+                }
+                return out.toByteArray();
+        }
+    }
+
+    /**
+     * @param encoded the type followed by the encoded value.
+     * @param classLoader the class loader used to resolve the classes of the serialized values.
+     */
+    static Object decode(final byte[] encoded, final ClassLoader classLoader) {
+        switch (encoded[0]) {
+            case STRING:
+                return new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+            case BYTES:
+                return Arrays.copyOfRange(encoded, 1, encoded.length);
+            case SERIALIZED:
+                ByteArrayInputStream in = new ByteArrayInputStream(encoded, 1, encoded.length - 1);
+                try (ObjectInputStream ois = new ClassLoaderObjectInputStream(in, classLoader)) {
+                    return ois.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to deserialize off-heap value", e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Unable to deserialize off-heap value", e);
+                }
+            default:
+                throw new IllegalStateException("Unknown off-heap value type [" + encoded[0] + "]");
+        }
+    }
+
+    /**
+     * Resolve the classes with the given class loader first, since the plugin class loader doesn't see the classes of the values
+     * stored by the callers and values may be decoded from threads not having the right context class loader.
+     */
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        private ClassLoaderObjectInputStream(final InputStream in, final ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fallback on the default resolution below
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
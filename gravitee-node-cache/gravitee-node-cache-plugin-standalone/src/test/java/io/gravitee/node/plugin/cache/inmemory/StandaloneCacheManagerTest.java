@@ -16,9 +16,14 @@
 package io.gravitee.node.plugin.cache.inmemory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.LoadingCache;
 import io.gravitee.node.plugin.cache.standalone.StandaloneCacheManager;
+import io.gravitee.node.plugin.cache.standalone.offheap.OffHeapCache;
+import io.reactivex.rxjava3.core.Maybe;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -53,6 +58,26 @@ class StandaloneCacheManagerTest {
         assertThat(cache).isSameAs(cache2);
     }
 
+    @Test
+    void should_create_off_heap_cache() {
+        Cache<String, String> cache = cut.getOrCreateCache("cache", CacheConfiguration.builder().offHeap(true).build());
+        assertThat(cache).isInstanceOf(OffHeapCache.class);
+    }
+
+    @Test
+    void should_create_loading_cache() {
+        LoadingCache<String, String> cache = cut.getOrCreateLoadingCache("cache", CacheConfiguration.builder().build(), Maybe::just);
+        assertThat(cache.get("key")).isEqualTo("key");
+        assertThat(cut.<String, String>getOrCreateCache("cache")).isSameAs(cache);
+    }
+
+    @Test
+    void should_not_create_loading_cache_when_a_cache_already_exists() {
+        cut.getOrCreateCache("cache");
+        assertThatThrownBy(() -> cut.getOrCreateLoadingCache("cache", CacheConfiguration.builder().build(), Maybe::just))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     void should_destroy_cache() {
         Cache<String, String> cache = cut.getOrCreateCache("cache");
@@ -0,0 +1,304 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.standalone.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class OffHeapCacheTest {
+
+    private static final String CACHE_NAME = "test-cache";
+    private static final String TEST_KEY = "key1";
+    private static final String TEST_VALUE = "value1";
+    private static final String TEST_VALUE_UPDATED = "value1_updated";
+    private static final String TEST_KEY2 = "key2";
+    private static final String TEST_VALUE2 = "value2";
+
+    private final SlabAllocator allocator = new SlabAllocator(1024, Long.MAX_VALUE);
+
+    private <V> OffHeapCache<String, V> newCache(final CacheConfiguration configuration) {
+        return new OffHeapCache<>(CACHE_NAME, configuration, Ticker.systemTicker(), allocator);
+    }
+
+    @Nested
+    class ReadWriteTest {
+
+        @Test
+        void should_store_strings_bytes_and_serializable_values() {
+            OffHeapCache<String, Object> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+            cache.put("string", "héllo");
+            cache.put("bytes", new byte[] { 1, 2, 3 });
+            cache.put("serializable", new Payload("name", 42));
+
+            assertThat(cache.get("string")).isEqualTo("héllo");
+            assertThat(cache.get("bytes")).isEqualTo(new byte[] { 1, 2, 3 });
+            assertThat(cache.get("serializable")).isEqualTo(new Payload("name", 42));
+            assertThat(cache.get("missing")).isNull();
+            assertThat(cache.size()).isEqualTo(3);
+        }
+
+        @Test
+        void should_reject_values_which_are_not_serializable() {
+            OffHeapCache<String, Object> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+
+            assertThatThrownBy(() -> cache.put(TEST_KEY, new Object())).isInstanceOf(IllegalArgumentException.class);
+            assertThat(cache.containsKey(TEST_KEY)).isFalse();
+        }
+
+        @Test
+        void should_return_old_value_on_put_and_evict() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+
+            assertThat(cache.put(TEST_KEY, TEST_VALUE)).isNull();
+            assertThat(cache.put(TEST_KEY, TEST_VALUE_UPDATED, 1, TimeUnit.MINUTES)).isEqualTo(TEST_VALUE);
+            assertThat(cache.evict(TEST_KEY)).isEqualTo(TEST_VALUE_UPDATED);
+            assertThat(cache.evict(TEST_KEY)).isNull();
+            assertThat(cache.get(TEST_KEY)).isNull();
+        }
+
+        @Test
+        void should_compute_values() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+
+            assertThat(cache.computeIfAbsent(TEST_KEY, key -> TEST_VALUE)).isEqualTo(TEST_VALUE);
+            assertThat(cache.computeIfAbsent(TEST_KEY, key -> TEST_VALUE_UPDATED)).isEqualTo(TEST_VALUE);
+            assertThat(cache.computeIfPresent(TEST_KEY, (key, value) -> value + "_updated")).isEqualTo(TEST_VALUE_UPDATED);
+            assertThat(cache.computeIfPresent(TEST_KEY2, (key, value) -> TEST_VALUE2)).isNull();
+            assertThat(cache.compute(TEST_KEY2, (key, value) -> value == null ? TEST_VALUE2 : value)).isEqualTo(TEST_VALUE2);
+            assertThat(cache.compute(TEST_KEY2, (key, value) -> null)).isNull();
+
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2))).containsExactly(Map.entry(TEST_KEY, TEST_VALUE_UPDATED));
+            assertThat(cache.values()).containsExactly(TEST_VALUE_UPDATED);
+        }
+
+        @Test
+        void should_keep_values_larger_than_a_slab_on_heap() {
+            OffHeapCache<String, byte[]> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+            byte[] value = new byte[4096];
+            value[4095] = 7;
+            cache.put(TEST_KEY, value);
+
+            assertThat(cache.get(TEST_KEY)).isEqualTo(value);
+            assertThat(cache.offHeapUsedBytes()).isZero();
+        }
+    }
+
+    @Nested
+    class MemoryTest {
+
+        @Test
+        void should_release_memory_when_entries_are_removed() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+            assertThat(cache.offHeapUsedBytes()).isEqualTo(2L * SlabAllocator.MIN_BLOCK_SIZE);
+
+            cache.put(TEST_KEY, "x".repeat(100));
+            cache.evict(TEST_KEY2);
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.offHeapUsedBytes()).isEqualTo(128));
+
+            cache.clear();
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.offHeapUsedBytes()).isZero());
+            assertThat(cache.offHeapReservedBytes()).isEqualTo(1024);
+        }
+
+        @Test
+        void should_reuse_released_blocks() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+            for (int i = 0; i < 100; i++) {
+                cache.put(TEST_KEY + i, TEST_VALUE);
+                cache.evict(TEST_KEY + i);
+            }
+
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.offHeapUsedBytes()).isZero());
+            assertThat(cache.offHeapReservedBytes()).isEqualTo(1024);
+        }
+
+        @Test
+        void should_evict_entries_when_max_weight_is_reached() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).maxWeightBytes(640).build());
+            for (int i = 0; i < 50; i++) {
+                cache.put(TEST_KEY + i, TEST_VALUE);
+            }
+            cache.cleanUp();
+
+            assertThat(cache.size()).isLessThanOrEqualTo(10);
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.offHeapUsedBytes()).isLessThanOrEqualTo(640));
+            assertThat(cache.stats().getSizeEvictionCount()).isEqualTo(50 - cache.size());
+        }
+
+        @Test
+        void should_split_the_tail_of_a_slab_into_smaller_blocks() {
+            SlabAllocator.Block first = allocator.allocate(300);
+            SlabAllocator.Block second = allocator.allocate(600);
+            SlabAllocator.Block third = allocator.allocate(500);
+
+            assertThat(second.slab()).isNotSameAs(first.slab());
+            assertThat(third.slab()).isSameAs(first.slab());
+            assertThat(third.offset()).isEqualTo(512);
+            assertThat(allocator.reservedBytes()).isEqualTo(2048);
+            assertThat(allocator.usedBytes()).isEqualTo(2048);
+        }
+
+        @Test
+        void should_split_a_larger_free_block_rather_than_reserving_a_slab() {
+            SlabAllocator bounded = new SlabAllocator(1024, 1024);
+            bounded.free(bounded.allocate(1000));
+
+            SlabAllocator.Block first = bounded.allocate(100);
+            SlabAllocator.Block second = bounded.allocate(60);
+
+            assertThat(first.offset()).isZero();
+            assertThat(second.slab()).isSameAs(first.slab());
+            assertThat(second.offset()).isEqualTo(128);
+            assertThat(bounded.reservedBytes()).isEqualTo(1024);
+        }
+
+        @Test
+        void should_keep_values_on_heap_once_the_reserved_memory_is_exhausted() {
+            OffHeapCache<String, String> cache = new OffHeapCache<>(
+                CACHE_NAME,
+                CacheConfiguration.builder().offHeap(true).build(),
+                Ticker.systemTicker(),
+                new SlabAllocator(1024, 1024)
+            );
+            for (int i = 0; i < 20; i++) {
+                cache.put(TEST_KEY + i, TEST_VALUE + i);
+            }
+
+            assertThat(cache.offHeapReservedBytes()).isEqualTo(1024);
+            assertThat(cache.offHeapUsedBytes()).isEqualTo(1024);
+            for (int i = 0; i < 20; i++) {
+                assertThat(cache.get(TEST_KEY + i)).isEqualTo(TEST_VALUE + i);
+            }
+        }
+    }
+
+    @Nested
+    class ListenerTest {
+
+        @Test
+        void should_notify_listeners_with_values() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+            List<String> events = new CopyOnWriteArrayList<>();
+            cache.addCacheListener(
+                new CacheListener<>() {
+                    @Override
+                    public void onEntryAdded(final String key, final String value) {
+                        events.add("added:" + value);
+                    }
+
+                    @Override
+                    public void onEntryUpdated(final String key, final String oldValue, final String value) {
+                        events.add("updated:" + oldValue + ">" + value);
+                    }
+
+                    @Override
+                    public void onEntryEvicted(final String key, final String value) {
+                        events.add("evicted:" + value);
+                    }
+                }
+            );
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY, TEST_VALUE_UPDATED);
+            cache.evict(TEST_KEY);
+
+            await()
+                .atMost(2, TimeUnit.SECONDS)
+                .untilAsserted(() ->
+                    assertThat(events)
+                        .containsExactly(
+                            "added:" + TEST_VALUE,
+                            "updated:" + TEST_VALUE + ">" + TEST_VALUE_UPDATED,
+                            "evicted:" + TEST_VALUE_UPDATED
+                        )
+                );
+        }
+
+        @Test
+        void should_notify_listener_when_entry_expires() {
+            OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().offHeap(true).build());
+            List<String> expired = new CopyOnWriteArrayList<>();
+            cache.addCacheListener(
+                new CacheListener<>() {
+                    @Override
+                    public void onEntryExpired(final String key, final String value) {
+                        expired.add(value);
+                    }
+                }
+            );
+            cache.put(TEST_KEY, TEST_VALUE, 50, TimeUnit.MILLISECONDS);
+
+            await().atMost(3, TimeUnit.SECONDS).untilAsserted(() -> assertThat(expired).containsExactly(TEST_VALUE));
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.offHeapUsedBytes()).isZero());
+        }
+    }
+
+    @Nested
+    class ExpiryTest {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Test
+        void should_not_extend_expiration_beyond_time_to_live_when_reading() {
+            CacheConfiguration configuration = CacheConfiguration.builder().offHeap(true).timeToIdleInMs(100).timeToLiveInMs(200).build();
+            OffHeapCache<String, String> cache = new OffHeapCache<>(CACHE_NAME, configuration, nanos::get, allocator);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2, 150, TimeUnit.MILLISECONDS);
+
+            advance(80);
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2))).hasSize(2);
+            advance(80);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+            assertThat(cache.get(TEST_KEY2)).isNull();
+            advance(41);
+            assertThat(cache.get(TEST_KEY)).isNull();
+        }
+
+        @Test
+        void should_reject_ttl_bigger_than_configured_one() {
+            CacheConfiguration configuration = CacheConfiguration.builder().offHeap(true).timeToLiveInMs(1000).build();
+            OffHeapCache<String, String> cache = new OffHeapCache<>(CACHE_NAME, configuration, nanos::get, allocator);
+
+            assertThatThrownBy(() -> cache.put(TEST_KEY, TEST_VALUE, 2, TimeUnit.SECONDS)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private void advance(final long millis) {
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    private record Payload(String name, int value) implements Serializable {}
+}
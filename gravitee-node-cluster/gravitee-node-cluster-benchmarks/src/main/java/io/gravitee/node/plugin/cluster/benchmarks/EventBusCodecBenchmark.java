@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.benchmarks;
+
+import io.gravitee.node.monitoring.eventbus.HealthCheckCodec;
+import io.gravitee.node.monitoring.eventbus.MonitorCodec;
+import io.gravitee.node.monitoring.eventbus.NodeInfosCodec;
+import io.gravitee.node.reporter.vertx.eventbus.ReportableMessageCodec;
+import io.gravitee.reporter.api.Reportable;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the event bus codecs of the monitoring payloads and of the reportables with the Java serialization they used before.
+ * The size of the encoded payloads, as sent on the wire of a clustered event bus, is printed when the benchmark is set up.
+ *
+ * <pre>
+ * java -jar gravitee-node-cluster-benchmarks/target/benchmarks.jar EventBusCodecBenchmark -prof gc
+ * </pre>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBusCodecBenchmark {
+
+    @Param({ "node-infos", "health-check", "monitor", "reportable" })
+    public String payload;
+
+    @Param({ "legacy", "binary" })
+    public String codec;
+
+    private MessageCodec<Object, Object> messageCodec;
+    private Object message;
+    private Buffer encoded;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        message =
+            switch (payload) {
+                case "node-infos" -> MessageCodecBenchmark.nodeInfos();
+                case "health-check" -> MessageCodecBenchmark.healthCheck();
+                case "monitor" -> MessageCodecBenchmark.monitor();
+                default -> reportable();
+            };
+        MessageCodec<?, ?> selected = "legacy".equals(codec)
+            ? new LegacyEventBusCodec<>()
+            : switch (payload) {
+                case "node-infos" -> new NodeInfosCodec();
+                case "health-check" -> new HealthCheckCodec();
+                case "monitor" -> new MonitorCodec();
+                default -> new ReportableMessageCodec();
+            };
+        messageCodec = (MessageCodec<Object, Object>) selected;
+        encoded = encode();
+        System.out.printf("%n%s encoded with %s codec: %d bytes%n", payload, codec, encoded.length());
+    }
+
+    @Benchmark
+    public Buffer encode() {
+        Buffer buffer = Buffer.buffer();
+        messageCodec.encodeToWire(buffer, message);
+        return buffer;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return messageCodec.decodeFromWire(0, encoded);
+    }
+
+    private static Reportable reportable() {
+        SampleMetrics metrics = new SampleMetrics();
+        metrics.timestamp = System.currentTimeMillis();
+        metrics.requestId = UUID.randomUUID().toString();
+        metrics.api = UUID.randomUUID().toString();
+        metrics.application = UUID.randomUUID().toString();
+        metrics.uri = "/echo/v1/customers?limit=20";
+        metrics.status = 200;
+        metrics.proxyResponseTimeMs = 42;
+        metrics.apiResponseTimeMs = 37;
+        metrics.customMetrics.put("zone", "europe");
+        metrics.customMetrics.put("client", "mobile");
+        return metrics;
+    }
+
+    /**
+     * Serializable reportable shaped like the request metrics reported by the gateway.
+     */
+    static class SampleMetrics implements Reportable, Serializable {
+
+        private long timestamp;
+        private String requestId;
+        private String api;
+        private String application;
+        private String uri;
+        private int status;
+        private long proxyResponseTimeMs;
+        private long apiResponseTimeMs;
+        private final Map<String, String> customMetrics = new LinkedHashMap<>();
+
+        @Override
+        public Instant timestamp() {
+            return Instant.ofEpochMilli(timestamp);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Event bus codec as the monitoring and reporter codecs were before their binary encoding: the message is serialized with Java
+ * serialization into a byte array which is then copied into the buffer, and copied again out of the buffer to be decoded.
+ *
+ * <p>
+ * Only kept as a baseline for {@link EventBusCodecBenchmark}.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+class LegacyEventBusCodec<T> implements MessageCodec<T, T> {
+
+    @Override
+    public void encodeToWire(final Buffer buffer, final T item) {
+        try {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            final ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(item);
+            oos.flush();
+
+            byte[] data = bos.toByteArray();
+            buffer.appendInt(data.length);
+            buffer.appendBytes(data);
+        } catch (final Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T decodeFromWire(final int position, final Buffer buffer) {
+        try {
+            int length = buffer.getInt(position);
+            byte[] data = buffer.getBytes(position + 4, position + 4 + length);
+            return (T) new ObjectInputStream(new ByteArrayInputStream(data)).readObject();
+        } catch (final Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public T transform(final T item) {
+        return item;
+    }
+
+    @Override
+    public String name() {
+        return "legacy";
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.benchmarks;
+
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.Member;
+import io.gravitee.node.plugin.cluster.hazelcast.HazelcastMember;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Membership lookups of the Hazelcast cluster manager as they were before the membership snapshot: each call lists the members
+ * of the cluster to find the primary one and wraps them again.
+ *
+ * <p>
+ * Only kept as a baseline for {@link MembershipBenchmark}.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+class LegacyMembership {
+
+    private final HazelcastInstance hazelcastInstance;
+
+    LegacyMembership(final HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    Set<Member> members() {
+        return hazelcastInstance
+            .getCluster()
+            .getMembers()
+            .stream()
+            .map(member -> new HazelcastMember(member, isPrimaryMember(member)))
+            .collect(Collectors.toSet());
+    }
+
+    Member self() {
+        com.hazelcast.cluster.Member localMember = hazelcastInstance.getCluster().getLocalMember();
+        return new HazelcastMember(localMember, isPrimaryMember(localMember));
+    }
+
+    private boolean isPrimaryMember(final com.hazelcast.cluster.Member member) {
+        com.hazelcast.cluster.Member firstMemberAsPrimary = hazelcastInstance.getCluster().getMembers().iterator().next();
+        return member != null && member.equals(firstMemberAsPrimary);
+    }
+}
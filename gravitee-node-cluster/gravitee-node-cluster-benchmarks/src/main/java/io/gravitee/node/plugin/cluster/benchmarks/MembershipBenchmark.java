@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.Member;
+import io.gravitee.node.plugin.cluster.hazelcast.HazelcastClusterManager;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the cost of the membership lookups of the {@link HazelcastClusterManager}, served from a snapshot rebuilt on
+ * membership changes, with the former implementation listing and wrapping the members on each call ({@link LegacyMembership}).
+ * <code>self().primary()</code> is called for each monitoring message received by a node.
+ *
+ * <pre>
+ * java -jar gravitee-node-cluster-benchmarks/target/benchmarks.jar MembershipBenchmark -prof gc
+ * </pre>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MembershipBenchmark {
+
+    @Param({ "legacy", "snapshot" })
+    public String implementation;
+
+    private HazelcastInstance hazelcastInstance;
+    private HazelcastClusterManager clusterManager;
+    private LegacyMembership legacyMembership;
+
+    @Setup
+    public void setup() throws Exception {
+        Config config = new Config().setClusterName(UUID.randomUUID().toString());
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        clusterManager = new HazelcastClusterManager(hazelcastInstance);
+        clusterManager.start();
+        legacyMembership = new LegacyMembership(hazelcastInstance);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        clusterManager.stop();
+    }
+
+    @Benchmark
+    public boolean selfPrimary() {
+        Member self = "legacy".equals(implementation) ? legacyMembership.self() : clusterManager.self();
+        return self.primary();
+    }
+
+    @Benchmark
+    public Set<Member> members() {
+        return "legacy".equals(implementation) ? legacyMembership.members() : clusterManager.members();
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import io.gravitee.node.api.healthcheck.HealthCheck;
+import io.gravitee.node.api.healthcheck.Result;
+import io.gravitee.node.api.infos.NodeInfos;
+import io.gravitee.node.api.infos.NodeStatus;
+import io.gravitee.node.api.infos.PluginInfos;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.monitoring.codec.HealthCheckMessageCodec;
+import io.gravitee.node.monitoring.codec.MonitorMessageCodec;
+import io.gravitee.node.monitoring.codec.NodeInfosMessageCodec;
+import io.gravitee.node.monitoring.monitor.probe.JvmProbe;
+import io.gravitee.node.monitoring.monitor.probe.OsProbe;
+import io.gravitee.node.monitoring.monitor.probe.ProcessProbe;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.EncodedMessageFactory;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.MessageCodecRegistry;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the serialization of the monitoring payloads published to the cluster with the Java serialization used by default by
+ * Hazelcast and with their compact binary codecs. The size of the serialized payloads, as sent on the wire by Hazelcast, is
+ * printed when the benchmark is set up.
+ *
+ * <pre>
+ * java -jar gravitee-node-cluster-benchmarks/target/benchmarks.jar MessageCodecBenchmark -prof gc
+ * </pre>
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageCodecBenchmark {
+
+    @Param({ "node-infos", "health-check", "monitor" })
+    public String payload;
+
+    @Param({ "java", "codec" })
+    public String serialization;
+
+    private HazelcastInstance hazelcastInstance;
+    private SerializationService serializationService;
+    private MessageCodecRegistry codecRegistry;
+    private Object message;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        Config config = new Config().setClusterName(UUID.randomUUID().toString());
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(EncodedMessageFactory.configure(config));
+        serializationService = ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
+
+        codecRegistry = new MessageCodecRegistry();
+        if ("codec".equals(serialization)) {
+            codecRegistry.register(new NodeInfosMessageCodec());
+            codecRegistry.register(new HealthCheckMessageCodec());
+            codecRegistry.register(new MonitorMessageCodec());
+        }
+        message =
+            switch (payload) {
+                case "node-infos" -> nodeInfos();
+                case "health-check" -> healthCheck();
+                default -> monitor();
+            };
+        data = encode();
+        System.out.printf("%n%s serialized with %s: %d bytes%n", payload, serialization, data.totalSize());
+    }
+
+    @TearDown
+    public void tearDown() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Benchmark
+    public Data encode() {
+        return serializationService.toData(codecRegistry.encode(message));
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codecRegistry.decode(serializationService.toObject(data));
+    }
+
+    static NodeInfos nodeInfos() {
+        NodeInfos nodeInfos = new NodeInfos();
+        nodeInfos.setId(UUID.randomUUID().toString());
+        nodeInfos.setName("Gravitee.io - API Gateway");
+        nodeInfos.setApplication("gio-apim-gateway");
+        nodeInfos.setEvaluatedAt(System.currentTimeMillis());
+        nodeInfos.setStatus(NodeStatus.STARTED);
+        nodeInfos.setVersion("4.2.0");
+        nodeInfos.setJdkVersion(System.getProperty("java.version"));
+        nodeInfos.setTags(List.of("internal", "europe"));
+        nodeInfos.setHostname("gateway-1.gravitee.internal");
+        nodeInfos.setIp("10.0.12.34");
+        nodeInfos.setPort(18082);
+        nodeInfos.setTenant("eu");
+        Set<PluginInfos> plugins = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            PluginInfos plugin = new PluginInfos();
+            plugin.setId("plugin-" + i);
+            plugin.setName("Plugin " + i);
+            plugin.setDescription("Description of the plugin " + i);
+            plugin.setVersion("1." + i + ".0");
+            plugin.setPlugin("gravitee-plugin-" + i);
+            plugin.setType(i % 2 == 0 ? "policy" : "resource");
+            plugins.add(plugin);
+        }
+        nodeInfos.setPluginInfos(plugins);
+        return nodeInfos;
+    }
+
+    static HealthCheck healthCheck() {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("cpu", Result.healthy());
+        results.put("memory", Result.healthy());
+        results.put("management-repository", Result.healthy());
+        results.put("ratelimit-repository", Result.unhealthy("Unable to reach the rate limit repository"));
+        results.put("http-server", Result.healthy());
+        return new HealthCheck(System.currentTimeMillis(), results);
+    }
+
+    static Monitor monitor() {
+        return Monitor
+            .on(UUID.randomUUID().toString())
+            .at(System.currentTimeMillis())
+            .jvm(JvmProbe.getInstance().jvmInfo())
+            .os(OsProbe.getInstance().osInfo())
+            .process(ProcessProbe.getInstance().processInfo())
+            .build();
+    }
+}
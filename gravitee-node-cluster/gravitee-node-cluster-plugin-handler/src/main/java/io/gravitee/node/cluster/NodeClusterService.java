@@ -18,6 +18,11 @@ package io.gravitee.node.cluster;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.Node;
 import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.configuration.Configuration;
+import io.gravitee.node.cluster.metrics.MicrometerMessagingMetrics;
+import io.gravitee.node.cluster.partition.ConsistentHashPartitioner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.micrometer.backends.BackendRegistries;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,22 +42,39 @@ public class NodeClusterService extends AbstractService<NodeClusterService> {
     @Lazy
     private ClusterManager clusterManager;
 
+    @Autowired
+    private ConsistentHashPartitioner clusterPartitioner;
+
+    @Autowired
+    private Configuration configuration;
+
     @Override
     public void doStart() throws Exception {
         super.doStart();
         node.metadata().put("node.id", node.id());
         node.metadata().put("node.hostname", node.hostname());
         try {
+            if (configuration.getProperty("services.metrics.enabled", Boolean.class, false)) {
+                MeterRegistry registry = BackendRegistries.getDefaultNow();
+                if (registry != null) {
+                    // Set before starting so that all the topics and queues are instrumented
+                    clusterManager.setMessagingMetrics(new MicrometerMessagingMetrics(registry));
+                }
+            }
             clusterManager.start();
         } catch (NoSuchBeanDefinitionException e) {
             log.error("No Cluster manager has been registered.");
             throw new NoClusterManagerException();
         }
+        clusterPartitioner.start();
     }
 
     @Override
     protected void doStop() throws Exception {
         super.doStop();
+        if (clusterPartitioner != null) {
+            clusterPartitioner.stop();
+        }
         if (clusterManager != null) {
             clusterManager.stop();
         }
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cluster.metrics;
+
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.MessagingMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Record the activity of the topics and queues of the cluster as Micrometer meters tagged with the type and the name of the
+ * destination.
+ *
+ * <p>
+ * The meters of a destination are registered the first time it is retrieved and reused afterward, so recording a message only
+ * updates existing meters. The listener execution times are published as histograms to compute percentiles across the nodes.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class MicrometerMessagingMetrics implements MessagingMetrics {
+
+    static final String TYPE_TAG = "type";
+    static final String DESTINATION_TAG = "destination";
+    private static final Duration MIN_EXPECTED_DURATION = Duration.ofNanos(100_000);
+    private static final Duration MAX_EXPECTED_DURATION = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+    private final Map<String, DestinationMetrics> topics = new ConcurrentHashMap<>();
+    private final Map<String, DestinationMetrics> queues = new ConcurrentHashMap<>();
+
+    public MicrometerMessagingMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public DestinationMetrics topic(final String name) {
+        return topics.computeIfAbsent(name, key -> new MicrometerDestinationMetrics(Tags.of(TYPE_TAG, "topic", DESTINATION_TAG, key)));
+    }
+
+    @Override
+    public DestinationMetrics queue(final String name, final LongSupplier depth) {
+        return queues.computeIfAbsent(
+            name,
+            key -> {
+                Tags tags = Tags.of(TYPE_TAG, "queue", DESTINATION_TAG, key);
+                Gauge
+                    .builder("cluster.queue.depth", depth, LongSupplier::getAsLong)
+                    .tags(tags)
+                    .description("The number of messages waiting to be consumed")
+                    // The supplier is only referenced by the gauge
+                    .strongReference(true)
+                    .register(registry);
+                return new MicrometerDestinationMetrics(tags);
+            }
+        );
+    }
+
+    private class MicrometerDestinationMetrics implements DestinationMetrics {
+
+        private final Counter published;
+        private final Counter received;
+        private final DistributionSummary publishedBytes;
+        private final DistributionSummary receivedBytes;
+        private final Timer listenerDuration;
+        private final Counter listenerErrors;
+
+        private MicrometerDestinationMetrics(final Tags tags) {
+            this.published =
+                Counter
+                    .builder("cluster.messages.published")
+                    .tags(tags)
+                    .description("The number of messages published")
+                    .register(registry);
+            this.received =
+                Counter
+                    .builder("cluster.messages.received")
+                    .tags(tags)
+                    .description("The number of messages received")
+                    .register(registry);
+            this.publishedBytes = payloadSummary(tags, "published");
+            this.receivedBytes = payloadSummary(tags, "received");
+            this.listenerDuration =
+                Timer
+                    .builder("cluster.listener.duration")
+                    .tags(tags)
+                    .description("The time spent by the listeners on the messages")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED_DURATION)
+                    .maximumExpectedValue(MAX_EXPECTED_DURATION)
+                    .register(registry);
+            this.listenerErrors =
+                Counter
+                    .builder("cluster.listener.errors")
+                    .tags(tags)
+                    .description("The number of messages the listeners failed to process")
+                    .register(registry);
+        }
+
+        @Override
+        public void published(final long payloadBytes) {
+            published.increment();
+            if (payloadBytes >= 0) {
+                publishedBytes.record(payloadBytes);
+            }
+        }
+
+        @Override
+        public void received(final long payloadBytes) {
+            received.increment();
+            if (payloadBytes >= 0) {
+                receivedBytes.record(payloadBytes);
+            }
+        }
+
+        @Override
+        public void processed(final long durationNanos, final boolean failed) {
+            listenerDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+            if (failed) {
+                listenerErrors.increment();
+            }
+        }
+
+        private DistributionSummary payloadSummary(final Tags tags, final String direction) {
+            return DistributionSummary
+                .builder("cluster.messages.payload")
+                .tags(tags)
+                .tag("direction", direction)
+                .description("The size of the serialized messages, for the messages encoded by a codec")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        }
+    }
+}
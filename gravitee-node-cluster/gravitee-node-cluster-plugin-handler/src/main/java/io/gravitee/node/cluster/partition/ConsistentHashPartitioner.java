@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cluster.partition;
+
+import io.gravitee.common.service.AbstractService;
+import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.cluster.ClusterPartitioner;
+import io.gravitee.node.api.cluster.Member;
+import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.OwnershipListener;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ClusterPartitioner} placing the members of the {@link ClusterManager} on a consistent {@link HashRing}.
+ *
+ * <p>
+ * The ring is updated incrementally from the {@link MemberListener} events: a joining member only takes over a share of the keys
+ * of the other members and the keys of a leaving member are spread across the remaining ones. Lookups read the current ring
+ * without any lock while the ownership of the tracked keys is recomputed on each membership change, the {@link OwnershipListener}s
+ * being notified from the thread delivering the membership events.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class ConsistentHashPartitioner
+    extends AbstractService<ConsistentHashPartitioner>
+    implements ClusterPartitioner, MemberListener {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final ClusterManager clusterManager;
+    private final int virtualNodes;
+    private final Set<String> trackedKeys = new HashSet<>();
+    private final Set<OwnershipListener> ownershipListeners = ConcurrentHashMap.newKeySet();
+    private volatile HashRing ring;
+    private volatile Set<String> ownedKeys = Set.of();
+    private volatile String selfId;
+
+    public ConsistentHashPartitioner(final ClusterManager clusterManager) {
+        this(clusterManager, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashPartitioner(final ClusterManager clusterManager, final int virtualNodes) {
+        this.clusterManager = clusterManager;
+        this.virtualNodes = virtualNodes;
+        this.ring = HashRing.empty(virtualNodes);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        synchronized (this) {
+            selfId = clusterManager.self().id();
+            clusterManager.addMemberListener(this);
+            rebalance(HashRing.of(virtualNodes, clusterManager.members()));
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        clusterManager.removeMemberListener(this);
+        synchronized (this) {
+            // All the tracked keys are lost so that the work they stand for is stopped before the node leaves the cluster
+            rebalance(HashRing.empty(virtualNodes));
+        }
+        super.doStop();
+    }
+
+    @Override
+    public Member owner(final String key) {
+        return ring.owner(key);
+    }
+
+    @Override
+    public boolean isOwner(final String key) {
+        Member owner = ring.owner(key);
+        return owner != null && owner.id().equals(selfId);
+    }
+
+    @Override
+    public Set<String> ownedKeys() {
+        return ownedKeys;
+    }
+
+    @Override
+    public synchronized void track(final Collection<String> keys) {
+        Set<String> gained = new HashSet<>();
+        for (String key : keys) {
+            if (trackedKeys.add(key) && isOwner(key)) {
+                gained.add(key);
+            }
+        }
+        updateOwnedKeys(gained, Set.of());
+    }
+
+    @Override
+    public synchronized void untrack(final Collection<String> keys) {
+        Set<String> lost = new HashSet<>();
+        for (String key : keys) {
+            if (trackedKeys.remove(key) && ownedKeys.contains(key)) {
+                lost.add(key);
+            }
+        }
+        updateOwnedKeys(Set.of(), lost);
+    }
+
+    @Override
+    public synchronized void addOwnershipListener(final OwnershipListener listener) {
+        ownershipListeners.add(listener);
+        if (!ownedKeys.isEmpty()) {
+            notifyOwnership(ownedKeys, true, Set.of(listener));
+        }
+    }
+
+    @Override
+    public void removeOwnershipListener(final OwnershipListener listener) {
+        ownershipListeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void onMemberAdded(final Member member) {
+        rebalance(ring.withMember(member));
+    }
+
+    @Override
+    public synchronized void onMemberRemoved(final Member member) {
+        rebalance(ring.withoutMember(member.id()));
+    }
+
+    private void rebalance(final HashRing newRing) {
+        ring = newRing;
+        Set<String> gained = new HashSet<>();
+        Set<String> lost = new HashSet<>();
+        for (String key : trackedKeys) {
+            boolean owner = isOwner(key);
+            if (owner != ownedKeys.contains(key)) {
+                (owner ? gained : lost).add(key);
+            }
+        }
+        updateOwnedKeys(gained, lost);
+    }
+
+    private void updateOwnedKeys(final Set<String> gained, final Set<String> lost) {
+        if (gained.isEmpty() && lost.isEmpty()) {
+            return;
+        }
+        Set<String> keys = new HashSet<>(ownedKeys);
+        keys.addAll(gained);
+        keys.removeAll(lost);
+        ownedKeys = Set.copyOf(keys);
+        if (!lost.isEmpty()) {
+            notifyOwnership(Set.copyOf(lost), false, ownershipListeners);
+        }
+        if (!gained.isEmpty()) {
+            notifyOwnership(Set.copyOf(gained), true, ownershipListeners);
+        }
+    }
+
+    private void notifyOwnership(final Set<String> keys, final boolean gained, final Set<OwnershipListener> listeners) {
+        log.debug("This node {} {} keys", gained ? "gained" : "lost", keys.size());
+        for (OwnershipListener listener : listeners) {
+            try {
+                if (gained) {
+                    listener.onKeysGained(keys);
+                } else {
+                    listener.onKeysLost(keys);
+                }
+            } catch (Exception e) {
+                log.warn("Unable to notify the ownership change of {} keys", keys.size(), e);
+            }
+        }
+    }
+}
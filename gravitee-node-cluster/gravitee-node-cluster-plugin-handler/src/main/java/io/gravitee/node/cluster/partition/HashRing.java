@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cluster.partition;
+
+import io.gravitee.node.api.cluster.Member;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable consistent hash ring. Each member is placed on the ring at a number of pseudo-random points (virtual nodes) derived
+ * from its id, and a key is owned by the member of the first point following the hash of the key. Adding or removing a member
+ * only moves the keys of the arcs it gains or loses, and the ring of the other members is merged or filtered rather than
+ * rebuilt.
+ *
+ * @author GraviteeSource Team
+ */
+final class HashRing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final int virtualNodes;
+    private final long[] points;
+    private final Member[] owners;
+    private final Map<String, Member> members;
+
+    private HashRing(final int virtualNodes, final long[] points, final Member[] owners, final Map<String, Member> members) {
+        this.virtualNodes = virtualNodes;
+        this.points = points;
+        this.owners = owners;
+        this.members = members;
+    }
+
+    static HashRing empty(final int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("The number of virtual nodes must be positive");
+        }
+        return new HashRing(virtualNodes, new long[0], new Member[0], Map.of());
+    }
+
+    static HashRing of(final int virtualNodes, final Collection<Member> members) {
+        HashRing ring = empty(virtualNodes);
+        for (Member member : members) {
+            ring = ring.withMember(member);
+        }
+        return ring;
+    }
+
+    Map<String, Member> members() {
+        return members;
+    }
+
+    /**
+     * @return the member owning the given key, or <code>null</code> if the ring is empty.
+     */
+    Member owner(final String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * @return a ring with the points of the given member merged in, replacing the member with the same id if any.
+     */
+    HashRing withMember(final Member member) {
+        HashRing ring = members.containsKey(member.id()) ? withoutMember(member.id()) : this;
+        long[] memberPoints = points(member.id());
+        long[] mergedPoints = new long[ring.points.length + memberPoints.length];
+        Member[] mergedOwners = new Member[mergedPoints.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < mergedPoints.length; k++) {
+            if (j == memberPoints.length || (i < ring.points.length && ring.points[i] <= memberPoints[j])) {
+                mergedPoints[k] = ring.points[i];
+                mergedOwners[k] = ring.owners[i++];
+            } else {
+                mergedPoints[k] = memberPoints[j++];
+                mergedOwners[k] = member;
+            }
+        }
+        Map<String, Member> mergedMembers = new HashMap<>(ring.members);
+        mergedMembers.put(member.id(), member);
+        return new HashRing(virtualNodes, mergedPoints, mergedOwners, Collections.unmodifiableMap(mergedMembers));
+    }
+
+    /**
+     * @return a ring without the points of the member with the given id.
+     */
+    HashRing withoutMember(final String memberId) {
+        if (!members.containsKey(memberId)) {
+            return this;
+        }
+        long[] remainingPoints = new long[points.length - virtualNodes];
+        Member[] remainingOwners = new Member[remainingPoints.length];
+        int k = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (!owners[i].id().equals(memberId)) {
+                remainingPoints[k] = points[i];
+                remainingOwners[k++] = owners[i];
+            }
+        }
+        Map<String, Member> remainingMembers = new HashMap<>(members);
+        remainingMembers.remove(memberId);
+        return new HashRing(virtualNodes, remainingPoints, remainingOwners, Collections.unmodifiableMap(remainingMembers));
+    }
+
+    private long[] points(final String memberId) {
+        long seed = hash(memberId);
+        long[] memberPoints = new long[virtualNodes];
+        for (int i = 0; i < virtualNodes; i++) {
+            memberPoints[i] = mix(seed + (i + 1) * GOLDEN_GAMMA);
+        }
+        Arrays.sort(memberPoints);
+        return memberPoints;
+    }
+
+    /**
+     * FNV-1a hash of the characters of the string, mixed with the finalizer of MurmurHash3 so that close strings are spread over the
+     * whole ring. Unlike {@link String#hashCode()}, it is 64 bits wide and all the members compute the same value.
+     */
+    static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -15,8 +15,12 @@
  */
 package io.gravitee.node.cluster.spring;
 
+import io.gravitee.node.api.cluster.ClusterManager;
 import io.gravitee.node.cluster.NodeClusterService;
+import io.gravitee.node.cluster.partition.ConsistentHashPartitioner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
@@ -28,4 +32,12 @@ public class NodeClusterConfiguration {
     public NodeClusterService nodeClusterService() {
         return new NodeClusterService();
     }
+
+    @Bean
+    public ConsistentHashPartitioner clusterPartitioner(
+        @Lazy ClusterManager clusterManager,
+        @Value("${cluster.partitioner.virtual-nodes:" + ConsistentHashPartitioner.DEFAULT_VIRTUAL_NODES + "}") int virtualNodes
+    ) {
+        return new ConsistentHashPartitioner(clusterManager, virtualNodes);
+    }
 }
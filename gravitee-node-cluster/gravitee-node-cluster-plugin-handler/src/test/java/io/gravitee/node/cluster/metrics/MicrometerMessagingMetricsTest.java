@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cluster.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MicrometerMessagingMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerMessagingMetrics cut;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cut = new MicrometerMessagingMetrics(registry);
+    }
+
+    @Test
+    void should_record_messages_of_a_topic() {
+        DestinationMetrics metrics = cut.topic("my-topic");
+
+        metrics.published(100);
+        metrics.published(DestinationMetrics.UNKNOWN_SIZE);
+        metrics.received(100);
+        metrics.processed(TimeUnit.MILLISECONDS.toNanos(5), false);
+        metrics.processed(TimeUnit.MILLISECONDS.toNanos(15), true);
+
+        assertThat(registry.get("cluster.messages.published").tags("type", "topic", "destination", "my-topic").counter().count())
+            .isEqualTo(2);
+        assertThat(registry.get("cluster.messages.received").tag("destination", "my-topic").counter().count()).isEqualTo(1);
+        // Messages of unknown size are counted but not measured
+        assertThat(registry.get("cluster.messages.payload").tag("direction", "published").summary().count()).isEqualTo(1);
+        assertThat(registry.get("cluster.messages.payload").tag("direction", "published").summary().totalAmount()).isEqualTo(100);
+        assertThat(registry.get("cluster.listener.duration").tag("destination", "my-topic").timer().count()).isEqualTo(2);
+        assertThat(registry.get("cluster.listener.duration").timer().max(TimeUnit.MILLISECONDS)).isEqualTo(15);
+        assertThat(registry.get("cluster.listener.errors").tag("destination", "my-topic").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_expose_the_depth_of_a_queue() {
+        AtomicLong depth = new AtomicLong(3);
+
+        cut.queue("my-queue", depth::get);
+
+        assertThat(registry.get("cluster.queue.depth").tags("type", "queue", "destination", "my-queue").gauge().value()).isEqualTo(3);
+        depth.set(7);
+        assertThat(registry.get("cluster.queue.depth").gauge().value()).isEqualTo(7);
+    }
+
+    @Test
+    void should_reuse_the_meters_of_a_destination() {
+        DestinationMetrics metrics = cut.topic("my-topic");
+
+        assertThat(cut.topic("my-topic")).isSameAs(metrics);
+        assertThat(cut.topic("other-topic")).isNotSameAs(metrics);
+        assertThat(registry.find("cluster.messages.published").counters()).hasSize(2);
+    }
+}
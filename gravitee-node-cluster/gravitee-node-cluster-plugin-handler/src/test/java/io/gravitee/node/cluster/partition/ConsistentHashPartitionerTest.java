@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cluster.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.cluster.Member;
+import io.gravitee.node.api.cluster.OwnershipListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ConsistentHashPartitionerTest {
+
+    private static final List<String> KEYS = IntStream.range(0, 3000).mapToObj(i -> "job-" + i).toList();
+
+    private final TestMember self = new TestMember("member-1", true);
+    private final TestMember member2 = new TestMember("member-2", false);
+    private final TestMember member3 = new TestMember("member-3", false);
+
+    @Mock
+    private ClusterManager clusterManager;
+
+    private ConsistentHashPartitioner cut;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        when(clusterManager.self()).thenReturn(self);
+        when(clusterManager.members()).thenReturn(Set.of(self, member2, member3));
+        cut = new ConsistentHashPartitioner(clusterManager);
+        cut.start();
+    }
+
+    @Test
+    void should_spread_keys_across_members() {
+        Map<String, Long> keysByMember = KEYS.stream().collect(Collectors.groupingBy(key -> cut.owner(key).id(), Collectors.counting()));
+
+        assertThat(keysByMember).containsOnlyKeys(self.id(), member2.id(), member3.id());
+        assertThat(keysByMember.values()).allSatisfy(count -> assertThat(count).isBetween(700L, 1300L));
+        assertThat(KEYS.stream().filter(cut::isOwner)).hasSize(keysByMember.get(self.id()).intValue());
+    }
+
+    @Test
+    void should_only_move_the_keys_of_the_member_joining_or_leaving() {
+        Map<String, String> owners = owners();
+        TestMember member4 = new TestMember("member-4", false);
+
+        cut.onMemberAdded(member4);
+        Map<String, String> ownersWithMember4 = owners();
+
+        KEYS
+            .stream()
+            .filter(key -> !owners.get(key).equals(ownersWithMember4.get(key)))
+            .forEach(key -> assertThat(ownersWithMember4.get(key)).isEqualTo(member4.id()));
+        assertThat(ownersWithMember4).containsValue(member4.id());
+
+        cut.onMemberRemoved(member2);
+        Map<String, String> ownersWithoutMember2 = owners();
+
+        KEYS
+            .stream()
+            .filter(key -> !ownersWithMember4.get(key).equals(ownersWithoutMember2.get(key)))
+            .forEach(key -> assertThat(ownersWithMember4.get(key)).isEqualTo(member2.id()));
+        assertThat(ownersWithoutMember2).doesNotContainValue(member2.id());
+    }
+
+    @Test
+    void should_agree_on_owners_whatever_the_order_of_the_members() {
+        Map<String, String> owners = owners();
+
+        cut.onMemberRemoved(self);
+        cut.onMemberRemoved(member3);
+        cut.onMemberAdded(member3);
+        cut.onMemberAdded(self);
+
+        assertThat(owners()).isEqualTo(owners);
+    }
+
+    @Test
+    void should_notify_gained_and_lost_keys() throws Exception {
+        RecordingOwnershipListener listener = new RecordingOwnershipListener();
+        cut.addOwnershipListener(listener);
+        cut.track(KEYS);
+
+        Set<String> owned = KEYS.stream().filter(cut::isOwner).collect(Collectors.toSet());
+        assertThat(listener.gained).containsExactly(owned);
+        assertThat(cut.ownedKeys()).isEqualTo(owned);
+
+        TestMember member4 = new TestMember("member-4", false);
+        cut.onMemberAdded(member4);
+
+        assertThat(listener.lost).hasSize(1);
+        assertThat(listener.lost.get(0)).isNotEmpty().allSatisfy(key -> assertThat(cut.owner(key)).isEqualTo(member4));
+        assertThat(cut.ownedKeys()).hasSize(owned.size() - listener.lost.get(0).size());
+
+        cut.onMemberRemoved(member4);
+
+        assertThat(listener.gained).hasSize(2);
+        assertThat(listener.gained.get(1)).isEqualTo(listener.lost.get(0));
+        assertThat(cut.ownedKeys()).isEqualTo(owned);
+
+        cut.untrack(List.copyOf(owned).subList(0, 10));
+        assertThat(listener.lost.get(1)).hasSize(10);
+
+        cut.stop();
+        assertThat(listener.lost.get(2)).hasSize(owned.size() - 10);
+        assertThat(cut.ownedKeys()).isEmpty();
+    }
+
+    @Test
+    void should_notify_owned_keys_to_a_new_listener() {
+        cut.track(KEYS);
+        RecordingOwnershipListener listener = new RecordingOwnershipListener();
+
+        cut.addOwnershipListener(listener);
+
+        assertThat(listener.gained).containsExactly(cut.ownedKeys());
+        assertThat(listener.lost).isEmpty();
+    }
+
+    private Map<String, String> owners() {
+        Map<String, String> owners = new HashMap<>();
+        KEYS.forEach(key -> owners.put(key, cut.owner(key).id()));
+        return owners;
+    }
+
+    private record TestMember(String id, boolean self) implements Member {
+        @Override
+        public boolean primary() {
+            return self;
+        }
+
+        @Override
+        public String host() {
+            return "localhost";
+        }
+
+        @Override
+        public Map<String, String> attributes() {
+            return Map.of();
+        }
+
+        @Override
+        public Member attribute(final String key, final String value) {
+            return this;
+        }
+    }
+
+    private static class RecordingOwnershipListener implements OwnershipListener {
+
+        private final List<Set<String>> gained = new ArrayList<>();
+        private final List<Set<String>> lost = new ArrayList<>();
+
+        @Override
+        public void onKeysGained(final Set<String> keys) {
+            gained.add(new HashSet<>(keys));
+        }
+
+        @Override
+        public void onKeysLost(final Set<String> keys) {
+            lost.add(new HashSet<>(keys));
+        }
+    }
+}
@@ -18,44 +18,79 @@ package io.gravitee.node.plugin.cluster.hazelcast;
 import com.hazelcast.cluster.MembershipEvent;
 import com.hazelcast.cluster.MembershipListener;
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.topic.ITopic;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.cluster.LeadershipListener;
 import io.gravitee.node.api.cluster.Member;
 import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.counter.Counter;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import io.gravitee.node.api.cluster.counter.RateLimiter;
+import io.gravitee.node.api.cluster.counter.RateLimiterConfiguration;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import io.gravitee.node.api.cluster.messaging.MessagingMetrics;
 import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.ReliableTopic;
 import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
+import io.gravitee.node.plugin.cluster.hazelcast.counter.HazelcastCounter;
+import io.gravitee.node.plugin.cluster.hazelcast.counter.HazelcastRateLimiter;
 import io.gravitee.node.plugin.cluster.hazelcast.messaging.HazelcastQueue;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.MessageCodecRegistry;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.HazelcastReliableTopic;
 import io.gravitee.node.plugin.cluster.hazelcast.messaging.HazelcastTopic;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Slf4j
-@RequiredArgsConstructor
 public class HazelcastClusterManager extends AbstractService<ClusterManager> implements ClusterManager, MembershipListener {
 
     private final HazelcastInstance hazelcastInstance;
 
-    private final Set<MemberListener> memberListeners = new HashSet<>();
+    private final Set<MemberListener> memberListeners = ConcurrentHashMap.newKeySet();
     private final Map<String, Queue<?>> queuesByName = new ConcurrentHashMap<>();
+    private final Map<String, HazelcastCounter> countersByName = new ConcurrentHashMap<>();
+    private final Map<String, HazelcastRateLimiter> rateLimitersByName = new ConcurrentHashMap<>();
+    private final Map<String, Set<LeadershipListener>> leadershipListeners = new ConcurrentHashMap<>();
+    private final MessageCodecRegistry codecRegistry;
+    private volatile MessagingMetrics messagingMetrics = MessagingMetrics.NOOP;
+    private volatile MembershipSnapshot membership;
+
+    public HazelcastClusterManager(final HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, new MessageCodecRegistry());
+    }
+
+    @Autowired
+    public HazelcastClusterManager(final HazelcastInstance hazelcastInstance, final MessageCodecRegistry codecRegistry) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.codecRegistry = codecRegistry;
+    }
 
     @Override
     protected void doStart() {
         hazelcastInstance.getCluster().addMembershipListener(this);
+        updateMembership(hazelcastInstance.getCluster().getMembers());
     }
 
     @Override
     protected void doStop() {
+        revokeLeaderships();
+        // Apply the pending updates of the counters while the cluster is still reachable
+        rateLimitersByName.values().forEach(HazelcastRateLimiter::close);
+        countersByName.values().forEach(HazelcastCounter::close);
         if (hazelcastInstance != null) {
             hazelcastInstance.shutdown();
         }
@@ -68,18 +103,12 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
 
     @Override
     public Set<Member> members() {
-        return hazelcastInstance
-            .getCluster()
-            .getMembers()
-            .stream()
-            .map(member -> new HazelcastMember(member, isPrimaryMember(member)))
-            .collect(Collectors.toSet());
+        return membership().members();
     }
 
     @Override
     public Member self() {
-        com.hazelcast.cluster.Member localMember = hazelcastInstance.getCluster().getLocalMember();
-        return new HazelcastMember(localMember, isPrimaryMember(localMember));
+        return membership().self();
     }
 
     @Override
@@ -92,10 +121,61 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
         memberListeners.remove(listener);
     }
 
+    @Override
+    public boolean isLeader(final String group) {
+        return membership().isLeader(group);
+    }
+
+    @Override
+    public synchronized void addLeadershipListener(final String group, final LeadershipListener listener) {
+        leadershipListeners.computeIfAbsent(group, key -> ConcurrentHashMap.newKeySet()).add(listener);
+        if (isLeader(group)) {
+            notifyLeadership(group, true, Set.of(listener));
+        }
+    }
+
+    @Override
+    public void removeLeadershipListener(final String group, final LeadershipListener listener) {
+        Set<LeadershipListener> listeners = leadershipListeners.get(group);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Messages of the registered codecs are exchanged as {@link io.gravitee.node.plugin.cluster.hazelcast.messaging.EncodedMessage}s,
+     * which requires the {@link io.gravitee.node.plugin.cluster.hazelcast.messaging.EncodedMessageFactory} to be configured on all
+     * the members.
+     */
+    @Override
+    public void registerCodec(final MessageCodec<?> codec) {
+        codecRegistry.register(codec);
+    }
+
+    @Override
+    public void setMessagingMetrics(final MessagingMetrics messagingMetrics) {
+        this.messagingMetrics = messagingMetrics;
+    }
+
     @Override
     public <T> Topic<T> topic(final String name) {
         ITopic<T> iTopic = hazelcastInstance.getTopic(name);
-        return new HazelcastTopic<>(iTopic);
+        return new HazelcastTopic<>(iTopic, codecRegistry, messagingMetrics.topic(name));
+    }
+
+    @Override
+    public <T> ReliableTopic<T> reliableTopic(final String name, final TopicConfiguration configuration) {
+        // Configurations can't be redefined, the first one or the one of the Hazelcast configuration file wins.
+        // The ring buffer backing a reliable topic is configured under the name of the topic.
+        Config config = hazelcastInstance.getConfig();
+        if (!config.getRingbufferConfigs().containsKey(name)) {
+            config.addRingBufferConfig(new RingbufferConfig(name).setCapacity(configuration.getCapacity()));
+        }
+        if (!config.getReliableTopicConfigs().containsKey(name)) {
+            config.addReliableTopicConfig(new ReliableTopicConfig(name).setReadBatchSize(configuration.getReadBatchSize()));
+        }
+        ITopic<T> reliableTopic = hazelcastInstance.getReliableTopic(name);
+        return new HazelcastReliableTopic<>(reliableTopic, codecRegistry, messagingMetrics.topic(name));
     }
 
     @Override
@@ -104,29 +184,135 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
             name,
             key -> {
                 IQueue<T> iQueue = hazelcastInstance.getQueue(key);
-                return new HazelcastQueue<>(iQueue);
+                return new HazelcastQueue<>(iQueue, codecRegistry, messagingMetrics.queue(key, iQueue::size));
             }
         );
     }
 
+    @Override
+    public Counter counter(final String name, final CounterConfiguration configuration) {
+        return countersByName.computeIfAbsent(name, key -> HazelcastCounter.of(hazelcastInstance, key, configuration));
+    }
+
+    @Override
+    public void releaseCounter(final String name) {
+        HazelcastCounter counter = countersByName.remove(name);
+        if (counter != null) {
+            counter.close();
+        }
+    }
+
+    /**
+     * The permits of each window are counted by a dedicated counter named after the rate limiter and the index of the window.
+     */
+    @Override
+    public RateLimiter rateLimiter(final String name, final RateLimiterConfiguration configuration) {
+        return rateLimitersByName.computeIfAbsent(
+            name,
+            key ->
+                new HazelcastRateLimiter(
+                    key,
+                    configuration,
+                    windowName -> HazelcastCounter.of(hazelcastInstance, windowName, configuration.getCounter())
+                )
+        );
+    }
+
+    @Override
+    public void releaseRateLimiter(final String name) {
+        HazelcastRateLimiter rateLimiter = rateLimitersByName.remove(name);
+        if (rateLimiter != null) {
+            rateLimiter.close();
+        }
+    }
+
     @Override
     public void memberAdded(final MembershipEvent event) {
         log.info("A node joined the cluster: {}", event);
-        com.hazelcast.cluster.Member eventMember = event.getMember();
-        Member newMember = new HazelcastMember(eventMember, isPrimaryMember(eventMember));
-        memberListeners.forEach(listener -> listener.onMemberAdded(newMember));
+        MembershipSnapshot previous = membership;
+        MembershipSnapshot current = updateMembership(event.getMembers());
+        Member newMember = current.member(event.getMember().getUuid());
+        if (newMember == null) {
+            newMember = new HazelcastMember(event.getMember(), false);
+        }
+        for (MemberListener listener : memberListeners) {
+            listener.onMemberAdded(newMember);
+        }
+        notifyPrimaryChange(previous, current);
     }
 
     @Override
     public void memberRemoved(final MembershipEvent event) {
         log.info("A node leaved the cluster: {}", event);
-        com.hazelcast.cluster.Member eventMember = event.getMember();
-        Member removeMember = new HazelcastMember(eventMember, isPrimaryMember(eventMember));
-        memberListeners.forEach(listener -> listener.onMemberRemoved(removeMember));
+        MembershipSnapshot previous = membership;
+        MembershipSnapshot current = updateMembership(event.getMembers());
+        Member removedMember = new HazelcastMember(event.getMember(), false);
+        for (MemberListener listener : memberListeners) {
+            listener.onMemberRemoved(removedMember);
+        }
+        notifyPrimaryChange(previous, current);
     }
 
-    private boolean isPrimaryMember(com.hazelcast.cluster.Member member) {
-        com.hazelcast.cluster.Member firstMemberAsPrimary = hazelcastInstance.getCluster().getMembers().iterator().next();
-        return member != null && member.equals(firstMemberAsPrimary);
+    private MembershipSnapshot membership() {
+        MembershipSnapshot snapshot = membership;
+        if (snapshot == null) {
+            // Not started yet, so not notified of the membership changes
+            return MembershipSnapshot.of(hazelcastInstance.getCluster().getMembers());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replace the membership snapshot and notify the leadership changes it implies. Synchronized with the registration of the
+     * leadership listeners, so that they are notified of each change exactly once.
+     */
+    private synchronized MembershipSnapshot updateMembership(final Collection<com.hazelcast.cluster.Member> clusterMembers) {
+        MembershipSnapshot previous = membership;
+        MembershipSnapshot current = MembershipSnapshot.of(clusterMembers);
+        membership = current;
+        if (previous != null) {
+            leadershipListeners.forEach((group, listeners) -> {
+                boolean leader = current.isLeader(group);
+                if (leader != previous.isLeader(group)) {
+                    notifyLeadership(group, leader, listeners);
+                }
+            });
+        }
+        return current;
+    }
+
+    private synchronized void revokeLeaderships() {
+        MembershipSnapshot snapshot = membership;
+        if (snapshot != null) {
+            leadershipListeners.forEach((group, listeners) -> {
+                if (snapshot.isLeader(group)) {
+                    notifyLeadership(group, false, listeners);
+                }
+            });
+        }
+    }
+
+    private void notifyLeadership(final String group, final boolean leader, final Set<LeadershipListener> listeners) {
+        log.info("This node {} the leader of the group '{}'", leader ? "is now" : "is no longer", group);
+        for (LeadershipListener listener : listeners) {
+            try {
+                if (leader) {
+                    listener.onElected(group);
+                } else {
+                    listener.onRevoked(group);
+                }
+            } catch (Exception e) {
+                log.warn("Unable to notify the leadership change of the group '{}'", group, e);
+            }
+        }
+    }
+
+    private void notifyPrimaryChange(final MembershipSnapshot previous, final MembershipSnapshot current) {
+        if (previous != null && current.primaryChangedFrom(previous)) {
+            log.info("The primary node of the cluster is now {}", current.primary().id());
+            for (MemberListener listener : memberListeners) {
+                listener.onPrimaryChanged(current.primary());
+            }
+        }
     }
 }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast;
+
+import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.cluster.Member;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the members of the cluster, rebuilt on membership changes only so that it can be read without any
+ * allocation nor remote call. As for Hazelcast, the oldest member of the cluster is the primary one.
+ *
+ * <p>
+ * The primary member leads the {@link ClusterManager#PRIMARY_LEADERSHIP_GROUP}. The other leadership groups are spread across
+ * the members by rendezvous hashing: each group is led by the member with the highest hash of the group and member ids. All the
+ * members elect the same leader from the same membership, and a membership change only moves the groups led by the member which
+ * left or to the member which joined.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+final class MembershipSnapshot {
+
+    private final Set<Member> members;
+    private final Member self;
+    private final Member primary;
+    private final Map<String, Member> leadersByGroup = new ConcurrentHashMap<>();
+
+    private MembershipSnapshot(final Set<Member> members, final Member self, final Member primary) {
+        this.members = members;
+        this.self = self;
+        this.primary = primary;
+    }
+
+    static MembershipSnapshot of(final Collection<com.hazelcast.cluster.Member> clusterMembers) {
+        Set<Member> members = new LinkedHashSet<>();
+        Member self = null;
+        Member primary = null;
+        for (com.hazelcast.cluster.Member clusterMember : clusterMembers) {
+            HazelcastMember member = new HazelcastMember(clusterMember, primary == null);
+            if (primary == null) {
+                primary = member;
+            }
+            if (clusterMember.localMember()) {
+                self = member;
+            }
+            members.add(member);
+        }
+        return new MembershipSnapshot(Collections.unmodifiableSet(members), self, primary);
+    }
+
+    Set<Member> members() {
+        return members;
+    }
+
+    Member self() {
+        return self;
+    }
+
+    Member primary() {
+        return primary;
+    }
+
+    Member member(final UUID uuid) {
+        String id = uuid.toString();
+        return members.stream().filter(member -> member.id().equals(id)).findFirst().orElse(null);
+    }
+
+    boolean primaryChangedFrom(final MembershipSnapshot previous) {
+        return previous.primary == null || primary == null || !primary.id().equals(previous.primary.id());
+    }
+
+    boolean isLeader(final String group) {
+        return leader(group) == self;
+    }
+
+    Member leader(final String group) {
+        if (ClusterManager.PRIMARY_LEADERSHIP_GROUP.equals(group)) {
+            return primary;
+        }
+        return leadersByGroup.computeIfAbsent(group, this::electLeader);
+    }
+
+    private Member electLeader(final String group) {
+        Member leader = null;
+        long leaderWeight = 0;
+        for (Member member : members) {
+            long weight = weight(group, member.id());
+            if (leader == null || weight > leaderWeight || (weight == leaderWeight && member.id().compareTo(leader.id()) > 0)) {
+                leader = member;
+                leaderWeight = weight;
+            }
+        }
+        return leader;
+    }
+
+    /**
+     * Mix the hashes of the group and of the member id with the finalizer of MurmurHash3 so that the weights of the members
+     * are evenly distributed whatever the group. String hashes are specified, so all the members compute the same weights.
+     */
+    private static long weight(final String group, final String memberId) {
+        long hash = ((long) group.hashCode() << 32) ^ (memberId.hashCode() & 0xFFFFFFFFL);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.counter;
+
+import com.hazelcast.core.ConsistencyLostException;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.crdt.pncounter.PNCounter;
+
+/**
+ * Distributed structure holding the value of a {@link HazelcastCounter}.
+ *
+ * @author GraviteeSource Team
+ */
+interface CounterBackend {
+    /**
+     * Add the given delta to the distributed value, a delta of 0 only reads it.
+     * @return the distributed value after the update
+     */
+    long addAndGet(final long delta);
+
+    void destroy();
+
+    static CounterBackend of(final PNCounter pnCounter) {
+        return new CounterBackend() {
+            @Override
+            public long addAndGet(final long delta) {
+                try {
+                    return pnCounter.addAndGet(delta);
+                } catch (ConsistencyLostException e) {
+                    // The replica this member was talking to is gone, forget its session to be able to use another one.
+                    pnCounter.reset();
+                    throw e;
+                }
+            }
+
+            @Override
+            public void destroy() {
+                pnCounter.destroy();
+            }
+        };
+    }
+
+    static CounterBackend of(final IAtomicLong atomicLong) {
+        return new CounterBackend() {
+            @Override
+            public long addAndGet(final long delta) {
+                return atomicLong.addAndGet(delta);
+            }
+
+            @Override
+            public void destroy() {
+                atomicLong.destroy();
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.counter;
+
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.counter.Counter;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link Counter} batching its updates locally before applying them to a distributed {@link CounterBackend}.
+ *
+ * <p>
+ * Updates only touch local atomics. The pending delta is applied to the cluster on a pool shared by all the counters of the node,
+ * every {@link CounterConfiguration#getFlushIntervalInMs()} or once {@link CounterConfiguration#getFlushThreshold()} updates are
+ * pending, and each flush refreshes the value known from the cluster. The local value counts the delta being flushed until the
+ * refreshed value is known, so it may be briefly over-estimated but never misses a local update.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class HazelcastCounter implements Counter {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Pool flushing the counters of the node, also used by the rate limiters to prepare and destroy the counters of their windows
+     * out of the calling threads.
+     */
+    static final ScheduledExecutorService flushScheduler = Executors.newScheduledThreadPool(
+        2,
+        r -> {
+            Thread thread = new Thread(r, "gio-cluster-counter-flush-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    private final String name;
+    private final CounterBackend backend;
+    private final int flushThreshold;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledFuture<?> periodicFlush;
+    private volatile long clusterValue;
+    private volatile boolean closed;
+
+    HazelcastCounter(final String name, final CounterBackend backend, final CounterConfiguration configuration) {
+        this.name = name;
+        this.backend = backend;
+        this.flushThreshold = Math.max(1, configuration.getFlushThreshold());
+        long flushIntervalInMs = configuration.getFlushIntervalInMs();
+        this.periodicFlush =
+            flushIntervalInMs > 0
+                ? flushScheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalInMs, flushIntervalInMs, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Create a counter backed by a conflict-free replicated counter or, when strong consistency is required, by an atomic long of the
+     * CP subsystem. Atomic longs are served in unsafe mode by the regular members when the CP subsystem is not enabled.
+     */
+    public static HazelcastCounter of(
+        final HazelcastInstance hazelcastInstance,
+        final String name,
+        final CounterConfiguration configuration
+    ) {
+        CounterBackend backend = configuration.isStrongConsistency()
+            ? CounterBackend.of(hazelcastInstance.getCPSubsystem().getAtomicLong(name))
+            : CounterBackend.of(hazelcastInstance.getPNCounter(name));
+        return new HazelcastCounter(name, backend, configuration);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void add(final long delta) {
+        pending.addAndGet(delta);
+        updated();
+    }
+
+    /**
+     * Add the given delta unless the local value would then exceed the given maximum.
+     * @return <code>true</code> if the delta has been added.
+     */
+    boolean tryAdd(final long delta, final long max) {
+        long current;
+        do {
+            current = pending.get();
+            if (clusterValue + inFlight.get() + current + delta > max) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + delta));
+        updated();
+        return true;
+    }
+
+    @Override
+    public long get() {
+        return clusterValue + inFlight.get() + pending.get();
+    }
+
+    @Override
+    public synchronized void flush() {
+        pendingUpdates.set(0);
+        // Count the delta as in flight before removing it from the pending one, so the local value is never under-estimated
+        long delta = pending.get();
+        inFlight.addAndGet(delta);
+        pending.addAndGet(-delta);
+        try {
+            clusterValue = backend.addAndGet(delta);
+        } catch (RuntimeException e) {
+            // Keep the delta to apply it on the next flush
+            pending.addAndGet(delta);
+            throw e;
+        } finally {
+            inFlight.addAndGet(-delta);
+        }
+    }
+
+    /**
+     * Stop flushing periodically and apply the pending updates to the cluster.
+     */
+    public void close() {
+        discard();
+        flushQuietly();
+    }
+
+    /**
+     * Stop flushing periodically, the pending updates are lost.
+     */
+    void discard() {
+        closed = true;
+        if (periodicFlush != null) {
+            periodicFlush.cancel(false);
+        }
+    }
+
+    /**
+     * Destroy the distributed value, for all the members of the cluster.
+     */
+    void destroy() {
+        backend.destroy();
+    }
+
+    private void updated() {
+        if (pendingUpdates.incrementAndGet() >= flushThreshold && !closed && flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Unable to flush the counter '{}' to the cluster", name, e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.counter;
+
+import static io.gravitee.node.plugin.cluster.hazelcast.counter.HazelcastCounter.flushScheduler;
+
+import io.gravitee.node.api.cluster.counter.RateLimiter;
+import io.gravitee.node.api.cluster.counter.RateLimiterConfiguration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixed window {@link RateLimiter} counting the permits of each window with a {@link HazelcastCounter}.
+ *
+ * <p>
+ * Permits are granted locally against the usage of the window known from the cluster plus the local pending updates, so the
+ * members together may exceed the limit by the updates they haven't flushed yet. The counter of a window stops flushing once the
+ * next window starts, and is destroyed once the window after that starts, leaving time to the members whose clocks are slightly
+ * late to use it.
+ * </p>
+ * <p>
+ * The counter of the next window is prepared and the counters of the past windows are destroyed on the pool flushing the counters,
+ * so acquiring permits at a window boundary doesn't wait for the cluster unless the next counter isn't ready yet.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class HazelcastRateLimiter implements RateLimiter {
+
+    private final String name;
+    private final long limit;
+    private final long periodInMs;
+    private final Function<String, HazelcastCounter> counterFactory;
+    private volatile Window current;
+    private Window previous;
+    private CompletableFuture<Window> next;
+    private boolean closed;
+
+    public HazelcastRateLimiter(
+        final String name,
+        final RateLimiterConfiguration configuration,
+        final Function<String, HazelcastCounter> counterFactory
+    ) {
+        this.name = name;
+        this.limit = configuration.getLimit();
+        this.periodInMs = Math.max(1, configuration.getPeriodInMs());
+        this.counterFactory = counterFactory;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean tryAcquire(final long permits) {
+        return window().counter().tryAdd(permits, limit);
+    }
+
+    @Override
+    public long availablePermits() {
+        return Math.max(0, limit - window().counter().get());
+    }
+
+    /**
+     * Stop flushing the counters of the rate limiter. They are not destroyed as the other members may still use them.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (next != null) {
+            next.thenAccept(window -> window.counter().discard());
+            next = null;
+        }
+        if (previous != null) {
+            previous.counter().discard();
+        }
+        if (current != null) {
+            current.counter().close();
+        }
+    }
+
+    private Window window() {
+        long index = System.currentTimeMillis() / periodInMs;
+        Window window = current;
+        if (window != null && window.index() >= index) {
+            return window;
+        }
+        return roll(index);
+    }
+
+    private synchronized Window roll(final long index) {
+        if (current != null && current.index() >= index) {
+            return current;
+        }
+        Window window = prepared(index);
+        if (window == null) {
+            window = create(index);
+        }
+        if (previous != null) {
+            retire(previous);
+        }
+        previous = current;
+        if (previous != null) {
+            previous.counter().discard();
+        }
+        current = window;
+        if (!closed) {
+            next = CompletableFuture.supplyAsync(() -> create(index + 1), flushScheduler);
+        }
+        return current;
+    }
+
+    /**
+     * Take the counter prepared for the window following the current one, waiting for it if needed. A counter prepared for a window
+     * already over is destroyed.
+     */
+    private Window prepared(final long index) {
+        CompletableFuture<Window> prepared = next;
+        next = null;
+        if (prepared == null) {
+            return null;
+        }
+        if (current.index() + 1 == index) {
+            try {
+                return prepared.join();
+            } catch (CompletionException e) {
+                log.warn("Unable to prepare the counter of the rate limiter '{}' for the window {}", name, index, e);
+                return null;
+            }
+        }
+        prepared.thenAccept(this::retire);
+        return null;
+    }
+
+    private Window create(final long index) {
+        return new Window(index, counterFactory.apply(name + "#" + index));
+    }
+
+    private void retire(final Window window) {
+        window.counter().discard();
+        flushScheduler.execute(() -> {
+            try {
+                window.counter().destroy();
+            } catch (Exception e) {
+                log.warn("Unable to destroy the counter of the rate limiter '{}' for the window {}", name, window.index(), e);
+            }
+        });
+    }
+
+    private record Window(long index, HazelcastCounter counter) {}
+}
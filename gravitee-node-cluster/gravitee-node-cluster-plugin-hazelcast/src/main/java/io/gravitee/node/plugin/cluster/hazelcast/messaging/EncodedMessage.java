@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import java.io.IOException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Envelope of a message encoded by a {@link io.gravitee.node.api.cluster.messaging.MessageCodec}. It is written as the id of the
+ * codec followed by the encoded bytes, behind the few bytes of header of an {@link IdentifiedDataSerializable}, instead of the
+ * class descriptors written by Java serialization.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+public class EncodedMessage implements IdentifiedDataSerializable {
+
+    static final int CLASS_ID = 1;
+
+    private int codecId;
+    private byte[] payload;
+
+    @Override
+    public int getFactoryId() {
+        return EncodedMessageFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return CLASS_ID;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeInt(codecId);
+        out.writeByteArray(payload);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        codecId = in.readInt();
+        payload = in.readByteArray();
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * Create the {@link EncodedMessage}s read from the cluster. It must be registered in the configuration of the Hazelcast instance
+ * with {@link #configure(Config)} for the messages of the registered codecs to be exchanged.
+ *
+ * @author GraviteeSource Team
+ */
+public class EncodedMessageFactory implements DataSerializableFactory {
+
+    public static final int FACTORY_ID = 7100;
+
+    public static Config configure(final Config config) {
+        config.getSerializationConfig().addDataSerializableFactory(FACTORY_ID, new EncodedMessageFactory());
+        return config;
+    }
+
+    @Override
+    public IdentifiedDataSerializable create(final int typeId) {
+        return typeId == EncodedMessage.CLASS_ID ? new EncodedMessage() : null;
+    }
+}
@@ -16,16 +16,17 @@
 package io.gravitee.node.plugin.cluster.hazelcast.messaging;
 
 import com.hazelcast.collection.IQueue;
-import com.hazelcast.core.HazelcastInstanceNotActiveException;
-import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
 import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerConfiguration;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerStats;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
@@ -33,66 +34,80 @@ import lombok.extern.slf4j.Slf4j;
  */
 public class HazelcastQueue<T> implements Queue<T> {
 
-    private final IQueue<T> iQueue;
-    private final Map<String, QueuePollingThread<T>> queuePollingThreads = new ConcurrentHashMap<>();
+    private static final QueueConsumerConfiguration DEFAULT_CONSUMER_CONFIGURATION = QueueConsumerConfiguration.builder().build();
+
+    /**
+     * Carries the messages as given or encoded by the {@link MessageCodecRegistry}.
+     */
+    private final IQueue<Object> iQueue;
+    private final MessageCodecRegistry codecRegistry;
+    private final DestinationMetrics metrics;
+    private final Map<String, HazelcastQueueConsumer<T>> consumers = new ConcurrentHashMap<>();
 
     public HazelcastQueue(IQueue<T> iQueue) {
-        this.iQueue = iQueue;
+        this(iQueue, new MessageCodecRegistry());
+    }
+
+    public HazelcastQueue(final IQueue<T> iQueue, final MessageCodecRegistry codecRegistry) {
+        this(iQueue, codecRegistry, DestinationMetrics.NOOP);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HazelcastQueue(final IQueue<T> iQueue, final MessageCodecRegistry codecRegistry, final DestinationMetrics metrics) {
+        this.iQueue = (IQueue<Object>) iQueue;
+        this.codecRegistry = codecRegistry;
+        this.metrics = metrics;
     }
 
     @Override
     public void add(T item) {
-        iQueue.add(item);
+        Object encodedItem = codecRegistry.encode(item);
+        metrics.published(MessageCodecRegistry.payloadSize(encodedItem));
+        iQueue.add(encodedItem);
+    }
+
+    /**
+     * Hazelcast queues have no asynchronous API, the items are added in a single operation from an I/O thread.
+     */
+    @Override
+    public Completable addAllAsync(final Collection<? extends T> items) {
+        return Completable
+            .fromAction(() -> {
+                Collection<Object> encodedItems = codecRegistry.encodeAll(items);
+                encodedItems.forEach(encodedItem -> metrics.published(MessageCodecRegistry.payloadSize(encodedItem)));
+                iQueue.addAll(encodedItems);
+            })
+            .subscribeOn(Schedulers.io());
     }
 
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
+        return addMessageListener(messageListener, DEFAULT_CONSUMER_CONFIGURATION);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener, final QueueConsumerConfiguration configuration) {
         String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
-        QueuePollingThread<T> queuePollingThread = new QueuePollingThread<>(iQueue, messageListener);
-        queuePollingThread.start();
-        queuePollingThreads.put(subscriptionId, queuePollingThread);
+        consumers.put(subscriptionId, new HazelcastQueueConsumer<>(iQueue, codecRegistry, metrics, messageListener, configuration));
         return subscriptionId;
     }
 
+    /**
+     * Stop the consumer of the listener. Unlike the polling threads used before, an unknown subscription id is reported with
+     * <code>false</code>, as documented by {@link Queue#removeMessageListener(String)}.
+     */
     @Override
     public boolean removeMessageListener(final String subscriptionId) {
-        QueuePollingThread<T> queuePollingThread = queuePollingThreads.remove(subscriptionId);
-        if (queuePollingThread != null) {
-            queuePollingThread.terminate();
+        HazelcastQueueConsumer<T> consumer = consumers.remove(subscriptionId);
+        if (consumer != null) {
+            consumer.stop();
+            return true;
         }
-        return true;
+        return false;
     }
 
-    @RequiredArgsConstructor
-    @Slf4j
-    public static class QueuePollingThread<T> extends Thread {
-
-        private final IQueue<T> queue;
-        private final MessageListener<T> messageListener;
-        private volatile boolean running;
-
-        @Override
-        public void run() {
-            running = true;
-
-            while (running) {
-                try {
-                    final T item = queue.poll(100, TimeUnit.MILLISECONDS);
-
-                    if (item != null) {
-                        messageListener.onMessage(new Message<>(queue.getName(), item));
-                    }
-                } catch (HazelcastInstanceNotActiveException e) {
-                    log.info("Hazelcast is not active, stop polling queue '{}'.", queue.getName());
-                    terminate();
-                } catch (Exception e) {
-                    log.warn("Polling hazelcast queue encountered an error.", e);
-                }
-            }
-        }
-
-        public void terminate() {
-            this.running = false;
-        }
+    @Override
+    public Optional<QueueConsumerStats> consumerStats(final String subscriptionId) {
+        return Optional.ofNullable(consumers.get(subscriptionId)).map(HazelcastQueueConsumer::stats);
     }
 }
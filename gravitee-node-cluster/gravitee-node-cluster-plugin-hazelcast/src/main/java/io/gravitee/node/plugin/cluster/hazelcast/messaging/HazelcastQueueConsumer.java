@@ -0,0 +1,273 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.ItemEvent;
+import com.hazelcast.collection.ItemListener;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerConfiguration;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consume the messages of a Hazelcast queue on behalf of a {@link MessageListener}.
+ *
+ * <p>
+ * The consumer doesn't own any thread. It is woken up by the item events of the queue and drains the available messages by
+ * batches, on virtual threads when the runtime provides them or else on a bounded pool shared by all the consumers of the node,
+ * sized well beyond the processors as listeners may block, whose threads end after a minute without messages. Each lane runs at
+ * most one batch at a time, so a single lane delivers the messages in order. A lane which drains a full batch doubles its next
+ * batch and wakes another lane up, a lane which drains less than half a batch halves it. Item events aren't guaranteed to be
+ * received, a periodic check picks up the messages which could have been missed.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class HazelcastQueueConsumer<T> {
+
+    private static final long THREAD_KEEP_ALIVE_MS = 60_000;
+    private static final int POOL_SIZE = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final Executor executor = VirtualThreads.EXECUTOR != null ? VirtualThreads.EXECUTOR : sharedPool();
+    private static final ScheduledExecutorService idleCheckScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "gio-cluster-queue-idle-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final IQueue<Object> queue;
+    private final MessageCodecRegistry codecRegistry;
+    private final DestinationMetrics metrics;
+    private final MessageListener<T> messageListener;
+    private final int maxBatchSize;
+    private final List<Lane> lanes;
+    private final AtomicInteger nextLane = new AtomicInteger();
+    private final UUID itemListenerId;
+    private final ScheduledFuture<?> idleCheck;
+    private volatile boolean running = true;
+
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder processingTimeNanos = new LongAdder();
+
+    HazelcastQueueConsumer(
+        final IQueue<Object> queue,
+        final MessageCodecRegistry codecRegistry,
+        final DestinationMetrics metrics,
+        final MessageListener<T> messageListener,
+        final QueueConsumerConfiguration configuration
+    ) {
+        this.queue = queue;
+        this.codecRegistry = codecRegistry;
+        this.metrics = metrics;
+        this.messageListener = messageListener;
+        this.maxBatchSize = Math.max(1, configuration.getMaxBatchSize());
+        int concurrency = Math.max(1, configuration.getConcurrency());
+        this.lanes = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            lanes.add(new Lane());
+        }
+        this.itemListenerId = queue.addItemListener(new WakeUpListener(), false);
+        long idleCheckInterval = Math.max(1, configuration.getIdleCheckIntervalInMs());
+        this.idleCheck =
+            idleCheckScheduler.scheduleWithFixedDelay(this::wakeUp, idleCheckInterval, idleCheckInterval, TimeUnit.MILLISECONDS);
+        // Consume the messages which were already waiting in the queue
+        wakeUp();
+    }
+
+    /**
+     * Stop consuming the queue. The messages of the batches being processed are still given to the listener as they have already
+     * been taken from the queue.
+     */
+    void stop() {
+        running = false;
+        idleCheck.cancel(false);
+        try {
+            queue.removeItemListener(itemListenerId);
+        } catch (HazelcastInstanceNotActiveException e) {
+            log.debug("Hazelcast is not active, no need to remove the item listener of queue '{}'.", queue.getName());
+        }
+    }
+
+    QueueConsumerStats stats() {
+        return QueueConsumerStats
+            .builder()
+            .lag(queue.size())
+            .consumedCount(consumed.sum())
+            .failureCount(failures.sum())
+            .batchCount(batches.sum())
+            .averageProcessingTimeNanos(consumed.sum() == 0 ? 0 : (double) processingTimeNanos.sum() / consumed.sum())
+            .build();
+    }
+
+    /**
+     * Schedule an idle lane, or flag all the lanes as having pending messages when none is idle.
+     */
+    private void wakeUp() {
+        if (!running) {
+            return;
+        }
+        int start = nextLane.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < lanes.size(); i++) {
+            if (lanes.get((start + i) % lanes.size()).signal()) {
+                return;
+            }
+        }
+    }
+
+    private void process(final List<Object> batch) {
+        for (Object item : batch) {
+            metrics.received(MessageCodecRegistry.payloadSize(item));
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                messageListener.onMessage(new Message<>(queue.getName(), codecRegistry.<T>decode(item)));
+            } catch (Exception e) {
+                failed = true;
+                failures.increment();
+                log.warn("Unable to process a message of hazelcast queue '{}'.", queue.getName(), e);
+            } finally {
+                long processingTime = System.nanoTime() - start;
+                processingTimeNanos.add(processingTime);
+                consumed.increment();
+                metrics.processed(processingTime, failed);
+            }
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean pending;
+        private int batchSize = 1;
+
+        /**
+         * @return <code>true</code> if the lane was idle and has been scheduled.
+         */
+        private boolean signal() {
+            pending = true;
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            boolean backlog = false;
+            try {
+                if (!running) {
+                    return;
+                }
+                // Reset before draining, a message added from now on is either drained or flags the lane again
+                pending = false;
+                List<Object> batch = new ArrayList<>(batchSize);
+                int drained = queue.drainTo(batch, batchSize);
+                if (drained > 0) {
+                    batches.increment();
+                    process(batch);
+                }
+                backlog = drained == batchSize;
+                if (backlog) {
+                    batchSize = Math.min(maxBatchSize, batchSize * 2);
+                } else if (drained < batchSize / 2) {
+                    batchSize = Math.max(1, batchSize / 2);
+                }
+            } catch (HazelcastInstanceNotActiveException e) {
+                log.info("Hazelcast is not active, stop consuming queue '{}'.", queue.getName());
+                stop();
+            } catch (Exception e) {
+                log.warn("Consuming hazelcast queue '{}' encountered an error.", queue.getName(), e);
+            } finally {
+                scheduled.set(false);
+                // Reschedule rather than looping so that the other consumers get their turn on the shared threads
+                if (running && (backlog || pending)) {
+                    signal();
+                    if (backlog) {
+                        wakeUp();
+                    }
+                }
+            }
+        }
+    }
+
+    private static Executor sharedPool() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            POOL_SIZE,
+            POOL_SIZE,
+            THREAD_KEEP_ALIVE_MS,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                Thread thread = new Thread(r, "gio-cluster-queue-consumer-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private class WakeUpListener implements ItemListener<Object> {
+
+        @Override
+        public void itemAdded(final ItemEvent<Object> item) {
+            wakeUp();
+        }
+
+        @Override
+        public void itemRemoved(final ItemEvent<Object> item) {
+            // Nothing to consume
+        }
+    }
+
+    /**
+     * Virtual threads executor, looked up at runtime as the node still runs on Java versions without virtual threads.
+     */
+    private static final class VirtualThreads {
+
+        private static final Executor EXECUTOR = create();
+
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.info("Virtual threads are not available on this runtime, queue messages are consumed on a shared pool instead.");
+                return null;
+            }
+        }
+    }
+}
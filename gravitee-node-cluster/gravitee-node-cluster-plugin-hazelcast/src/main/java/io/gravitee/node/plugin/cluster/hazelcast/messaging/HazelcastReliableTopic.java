@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.ReliableMessageListener;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.gravitee.node.api.cluster.messaging.ReliableTopic;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link HazelcastTopic} backed by the ring buffer of a Hazelcast reliable topic.
+ *
+ * <p>
+ * Each listener reads the ring buffer from its own sequence on the executor of the reliable topic, so a slow listener neither
+ * blocks the event threads of Hazelcast nor the other listeners. A listener falling behind the capacity of the ring buffer skips
+ * to the oldest retained message instead of being cancelled, and a failing listener keeps receiving the next messages.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class HazelcastReliableTopic<T> extends HazelcastTopic<T> implements ReliableTopic<T> {
+
+    private static final long FROM_TAIL = -1;
+
+    public HazelcastReliableTopic(final ITopic<T> iTopic) {
+        super(iTopic);
+    }
+
+    public HazelcastReliableTopic(final ITopic<T> iTopic, final MessageCodecRegistry codecRegistry) {
+        super(iTopic, codecRegistry);
+    }
+
+    public HazelcastReliableTopic(final ITopic<T> iTopic, final MessageCodecRegistry codecRegistry, final DestinationMetrics metrics) {
+        super(iTopic, codecRegistry, metrics);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener) {
+        return addMessageListener(messageListener, FROM_TAIL);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener, final long fromSequence) {
+        return iTopic.addMessageListener(new SequenceTrackingListener(messageListener, fromSequence)).toString();
+    }
+
+    private class SequenceTrackingListener implements ReliableMessageListener<Object> {
+
+        private final MessageListener<T> messageListener;
+        private final long initialSequence;
+        /**
+         * Sequence of the message being processed, stored by Hazelcast right before calling {@link #onMessage}.
+         */
+        private volatile long sequence = Message.NO_SEQUENCE;
+
+        private SequenceTrackingListener(final MessageListener<T> messageListener, final long initialSequence) {
+            this.messageListener = messageListener;
+            this.initialSequence = initialSequence;
+        }
+
+        @Override
+        public void onMessage(final com.hazelcast.topic.Message<Object> message) {
+            deliver(messageListener, message.getMessageObject(), sequence);
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            return initialSequence;
+        }
+
+        @Override
+        public void storeSequence(final long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return true;
+        }
+
+        @Override
+        public boolean isTerminal(final Throwable failure) {
+            log.warn("Unable to process message {} of reliable topic '{}'.", sequence, iTopic.getName(), failure);
+            return false;
+        }
+    }
+}
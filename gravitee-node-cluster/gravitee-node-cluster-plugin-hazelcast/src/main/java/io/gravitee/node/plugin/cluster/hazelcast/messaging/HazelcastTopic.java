@@ -16,9 +16,12 @@
 package io.gravitee.node.plugin.cluster.hazelcast.messaging;
 
 import com.hazelcast.topic.ITopic;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
 import io.gravitee.node.api.cluster.messaging.Message;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
 import io.gravitee.node.api.cluster.messaging.Topic;
+import io.reactivex.rxjava3.core.Completable;
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -27,21 +30,49 @@ import java.util.UUID;
  */
 public class HazelcastTopic<T> implements Topic<T> {
 
-    private final ITopic<T> iTopic;
+    /**
+     * Carries the messages as given or encoded by the {@link MessageCodecRegistry}.
+     */
+    protected final ITopic<Object> iTopic;
+    protected final MessageCodecRegistry codecRegistry;
+    protected final DestinationMetrics metrics;
 
     public HazelcastTopic(ITopic<T> iTopic) {
-        this.iTopic = iTopic;
+        this(iTopic, new MessageCodecRegistry());
+    }
+
+    public HazelcastTopic(final ITopic<T> iTopic, final MessageCodecRegistry codecRegistry) {
+        this(iTopic, codecRegistry, DestinationMetrics.NOOP);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HazelcastTopic(final ITopic<T> iTopic, final MessageCodecRegistry codecRegistry, final DestinationMetrics metrics) {
+        this.iTopic = (ITopic<Object>) iTopic;
+        this.codecRegistry = codecRegistry;
+        this.metrics = metrics;
     }
 
     @Override
     public void publish(T event) {
-        iTopic.publish(event);
+        iTopic.publish(encode(event));
+    }
+
+    @Override
+    public void publishAll(final Collection<? extends T> events) {
+        Collection<Object> encodedEvents = codecRegistry.encodeAll(events);
+        encodedEvents.forEach(encodedEvent -> metrics.published(MessageCodecRegistry.payloadSize(encodedEvent)));
+        Completable.fromCompletionStage(iTopic.publishAllAsync(encodedEvents)).blockingAwait();
+    }
+
+    @Override
+    public Completable publishAsync(final T event) {
+        return Completable.defer(() -> Completable.fromCompletionStage(iTopic.publishAsync(encode(event))));
     }
 
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
         UUID subscriptionUUID = iTopic.addMessageListener(message ->
-            messageListener.onMessage(new Message<>(iTopic.getName(), message.getMessageObject()))
+            deliver(messageListener, message.getMessageObject(), Message.NO_SEQUENCE)
         );
         return subscriptionUUID.toString();
     }
@@ -50,4 +81,25 @@ public class HazelcastTopic<T> implements Topic<T> {
     public boolean removeMessageListener(final String subscriptionId) {
         return iTopic.removeMessageListener(UUID.fromString(subscriptionId));
     }
+
+    /**
+     * Decode a message received from Hazelcast and give it to the listener, recording its size and the time the listener takes.
+     */
+    protected void deliver(final MessageListener<T> messageListener, final Object message, final long sequence) {
+        metrics.received(MessageCodecRegistry.payloadSize(message));
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            messageListener.onMessage(new Message<>(iTopic.getName(), codecRegistry.<T>decode(message), sequence));
+            failed = false;
+        } finally {
+            metrics.processed(System.nanoTime() - start, failed);
+        }
+    }
+
+    private Object encode(final T event) {
+        Object encodedEvent = codecRegistry.encode(event);
+        metrics.published(MessageCodecRegistry.payloadSize(encodedEvent));
+        return encodedEvent;
+    }
 }
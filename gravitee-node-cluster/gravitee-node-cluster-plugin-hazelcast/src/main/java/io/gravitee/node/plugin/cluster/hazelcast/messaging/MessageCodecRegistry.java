@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link MessageCodec}s registered on a cluster manager, used by its topics and queues to encode the messages they publish and
+ * decode the ones they receive. Messages without any codec for their type are given to Hazelcast as is.
+ *
+ * <p>
+ * Members without the codecs, such as the ones running a previous version, can't read the encoded messages. The encoding can be
+ * disabled while such members are part of the cluster: messages are then published as is, while the encoded messages published
+ * by the other members are still decoded.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class MessageCodecRegistry {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final Map<Class<?>, MessageCodec<?>> codecsByType = new ConcurrentHashMap<>();
+    private final Map<Integer, MessageCodec<?>> codecsById = new ConcurrentHashMap<>();
+    private final boolean encodingEnabled;
+
+    public MessageCodecRegistry() {
+        this(true);
+    }
+
+    /**
+     * @param encodingEnabled <code>false</code> to publish all the messages as is, for the members which can't decode them.
+     */
+    public MessageCodecRegistry(final boolean encodingEnabled) {
+        this.encodingEnabled = encodingEnabled;
+    }
+
+    /**
+     * Register a codec. Registering again a codec of the same class for the same id and type has no effect.
+     *
+     * @throws IllegalArgumentException if another codec is already registered with the same id or for the same type
+     */
+    public synchronized void register(final MessageCodec<?> codec) {
+        MessageCodec<?> byType = codecsByType.get(codec.type());
+        MessageCodec<?> byId = codecsById.get(codec.id());
+        if (byType == null && byId == null) {
+            codecsByType.put(codec.type(), codec);
+            codecsById.put(codec.id(), codec);
+        } else if (byType == null || byType != byId || byType.getClass() != codec.getClass()) {
+            throw new IllegalArgumentException(
+                "A codec is already registered with id " + codec.id() + " or for type " + codec.type().getName()
+            );
+        }
+    }
+
+    /**
+     * @return an {@link EncodedMessage} if the encoding is enabled and a codec is registered for the type of the message, the
+     * message itself otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public Object encode(final Object message) {
+        if (message == null || !encodingEnabled || codecsByType.isEmpty()) {
+            return message;
+        }
+        MessageCodec<Object> codec = (MessageCodec<Object>) codecsByType.get(message.getClass());
+        if (codec == null) {
+            return message;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+            DataOutputStream output = new DataOutputStream(bytes);
+            codec.encode(message, output);
+            output.flush();
+            return new EncodedMessage(codec.id(), bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode message with codec " + codec.id(), e);
+        }
+    }
+
+    public Collection<Object> encodeAll(final Collection<?> messages) {
+        List<Object> encoded = new ArrayList<>(messages.size());
+        for (Object message : messages) {
+            encoded.add(encode(message));
+        }
+        return encoded;
+    }
+
+    /**
+     * @return the message decoded by its codec if it is an {@link EncodedMessage}, the message itself otherwise.
+     * @throws IllegalStateException if no codec is registered with the id of the encoded message
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(final Object message) {
+        if (!(message instanceof EncodedMessage encodedMessage)) {
+            return (T) message;
+        }
+        MessageCodec<?> codec = codecsById.get(encodedMessage.getCodecId());
+        if (codec == null) {
+            throw new IllegalStateException("No codec registered with id " + encodedMessage.getCodecId());
+        }
+        try {
+            return (T) codec.decode(new DataInputStream(new ByteArrayInputStream(encodedMessage.getPayload())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode message with codec " + codec.id(), e);
+        }
+    }
+
+    /**
+     * @return the size of the payload of an {@link EncodedMessage}, or {@link DestinationMetrics#UNKNOWN_SIZE} for a message given
+     * to Hazelcast as is.
+     */
+    public static long payloadSize(final Object message) {
+        return message instanceof EncodedMessage encodedMessage ? encodedMessage.getPayload().length : DestinationMetrics.UNKNOWN_SIZE;
+    }
+}
@@ -21,6 +21,8 @@ import com.hazelcast.config.FileSystemYamlConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spi.properties.ClusterProperty;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.EncodedMessageFactory;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.MessageCodecRegistry;
 import java.io.FileNotFoundException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -48,10 +50,22 @@ public class HazelcastClusterConfiguration {
         Config config = fromFilePath(hazelcastConfigFilePath);
         config.setProperty(ClusterProperty.HEALTH_MONITORING_LEVEL.getName(), "OFF");
         config.setInstanceName(hazelcastInstanceName);
+        EncodedMessageFactory.configure(config);
 
         return Hazelcast.newHazelcastInstance(config);
     }
 
+    /**
+     * Disabling the message codecs keeps publishing the messages with Hazelcast's serialization, readable by the members of a
+     * previous version during a rolling upgrade. Encoded messages are still decoded either way.
+     */
+    @Bean
+    public MessageCodecRegistry clusterMessageCodecRegistry(
+        @Value("${cluster.hazelcast.message-codecs.enabled:true}") final boolean messageCodecsEnabled
+    ) {
+        return new MessageCodecRegistry(messageCodecsEnabled);
+    }
+
     private Config fromFilePath(String filePath) throws FileNotFoundException {
         if (filePath.endsWith("xml")) {
             return new FileSystemXmlConfig(hazelcastConfigFilePath);
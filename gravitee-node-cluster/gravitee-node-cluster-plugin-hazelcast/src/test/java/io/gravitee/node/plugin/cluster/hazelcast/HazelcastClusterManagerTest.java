@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.LeadershipListener;
+import io.gravitee.node.api.cluster.Member;
+import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.counter.Counter;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastClusterManagerTest {
+
+    private final List<HazelcastClusterManager> clusterManagers = new CopyOnWriteArrayList<>();
+    private String clusterName;
+
+    @BeforeEach
+    public void beforeEach() {
+        clusterName = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    public void afterEach() throws Exception {
+        for (HazelcastClusterManager clusterManager : clusterManagers) {
+            clusterManager.stop();
+        }
+    }
+
+    @Test
+    void should_return_same_self_member_from_snapshot() throws Exception {
+        HazelcastClusterManager cut = startMember();
+
+        Member self = cut.self();
+
+        assertThat(self.primary()).isTrue();
+        assertThat(self.self()).isTrue();
+        assertThat(cut.self()).isSameAs(self);
+        assertThat(cut.members()).containsExactly(self);
+    }
+
+    @Test
+    void should_update_members_when_a_member_joins() throws Exception {
+        HazelcastClusterManager first = startMember();
+        List<Member> added = new CopyOnWriteArrayList<>();
+        first.addMemberListener(new RecordingMemberListener(added, new CopyOnWriteArrayList<>()));
+
+        HazelcastClusterManager second = startMember();
+
+        await().atMost(30, TimeUnit.SECONDS).until(() -> first.members().size() == 2);
+        assertThat(added).singleElement().extracting(Member::id).isEqualTo(second.self().id());
+        assertThat(first.self().primary()).isTrue();
+        assertThat(second.self().primary()).isFalse();
+    }
+
+    @Test
+    void should_notify_primary_change_when_primary_leaves() throws Exception {
+        HazelcastClusterManager first = startMember();
+        HazelcastClusterManager second = startMember();
+        await().atMost(30, TimeUnit.SECONDS).until(() -> second.members().size() == 2);
+        List<Member> primaries = new CopyOnWriteArrayList<>();
+        second.addMemberListener(new RecordingMemberListener(new CopyOnWriteArrayList<>(), primaries));
+
+        first.stop();
+        clusterManagers.remove(first);
+
+        await().atMost(30, TimeUnit.SECONDS).until(() -> primaries.size() == 1);
+        assertThat(primaries.get(0)).isSameAs(second.self());
+        assertThat(second.self().primary()).isTrue();
+        assertThat(second.members()).containsExactly(second.self());
+    }
+
+    @Test
+    void should_spread_leadership_groups_across_members() throws Exception {
+        HazelcastClusterManager first = startMember();
+        HazelcastClusterManager second = startMember();
+        await().atMost(30, TimeUnit.SECONDS).until(() -> first.members().size() == 2 && second.members().size() == 2);
+        List<String> groups = IntStream.range(0, 20).mapToObj(i -> "group-" + i).toList();
+
+        assertThat(groups).allMatch(group -> first.isLeader(group) != second.isLeader(group));
+        assertThat(groups).anyMatch(first::isLeader).anyMatch(second::isLeader);
+        assertThat(first.isLeader()).isTrue();
+        assertThat(second.isLeader()).isFalse();
+    }
+
+    @Test
+    void should_flush_and_forget_released_counter() throws Exception {
+        HazelcastClusterManager cut = startMember();
+        CounterConfiguration configuration = CounterConfiguration.builder().flushIntervalInMs(0).flushThreshold(1000).build();
+        Counter counter = cut.counter("counter", configuration);
+        counter.add(5);
+
+        cut.releaseCounter("counter");
+
+        Counter released = cut.counter("counter", configuration);
+        released.flush();
+        assertThat(released).isNotSameAs(counter);
+        assertThat(released.get()).isEqualTo(5);
+    }
+
+    @Test
+    void should_notify_leadership_changes() throws Exception {
+        HazelcastClusterManager first = startMember();
+        HazelcastClusterManager second = startMember();
+        await().atMost(30, TimeUnit.SECONDS).until(() -> first.members().size() == 2 && second.members().size() == 2);
+        List<String> groups = IntStream.range(0, 20).mapToObj(i -> "group-" + i).toList();
+        List<String> firstLeads = groups.stream().filter(first::isLeader).toList();
+        List<String> firstElected = new CopyOnWriteArrayList<>();
+        List<String> firstRevoked = new CopyOnWriteArrayList<>();
+        List<String> secondElected = new CopyOnWriteArrayList<>();
+        groups.forEach(group -> {
+            first.addLeadershipListener(group, new RecordingLeadershipListener(firstElected, firstRevoked));
+            second.addLeadershipListener(group, new RecordingLeadershipListener(secondElected, new CopyOnWriteArrayList<>()));
+        });
+        assertThat(firstElected).containsExactlyInAnyOrderElementsOf(firstLeads);
+        assertThat(secondElected).hasSize(groups.size() - firstLeads.size());
+
+        first.stop();
+        clusterManagers.remove(first);
+
+        assertThat(firstRevoked).containsExactlyInAnyOrderElementsOf(firstLeads);
+        await().atMost(30, TimeUnit.SECONDS).until(() -> secondElected.size() == groups.size());
+        assertThat(secondElected).containsExactlyInAnyOrderElementsOf(groups);
+    }
+
+    private HazelcastClusterManager startMember() throws Exception {
+        Config config = new Config().setClusterName(clusterName);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        HazelcastInstance hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        HazelcastClusterManager clusterManager = new HazelcastClusterManager(hazelcastInstance);
+        clusterManager.start();
+        clusterManagers.add(clusterManager);
+        return clusterManager;
+    }
+
+    private record RecordingLeadershipListener(List<String> elected, List<String> revoked) implements LeadershipListener {
+        @Override
+        public void onElected(final String group) {
+            elected.add(group);
+        }
+
+        @Override
+        public void onRevoked(final String group) {
+            revoked.add(group);
+        }
+    }
+
+    private record RecordingMemberListener(List<Member> added, List<Member> primaries) implements MemberListener {
+        @Override
+        public void onMemberAdded(final Member member) {
+            added.add(member);
+        }
+
+        @Override
+        public void onMemberRemoved(final Member member) {}
+
+        @Override
+        public void onPrimaryChanged(final Member primary) {
+            primaries.add(primary);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastCounterTest {
+
+    private static final CounterConfiguration MANUAL_FLUSH = CounterConfiguration
+        .builder()
+        .flushIntervalInMs(0)
+        .flushThreshold(1000)
+        .build();
+
+    static HazelcastInstance firstInstance;
+    static HazelcastInstance secondInstance;
+
+    @BeforeAll
+    public static void beforeAll() {
+        String clusterName = UUID.randomUUID().toString();
+        firstInstance = Hazelcast.newHazelcastInstance(config(clusterName));
+        secondInstance = Hazelcast.newHazelcastInstance(config(clusterName));
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        secondInstance.shutdown();
+        firstInstance.shutdown();
+    }
+
+    @Test
+    void should_batch_updates_until_flushed() {
+        String name = UUID.randomUUID().toString();
+        HazelcastCounter counter = HazelcastCounter.of(firstInstance, name, MANUAL_FLUSH);
+
+        counter.increment();
+        counter.add(9);
+        counter.decrement();
+
+        assertThat(counter.get()).isEqualTo(9);
+        assertThat(secondInstance.getPNCounter(name).get()).isZero();
+
+        counter.flush();
+
+        assertThat(counter.get()).isEqualTo(9);
+        // Replicas of the other members converge asynchronously
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(secondInstance.getPNCounter(name).get()).isEqualTo(9));
+    }
+
+    @Test
+    void should_flush_once_threshold_is_reached() {
+        String name = UUID.randomUUID().toString();
+        HazelcastCounter counter = HazelcastCounter.of(
+            firstInstance,
+            name,
+            CounterConfiguration.builder().flushIntervalInMs(0).flushThreshold(5).build()
+        );
+
+        for (int i = 0; i < 4; i++) {
+            counter.increment();
+        }
+        assertThat(secondInstance.getPNCounter(name).get()).isZero();
+
+        counter.increment();
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(secondInstance.getPNCounter(name).get()).isEqualTo(5));
+    }
+
+    @Test
+    void should_converge_on_updates_of_all_members() {
+        String name = UUID.randomUUID().toString();
+        CounterConfiguration configuration = CounterConfiguration.builder().flushIntervalInMs(20).build();
+        HazelcastCounter firstCounter = HazelcastCounter.of(firstInstance, name, configuration);
+        HazelcastCounter secondCounter = HazelcastCounter.of(secondInstance, name, configuration);
+
+        firstCounter.add(3);
+        secondCounter.add(4);
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(firstCounter.get()).isEqualTo(7);
+                assertThat(secondCounter.get()).isEqualTo(7);
+            });
+        firstCounter.close();
+        secondCounter.close();
+    }
+
+    @Test
+    void should_use_atomic_long_with_strong_consistency() {
+        String name = UUID.randomUUID().toString();
+        HazelcastCounter counter = HazelcastCounter.of(
+            firstInstance,
+            name,
+            CounterConfiguration.builder().flushIntervalInMs(0).strongConsistency(true).build()
+        );
+
+        counter.add(42);
+        counter.flush();
+
+        assertThat(secondInstance.getCPSubsystem().getAtomicLong(name).get()).isEqualTo(42);
+    }
+
+    @Test
+    void should_keep_pending_updates_when_flush_fails() {
+        CounterBackend backend = mock(CounterBackend.class);
+        when(backend.addAndGet(anyLong())).thenThrow(new IllegalStateException("unreachable")).thenReturn(5L);
+        HazelcastCounter counter = new HazelcastCounter("failing", backend, MANUAL_FLUSH);
+
+        counter.add(5);
+        assertThatThrownBy(counter::flush).isInstanceOf(IllegalStateException.class);
+        assertThat(counter.get()).isEqualTo(5);
+
+        counter.flush();
+        assertThat(counter.get()).isEqualTo(5);
+    }
+
+    private static Config config(final String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import io.gravitee.node.api.cluster.counter.RateLimiterConfiguration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastRateLimiterTest {
+
+    static HazelcastInstance firstInstance;
+    static HazelcastInstance secondInstance;
+
+    @BeforeAll
+    public static void beforeAll() {
+        String clusterName = UUID.randomUUID().toString();
+        firstInstance = Hazelcast.newHazelcastInstance(config(clusterName));
+        secondInstance = Hazelcast.newHazelcastInstance(config(clusterName));
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        secondInstance.shutdown();
+        firstInstance.shutdown();
+    }
+
+    @Test
+    void should_not_grant_more_permits_than_the_limit() {
+        HazelcastRateLimiter rateLimiter = rateLimiter(firstInstance, UUID.randomUUID().toString(), 60_000);
+
+        assertThat(rateLimiter.tryAcquire(8)).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire(2)).isFalse();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isFalse();
+        assertThat(rateLimiter.availablePermits()).isZero();
+        rateLimiter.close();
+    }
+
+    @Test
+    void should_share_the_limit_between_members() {
+        String name = UUID.randomUUID().toString();
+        HazelcastRateLimiter firstRateLimiter = rateLimiter(firstInstance, name, 60_000);
+        HazelcastRateLimiter secondRateLimiter = rateLimiter(secondInstance, name, 60_000);
+
+        assertThat(firstRateLimiter.tryAcquire(6)).isTrue();
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(secondRateLimiter.availablePermits()).isEqualTo(4));
+        assertThat(secondRateLimiter.tryAcquire(5)).isFalse();
+        assertThat(secondRateLimiter.tryAcquire(4)).isTrue();
+        firstRateLimiter.close();
+        secondRateLimiter.close();
+    }
+
+    @Test
+    void should_grant_permits_again_in_the_next_window() {
+        HazelcastRateLimiter rateLimiter = rateLimiter(firstInstance, UUID.randomUUID().toString(), 200);
+
+        while (rateLimiter.tryAcquire()) {
+            // Exhaust the current window
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(rateLimiter::tryAcquire);
+        rateLimiter.close();
+    }
+
+    @Test
+    void should_prepare_the_counter_of_the_next_window_and_destroy_the_past_ones() {
+        String name = UUID.randomUUID().toString();
+        CounterConfiguration counterConfiguration = CounterConfiguration.builder().flushIntervalInMs(20).flushThreshold(1).build();
+        RateLimiterConfiguration configuration = RateLimiterConfiguration
+            .builder()
+            .limit(10)
+            .periodInMs(200)
+            .counter(counterConfiguration)
+            .build();
+        List<String> counterNames = new CopyOnWriteArrayList<>();
+        HazelcastRateLimiter rateLimiter = new HazelcastRateLimiter(
+            name,
+            configuration,
+            key -> {
+                counterNames.add(key);
+                return HazelcastCounter.of(firstInstance, key, counterConfiguration);
+            }
+        );
+
+        rateLimiter.tryAcquire();
+        long index = Long.parseLong(counterNames.get(0).substring(name.length() + 1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> counterNames.contains(name + "#" + (index + 1)));
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                rateLimiter.tryAcquire();
+                assertThat(firstInstance.getDistributedObjects())
+                    .extracting(DistributedObject::getName)
+                    .doesNotContain(counterNames.get(0));
+            });
+        rateLimiter.close();
+    }
+
+    private static HazelcastRateLimiter rateLimiter(final HazelcastInstance hazelcastInstance, final String name, final long periodInMs) {
+        CounterConfiguration counterConfiguration = CounterConfiguration.builder().flushIntervalInMs(20).flushThreshold(1).build();
+        RateLimiterConfiguration configuration = RateLimiterConfiguration
+            .builder()
+            .limit(10)
+            .periodInMs(periodInMs)
+            .counter(counterConfiguration)
+            .build();
+        return new HazelcastRateLimiter(name, configuration, key -> HazelcastCounter.of(hazelcastInstance, key, counterConfiguration));
+    }
+
+    private static Config config(final String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerConfiguration;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerStats;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastQueueTest {
+
+    static HazelcastInstance hazelcastInstance;
+    private IQueue<Integer> iQueue;
+    private HazelcastQueue<Integer> cut;
+
+    @BeforeAll
+    public static void beforeAll() {
+        hazelcastInstance = Hazelcast.newHazelcastInstance();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        if (hazelcastInstance != null) {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        iQueue = hazelcastInstance.getQueue(UUID.randomUUID().toString());
+        cut = new HazelcastQueue<>(iQueue);
+    }
+
+    @Test
+    void should_consume_messages_in_order() {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> received.add(message.content()));
+
+        IntStream.range(0, 500).forEach(cut::add);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 500);
+        assertThat(received).containsExactlyElementsOf(IntStream.range(0, 500).boxed().toList());
+    }
+
+    @Test
+    void should_consume_messages_added_before_subscription() {
+        IntStream.range(0, 10).forEach(cut::add);
+        AtomicInteger received = new AtomicInteger();
+
+        cut.addMessageListener(message -> received.incrementAndGet());
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.get() == 10);
+    }
+
+    @Test
+    void should_deliver_each_message_once_to_concurrent_consumers() {
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        AtomicInteger deliveries = new AtomicInteger();
+        QueueConsumerConfiguration configuration = QueueConsumerConfiguration.builder().concurrency(4).maxBatchSize(16).build();
+        cut.addMessageListener(
+            message -> {
+                received.add(message.content());
+                deliveries.incrementAndGet();
+            },
+            configuration
+        );
+        cut.addMessageListener(
+            message -> {
+                received.add(message.content());
+                deliveries.incrementAndGet();
+            },
+            configuration
+        );
+
+        IntStream.range(0, 1000).forEach(cut::add);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 1000);
+        assertThat(deliveries.get()).isEqualTo(1000);
+    }
+
+    @Test
+    void should_keep_consuming_when_listener_fails() {
+        AtomicInteger received = new AtomicInteger();
+        String subscriptionId = cut.addMessageListener(message -> {
+            received.incrementAndGet();
+            if (message.content() % 2 == 0) {
+                throw new IllegalStateException("Listener failure");
+            }
+        });
+
+        IntStream.range(0, 10).forEach(cut::add);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.get() == 10);
+        assertThat(cut.consumerStats(subscriptionId)).get().extracting(QueueConsumerStats::getFailureCount).isEqualTo(5L);
+    }
+
+    @Test
+    void should_stop_consuming_when_listener_is_removed() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        String subscriptionId = cut.addMessageListener(message -> received.incrementAndGet());
+        cut.add(1);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.get() == 1);
+
+        assertThat(cut.removeMessageListener(subscriptionId)).isTrue();
+        cut.add(2);
+        Thread.sleep(200);
+
+        assertThat(received.get()).isEqualTo(1);
+        assertThat(iQueue).containsExactly(2);
+        assertThat(cut.removeMessageListener(subscriptionId)).isFalse();
+    }
+
+    @Test
+    void should_not_delay_other_queues_while_listeners_block() throws InterruptedException {
+        int blockedQueues = Runtime.getRuntime().availableProcessors() + 2;
+        CountDownLatch blocked = new CountDownLatch(blockedQueues);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < blockedQueues; i++) {
+                HazelcastQueue<Integer> queue = new HazelcastQueue<>(hazelcastInstance.getQueue(UUID.randomUUID().toString()));
+                queue.addMessageListener(message -> {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                queue.add(i);
+            }
+            assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            AtomicInteger received = new AtomicInteger();
+            cut.addMessageListener(message -> received.incrementAndGet());
+            cut.add(1);
+
+            await().atMost(10, TimeUnit.SECONDS).until(() -> received.get() == 1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void should_drain_backlog_by_batches() {
+        IntStream.range(0, 300).forEach(cut::add);
+        AtomicInteger received = new AtomicInteger();
+
+        String subscriptionId = cut.addMessageListener(
+            message -> received.incrementAndGet(),
+            QueueConsumerConfiguration.builder().maxBatchSize(50).build()
+        );
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.get() == 300);
+        QueueConsumerStats stats = cut.consumerStats(subscriptionId).orElseThrow();
+        assertThat(stats.getConsumedCount()).isEqualTo(300);
+        assertThat(stats.getLag()).isZero();
+        assertThat(stats.getAverageBatchSize()).isGreaterThan(1);
+        assertThat(stats.getBatchCount()).isLessThan(300);
+    }
+
+    @Test
+    void should_add_all_items_asynchronously() {
+        cut.addAllAsync(List.of(1, 2, 3)).test().awaitDone(10, TimeUnit.SECONDS).assertComplete();
+
+        assertThat(iQueue).containsExactly(1, 2, 3);
+    }
+}
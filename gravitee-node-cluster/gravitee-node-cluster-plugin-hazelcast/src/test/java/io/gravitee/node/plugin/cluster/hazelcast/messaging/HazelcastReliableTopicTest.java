@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.impl.RingbufferService;
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.ReliableTopic;
+import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
+import io.gravitee.node.plugin.cluster.hazelcast.HazelcastClusterManager;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastReliableTopicTest {
+
+    private static final TopicConfiguration CONFIGURATION = TopicConfiguration
+        .builder()
+        .reliable(true)
+        .capacity(5)
+        .readBatchSize(2)
+        .build();
+
+    static HazelcastInstance hazelcastInstance;
+    private String topicName;
+    private ReliableTopic<Integer> cut;
+    private final List<Message<Integer>> received = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    public static void beforeAll() {
+        hazelcastInstance = Hazelcast.newHazelcastInstance();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        if (hazelcastInstance != null) {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        topicName = UUID.randomUUID().toString();
+        cut = new HazelcastClusterManager(hazelcastInstance).reliableTopic(topicName, CONFIGURATION);
+    }
+
+    @Test
+    void should_return_reliable_topic_for_reliable_configuration() {
+        Topic<Integer> topic = new HazelcastClusterManager(hazelcastInstance).topic(topicName, CONFIGURATION);
+
+        assertThat(topic).isInstanceOf(ReliableTopic.class);
+    }
+
+    @Test
+    void should_create_reliable_topic_with_configured_capacity() {
+        assertThat(cut).isInstanceOf(HazelcastReliableTopic.class);
+        assertThat(hazelcastInstance.getRingbuffer(RingbufferService.TOPIC_RB_PREFIX + topicName).capacity()).isEqualTo(5);
+    }
+
+    @Test
+    void should_deliver_events_in_order_with_their_sequence() {
+        cut.addMessageListener(received::add);
+
+        cut.publishAll(List.of(10, 11, 12));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 3);
+        assertThat(received).extracting(Message::content).containsExactly(10, 11, 12);
+        assertThat(received).extracting(Message::sequence).containsExactly(0L, 1L, 2L);
+    }
+
+    @Test
+    void should_replay_events_from_sequence() {
+        IntStream.range(0, 4).forEach(cut::publish);
+
+        cut.addMessageListener(received::add, 2);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 2);
+        assertThat(received).extracting(Message::content).containsExactly(2, 3);
+    }
+
+    @Test
+    void should_skip_to_oldest_retained_event_when_lagging() {
+        IntStream.range(0, 8).forEach(cut::publish);
+
+        cut.addMessageListener(received::add, 0);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 5);
+        assertThat(received).extracting(Message::content).containsExactly(3, 4, 5, 6, 7);
+    }
+
+    @Test
+    void should_keep_delivering_when_listener_fails() {
+        cut.addMessageListener(message -> {
+            received.add(message);
+            throw new IllegalStateException("Listener failure");
+        });
+
+        cut.publish(1);
+        cut.publish(2);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 2);
+    }
+}
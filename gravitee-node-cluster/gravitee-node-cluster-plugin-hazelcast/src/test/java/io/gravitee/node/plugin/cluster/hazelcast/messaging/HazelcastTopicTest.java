@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HazelcastTopicTest {
+
+    static HazelcastInstance hazelcastInstance;
+    private HazelcastTopic<String> cut;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    public static void beforeAll() {
+        hazelcastInstance = Hazelcast.newHazelcastInstance();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        if (hazelcastInstance != null) {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        cut = new HazelcastTopic<>(hazelcastInstance.getTopic(UUID.randomUUID().toString()));
+        cut.addMessageListener(message -> received.add(message.content()));
+    }
+
+    @Test
+    void should_publish_all_events_in_order() {
+        cut.publishAll(List.of("message1", "message2", "message3"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 3);
+        assertThat(received).containsExactly("message1", "message2", "message3");
+    }
+
+    @Test
+    void should_publish_event_asynchronously() {
+        cut.publishAsync("message").test().awaitDone(10, TimeUnit.SECONDS).assertComplete();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 1);
+        assertThat(received).containsExactly("message");
+    }
+
+    @Test
+    void should_not_publish_event_until_subscribed() throws InterruptedException {
+        cut.publishAsync("message");
+        Thread.sleep(200);
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void should_record_published_and_received_messages() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        HazelcastTopic<String> topic = new HazelcastTopic<>(
+            hazelcastInstance.getTopic(UUID.randomUUID().toString()),
+            new MessageCodecRegistry(),
+            metrics
+        );
+        topic.addMessageListener(message -> {
+            if (message.content().equals("failing")) {
+                throw new IllegalStateException("failing");
+            }
+        });
+
+        topic.publish("message");
+        topic.publishAll(List.of("message", "failing"));
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(metrics.processed.sum()).isEqualTo(3);
+                assertThat(metrics.failed.sum()).isEqualTo(1);
+            });
+        assertThat(metrics.published.sum()).isEqualTo(3);
+        assertThat(metrics.received.sum()).isEqualTo(3);
+        // Strings have no codec, their serialized size is unknown
+        assertThat(metrics.payloadBytes.sum()).isZero();
+    }
+
+    private static class RecordingMetrics implements DestinationMetrics {
+
+        private final LongAdder published = new LongAdder();
+        private final LongAdder received = new LongAdder();
+        private final LongAdder payloadBytes = new LongAdder();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        @Override
+        public void published(final long payloadBytes) {
+            published.increment();
+            this.payloadBytes.add(Math.max(0, payloadBytes));
+        }
+
+        @Override
+        public void received(final long payloadBytes) {
+            received.increment();
+            this.payloadBytes.add(Math.max(0, payloadBytes));
+        }
+
+        @Override
+        public void processed(final long durationNanos, final boolean failed) {
+            processed.increment();
+            if (failed) {
+                this.failed.increment();
+            }
+        }
+    }
+}
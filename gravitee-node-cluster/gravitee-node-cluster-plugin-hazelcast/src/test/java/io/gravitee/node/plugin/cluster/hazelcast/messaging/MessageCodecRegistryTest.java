@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MessageCodecRegistryTest {
+
+    private static final Sample SAMPLE = new Sample("sample", 42);
+
+    static HazelcastInstance publisherInstance;
+    static HazelcastInstance consumerInstance;
+
+    private MessageCodecRegistry publisherCodecs;
+    private MessageCodecRegistry consumerCodecs;
+
+    @BeforeAll
+    public static void beforeAll() {
+        String clusterName = UUID.randomUUID().toString();
+        publisherInstance = Hazelcast.newHazelcastInstance(config(clusterName));
+        consumerInstance = Hazelcast.newHazelcastInstance(config(clusterName));
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        consumerInstance.shutdown();
+        publisherInstance.shutdown();
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        publisherCodecs = new MessageCodecRegistry();
+        publisherCodecs.register(new SampleCodec());
+        consumerCodecs = new MessageCodecRegistry();
+        consumerCodecs.register(new SampleCodec());
+    }
+
+    @Test
+    void should_exchange_encoded_messages_through_topics() {
+        String name = UUID.randomUUID().toString();
+        List<Sample> received = new CopyOnWriteArrayList<>();
+        new HazelcastTopic<Sample>(consumerInstance.getTopic(name), consumerCodecs).addMessageListener(message ->
+            received.add(message.content())
+        );
+
+        new HazelcastTopic<Sample>(publisherInstance.getTopic(name), publisherCodecs).publish(SAMPLE);
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).containsExactly(SAMPLE));
+    }
+
+    @Test
+    void should_exchange_encoded_messages_through_queues() {
+        String name = UUID.randomUUID().toString();
+        List<Sample> received = new CopyOnWriteArrayList<>();
+        new HazelcastQueue<Sample>(consumerInstance.getQueue(name), consumerCodecs).addMessageListener(message ->
+            received.add(message.content())
+        );
+
+        new HazelcastQueue<Sample>(publisherInstance.getQueue(name), publisherCodecs).addAllAsync(List.of(SAMPLE, SAMPLE)).blockingAwait();
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).containsExactly(SAMPLE, SAMPLE));
+    }
+
+    @Test
+    void should_keep_messages_without_codec_as_is() {
+        assertThat(publisherCodecs.encode("message")).isEqualTo("message");
+        assertThat(publisherCodecs.<String>decode("message")).isEqualTo("message");
+    }
+
+    @Test
+    void should_publish_messages_as_is_but_still_decode_them_when_encoding_is_disabled() {
+        MessageCodecRegistry legacyCodecs = new MessageCodecRegistry(false);
+        legacyCodecs.register(new SampleCodec());
+
+        assertThat(legacyCodecs.encode(SAMPLE)).isSameAs(SAMPLE);
+        assertThat(legacyCodecs.<Sample>decode(publisherCodecs.encode(SAMPLE))).isEqualTo(SAMPLE);
+    }
+
+    @Test
+    void should_encode_messages_smaller_than_java_serialization() {
+        SerializationService serializationService = ((SerializationServiceSupport) publisherInstance).getSerializationService();
+
+        Data encoded = serializationService.toData(publisherCodecs.encode(SAMPLE));
+        Data serialized = serializationService.toData(SAMPLE);
+
+        assertThat(encoded.totalSize()).isLessThan(serialized.totalSize() / 2);
+        assertThat(consumerCodecs.<Sample>decode(serializationService.toObject(encoded))).isEqualTo(SAMPLE);
+    }
+
+    @Test
+    void should_ignore_a_codec_registered_twice() {
+        publisherCodecs.register(new SampleCodec());
+
+        assertThat(publisherCodecs.encode(SAMPLE)).isInstanceOf(EncodedMessage.class);
+    }
+
+    @Test
+    void should_reject_conflicting_codecs() {
+        MessageCodec<Sample> otherCodec = new SampleCodec() {};
+        MessageCodec<String> sameIdCodec = new MessageCodec<>() {
+            @Override
+            public int id() {
+                return SampleCodec.ID;
+            }
+
+            @Override
+            public Class<String> type() {
+                return String.class;
+            }
+
+            @Override
+            public void encode(final String message, final DataOutput output) throws IOException {
+                output.writeUTF(message);
+            }
+
+            @Override
+            public String decode(final DataInput input) throws IOException {
+                return input.readUTF();
+            }
+        };
+
+        assertThatThrownBy(() -> publisherCodecs.register(otherCodec)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> publisherCodecs.register(sameIdCodec)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_fail_to_decode_message_of_unknown_codec() {
+        Object encoded = publisherCodecs.encode(SAMPLE);
+
+        assertThatThrownBy(() -> new MessageCodecRegistry().decode(encoded)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Config config(final String clusterName) {
+        Config config = new Config().setClusterName(clusterName);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return EncodedMessageFactory.configure(config);
+    }
+
+    private record Sample(String name, long value) implements Serializable {}
+
+    private static class SampleCodec implements MessageCodec<Sample> {
+
+        private static final int ID = 1;
+
+        @Override
+        public int id() {
+            return ID;
+        }
+
+        @Override
+        public Class<Sample> type() {
+            return Sample.class;
+        }
+
+        @Override
+        public void encode(final Sample message, final DataOutput output) throws IOException {
+            output.writeUTF(message.name());
+            output.writeLong(message.value());
+        }
+
+        @Override
+        public Sample decode(final DataInput input) throws IOException {
+            return new Sample(input.readUTF(), input.readLong());
+        }
+    }
+}
@@ -17,12 +17,23 @@ package io.gravitee.node.plugin.cluster.standalone;
 
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.cluster.LeadershipListener;
 import io.gravitee.node.api.cluster.Member;
 import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.counter.Counter;
+import io.gravitee.node.api.cluster.counter.CounterConfiguration;
+import io.gravitee.node.api.cluster.counter.LocalCounter;
+import io.gravitee.node.api.cluster.counter.LocalRateLimiter;
+import io.gravitee.node.api.cluster.counter.RateLimiter;
+import io.gravitee.node.api.cluster.counter.RateLimiterConfiguration;
+import io.gravitee.node.api.cluster.messaging.MessagingMetrics;
 import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.ReliableTopic;
 import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
 import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneMessageCodec;
 import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneQueue;
+import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneReliableTopic;
 import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneTopic;
 import io.vertx.core.Vertx;
 import java.util.Map;
@@ -38,9 +49,14 @@ import lombok.RequiredArgsConstructor;
 public class StandaloneClusterManager extends AbstractService<ClusterManager> implements ClusterManager {
 
     private static final Member LOCAL_MEMBER = new StandaloneMember();
+    private static final Set<Member> LOCAL_MEMBERS = Set.of(LOCAL_MEMBER);
     private final Map<String, Topic<?>> topicsByName = new ConcurrentHashMap<>();
+    private final Map<String, ReliableTopic<?>> reliableTopicsByName = new ConcurrentHashMap<>();
     private final Map<String, Queue<?>> queuesByName = new ConcurrentHashMap<>();
+    private final Map<String, Counter> countersByName = new ConcurrentHashMap<>();
+    private final Map<String, RateLimiter> rateLimitersByName = new ConcurrentHashMap<>();
     private final Vertx vertx;
+    private volatile MessagingMetrics messagingMetrics = MessagingMetrics.NOOP;
 
     @Override
     protected void doStart() throws Exception {
@@ -55,7 +71,7 @@ public class StandaloneClusterManager extends AbstractService<ClusterManager> im
 
     @Override
     public Set<Member> members() {
-        return Set.of(LOCAL_MEMBER);
+        return LOCAL_MEMBERS;
     }
 
     @Override
@@ -73,13 +89,59 @@ public class StandaloneClusterManager extends AbstractService<ClusterManager> im
         // Nothing to do here as no member can be removed to a Standalone cluster
     }
 
+    @Override
+    public boolean isLeader(final String group) {
+        return true;
+    }
+
+    /**
+     * The local member leads all the groups of a standalone cluster, the listener is elected right away and never revoked.
+     */
+    @Override
+    public void addLeadershipListener(final String group, final LeadershipListener listener) {
+        listener.onElected(group);
+    }
+
+    @Override
+    public void setMessagingMetrics(final MessagingMetrics messagingMetrics) {
+        this.messagingMetrics = messagingMetrics;
+    }
+
     @Override
     public <T> Topic<T> topic(final String name) {
-        return (Topic<T>) topicsByName.computeIfAbsent(name, key -> new StandaloneTopic<>(vertx, name));
+        return (Topic<T>) topicsByName.computeIfAbsent(name, key -> new StandaloneTopic<>(vertx, name, messagingMetrics.topic(name)));
+    }
+
+    @Override
+    public <T> ReliableTopic<T> reliableTopic(final String name, final TopicConfiguration configuration) {
+        return (ReliableTopic<T>) reliableTopicsByName.computeIfAbsent(
+            name,
+            key -> new StandaloneReliableTopic<>(vertx, name, configuration, messagingMetrics.topic(name))
+        );
     }
 
     @Override
     public <T> Queue<T> queue(final String name) {
-        return (Queue<T>) queuesByName.computeIfAbsent(name, key -> new StandaloneQueue<>(vertx, name));
+        return (Queue<T>) queuesByName.computeIfAbsent(name, key -> new StandaloneQueue<>(vertx, name, messagingMetrics));
+    }
+
+    @Override
+    public Counter counter(final String name, final CounterConfiguration configuration) {
+        return countersByName.computeIfAbsent(name, LocalCounter::new);
+    }
+
+    @Override
+    public void releaseCounter(final String name) {
+        countersByName.remove(name);
+    }
+
+    @Override
+    public RateLimiter rateLimiter(final String name, final RateLimiterConfiguration configuration) {
+        return rateLimitersByName.computeIfAbsent(name, key -> new LocalRateLimiter(key, configuration));
+    }
+
+    @Override
+    public void releaseRateLimiter(final String name) {
+        rateLimitersByName.remove(name);
     }
 }
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import io.gravitee.node.api.cluster.messaging.DeliveryMode;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deliver the messages received by a subscription to its {@link MessageListener} according to its {@link DeliveryMode}.
+ *
+ * <p>
+ * Except on the event loop, messages are buffered and drained by batches: a burst of messages costs a few hops to the worker pool
+ * rather than one per message. Ordered subscriptions run a single drain at a time while unordered ones run up to
+ * <code>concurrency</code> drains in parallel.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+class StandaloneMessageDispatcher<T> implements Handler<io.vertx.core.eventbus.Message<T>> {
+
+    static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Vertx vertx;
+    private final String name;
+    private final MessageListener<T> messageListener;
+    private final DestinationMetrics metrics;
+    private final DeliveryMode deliveryMode;
+    private final int maxBatchSize;
+    private final int concurrency;
+    private final Executor executor;
+    private final Queue<T> pendingMessages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeDrains = new AtomicInteger();
+
+    StandaloneMessageDispatcher(
+        final Vertx vertx,
+        final String name,
+        final MessageListener<T> messageListener,
+        final DestinationMetrics metrics,
+        final DeliveryMode deliveryMode,
+        final int maxBatchSize,
+        final int concurrency
+    ) {
+        this.vertx = vertx;
+        this.name = name;
+        this.messageListener = messageListener;
+        this.metrics = metrics;
+        this.deliveryMode = deliveryMode == null ? DeliveryMode.WORKER_ORDERED : deliveryMode;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.concurrency = this.deliveryMode == DeliveryMode.WORKER_ORDERED ? 1 : Math.max(1, concurrency);
+        if (this.deliveryMode == DeliveryMode.VIRTUAL_THREAD && VirtualThreads.EXECUTOR != null) {
+            this.executor = VirtualThreads.EXECUTOR;
+        } else {
+            this.executor = this::executeOnWorker;
+        }
+    }
+
+    @Override
+    public void handle(final io.vertx.core.eventbus.Message<T> event) {
+        metrics.received(DestinationMetrics.UNKNOWN_SIZE);
+        if (deliveryMode == DeliveryMode.EVENT_LOOP) {
+            deliver(event.body());
+        } else {
+            pendingMessages.offer(event.body());
+            signal();
+        }
+    }
+
+    /**
+     * @return the number of messages received and not delivered yet.
+     */
+    int pendingCount() {
+        return pendingMessages.size();
+    }
+
+    private void signal() {
+        int active;
+        while ((active = activeDrains.get()) < concurrency) {
+            if (activeDrains.compareAndSet(active, active + 1)) {
+                executor.execute(this::drain);
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            T message;
+            int drained = 0;
+            while (drained < maxBatchSize && (message = pendingMessages.poll()) != null) {
+                deliver(message);
+                drained++;
+            }
+        } finally {
+            activeDrains.decrementAndGet();
+            // Reschedule rather than looping so that the other subscriptions get their turn on the worker pool
+            if (!pendingMessages.isEmpty()) {
+                signal();
+            }
+        }
+    }
+
+    private void deliver(final T message) {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            messageListener.onMessage(new Message<>(name, message));
+        } catch (Exception e) {
+            failed = true;
+            log.warn("Unable to process a message of '{}'.", name, e);
+        } finally {
+            metrics.processed(System.nanoTime() - start, failed);
+        }
+    }
+
+    private void executeOnWorker(final Runnable task) {
+        vertx.executeBlocking(
+            (Handler<Promise<Void>>) promise -> {
+                task.run();
+                promise.complete();
+            },
+            false
+        );
+    }
+
+    /**
+     * Virtual threads executor, looked up at runtime as the node still runs on Java versions without virtual threads.
+     */
+    private static final class VirtualThreads {
+
+        private static final Executor EXECUTOR = create();
+
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.info("Virtual threads are not available on this runtime, messages are delivered on the worker pool instead.");
+                return null;
+            }
+        }
+    }
+}
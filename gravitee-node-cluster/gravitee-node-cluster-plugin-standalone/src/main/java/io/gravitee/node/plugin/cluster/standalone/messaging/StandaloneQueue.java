@@ -15,14 +15,17 @@
  */
 package io.gravitee.node.plugin.cluster.standalone.messaging;
 
-import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.gravitee.node.api.cluster.messaging.MessagingMetrics;
 import io.gravitee.node.api.cluster.messaging.Queue;
-import io.vertx.core.Handler;
-import io.vertx.core.Promise;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerConfiguration;
+import io.reactivex.rxjava3.core.Completable;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.MessageConsumer;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,38 +35,71 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class StandaloneQueue<T> implements Queue<T> {
 
+    private static final QueueConsumerConfiguration DEFAULT_CONSUMER_CONFIGURATION = QueueConsumerConfiguration.builder().build();
+
     private final Map<String, MessageConsumer<T>> consumerMap = new ConcurrentHashMap<>();
+    private final Map<String, StandaloneMessageDispatcher<T>> dispatcherMap = new ConcurrentHashMap<>();
     private final Vertx vertx;
     private final String queueName;
     private final DeliveryOptions deliveryOptions;
+    private final DestinationMetrics metrics;
 
     public StandaloneQueue(final Vertx vertx, final String queueName) {
+        this(vertx, queueName, MessagingMetrics.NOOP);
+    }
+
+    /**
+     * The depth of the queue reported to the {@link MessagingMetrics} is the number of messages received by the listeners and not
+     * delivered yet.
+     */
+    public StandaloneQueue(final Vertx vertx, final String queueName, final MessagingMetrics messagingMetrics) {
         this.vertx = vertx;
         this.queueName = queueName;
         this.deliveryOptions = new DeliveryOptions().setCodecName(StandaloneMessageCodec.STANDALONE_CODEC_NAME);
+        this.metrics = messagingMetrics.queue(queueName, this::depth);
     }
 
     @Override
     public void add(T item) {
+        metrics.published(DestinationMetrics.UNKNOWN_SIZE);
         vertx.eventBus().send(queueName, item, deliveryOptions);
     }
 
+    /**
+     * Sending on the event bus never blocks, the items are sent as soon as subscribed.
+     */
+    @Override
+    public Completable addAllAsync(final Collection<? extends T> items) {
+        return Completable.fromRunnable(() -> {
+            EventBus eventBus = vertx.eventBus();
+            items.forEach(item -> {
+                metrics.published(DestinationMetrics.UNKNOWN_SIZE);
+                eventBus.send(queueName, item, deliveryOptions);
+            });
+        });
+    }
+
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
+        return addMessageListener(messageListener, DEFAULT_CONSUMER_CONFIGURATION);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener, final QueueConsumerConfiguration configuration) {
         String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
 
-        MessageConsumer<T> vertxConsumer = vertx
-            .eventBus()
-            .<T>localConsumer(queueName)
-            .handler(event ->
-                vertx.executeBlocking(
-                    (Handler<Promise<Void>>) promise -> {
-                        messageListener.onMessage(new Message<>(queueName, event.body()));
-                        promise.handle(null);
-                    }
-                )
-            );
+        StandaloneMessageDispatcher<T> dispatcher = new StandaloneMessageDispatcher<>(
+            vertx,
+            queueName,
+            messageListener,
+            metrics,
+            configuration.getDeliveryMode(),
+            configuration.getMaxBatchSize(),
+            configuration.getConcurrency()
+        );
+        MessageConsumer<T> vertxConsumer = vertx.eventBus().<T>localConsumer(queueName).handler(dispatcher);
         consumerMap.put(subscriptionId, vertxConsumer);
+        dispatcherMap.put(subscriptionId, dispatcher);
 
         return subscriptionId;
     }
@@ -71,8 +107,17 @@ public class StandaloneQueue<T> implements Queue<T> {
     @Override
     public boolean removeMessageListener(final String subscriptionId) {
         if (consumerMap.containsKey(subscriptionId)) {
+            dispatcherMap.remove(subscriptionId);
             return consumerMap.get(subscriptionId).unregister().onSuccess(event -> consumerMap.remove(subscriptionId)).succeeded();
         }
         return false;
     }
+
+    private long depth() {
+        long depth = 0;
+        for (StandaloneMessageDispatcher<T> dispatcher : dispatcherMap.values()) {
+            depth += dispatcher.pendingCount();
+        }
+        return depth;
+    }
 }
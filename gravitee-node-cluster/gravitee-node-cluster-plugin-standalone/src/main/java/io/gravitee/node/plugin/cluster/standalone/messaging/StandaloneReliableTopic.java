@@ -0,0 +1,202 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.gravitee.node.api.cluster.messaging.ReliableTopic;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory equivalent of a reliable topic: the last published events are retained in a ring buffer which each listener reads
+ * from its own sequence, by batches, on the worker pool.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class StandaloneReliableTopic<T> implements ReliableTopic<T> {
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Vertx vertx;
+    private final String topicName;
+    private final int readBatchSize;
+    private final Object[] ring;
+    private final DestinationMetrics metrics;
+    /**
+     * Sequence of the last published event, guarded by the topic monitor.
+     */
+    private long tailSequence = -1;
+
+    public StandaloneReliableTopic(final Vertx vertx, final String topicName, final TopicConfiguration configuration) {
+        this(vertx, topicName, configuration, DestinationMetrics.NOOP);
+    }
+
+    public StandaloneReliableTopic(
+        final Vertx vertx,
+        final String topicName,
+        final TopicConfiguration configuration,
+        final DestinationMetrics metrics
+    ) {
+        this.vertx = vertx;
+        this.metrics = metrics;
+        this.topicName = topicName;
+        this.readBatchSize = Math.max(1, configuration.getReadBatchSize());
+        this.ring = new Object[Math.max(1, configuration.getCapacity())];
+    }
+
+    @Override
+    public void publish(final T event) {
+        synchronized (this) {
+            append(event);
+        }
+        subscribers.values().forEach(Subscriber::signal);
+    }
+
+    @Override
+    public void publishAll(final Collection<? extends T> events) {
+        synchronized (this) {
+            events.forEach(this::append);
+        }
+        subscribers.values().forEach(Subscriber::signal);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener) {
+        long nextSequence;
+        synchronized (this) {
+            nextSequence = tailSequence + 1;
+        }
+        return addMessageListener(messageListener, nextSequence);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener, final long fromSequence) {
+        String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
+        Subscriber subscriber = new Subscriber(messageListener, Math.max(0, fromSequence));
+        subscribers.put(subscriptionId, subscriber);
+        subscriber.signal();
+        return subscriptionId;
+    }
+
+    @Override
+    public boolean removeMessageListener(final String subscriptionId) {
+        Subscriber subscriber = subscribers.remove(subscriptionId);
+        if (subscriber != null) {
+            subscriber.running = false;
+            return true;
+        }
+        return false;
+    }
+
+    private void append(final T event) {
+        metrics.published(DestinationMetrics.UNKNOWN_SIZE);
+        tailSequence++;
+        ring[(int) (tailSequence % ring.length)] = event;
+    }
+
+    /**
+     * Read the next batch of events from the given sequence, or from the oldest retained one if it has been overwritten.
+     *
+     * @return the sequence of the first event read.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized long read(final long fromSequence, final List<T> batch) {
+        long headSequence = Math.max(0, tailSequence - ring.length + 1);
+        long firstSequence = Math.max(fromSequence, headSequence);
+        for (long sequence = firstSequence; sequence <= tailSequence && batch.size() < readBatchSize; sequence++) {
+            batch.add((T) ring[(int) (sequence % ring.length)]);
+        }
+        return firstSequence;
+    }
+
+    private final class Subscriber {
+
+        private final MessageListener<T> messageListener;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean pending;
+        private volatile boolean running = true;
+        /**
+         * Sequence of the next event to deliver, only accessed by the scheduled drain.
+         */
+        private long nextSequence;
+
+        private Subscriber(final MessageListener<T> messageListener, final long nextSequence) {
+            this.messageListener = messageListener;
+            this.nextSequence = nextSequence;
+        }
+
+        private void signal() {
+            pending = true;
+            if (running && scheduled.compareAndSet(false, true)) {
+                vertx.executeBlocking(
+                    (Handler<Promise<Void>>) promise -> {
+                        drain();
+                        promise.complete();
+                    },
+                    false
+                );
+            }
+        }
+
+        private void drain() {
+            try {
+                pending = false;
+                List<T> batch = new ArrayList<>(readBatchSize);
+                long firstSequence = read(nextSequence, batch);
+                if (firstSequence > nextSequence) {
+                    log.warn("Listener of topic '{}' lagged behind, {} events have been skipped.", topicName, firstSequence - nextSequence);
+                }
+                for (int i = 0; i < batch.size() && running; i++) {
+                    deliver(batch.get(i), firstSequence + i);
+                }
+                nextSequence = firstSequence + batch.size();
+                if (batch.size() == readBatchSize) {
+                    pending = true;
+                }
+            } finally {
+                scheduled.set(false);
+                if (pending) {
+                    signal();
+                }
+            }
+        }
+
+        private void deliver(final T event, final long sequence) {
+            metrics.received(DestinationMetrics.UNKNOWN_SIZE);
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                messageListener.onMessage(new Message<>(topicName, event, sequence));
+            } catch (Exception e) {
+                failed = true;
+                log.warn("Unable to process event {} of topic '{}'.", sequence, topicName, e);
+            } finally {
+                metrics.processed(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
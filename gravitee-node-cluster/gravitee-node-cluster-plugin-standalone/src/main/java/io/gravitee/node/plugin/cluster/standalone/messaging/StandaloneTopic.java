@@ -15,14 +15,15 @@
  */
 package io.gravitee.node.plugin.cluster.standalone.messaging;
 
-import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.DeliveryMode;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
 import io.gravitee.node.api.cluster.messaging.Topic;
-import io.vertx.core.Handler;
-import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.MessageConsumer;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -36,31 +37,55 @@ public class StandaloneTopic<T> implements Topic<T> {
     private final Vertx vertx;
     private final String topicName;
     private final DeliveryOptions deliveryOptions;
+    private final DestinationMetrics metrics;
 
     public StandaloneTopic(final Vertx vertx, final String topicName) {
+        this(vertx, topicName, DestinationMetrics.NOOP);
+    }
+
+    public StandaloneTopic(final Vertx vertx, final String topicName, final DestinationMetrics metrics) {
         this.vertx = vertx;
         this.topicName = topicName;
+        this.metrics = metrics;
         this.deliveryOptions = new DeliveryOptions().setCodecName(StandaloneMessageCodec.STANDALONE_CODEC_NAME);
     }
 
     @Override
     public void publish(T event) {
+        metrics.published(DestinationMetrics.UNKNOWN_SIZE);
         vertx.eventBus().publish(topicName, event, deliveryOptions);
     }
 
+    @Override
+    public void publishAll(final Collection<? extends T> events) {
+        EventBus eventBus = vertx.eventBus();
+        events.forEach(event -> {
+            metrics.published(DestinationMetrics.UNKNOWN_SIZE);
+            eventBus.publish(topicName, event, deliveryOptions);
+        });
+    }
+
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
+        return addMessageListener(messageListener, DeliveryMode.WORKER_ORDERED);
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener, final DeliveryMode deliveryMode) {
         String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
 
         MessageConsumer<T> vertxConsumer = vertx
             .eventBus()
             .<T>localConsumer(topicName)
-            .handler(event ->
-                vertx.executeBlocking(
-                    (Handler<Promise<Void>>) promise -> {
-                        messageListener.onMessage(new Message<>(topicName, event.body()));
-                        promise.handle(null);
-                    }
+            .handler(
+                new StandaloneMessageDispatcher<>(
+                    vertx,
+                    topicName,
+                    messageListener,
+                    metrics,
+                    deliveryMode,
+                    StandaloneMessageDispatcher.DEFAULT_MAX_BATCH_SIZE,
+                    Runtime.getRuntime().availableProcessors()
                 )
             );
         consumerMap.put(subscriptionId, vertxConsumer);
@@ -19,8 +19,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.mock;
 
+import io.gravitee.node.api.cluster.LeadershipListener;
 import io.gravitee.node.api.cluster.Member;
+import io.gravitee.node.api.cluster.counter.Counter;
+import io.gravitee.node.api.cluster.counter.RateLimiterConfiguration;
+import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
+import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneReliableTopic;
 import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -67,4 +75,55 @@ class StandaloneClusterManagerTest {
     void should_ignore_removing_listener() {
         assertDoesNotThrow(() -> standaloneClusterManager.removeMemberListener(null));
     }
+
+    @Test
+    void should_return_same_reliable_topic() {
+        TopicConfiguration configuration = TopicConfiguration.builder().reliable(true).build();
+        Topic<String> topic = standaloneClusterManager.topic("topic", configuration);
+        assertThat(topic).isInstanceOf(StandaloneReliableTopic.class).isSameAs(standaloneClusterManager.topic("topic", configuration));
+    }
+
+    @Test
+    void should_apply_counter_updates_right_away() {
+        Counter counter = standaloneClusterManager.counter("counter");
+        counter.add(5);
+        counter.decrement();
+
+        assertThat(counter.get()).isEqualTo(4);
+        assertThat(standaloneClusterManager.counter("counter")).isSameAs(counter);
+    }
+
+    @Test
+    void should_forget_released_counters_and_rate_limiters() {
+        standaloneClusterManager.counter("counter").add(3);
+        RateLimiterConfiguration configuration = RateLimiterConfiguration.builder().limit(1).periodInMs(60_000).build();
+        assertThat(standaloneClusterManager.rateLimiter("rate-limiter", configuration).tryAcquire()).isTrue();
+
+        standaloneClusterManager.releaseCounter("counter");
+        standaloneClusterManager.releaseRateLimiter("rate-limiter");
+
+        assertThat(standaloneClusterManager.counter("counter").get()).isZero();
+        assertThat(standaloneClusterManager.rateLimiter("rate-limiter", configuration).tryAcquire()).isTrue();
+    }
+
+    @Test
+    void should_lead_all_groups() {
+        List<String> elected = new ArrayList<>();
+        standaloneClusterManager.addLeadershipListener(
+            "group",
+            new LeadershipListener() {
+                @Override
+                public void onElected(final String group) {
+                    elected.add(group);
+                }
+
+                @Override
+                public void onRevoked(final String group) {}
+            }
+        );
+
+        assertThat(standaloneClusterManager.isLeader()).isTrue();
+        assertThat(standaloneClusterManager.isLeader("group")).isTrue();
+        assertThat(elected).containsExactly("group");
+    }
 }
@@ -5,13 +5,27 @@
 package io.gravitee.node.plugin.cluster.standalone.messaging;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
+import io.gravitee.node.api.cluster.messaging.DeliveryMode;
+import io.gravitee.node.api.cluster.messaging.DestinationMetrics;
+import io.gravitee.node.api.cluster.messaging.MessagingMetrics;
+import io.gravitee.node.api.cluster.messaging.QueueConsumerConfiguration;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -61,4 +75,83 @@ class StandaloneQueueTest {
         cut.addMessageListener(message -> oneListenerOnly.flag());
         cut.add("message");
     }
+
+    @Test
+    void should_add_all_items_to_queue(VertxTestContext testContext) {
+        Checkpoint allItems = testContext.checkpoint(3);
+        cut.addMessageListener(message -> allItems.flag());
+        cut.addAllAsync(List.of("message1", "message2", "message3")).subscribe();
+    }
+
+    @Test
+    void should_consume_items_in_parallel_up_to_concurrency() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        cut.addMessageListener(
+            message -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.add(message.content());
+                running.decrementAndGet();
+            },
+            QueueConsumerConfiguration.builder().deliveryMode(DeliveryMode.WORKER_UNORDERED).concurrency(2).maxBatchSize(10).build()
+        );
+
+        List<String> items = IntStream.range(0, 200).mapToObj(i -> "message" + i).toList();
+        cut.addAllAsync(items).blockingAwait();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == items.size());
+        assertThat(received).containsExactlyInAnyOrderElementsOf(items);
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_record_messages_and_depth(Vertx vertx) {
+        AtomicReference<LongSupplier> depth = new AtomicReference<>();
+        LongAdder published = new LongAdder();
+        LongAdder processed = new LongAdder();
+        StandaloneQueue<String> queue = new StandaloneQueue<>(
+            vertx,
+            "metrics",
+            new MessagingMetrics() {
+                @Override
+                public DestinationMetrics queue(final String name, final LongSupplier queueDepth) {
+                    depth.set(queueDepth);
+                    return new DestinationMetrics() {
+                        @Override
+                        public void published(final long payloadBytes) {
+                            published.increment();
+                        }
+
+                        @Override
+                        public void processed(final long durationNanos, final boolean failed) {
+                            processed.increment();
+                        }
+                    };
+                }
+            }
+        );
+        CountDownLatch release = new CountDownLatch(1);
+        queue.addMessageListener(message -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        queue.addAllAsync(List.of("message1", "message2", "message3", "message4", "message5")).blockingAwait();
+
+        // The first message is being processed, the other ones are waiting
+        await().atMost(10, TimeUnit.SECONDS).until(() -> depth.get().getAsLong() == 4);
+        assertThat(published.sum()).isEqualTo(5);
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> processed.sum() == 5);
+        assertThat(depth.get().getAsLong()).isZero();
+    }
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.TopicConfiguration;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * @author GraviteeSource Team
+ */
+@ExtendWith(VertxExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class StandaloneReliableTopicTest {
+
+    public static final String TOPIC_NAME = "topicName";
+    private StandaloneReliableTopic<Integer> cut;
+    private final List<Message<Integer>> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void beforeEach(Vertx vertx) {
+        TopicConfiguration configuration = TopicConfiguration.builder().reliable(true).capacity(5).readBatchSize(2).build();
+        cut = new StandaloneReliableTopic<>(vertx, TOPIC_NAME, configuration);
+    }
+
+    @Test
+    void should_deliver_events_in_order_with_their_sequence() {
+        cut.addMessageListener(received::add);
+
+        cut.publishAll(List.of(10, 11, 12));
+
+        awaitReceived(3);
+        assertThat(received).extracting(Message::content).containsExactly(10, 11, 12);
+        assertThat(received).extracting(Message::sequence).containsExactly(0L, 1L, 2L);
+    }
+
+    @Test
+    void should_only_deliver_events_published_after_subscription() {
+        cut.publish(1);
+        cut.addMessageListener(received::add);
+        cut.publish(2);
+
+        awaitReceived(1);
+        assertThat(received).extracting(Message::content).containsExactly(2);
+    }
+
+    @Test
+    void should_replay_events_from_sequence() {
+        IntStream.range(0, 4).forEach(cut::publish);
+
+        cut.addMessageListener(received::add, 2);
+
+        awaitReceived(2);
+        assertThat(received).extracting(Message::content).containsExactly(2, 3);
+    }
+
+    @Test
+    void should_skip_to_oldest_retained_event_when_lagging() {
+        IntStream.range(0, 8).forEach(cut::publish);
+
+        cut.addMessageListener(received::add, 0);
+
+        awaitReceived(5);
+        assertThat(received).extracting(Message::content).containsExactly(3, 4, 5, 6, 7);
+    }
+
+    @Test
+    void should_keep_delivering_when_listener_fails() {
+        cut.addMessageListener(message -> {
+            received.add(message);
+            throw new IllegalStateException("Listener failure");
+        });
+
+        cut.publish(1);
+        cut.publish(2);
+
+        awaitReceived(2);
+    }
+
+    @Test
+    void should_stop_delivering_once_listener_is_removed() throws InterruptedException {
+        String subscriptionId = cut.addMessageListener(received::add);
+        cut.publish(1);
+        awaitReceived(1);
+
+        assertThat(cut.removeMessageListener(subscriptionId)).isTrue();
+        cut.publish(2);
+        Thread.sleep(100);
+
+        assertThat(received).hasSize(1);
+        assertThat(cut.removeMessageListener(subscriptionId)).isFalse();
+    }
+
+    private void awaitReceived(final int count) {
+        await().atMost(5, TimeUnit.SECONDS).until(() -> received.size() == count);
+    }
+}
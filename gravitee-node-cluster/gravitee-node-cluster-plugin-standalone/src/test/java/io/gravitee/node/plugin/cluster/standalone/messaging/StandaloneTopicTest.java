@@ -5,13 +5,20 @@
 package io.gravitee.node.plugin.cluster.standalone.messaging;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
+import io.gravitee.node.api.cluster.messaging.DeliveryMode;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -61,4 +68,85 @@ class StandaloneTopicTest {
         cut.addMessageListener(message -> allListeners.flag());
         cut.publish("message");
     }
+
+    @Test
+    void should_publish_all_events(VertxTestContext testContext) {
+        Checkpoint allEvents = testContext.checkpoint(3);
+        cut.addMessageListener(message -> allEvents.flag());
+        cut.publishAll(List.of("message1", "message2", "message3"));
+    }
+
+    @Test
+    void should_deliver_events_in_order_on_worker_threads_by_default() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<Boolean> onWorker = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            onWorker.add(Context.isOnWorkerThread());
+            received.add(message.content());
+        });
+
+        List<String> events = IntStream.range(0, 1000).mapToObj(i -> "message" + i).toList();
+        cut.publishAll(events);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == events.size());
+        assertThat(received).containsExactlyElementsOf(events);
+        assertThat(onWorker).containsOnly(true);
+    }
+
+    @Test
+    void should_deliver_events_on_event_loop() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<Boolean> onEventLoop = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(
+            message -> {
+                onEventLoop.add(Context.isOnEventLoopThread());
+                received.add(message.content());
+            },
+            DeliveryMode.EVENT_LOOP
+        );
+
+        cut.publishAll(List.of("message1", "message2", "message3"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 3);
+        assertThat(received).containsExactly("message1", "message2", "message3");
+        assertThat(onEventLoop).containsOnly(true);
+    }
+
+    @Test
+    void should_deliver_all_events_unordered() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> received.add(message.content()), DeliveryMode.WORKER_UNORDERED);
+
+        List<String> events = IntStream.range(0, 1000).mapToObj(i -> "message" + i).toList();
+        cut.publishAll(events);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == events.size());
+        assertThat(received).containsExactlyInAnyOrderElementsOf(events);
+    }
+
+    @Test
+    void should_deliver_all_events_on_virtual_threads_or_worker_threads() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> received.add(message.content()), DeliveryMode.VIRTUAL_THREAD);
+
+        List<String> events = IntStream.range(0, 1000).mapToObj(i -> "message" + i).toList();
+        cut.publishAll(events);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == events.size());
+        assertThat(received).containsExactlyInAnyOrderElementsOf(events);
+    }
+
+    @Test
+    void should_keep_delivering_events_after_a_listener_failure() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            received.add(message.content());
+            throw new IllegalStateException("Listener failure");
+        });
+
+        cut.publishAll(List.of("message1", "message2"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 2);
+        assertThat(received).containsExactly("message1", "message2");
+    }
 }
@@ -18,28 +18,93 @@ package io.gravitee.node.monitoring;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.node.api.Monitoring;
 import io.gravitee.node.api.NodeMonitoringRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Persist the monitoring objects received from the nodes.
+ *
+ * <p>
+ * With a flush interval, writes are buffered: only the latest monitoring object of each node and type is kept until the next
+ * flush, which writes them in batches through {@link NodeMonitoringRepository#bulkCreateOrUpdate}. A flush is also triggered as
+ * soon as a batch is full. The {@link Single} returned by {@link #createOrUpdate(Monitoring)} completes once the write has been
+ * flushed, with the monitoring object which superseded it if it has been coalesced. Without flush interval, each monitoring
+ * object is written immediately.
+ * </p>
+ *
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
  * @author GraviteeSource Team
  */
-@RequiredArgsConstructor
-public class DefaultNodeMonitoringService implements NodeMonitoringService {
+public class DefaultNodeMonitoringService implements NodeMonitoringService, MeterBinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultNodeMonitoringService.class);
     private static final int CLEANUP_DELAY = 600000;
+    private static final int CLEANUP_INTERVAL = 60000;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "gio-node-monitoring-flush-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final NodeMonitoringRepository repository;
+    private final long flushIntervalMs;
+    private final int maxBatchSize;
     private final Map<String, Monitoring> monitoringHolder = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final LongAdder coalescedWrites = new LongAdder();
+    private final List<ScheduledFuture<?>> scheduledTasks = new ArrayList<>();
+    private volatile Timer flushDuration;
+    private volatile DistributionSummary flushSize;
+    private volatile boolean closed;
+
+    public DefaultNodeMonitoringService(final NodeMonitoringRepository repository) {
+        this(repository, 0, 1);
+    }
+
+    /**
+     * @param repository the repository to write the monitoring objects to, <code>null</code> to not persist them.
+     * @param flushIntervalMs the delay between two flushes of the buffered writes, 0 to write each monitoring object immediately.
+     * @param maxBatchSize the maximum number of monitoring objects written by a flush.
+     */
+    public DefaultNodeMonitoringService(final NodeMonitoringRepository repository, final long flushIntervalMs, final int maxBatchSize) {
+        this.repository = repository;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        if (repository != null) {
+            scheduledTasks.add(
+                scheduler.scheduleWithFixedDelay(this::cleanupMonitorHolder, CLEANUP_INTERVAL, CLEANUP_INTERVAL, TimeUnit.MILLISECONDS)
+            );
+            if (flushIntervalMs > 0) {
+                scheduledTasks.add(scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS));
+            }
+        }
+    }
 
     @Override
     public Single<Monitoring> createOrUpdate(Monitoring monitoring) {
@@ -48,20 +113,25 @@ public class DefaultNodeMonitoringService implements NodeMonitoringService {
             return Single.just(monitoring);
         }
 
-        final String monitoringKey = monitoring.getNodeId() + monitoring.getType();
-
-        Maybe<Monitoring> monitoringObs;
+        if (flushIntervalMs <= 0) {
+            return write(monitoring);
+        }
 
-        // This part is mainly done for clustering purpose, to ensure all nodes know about each other in the context
-        // of a cluster once they are flagged as master to process node infos.
-        if (monitoringHolder.containsKey(monitoringKey)) {
-            monitoringObs = Maybe.just(monitoringHolder.get(monitoringKey));
-        } else {
-            monitoringObs = repository.findByNodeIdAndType(monitoring.getNodeId(), monitoring.getType());
+        PendingWrite pendingWrite = new PendingWrite(monitoring, SingleSubject.create());
+        PendingWrite previous = pendingWrites.put(monitoringKey(monitoring), pendingWrite);
+        if (previous != null) {
+            coalescedWrites.increment();
+            pendingWrite.result().subscribe(previous.result());
         }
+        if (pendingWrites.size() >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        }
+        return pendingWrite.result();
+    }
 
+    private Single<Monitoring> write(final Monitoring monitoring) {
         final Date now = new Date();
-        return monitoringObs
+        return existing(monitoring)
             .flatMap(existing -> {
                 monitoring.setId(existing.getId());
                 monitoring.setCreatedAt(existing.getCreatedAt());
@@ -76,8 +146,94 @@ public class DefaultNodeMonitoringService implements NodeMonitoringService {
                     return repository.create(monitoring);
                 })
             )
-            .doOnSuccess(toCache -> monitoringHolder.put(monitoringKey, toCache))
-            .doFinally(this::cleanupMonitorHolder);
+            .doOnSuccess(toCache -> monitoringHolder.put(monitoringKey(toCache), toCache));
+    }
+
+    /**
+     * Write a batch of the buffered monitoring objects, unless a flush is already in progress.
+     */
+    void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        List<PendingWrite> batch = new ArrayList<>(Math.min(maxBatchSize, pendingWrites.size()));
+        Iterator<String> keys = pendingWrites.keySet().iterator();
+        while (batch.size() < maxBatchSize && keys.hasNext()) {
+            PendingWrite pendingWrite = pendingWrites.remove(keys.next());
+            if (pendingWrite != null) {
+                batch.add(pendingWrite);
+            }
+        }
+        if (batch.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final Date now = new Date();
+        final List<Monitoring> toCreate = new ArrayList<>();
+        final List<Monitoring> toUpdate = new ArrayList<>();
+        Flowable
+            .fromIterable(batch)
+            .concatMapCompletable(pendingWrite -> {
+                Monitoring monitoring = pendingWrite.monitoring();
+                return existing(monitoring)
+                    .doOnSuccess(existing -> {
+                        monitoring.setId(existing.getId());
+                        monitoring.setCreatedAt(existing.getCreatedAt());
+                        monitoring.setUpdatedAt(now);
+                        toUpdate.add(monitoring);
+                    })
+                    .doOnComplete(() -> {
+                        monitoring.setId(UUID.random().toString());
+                        monitoring.setCreatedAt(now);
+                        monitoring.setUpdatedAt(now);
+                        toCreate.add(monitoring);
+                    })
+                    .ignoreElement();
+            })
+            .andThen(Completable.defer(() -> repository.bulkCreateOrUpdate(toCreate, toUpdate)))
+            .doFinally(() -> {
+                recordFlush(batch.size(), System.nanoTime() - start);
+                flushing.set(false);
+                if (pendingWrites.size() >= maxBatchSize || (closed && !pendingWrites.isEmpty())) {
+                    scheduler.execute(this::flush);
+                }
+            })
+            .subscribe(
+                () ->
+                    batch.forEach(pendingWrite -> {
+                        monitoringHolder.put(monitoringKey(pendingWrite.monitoring()), pendingWrite.monitoring());
+                        pendingWrite.result().onSuccess(pendingWrite.monitoring());
+                    }),
+                throwable -> {
+                    LOGGER.warn("Unable to write a batch of {} monitoring objects", batch.size(), throwable);
+                    batch.forEach(pendingWrite -> pendingWrite.result().onError(throwable));
+                }
+            );
+    }
+
+    /**
+     * This part is mainly done for clustering purpose, to ensure all nodes know about each other in the context
+     * of a cluster once they are flagged as master to process node infos.
+     */
+    private Maybe<Monitoring> existing(final Monitoring monitoring) {
+        Monitoring existing = monitoringHolder.get(monitoringKey(monitoring));
+        if (existing != null) {
+            return Maybe.just(existing);
+        }
+        return repository.findByNodeIdAndType(monitoring.getNodeId(), monitoring.getType());
+    }
+
+    private void recordFlush(final int size, final long durationNanos) {
+        if (flushSize != null) {
+            flushSize.record(size);
+            flushDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String monitoringKey(final Monitoring monitoring) {
+        return monitoring.getNodeId() + monitoring.getType();
     }
 
     /**
@@ -96,4 +252,35 @@ public class DefaultNodeMonitoringService implements NodeMonitoringService {
 
         return repository.findByTypeAndTimeFrame(type, from, to);
     }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        flushDuration = Timer.builder("node.monitoring.flush.duration").description("Duration of the flushes").register(registry);
+        flushSize =
+            DistributionSummary
+                .builder("node.monitoring.flush.size")
+                .description("Number of monitoring objects written by a flush")
+                .register(registry);
+        FunctionCounter
+            .builder("node.monitoring.writes.coalesced", coalescedWrites, LongAdder::sum)
+            .description("Writes replaced by a more recent one of the same node before being flushed")
+            .register(registry);
+        Gauge
+            .builder("node.monitoring.writes.pending", pendingWrites, Map::size)
+            .description("Writes waiting for the next flush")
+            .register(registry);
+    }
+
+    /**
+     * Stop the periodic tasks and flush the buffered writes.
+     */
+    public void close() {
+        closed = true;
+        scheduledTasks.forEach(task -> task.cancel(false));
+        if (!pendingWrites.isEmpty()) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    private record PendingWrite(Monitoring monitoring, SingleSubject<Monitoring> result) {}
 }
@@ -17,9 +17,11 @@ package io.gravitee.node.monitoring;
 
 import io.gravitee.node.api.Monitoring;
 import io.gravitee.node.api.NodeMonitoringRepository;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import java.util.Collection;
 
 /**
  * Implementation of {@link NodeMonitoringRepository} which does nothing an can be useful when we don't want to persist monitoring node data.
@@ -43,6 +45,11 @@ public class NoOpNodeMonitoringRepository implements NodeMonitoringRepository {
         return Single.just(monitoring);
     }
 
+    @Override
+    public Completable bulkCreateOrUpdate(Collection<Monitoring> toCreate, Collection<Monitoring> toUpdate) {
+        return Completable.complete();
+    }
+
     @Override
     public Flowable<Monitoring> findByTypeAndTimeFrame(String type, long from, long to) {
         return Flowable.empty();
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.codec;
+
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base of the compact binary codecs of the monitoring payloads. Fields are written in a fixed order after a format version, without
+ * any name nor type descriptor. Integers are written as variable length zig-zag integers so that the small and the -1 default values
+ * take a single byte, and nullable strings and collections are prefixed with their length plus one, 0 standing for <code>null</code>.
+ * <p>
+ * Each codec versions its own format: it writes its current {@link #formatVersion()} and reads all the previous ones, so a member
+ * can read the payloads of the members not upgraded yet. Members must be upgraded before they receive a newer format.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+abstract class AbstractMonitoringCodec<T> implements MessageCodec<T> {
+
+    @Override
+    public void encode(final T message, final DataOutput output) throws IOException {
+        output.writeByte(formatVersion());
+        write(message, output);
+    }
+
+    @Override
+    public T decode(final DataInput input) throws IOException {
+        byte version = input.readByte();
+        if (version < 1 || version > formatVersion()) {
+            throw new IOException("Unsupported format version " + version + " for codec " + id());
+        }
+        return read(input, version);
+    }
+
+    /**
+     * @return the version of the format written by this codec, to bump when the written fields change.
+     */
+    protected byte formatVersion() {
+        return 1;
+    }
+
+    protected abstract void write(final T message, final DataOutput output) throws IOException;
+
+    /**
+     * Read a message written in the given format version, between 1 and {@link #formatVersion()}.
+     */
+    protected abstract T read(final DataInput input, final byte version) throws IOException;
+
+    protected static void writeLong(final DataOutput output, final long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            output.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        output.writeByte((int) zigZag);
+    }
+
+    protected static long readLong(final DataInput input) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    protected static void writeInt(final DataOutput output, final int value) throws IOException {
+        writeLong(output, value);
+    }
+
+    protected static int readInt(final DataInput input) throws IOException {
+        return (int) readLong(input);
+    }
+
+    /**
+     * Write the size of a nullable collection or array, <code>-1</code> standing for <code>null</code>.
+     */
+    protected static void writeSize(final DataOutput output, final int size) throws IOException {
+        writeInt(output, size + 1);
+    }
+
+    /**
+     * @return the size of a nullable collection or array, <code>-1</code> if it is <code>null</code>.
+     */
+    protected static int readSize(final DataInput input) throws IOException {
+        int size = readInt(input) - 1;
+        if (size < -1) {
+            throw new IOException("Malformed size " + size);
+        }
+        return size;
+    }
+
+    protected static void writeString(final DataOutput output, final String value) throws IOException {
+        if (value == null) {
+            writeSize(output, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeSize(output, bytes.length);
+        output.write(bytes);
+    }
+
+    protected static String readString(final DataInput input) throws IOException {
+        int length = readSize(input);
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
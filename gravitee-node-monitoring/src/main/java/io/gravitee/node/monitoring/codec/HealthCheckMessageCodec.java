@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.codec;
+
+import io.gravitee.node.api.healthcheck.HealthCheck;
+import io.gravitee.node.api.healthcheck.Result;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes the evaluation time and duration of the results since the format version 2, and still reads the version 1 without them.
+ *
+ * @author GraviteeSource Team
+ */
+public class HealthCheckMessageCodec extends AbstractMonitoringCodec<HealthCheck> {
+
+    public static final int ID = 1002;
+
+    private static final byte FORMAT_VERSION = 2;
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public Class<HealthCheck> type() {
+        return HealthCheck.class;
+    }
+
+    @Override
+    protected byte formatVersion() {
+        return FORMAT_VERSION;
+    }
+
+    @Override
+    protected void write(final HealthCheck healthCheck, final DataOutput output) throws IOException {
+        output.writeBoolean(healthCheck.isHealthy());
+        writeLong(output, healthCheck.getEvaluatedAt());
+        Map<String, Result> results = healthCheck.getResults();
+        writeSize(output, results == null ? -1 : results.size());
+        if (results != null) {
+            for (Map.Entry<String, Result> result : results.entrySet()) {
+                writeString(output, result.getKey());
+                output.writeBoolean(result.getValue().isHealthy());
+                writeString(output, result.getValue().getMessage());
+                writeNullableLong(output, result.getValue().getEvaluatedAt());
+                writeNullableLong(output, result.getValue().getDurationMs());
+            }
+        }
+    }
+
+    @Override
+    protected HealthCheck read(final DataInput input, final byte version) throws IOException {
+        HealthCheck healthCheck = new HealthCheck();
+        healthCheck.setHealthy(input.readBoolean());
+        healthCheck.setEvaluatedAt(readLong(input));
+        int resultCount = readSize(input);
+        if (resultCount != -1) {
+            Map<String, Result> results = new LinkedHashMap<>();
+            for (int i = 0; i < resultCount; i++) {
+                String probe = readString(input);
+                boolean healthy = input.readBoolean();
+                String message = readString(input);
+                Result result = healthy ? Result.healthy(message) : Result.unhealthy(message);
+                if (version >= 2) {
+                    Long evaluatedAt = readNullableLong(input);
+                    Long durationMs = readNullableLong(input);
+                    if (evaluatedAt != null && durationMs != null) {
+                        result = result.withEvaluation(evaluatedAt, durationMs);
+                    }
+                }
+                results.put(probe, result);
+            }
+            healthCheck.setResults(results);
+        }
+        return healthCheck;
+    }
+
+    /**
+     * Write a nullable non-negative long, <code>-1</code> standing for <code>null</code>.
+     */
+    private static void writeNullableLong(final DataOutput output, final Long value) throws IOException {
+        writeLong(output, value == null ? -1 : value);
+    }
+
+    private static Long readNullableLong(final DataInput input) throws IOException {
+        long value = readLong(input);
+        return value == -1 ? null : value;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.codec;
+
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.api.monitor.OsInfo;
+import io.gravitee.node.api.monitor.ProcessInfo;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MonitorMessageCodec extends AbstractMonitoringCodec<Monitor> {
+
+    public static final int ID = 1003;
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public Class<Monitor> type() {
+        return Monitor.class;
+    }
+
+    @Override
+    protected void write(final Monitor monitor, final DataOutput output) throws IOException {
+        writeString(output, monitor.getNodeId());
+        writeLong(output, monitor.getTimestamp());
+        writeJvm(output, monitor.getJvm());
+        writeOs(output, monitor.getOs());
+        writeProcess(output, monitor.getProcess());
+    }
+
+    @Override
+    protected Monitor read(final DataInput input, final byte version) throws IOException {
+        return Monitor
+            .on(readString(input))
+            .at(readLong(input))
+            .jvm(readJvm(input))
+            .os(readOs(input))
+            .process(readProcess(input))
+            .build();
+    }
+
+    private static void writeJvm(final DataOutput output, final JvmInfo jvm) throws IOException {
+        output.writeBoolean(jvm != null);
+        if (jvm == null) {
+            return;
+        }
+        writeLong(output, jvm.timestamp);
+        writeLong(output, jvm.uptime);
+        output.writeBoolean(jvm.mem != null);
+        if (jvm.mem != null) {
+            writeLong(output, jvm.mem.heapCommitted);
+            writeLong(output, jvm.mem.heapUsed);
+            writeLong(output, jvm.mem.heapMax);
+            writeLong(output, jvm.mem.nonHeapCommitted);
+            writeLong(output, jvm.mem.nonHeapUsed);
+            writeSize(output, jvm.mem.pools == null ? -1 : jvm.mem.pools.length);
+            if (jvm.mem.pools != null) {
+                for (JvmInfo.MemoryPool pool : jvm.mem.pools) {
+                    writeString(output, pool.name);
+                    writeLong(output, pool.used);
+                    writeLong(output, pool.max);
+                    writeLong(output, pool.peakUsed);
+                    writeLong(output, pool.peakMax);
+                }
+            }
+        }
+        output.writeBoolean(jvm.threads != null);
+        if (jvm.threads != null) {
+            writeInt(output, jvm.threads.count);
+            writeInt(output, jvm.threads.peakCount);
+        }
+        output.writeBoolean(jvm.gc != null);
+        if (jvm.gc != null) {
+            writeSize(output, jvm.gc.collectors == null ? -1 : jvm.gc.collectors.length);
+            if (jvm.gc.collectors != null) {
+                for (JvmInfo.GarbageCollector collector : jvm.gc.collectors) {
+                    writeString(output, collector.name);
+                    writeLong(output, collector.collectionCount);
+                    writeLong(output, collector.collectionTime);
+                }
+            }
+        }
+    }
+
+    private static JvmInfo readJvm(final DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        JvmInfo jvm = new JvmInfo(readLong(input), readLong(input));
+        if (input.readBoolean()) {
+            jvm.mem = new JvmInfo.Mem();
+            jvm.mem.heapCommitted = readLong(input);
+            jvm.mem.heapUsed = readLong(input);
+            jvm.mem.heapMax = readLong(input);
+            jvm.mem.nonHeapCommitted = readLong(input);
+            jvm.mem.nonHeapUsed = readLong(input);
+            int poolCount = readSize(input);
+            jvm.mem.pools = poolCount == -1 ? null : new JvmInfo.MemoryPool[poolCount];
+            for (int i = 0; i < poolCount; i++) {
+                jvm.mem.pools[i] =
+                    new JvmInfo.MemoryPool(readString(input), readLong(input), readLong(input), readLong(input), readLong(input));
+            }
+        }
+        if (input.readBoolean()) {
+            jvm.threads = new JvmInfo.Threads();
+            jvm.threads.count = readInt(input);
+            jvm.threads.peakCount = readInt(input);
+        }
+        if (input.readBoolean()) {
+            jvm.gc = new JvmInfo.GarbageCollectors();
+            int collectorCount = readSize(input);
+            jvm.gc.collectors = collectorCount == -1 ? null : new JvmInfo.GarbageCollector[collectorCount];
+            for (int i = 0; i < collectorCount; i++) {
+                JvmInfo.GarbageCollector collector = new JvmInfo.GarbageCollector();
+                collector.name = readString(input);
+                collector.collectionCount = readLong(input);
+                collector.collectionTime = readLong(input);
+                jvm.gc.collectors[i] = collector;
+            }
+        }
+        return jvm;
+    }
+
+    private static void writeOs(final DataOutput output, final OsInfo os) throws IOException {
+        output.writeBoolean(os != null);
+        if (os == null) {
+            return;
+        }
+        writeLong(output, os.timestamp);
+        output.writeBoolean(os.cpu != null);
+        if (os.cpu != null) {
+            writeInt(output, os.cpu.percent);
+            writeSize(output, os.cpu.loadAverage == null ? -1 : os.cpu.loadAverage.length);
+            if (os.cpu.loadAverage != null) {
+                for (double loadAverage : os.cpu.loadAverage) {
+                    output.writeDouble(loadAverage);
+                }
+            }
+        }
+        output.writeBoolean(os.mem != null);
+        if (os.mem != null) {
+            writeLong(output, os.mem.total);
+            writeLong(output, os.mem.free);
+        }
+        output.writeBoolean(os.swap != null);
+        if (os.swap != null) {
+            writeLong(output, os.swap.total);
+            writeLong(output, os.swap.free);
+        }
+    }
+
+    private static OsInfo readOs(final DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        OsInfo os = new OsInfo();
+        os.timestamp = readLong(input);
+        if (input.readBoolean()) {
+            os.cpu = new OsInfo.Cpu();
+            os.cpu.percent = (short) readInt(input);
+            int loadAverageCount = readSize(input);
+            os.cpu.loadAverage = loadAverageCount == -1 ? null : new double[loadAverageCount];
+            for (int i = 0; i < loadAverageCount; i++) {
+                os.cpu.loadAverage[i] = input.readDouble();
+            }
+        }
+        if (input.readBoolean()) {
+            os.mem = new OsInfo.Mem();
+            os.mem.total = readLong(input);
+            os.mem.free = readLong(input);
+        }
+        if (input.readBoolean()) {
+            os.swap = new OsInfo.Swap();
+            os.swap.total = readLong(input);
+            os.swap.free = readLong(input);
+        }
+        return os;
+    }
+
+    private static void writeProcess(final DataOutput output, final ProcessInfo process) throws IOException {
+        output.writeBoolean(process != null);
+        if (process == null) {
+            return;
+        }
+        writeLong(output, process.timestamp);
+        writeLong(output, process.openFileDescriptors);
+        writeLong(output, process.maxFileDescriptors);
+        output.writeBoolean(process.cpu != null);
+        if (process.cpu != null) {
+            writeInt(output, process.cpu.percent);
+            writeLong(output, process.cpu.total);
+        }
+        output.writeBoolean(process.mem != null);
+        if (process.mem != null) {
+            writeLong(output, process.mem.totalVirtual);
+        }
+    }
+
+    private static ProcessInfo readProcess(final DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        ProcessInfo process = new ProcessInfo();
+        process.timestamp = readLong(input);
+        process.openFileDescriptors = readLong(input);
+        process.maxFileDescriptors = readLong(input);
+        if (input.readBoolean()) {
+            process.cpu = new ProcessInfo.Cpu();
+            process.cpu.percent = (short) readInt(input);
+            process.cpu.total = readLong(input);
+        }
+        if (input.readBoolean()) {
+            process.mem = new ProcessInfo.Mem();
+            process.mem.totalVirtual = readLong(input);
+        }
+        return process;
+    }
+}
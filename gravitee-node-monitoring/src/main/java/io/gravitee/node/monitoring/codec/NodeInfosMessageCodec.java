@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.codec;
+
+import io.gravitee.node.api.infos.NodeInfos;
+import io.gravitee.node.api.infos.NodeStatus;
+import io.gravitee.node.api.infos.PluginInfos;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class NodeInfosMessageCodec extends AbstractMonitoringCodec<NodeInfos> {
+
+    public static final int ID = 1001;
+
+    private static final NodeStatus[] STATUSES = NodeStatus.values();
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public Class<NodeInfos> type() {
+        return NodeInfos.class;
+    }
+
+    @Override
+    protected void write(final NodeInfos nodeInfos, final DataOutput output) throws IOException {
+        writeString(output, nodeInfos.getId());
+        writeString(output, nodeInfos.getName());
+        writeString(output, nodeInfos.getApplication());
+        writeLong(output, nodeInfos.getEvaluatedAt());
+        writeInt(output, nodeInfos.getStatus() == null ? -1 : nodeInfos.getStatus().ordinal());
+        writeString(output, nodeInfos.getVersion());
+        writeString(output, nodeInfos.getJdkVersion());
+        List<String> tags = nodeInfos.getTags();
+        writeSize(output, tags == null ? -1 : tags.size());
+        if (tags != null) {
+            for (String tag : tags) {
+                writeString(output, tag);
+            }
+        }
+        writeString(output, nodeInfos.getHostname());
+        writeString(output, nodeInfos.getIp());
+        writeInt(output, nodeInfos.getPort());
+        writeString(output, nodeInfos.getTenant());
+        Set<PluginInfos> plugins = nodeInfos.getPluginInfos();
+        writeSize(output, plugins == null ? -1 : plugins.size());
+        if (plugins != null) {
+            for (PluginInfos plugin : plugins) {
+                writeString(output, plugin.getId());
+                writeString(output, plugin.getName());
+                writeString(output, plugin.getDescription());
+                writeString(output, plugin.getVersion());
+                writeString(output, plugin.getPlugin());
+                writeString(output, plugin.getType());
+            }
+        }
+    }
+
+    @Override
+    protected NodeInfos read(final DataInput input, final byte version) throws IOException {
+        NodeInfos nodeInfos = new NodeInfos();
+        nodeInfos.setId(readString(input));
+        nodeInfos.setName(readString(input));
+        nodeInfos.setApplication(readString(input));
+        nodeInfos.setEvaluatedAt(readLong(input));
+        int status = readInt(input);
+        nodeInfos.setStatus(status == -1 ? null : STATUSES[status]);
+        nodeInfos.setVersion(readString(input));
+        nodeInfos.setJdkVersion(readString(input));
+        int tagCount = readSize(input);
+        if (tagCount != -1) {
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(readString(input));
+            }
+            nodeInfos.setTags(tags);
+        }
+        nodeInfos.setHostname(readString(input));
+        nodeInfos.setIp(readString(input));
+        nodeInfos.setPort(readInt(input));
+        nodeInfos.setTenant(readString(input));
+        int pluginCount = readSize(input);
+        if (pluginCount != -1) {
+            Set<PluginInfos> plugins = new HashSet<>();
+            for (int i = 0; i < pluginCount; i++) {
+                PluginInfos plugin = new PluginInfos();
+                plugin.setId(readString(input));
+                plugin.setName(readString(input));
+                plugin.setDescription(readString(input));
+                plugin.setVersion(readString(input));
+                plugin.setPlugin(readString(input));
+                plugin.setType(readString(input));
+                plugins.add(plugin);
+            }
+            nodeInfos.setPluginInfos(plugins);
+        }
+        return nodeInfos;
+    }
+}
@@ -26,10 +26,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Event bus codec encoding the messages with Java serialization.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
  * @author GraviteeSource Team
+ * @deprecated the monitoring codecs extend {@link io.gravitee.node.vertx.eventbus.BinaryMessageCodec}, which still decodes the
+ * messages encoded by this codec. It will be removed in the next major version.
  */
+@Deprecated(forRemoval = true)
 abstract class AbstractCodec<T> implements MessageCodec<T, T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCodec.class);
@@ -16,18 +16,25 @@
 package io.gravitee.node.monitoring.eventbus;
 
 import io.gravitee.node.api.healthcheck.HealthCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.gravitee.node.monitoring.codec.HealthCheckMessageCodec;
+import io.gravitee.node.vertx.eventbus.BinaryMessageCodec;
 
 /**
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class HealthCheckCodec extends AbstractCodec<HealthCheck> {
+public class HealthCheckCodec extends BinaryMessageCodec<HealthCheck> {
 
     public static final String CODEC_NAME = "gio:bus:codec:node_healthcheck";
 
     public HealthCheckCodec() {
-        super(CODEC_NAME);
+        this(true);
+    }
+
+    /**
+     * @param encodingEnabled <code>false</code> to send the messages with Java serialization, for the nodes which can't decode them.
+     */
+    public HealthCheckCodec(final boolean encodingEnabled) {
+        super(CODEC_NAME, new HealthCheckMessageCodec(), encodingEnabled);
     }
 }
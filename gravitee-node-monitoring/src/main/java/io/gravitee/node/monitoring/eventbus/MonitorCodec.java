@@ -16,24 +16,25 @@
 package io.gravitee.node.monitoring.eventbus;
 
 import io.gravitee.node.api.monitor.Monitor;
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.MessageCodec;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.gravitee.node.monitoring.codec.MonitorMessageCodec;
+import io.gravitee.node.vertx.eventbus.BinaryMessageCodec;
 
 /**
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class MonitorCodec extends AbstractCodec<Monitor> {
+public class MonitorCodec extends BinaryMessageCodec<Monitor> {
 
     public static final String CODEC_NAME = "gio:bus:codec:node_monitor";
 
     public MonitorCodec() {
-        super(CODEC_NAME);
+        this(true);
+    }
+
+    /**
+     * @param encodingEnabled <code>false</code> to send the messages with Java serialization, for the nodes which can't decode them.
+     */
+    public MonitorCodec(final boolean encodingEnabled) {
+        super(CODEC_NAME, new MonitorMessageCodec(), encodingEnabled);
     }
 }
@@ -16,16 +16,25 @@
 package io.gravitee.node.monitoring.eventbus;
 
 import io.gravitee.node.api.infos.NodeInfos;
+import io.gravitee.node.monitoring.codec.NodeInfosMessageCodec;
+import io.gravitee.node.vertx.eventbus.BinaryMessageCodec;
 
 /**
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class NodeInfosCodec extends AbstractCodec<NodeInfos> {
+public class NodeInfosCodec extends BinaryMessageCodec<NodeInfos> {
 
     public static final String CODEC_NAME = "gio:bus:codec:node_infos";
 
     public NodeInfosCodec() {
-        super(CODEC_NAME);
+        this(true);
+    }
+
+    /**
+     * @param encodingEnabled <code>false</code> to send the messages with Java serialization, for the nodes which can't decode them.
+     */
+    public NodeInfosCodec(final boolean encodingEnabled) {
+        super(CODEC_NAME, new NodeInfosMessageCodec(), encodingEnabled);
     }
 }
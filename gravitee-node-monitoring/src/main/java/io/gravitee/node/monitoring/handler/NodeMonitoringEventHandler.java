@@ -21,24 +21,32 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.Monitoring;
 import io.gravitee.node.api.Node;
 import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.cluster.LeadershipListener;
 import io.gravitee.node.api.cluster.messaging.Topic;
 import io.gravitee.node.api.healthcheck.HealthCheck;
 import io.gravitee.node.api.infos.NodeInfos;
 import io.gravitee.node.api.monitor.Monitor;
 import io.gravitee.node.monitoring.NodeMonitoringService;
+import io.gravitee.node.monitoring.codec.HealthCheckMessageCodec;
+import io.gravitee.node.monitoring.codec.MonitorMessageCodec;
+import io.gravitee.node.monitoring.codec.NodeInfosMessageCodec;
 import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
 import io.gravitee.node.monitoring.infos.NodeInfosService;
 import io.gravitee.node.monitoring.monitor.NodeMonitorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.reactivex.rxjava3.core.Completable;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.micrometer.backends.BackendRegistries;
 import java.util.Date;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * This handler is responsible to listen to all produced monitoring events and persist them.
- * Persistence is done only on primary node.
+ * Persistence is done only on the node leading the {@link #LEADERSHIP_GROUP}.
+ * Events are exchanged across the cluster with the compact binary codecs of the monitoring payloads.
  *
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
@@ -47,6 +55,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEventHandler> {
 
+    static final String LEADERSHIP_GROUP = "node-monitoring";
+
     private final Vertx vertx;
     private final ClusterManager clusterManager;
     private final ObjectMapper objectMapper;
@@ -61,20 +71,31 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
     private MessageConsumer<NodeInfos> nodeInfosMessageConsumer;
     private MessageConsumer<HealthCheck> healthCheckMessageConsumer;
     private MessageConsumer<Monitor> monitorMessageConsumer;
+    private final MonitoringLeadershipListener leadershipListener = new MonitoringLeadershipListener();
+    private volatile boolean leader;
 
     @Override
     protected void doStart() throws Exception {
         super.doStart();
+        clusterManager.addLeadershipListener(LEADERSHIP_GROUP, leadershipListener);
         registerClusterListener();
         registerInternalListener();
+
+        MeterRegistry registry = BackendRegistries.getDefaultNow();
+        if (registry != null && nodeMonitoringService instanceof MeterBinder meterBinder) {
+            meterBinder.bindTo(registry);
+        }
     }
 
     private void registerClusterListener() {
+        clusterManager.registerCodec(new NodeInfosMessageCodec());
+        clusterManager.registerCodec(new HealthCheckMessageCodec());
+        clusterManager.registerCodec(new MonitorMessageCodec());
         nodeInfosTopic = clusterManager.topic("node-infos");
         nodeInfoSubscription =
             nodeInfosTopic.addMessageListener(message -> {
                 log.debug("Received node infos message from cluster");
-                if (clusterManager.self().primary()) {
+                if (leader) {
                     log.debug("Processing node infos message");
                     nodeMonitoringService
                         .createOrUpdate(convert(message.content()))
@@ -90,7 +111,7 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
         healthCheckSubscription =
             healthCheckTopic.addMessageListener(message -> {
                 log.debug("Received health check message from cluster");
-                if (clusterManager.self().primary()) {
+                if (leader) {
                     log.debug("Processing health check message");
                     nodeMonitoringService
                         .createOrUpdate(convert(message.content()))
@@ -106,7 +127,7 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
         monitorSubscriptionId =
             monitorTopic.addMessageListener(message -> {
                 log.debug("Received monitor message from cluster");
-                if (clusterManager.self().primary()) {
+                if (leader) {
                     log.debug("Processing monitor message");
                     nodeMonitoringService
                         .createOrUpdate(convert(message.content()))
@@ -167,6 +188,7 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
         }
 
         if (clusterManager != null) {
+            clusterManager.removeLeadershipListener(LEADERSHIP_GROUP, leadershipListener);
             monitorTopic.removeMessageListener(nodeInfoSubscription);
             monitorTopic.removeMessageListener(healthCheckSubscription);
             monitorTopic.removeMessageListener(monitorSubscriptionId);
@@ -211,4 +233,19 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
 
         return monitoring;
     }
+
+    private class MonitoringLeadershipListener implements LeadershipListener {
+
+        @Override
+        public void onElected(final String group) {
+            log.debug("Monitoring events are now persisted by this node");
+            leader = true;
+        }
+
+        @Override
+        public void onRevoked(final String group) {
+            log.debug("Monitoring events are no longer persisted by this node");
+            leader = false;
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.healthcheck;
+
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Scheduling options of the health-check probes: the number of threads evaluating them and, for each probe, the maximum time
+ * its evaluation can take, the interval between two evaluations and the age after which its result is considered stale.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+@Builder
+public class HealthCheckOptions {
+
+    public static final int DEFAULT_THREADS = 2;
+    public static final long DEFAULT_TIMEOUT_MS = 3000;
+    public static final long DEFAULT_INTERVAL_MS = 5000;
+    public static final long DEFAULT_MAX_AGE_MS = 15000;
+
+    @Builder.Default
+    private final int threads = DEFAULT_THREADS;
+
+    @Builder.Default
+    private final long timeoutMs = DEFAULT_TIMEOUT_MS;
+
+    @Builder.Default
+    private final long intervalMs = DEFAULT_INTERVAL_MS;
+
+    /**
+     * Age after which the result of a probe is re-evaluated before being served by the health endpoint.
+     */
+    @Builder.Default
+    private final long maxAgeMs = DEFAULT_MAX_AGE_MS;
+
+    /**
+     * Timeouts overriding {@link #timeoutMs}, by probe id.
+     */
+    @Builder.Default
+    private final Map<String, Long> probeTimeoutsMs = Map.of();
+
+    /**
+     * Intervals overriding {@link #intervalMs}, by probe id.
+     */
+    @Builder.Default
+    private final Map<String, Long> probeIntervalsMs = Map.of();
+
+    public long timeoutMs(final String probeId) {
+        return probeTimeoutsMs.getOrDefault(probeId, timeoutMs);
+    }
+
+    public long intervalMs(final String probeId) {
+        return probeIntervalsMs.getOrDefault(probeId, intervalMs);
+    }
+}
@@ -25,9 +25,12 @@ import io.gravitee.common.http.MediaType;
 import io.gravitee.node.api.healthcheck.Probe;
 import io.gravitee.node.api.healthcheck.Result;
 import io.gravitee.node.management.http.endpoint.ManagementEndpoint;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.ext.web.RoutingContext;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -47,6 +50,8 @@ public class NodeHealthCheckManagementEndpoint implements ManagementEndpoint {
 
     public static final String PROBE_FILTER = "probes";
 
+    public static final String REFRESH_PARAM = "refresh";
+
     public NodeHealthCheckManagementEndpoint() {
         objectMapper = DatabindCodec.prettyMapper();
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -64,20 +69,43 @@ public class NodeHealthCheckManagementEndpoint implements ManagementEndpoint {
 
     @Override
     public void handle(RoutingContext ctx) {
-        Map<Probe, Result> probes = registry
+        List<Probe> probes = registry
             .getResults()
-            .entrySet()
+            .keySet()
             .stream()
-            .filter(entry ->
+            .filter(probe ->
                 ctx.queryParams().contains(PROBE_FILTER)
-                    ? ctx.queryParams().get(PROBE_FILTER).contains(entry.getKey().id())
-                    : entry.getKey().isVisibleByDefault()
+                    ? ctx.queryParams().get(PROBE_FILTER).contains(probe.id())
+                    : probe.isVisibleByDefault()
             )
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            .collect(Collectors.toList());
+
+        // Stale results are re-evaluated before being returned, all of them when a refresh is explicitly requested.
+        boolean refresh = Boolean.parseBoolean(ctx.queryParams().get(REFRESH_PARAM));
+        Context context = Vertx.currentContext();
+
+        registry
+            .refresh(probes, refresh)
+            .whenComplete((results, throwable) -> {
+                if (context != null) {
+                    context.runOnContext(v -> writeResults(ctx, results, throwable));
+                } else {
+                    writeResults(ctx, results, throwable);
+                }
+            });
+    }
+
+    private void writeResults(RoutingContext ctx, Map<Probe, Result> probes, Throwable throwable) {
+        HttpServerResponse response = ctx.response();
+
+        if (throwable != null) {
+            LOGGER.warn("Unable to evaluate health check probes.", throwable);
+            response.setStatusCode(HttpStatusCode.INTERNAL_SERVER_ERROR_500).end();
+            return;
+        }
 
         boolean healthyProbe = probes.values().stream().allMatch(Result::isHealthy);
 
-        HttpServerResponse response = ctx.response();
         response.setStatusCode(healthyProbe ? HttpStatusCode.OK_200 : HttpStatusCode.INTERNAL_SERVER_ERROR_500);
         response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
         response.setChunked(true);
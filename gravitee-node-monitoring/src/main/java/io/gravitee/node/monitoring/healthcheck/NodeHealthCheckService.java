@@ -16,7 +16,9 @@
 package io.gravitee.node.monitoring.healthcheck;
 
 import io.gravitee.common.service.AbstractService;
+import io.gravitee.node.api.configuration.Configuration;
 import io.gravitee.node.api.healthcheck.HealthCheck;
+import io.gravitee.node.api.healthcheck.Probe;
 import io.gravitee.node.api.healthcheck.ProbeManager;
 import io.gravitee.node.management.http.endpoint.ManagementEndpointManager;
 import io.gravitee.node.monitoring.eventbus.HealthCheckCodec;
@@ -28,6 +30,9 @@ import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.MessageProducer;
 import io.vertx.core.tracing.TracingPolicy;
 import io.vertx.micrometer.backends.BackendRegistries;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -50,12 +55,17 @@ public class NodeHealthCheckService extends AbstractService {
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private Configuration configuration;
+
     private long metricsPollerId = -1;
 
     private static final long NODE_CHECKER_DELAY = 5000;
 
     private MessageProducer<HealthCheck> producer;
 
+    private NodeHealthCheckThread statusRegistry;
+
     @Override
     protected void doStart() throws Exception {
         super.doStart();
@@ -63,14 +73,15 @@ public class NodeHealthCheckService extends AbstractService {
         producer =
             vertx
                 .eventBus()
-                .registerCodec(new HealthCheckCodec())
+                .registerCodec(new HealthCheckCodec(messageCodecsEnabled()))
                 .sender(
                     GIO_NODE_HEALTHCHECK_BUS,
                     new DeliveryOptions().setTracingPolicy(TracingPolicy.IGNORE).setCodecName(HealthCheckCodec.CODEC_NAME)
                 );
 
         // Poll data
-        NodeHealthCheckThread statusRegistry = new NodeHealthCheckThread(probeManager.getProbes(), producer);
+        List<Probe> probes = probeManager.getProbes();
+        statusRegistry = new NodeHealthCheckThread(probes, producer, healthCheckOptions(probes));
 
         applicationContext.getAutowireCapableBeanFactory().autowireBean(statusRegistry);
 
@@ -97,6 +108,39 @@ public class NodeHealthCheckService extends AbstractService {
         if (producer != null) {
             producer.close();
         }
+
+        if (statusRegistry != null) {
+            statusRegistry.close();
+        }
+    }
+
+    private HealthCheckOptions healthCheckOptions(List<Probe> probes) {
+        Map<String, Long> probeTimeouts = new HashMap<>();
+        Map<String, Long> probeIntervals = new HashMap<>();
+        for (Probe probe : probes) {
+            Long timeout = configuration.getProperty("services.health.probes." + probe.id() + ".timeout", Long.class);
+            if (timeout != null) {
+                probeTimeouts.put(probe.id(), timeout);
+            }
+            Long interval = configuration.getProperty("services.health.probes." + probe.id() + ".interval", Long.class);
+            if (interval != null) {
+                probeIntervals.put(probe.id(), interval);
+            }
+        }
+
+        return HealthCheckOptions
+            .builder()
+            .threads(configuration.getProperty("services.health.threads", Integer.class, HealthCheckOptions.DEFAULT_THREADS))
+            .timeoutMs(configuration.getProperty("services.health.timeout", Long.class, HealthCheckOptions.DEFAULT_TIMEOUT_MS))
+            .intervalMs(NODE_CHECKER_DELAY)
+            .maxAgeMs(configuration.getProperty("services.health.maxAge", Long.class, HealthCheckOptions.DEFAULT_MAX_AGE_MS))
+            .probeTimeoutsMs(probeTimeouts)
+            .probeIntervalsMs(probeIntervals)
+            .build();
+    }
+
+    private boolean messageCodecsEnabled() {
+        return configuration.getProperty("services.eventbus.message-codecs.enabled", Boolean.class, true);
     }
 
     @Override
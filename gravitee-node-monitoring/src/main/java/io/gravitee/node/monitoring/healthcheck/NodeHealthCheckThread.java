@@ -24,17 +24,44 @@ import io.gravitee.node.api.healthcheck.HealthCheck;
 import io.gravitee.node.api.healthcheck.Probe;
 import io.gravitee.node.api.healthcheck.Result;
 import io.gravitee.plugin.alert.AlertEventProducer;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageProducer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
+ * Evaluate the health-check probes and publish their results.
+ *
+ * <p>
+ * The probes are evaluated in parallel on a dedicated pool of threads, each one at its own interval and within its own timeout,
+ * a probe exceeding its timeout being reported as unhealthy and the thread blocked by it interrupted. The evaluations of a same
+ * probe are coalesced: a probe is never evaluated twice concurrently, the callers asking for it while it is evaluated share the
+ * pending result, and a probe still running after its timeout keeps its unhealthy result until it completes, or until
+ * {@value #STALLED_PROBE_TIMEOUTS} times its timeout have elapsed so that a probe whose check never completes is evaluated again.
+ * The health-check is published once all the probes evaluated during a tick have completed.
+ * </p>
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -42,40 +69,128 @@ public class NodeHealthCheckThread implements Handler<Long> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NodeHealthCheckThread.class);
 
+    /**
+     * Tolerance applied on the interval of the probes so that a timer firing slightly early does not delay an evaluation by a
+     * whole tick.
+     */
+    private static final long INTERVAL_TOLERANCE_MS = 500;
+
+    /**
+     * Number of timeouts after which a probe which timed out but is still running is evaluated again anyway.
+     */
+    static final int STALLED_PROBE_TIMEOUTS = 10;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
     @Autowired
     private AlertEventProducer eventProducer;
 
     @Autowired
     private Node node;
 
-    private long timestamp;
+    private volatile long timestamp;
 
     private final Map<Probe, Result> results;
 
+    private final Map<Probe, ProbeEvaluation> evaluations;
+
     private final MessageProducer<HealthCheck> producer;
 
+    private final HealthCheckOptions options;
+
+    private final ExecutorService executor;
+
     public NodeHealthCheckThread(List<Probe> probes, MessageProducer<HealthCheck> producer) {
-        this.results = probes.stream().collect(Collectors.toMap(probe -> probe, probe -> Result.notReady()));
+        this(probes, producer, HealthCheckOptions.builder().build());
+    }
+
+    public NodeHealthCheckThread(List<Probe> probes, MessageProducer<HealthCheck> producer, HealthCheckOptions options) {
         this.producer = producer;
+        this.options = options;
+        this.results = new ConcurrentHashMap<>();
+        this.evaluations = new LinkedHashMap<>();
+        for (Probe probe : probes) {
+            results.put(probe, Result.notReady());
+            evaluations.put(probe, new ProbeEvaluation(probe));
+        }
+        this.executor =
+            Executors.newFixedThreadPool(
+                Math.max(1, options.getThreads()),
+                r -> {
+                    Thread thread = new Thread(r, "gio-health-probe-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
     }
 
     @Override
     public void handle(Long tick) {
-        this.timestamp = System.currentTimeMillis();
+        final long now = System.currentTimeMillis();
+        final List<CompletableFuture<Result>> pending = new ArrayList<>();
 
-        for (Map.Entry<Probe, Result> probe : results.entrySet()) {
-            try {
-                probe.getKey().check().thenAccept(probe::setValue);
-            } catch (Exception ex) {
-                LOGGER.error(
-                    "An error occurred when trying to evaluate health check probe {}. Switching probe to unhealthy.",
-                    probe.getKey(),
-                    ex
-                );
-                probe.setValue(Result.unhealthy(ex));
+        for (ProbeEvaluation evaluation : evaluations.values()) {
+            if (evaluation.isDue(now)) {
+                pending.add(evaluation.evaluate());
             }
         }
 
+        // Publish from the context of the timer once all the probes have been evaluated, without blocking it in the meantime.
+        final Context context = Vertx.currentContext();
+        CompletableFuture
+            .allOf(pending.toArray(new CompletableFuture[0]))
+            .whenComplete((ignore, throwable) -> {
+                if (context != null) {
+                    context.runOnContext(v -> publish());
+                } else {
+                    publish();
+                }
+            });
+    }
+
+    /**
+     * Evaluate the given probes if their result is older than the configured max age, or in any case when <code>force</code> is
+     * set. Probes already being evaluated are not evaluated again, the pending evaluation is awaited instead.
+     *
+     * @param probes the probes to refresh.
+     * @param force flag indicating if the probes must be evaluated even if their result is still fresh.
+     * @return the results of the given probes, once refreshed.
+     */
+    public CompletableFuture<Map<Probe, Result>> refresh(Collection<Probe> probes, boolean force) {
+        final long now = System.currentTimeMillis();
+        final List<CompletableFuture<Result>> pending = new ArrayList<>();
+
+        for (Probe probe : probes) {
+            ProbeEvaluation evaluation = evaluations.get(probe);
+            if (evaluation != null && (force || evaluation.isStale(now))) {
+                pending.add(evaluation.evaluate());
+            }
+        }
+
+        return CompletableFuture
+            .allOf(pending.toArray(new CompletableFuture[0]))
+            .handle((ignore, throwable) -> {
+                Map<Probe, Result> refreshed = new LinkedHashMap<>();
+                for (Probe probe : probes) {
+                    Result result = results.get(probe);
+                    if (result != null) {
+                        refreshed.put(probe, result);
+                    }
+                }
+                return refreshed;
+            });
+    }
+
+    /**
+     * Stop the threads evaluating the probes.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void publish() {
+        this.timestamp = System.currentTimeMillis();
+
         // We want to propagate health-check with visible probes only.
         final HealthCheck healthCheck = getHealthCheck(true);
         producer.write(healthCheck);
@@ -132,4 +247,135 @@ public class NodeHealthCheckThread implements Handler<Long> {
     public Map<Probe, Result> getResults() {
         return results;
     }
+
+    private final class ProbeEvaluation {
+
+        private final Probe probe;
+        private final long timeoutMs;
+        private final long intervalMs;
+
+        private CompletableFuture<Result> inFlight;
+        private CompletableFuture<Void> running;
+        private long lastStartedAt = Long.MIN_VALUE;
+
+        private ProbeEvaluation(Probe probe) {
+            this.probe = probe;
+            this.timeoutMs = options.timeoutMs(probe.id());
+            this.intervalMs = options.intervalMs(probe.id());
+        }
+
+        private synchronized boolean isDue(long now) {
+            return lastStartedAt == Long.MIN_VALUE || now - lastStartedAt >= intervalMs - INTERVAL_TOLERANCE_MS;
+        }
+
+        private boolean isStale(long now) {
+            Long evaluatedAt = results.get(probe).getEvaluatedAt();
+            return evaluatedAt == null || now - evaluatedAt > options.getMaxAgeMs();
+        }
+
+        private synchronized CompletableFuture<Result> evaluate() {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            if (running != null && !running.isDone()) {
+                // The previous evaluation timed out but still holds a thread, keep its result rather than piling up evaluations.
+                LOGGER.debug("Health check probe {} is still running, skipping its evaluation.", probe.id());
+                return CompletableFuture.completedFuture(results.get(probe));
+            }
+
+            final long startedAt = System.currentTimeMillis();
+            final long start = System.nanoTime();
+            lastStartedAt = startedAt;
+
+            final CompletableFuture<Result> evaluation = new CompletableFuture<>();
+            final CompletableFuture<Void> settled = new CompletableFuture<>();
+            final AtomicBoolean started = new AtomicBoolean();
+            Future<?> task;
+            try {
+                task =
+                    executor.submit(() -> {
+                        if (started.compareAndSet(false, true)) {
+                            check()
+                                .whenComplete((result, throwable) -> {
+                                    settled.complete(null);
+                                    if (throwable != null) {
+                                        evaluation.completeExceptionally(throwable);
+                                    } else {
+                                        evaluation.complete(result);
+                                    }
+                                });
+                        }
+                    });
+            } catch (Exception ex) {
+                task = null;
+                settled.complete(null);
+                evaluation.completeExceptionally(ex);
+            }
+            running = settled;
+
+            final Future<?> submitted = task;
+            final CompletableFuture<Result> future = evaluation
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, throwable) -> {
+                    if (throwable instanceof TimeoutException) {
+                        cancel(submitted, started, settled);
+                    }
+                })
+                .exceptionally(this::failure)
+                .thenApply(result -> {
+                    Result evaluated = result.withEvaluation(startedAt, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    results.put(probe, evaluated);
+                    return evaluated;
+                });
+
+            inFlight = future;
+            future.whenComplete((result, throwable) -> completed(future));
+            return future;
+        }
+
+        /**
+         * Cancel an evaluation which timed out: it is not started anymore if it is still queued, otherwise the thread blocked by the
+         * probe is interrupted. A check which doesn't settle anyway, e.g. an asynchronous one whose stage never completes, is
+         * abandoned once {@link #STALLED_PROBE_TIMEOUTS} timeouts have elapsed.
+         */
+        private void cancel(Future<?> task, AtomicBoolean started, CompletableFuture<Void> settled) {
+            if (started.compareAndSet(false, true)) {
+                settled.complete(null);
+            } else {
+                if (task != null) {
+                    task.cancel(true);
+                }
+                settled.completeOnTimeout(null, (STALLED_PROBE_TIMEOUTS - 1) * timeoutMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private CompletionStage<Result> check() {
+            try {
+                CompletionStage<Result> check = probe.check();
+                return check != null ? check : CompletableFuture.completedFuture(Result.unhealthy("No result returned by the probe"));
+            } catch (Exception ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+
+        private Result failure(Throwable throwable) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof TimeoutException) {
+                LOGGER.warn("Health check probe {} did not complete within {} ms. Switching probe to unhealthy.", probe.id(), timeoutMs);
+                return Result.unhealthy("Probe did not complete within %d ms", timeoutMs);
+            }
+            LOGGER.error(
+                "An error occurred when trying to evaluate health check probe {}. Switching probe to unhealthy.",
+                probe.id(),
+                cause
+            );
+            return Result.unhealthy(cause);
+        }
+
+        private synchronized void completed(CompletableFuture<Result> future) {
+            if (inFlight == future) {
+                inFlight = null;
+            }
+        }
+    }
 }
@@ -42,10 +42,11 @@ public class NodeHealthCheckMicrometerHandler implements MeterBinder {
 
     @Override
     public void bindTo(@NonNull MeterRegistry registry) {
-        for (Map.Entry<Probe, Result> entry : statusRegistry.getResults().entrySet()) {
+        final Map<Probe, Result> results = statusRegistry.getResults();
+        for (Probe probe : results.keySet()) {
             Gauge
-                .builder("node", entry, e -> e.getValue().isHealthy() ? 1 : 0)
-                .tag("probe", entry.getKey().id())
+                .builder("node", probe, p -> results.get(p).isHealthy() ? 1 : 0)
+                .tag("probe", probe.id())
                 .description("The health-check probes of the node")
                 .baseUnit("health")
                 .register(registry);
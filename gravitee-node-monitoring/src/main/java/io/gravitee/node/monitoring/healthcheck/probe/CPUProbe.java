@@ -44,7 +44,7 @@ public class CPUProbe implements Probe {
     @Override
     public CompletableFuture<Result> check() {
         try {
-            return CompletableFuture.supplyAsync(() ->
+            return CompletableFuture.completedFuture(
                 ProcessProbe.getInstance().getProcessCpuPercent() < threshold()
                     ? Result.healthy()
                     : Result.unhealthy(String.format("CPU percent is over the threshold of %d %%", threshold()))
@@ -44,7 +44,7 @@ public class MemoryProbe implements Probe {
     @Override
     public CompletableFuture<Result> check() {
         try {
-            return CompletableFuture.supplyAsync(() ->
+            return CompletableFuture.completedFuture(
                 JvmProbe.getInstance().jvmInfo().mem.getHeapUsedPercent() < threshold()
                     ? Result.healthy()
                     : Result.unhealthy(String.format("Memory percent is over the threshold of %d %%", threshold()))
@@ -73,7 +73,7 @@ public class NodeInfosService extends AbstractService<NodeInfosService> {
         messageProducer =
             vertx
                 .eventBus()
-                .registerCodec(new NodeInfosCodec())
+                .registerCodec(new NodeInfosCodec(environment.getProperty("services.eventbus.message-codecs.enabled", Boolean.class, true)))
                 .sender(
                     GIO_NODE_INFOS_BUS,
                     new DeliveryOptions().setCodecName(NodeInfosCodec.CODEC_NAME).setTracingPolicy(TracingPolicy.IGNORE)
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.gravitee.node.management.http.endpoint.ManagementEndpoint;
+import io.gravitee.node.monitoring.monitor.history.MonitorHistory;
+import io.gravitee.node.monitoring.monitor.history.MonitorMetric;
+import io.gravitee.node.monitoring.monitor.history.MonitorSeries;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.Arrays;
+
+/**
+ * Return the history of a metric of the node, kept by the {@link MonitorHistory}.
+ *
+ * <p>
+ * Query parameters: <code>metric</code> (required), <code>from</code> and <code>to</code> in epoch milliseconds (the last hour by
+ * default) and <code>step</code> in milliseconds. The points are streamed by chunks as <code>[timestamp, value]</code> pairs, the
+ * value being <code>null</code> when it was not available.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class NodeMonitorHistoryManagementEndpoint implements ManagementEndpoint {
+
+    static final long DEFAULT_RANGE_MS = 3_600_000;
+    private static final int POINTS_PER_CHUNK = 512;
+
+    private final MonitorHistory history;
+
+    public NodeMonitorHistoryManagementEndpoint(final MonitorHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public HttpMethod method() {
+        return HttpMethod.GET;
+    }
+
+    @Override
+    public String path() {
+        return "/monitor/history";
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        HttpServerResponse response = ctx.response();
+        response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+
+        MonitorMetric metric = MonitorMetric.fromKey(ctx.queryParams().get("metric"));
+        if (metric == null) {
+            badRequest(
+                response,
+                "A valid metric is required",
+                new JsonArray(Arrays.stream(MonitorMetric.values()).map(MonitorMetric::getKey).toList())
+            );
+            return;
+        }
+
+        long to;
+        long from;
+        long step;
+        try {
+            to = longParam(ctx, "to", System.currentTimeMillis());
+            from = longParam(ctx, "from", to - DEFAULT_RANGE_MS);
+            step = longParam(ctx, "step", 0);
+        } catch (NumberFormatException e) {
+            badRequest(response, "from, to and step must be numbers of milliseconds", null);
+            return;
+        }
+        if (from > to || step < 0) {
+            badRequest(response, "from must not be after to and step must be positive", null);
+            return;
+        }
+
+        MonitorSeries series = history.query(metric, from, to, step);
+
+        response.setStatusCode(HttpStatusCode.OK_200);
+        response.setChunked(true);
+        StringBuilder chunk = new StringBuilder(POINTS_PER_CHUNK * 32);
+        chunk.append("{\"metric\":\"").append(metric.getKey()).append("\",\"step\":").append(series.stepMs()).append(",\"points\":[");
+        for (int i = 0; i < series.size(); i++) {
+            if (i > 0) {
+                chunk.append(',');
+            }
+            double value = series.values()[i];
+            chunk.append('[').append(series.timestamps()[i]).append(',');
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                chunk.append("null");
+            } else if (value == Math.rint(value)) {
+                chunk.append((long) value);
+            } else {
+                chunk.append(value);
+            }
+            chunk.append(']');
+            if ((i + 1) % POINTS_PER_CHUNK == 0) {
+                response.write(chunk.toString());
+                chunk.setLength(0);
+            }
+        }
+        response.end(chunk.append("]}").toString());
+    }
+
+    private static long longParam(final RoutingContext ctx, final String name, final long defaultValue) {
+        String value = ctx.queryParams().get(name);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static void badRequest(final HttpServerResponse response, final String message, final JsonArray metrics) {
+        JsonObject payload = new JsonObject().put("message", message);
+        if (metrics != null) {
+            payload.put("metrics", metrics);
+        }
+        response.setStatusCode(HttpStatusCode.BAD_REQUEST_400);
+        response.end(payload.encode());
+    }
+}
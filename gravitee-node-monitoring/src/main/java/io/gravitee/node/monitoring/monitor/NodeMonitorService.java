@@ -31,6 +31,7 @@ import io.gravitee.node.api.configuration.Configuration;
 import io.gravitee.node.api.monitor.Monitor;
 import io.gravitee.node.management.http.endpoint.ManagementEndpointManager;
 import io.gravitee.node.monitoring.eventbus.MonitorCodec;
+import io.gravitee.node.monitoring.monitor.history.MonitorHistory;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
@@ -61,6 +62,12 @@ public class NodeMonitorService extends AbstractService<NodeMonitorService> {
     @Autowired
     private NodeMonitorManagementEndpoint nodeMonitorManagementEndpoint;
 
+    @Autowired
+    private NodeMonitorHistoryManagementEndpoint nodeMonitorHistoryManagementEndpoint;
+
+    @Autowired
+    private MonitorHistory monitorHistory;
+
     @Autowired
     private ManagementEndpointManager managementEndpointManager;
 
@@ -88,13 +95,13 @@ public class NodeMonitorService extends AbstractService<NodeMonitorService> {
             producer =
                 vertx
                     .eventBus()
-                    .registerCodec(new MonitorCodec())
+                    .registerCodec(new MonitorCodec(messageCodecsEnabled()))
                     .sender(
                         GIO_NODE_MONITOR_BUS,
                         new DeliveryOptions().setTracingPolicy(TracingPolicy.IGNORE).setCodecName(MonitorCodec.CODEC_NAME)
                     );
 
-            NodeMonitorThread monitorThread = new NodeMonitorThread(producer);
+            NodeMonitorThread monitorThread = new NodeMonitorThread(producer, monitorHistory);
             this.applicationContext.getAutowireCapableBeanFactory().autowireBean(monitorThread);
 
             // Send an event to notify about the node status
@@ -116,6 +123,9 @@ public class NodeMonitorService extends AbstractService<NodeMonitorService> {
             ((ScheduledExecutorService) executorService).scheduleWithFixedDelay(monitorThread, 0, delay(), unit());
 
             managementEndpointManager.register(nodeMonitorManagementEndpoint);
+            if (monitorHistory.isEnabled()) {
+                managementEndpointManager.register(nodeMonitorHistoryManagementEndpoint);
+            }
         }
     }
 
@@ -165,6 +175,10 @@ public class NodeMonitorService extends AbstractService<NodeMonitorService> {
         return configuration.getProperty("services.monitoring.enabled", Boolean.class, true);
     }
 
+    private boolean messageCodecsEnabled() {
+        return configuration.getProperty("services.eventbus.message-codecs.enabled", Boolean.class, true);
+    }
+
     private int delay() {
         return configuration.getProperty("services.monitoring.delay", Integer.class, 5000);
     }
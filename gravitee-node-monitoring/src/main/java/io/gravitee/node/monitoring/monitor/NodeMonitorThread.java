@@ -24,9 +24,8 @@ import io.gravitee.node.api.monitor.JvmInfo;
 import io.gravitee.node.api.monitor.Monitor;
 import io.gravitee.node.api.monitor.OsInfo;
 import io.gravitee.node.api.monitor.ProcessInfo;
-import io.gravitee.node.monitoring.monitor.probe.JvmProbe;
-import io.gravitee.node.monitoring.monitor.probe.OsProbe;
-import io.gravitee.node.monitoring.monitor.probe.ProcessProbe;
+import io.gravitee.node.monitoring.monitor.history.MonitorHistory;
+import io.gravitee.node.monitoring.monitor.probe.MonitorSampler;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import io.vertx.core.eventbus.MessageProducer;
 import java.util.Set;
@@ -43,9 +42,22 @@ public class NodeMonitorThread implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(NodeMonitorThread.class);
 
     private final MessageProducer<Monitor> producer;
+    private final MonitorHistory history;
+    private final MonitorSampler sampler = new MonitorSampler();
+    private final String[] gcCollectionsProperties = new String[sampler.gcCount()];
+    private final String[] gcTimeProperties = new String[sampler.gcCount()];
 
     public NodeMonitorThread(final MessageProducer<Monitor> producer) {
+        this(producer, MonitorHistory.DISABLED);
+    }
+
+    public NodeMonitorThread(final MessageProducer<Monitor> producer, final MonitorHistory history) {
         this.producer = producer;
+        this.history = history;
+        for (int i = 0; i < sampler.gcCount(); i++) {
+            gcCollectionsProperties[i] = "jvm.gc." + sampler.gcName(i) + ".collections";
+            gcTimeProperties[i] = "jvm.gc." + sampler.gcName(i) + ".time";
+        }
     }
 
     @Autowired
@@ -57,16 +69,11 @@ public class NodeMonitorThread implements Runnable {
     @Override
     public void run() {
         try {
-            Monitor monitor = Monitor
-                .on(node.id())
-                .at(System.currentTimeMillis())
-                .os(OsProbe.getInstance().osInfo())
-                .jvm(JvmProbe.getInstance().jvmInfo())
-                .process(ProcessProbe.getInstance().processInfo())
-                .build();
+            Monitor monitor = sampler.sample(node.id());
 
             // And generate monitoring metrics
             producer.write(monitor);
+            history.record(monitor);
 
             if (!eventProducer.isEmpty()) {
                 DefaultEvent.Builder event = Event.at(monitor.getTimestamp()).type(NODE_HEARTBEAT);
@@ -103,6 +110,12 @@ public class NodeMonitorThread implements Runnable {
                 event.property("jvm.mem.heap.max", jvmInfo.mem.heapMax);
                 event.property("jvm.mem.heap.percent", jvmInfo.mem.getHeapUsedPercent());
 
+                // Garbage collections since the previous tick
+                for (int i = 0; i < sampler.gcCount(); i++) {
+                    event.property(gcCollectionsProperties[i], sampler.gcCollectionsDelta(i));
+                    event.property(gcTimeProperties[i], sampler.gcTimeDelta(i));
+                }
+
                 eventProducer.send(event.build());
             }
         } catch (Exception ex) {
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.history;
+
+import io.gravitee.node.api.monitor.Monitor;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-process history of the {@link MonitorMetric}s of the node, fed with the monitors sampled by the node monitor.
+ *
+ * <p>
+ * Each {@link MonitorResolution} keeps a fixed number of points in a ring of primitive arrays, so the memory used doesn't grow
+ * with the uptime. Gauges are averaged over the step of each resolution, cumulative counters are recorded as their increase
+ * between two samples and summed over the step.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class MonitorHistory {
+
+    private static final MonitorMetric[] METRICS = MonitorMetric.values();
+
+    public static final MonitorHistory DISABLED = new MonitorHistory(List.of());
+
+    private final List<TimeSeriesRing> rings;
+    private final double[] sample = new double[METRICS.length];
+    private final double[] previousTotals = new double[METRICS.length];
+
+    public MonitorHistory(final List<MonitorResolution> resolutions) {
+        this.rings = resolutions.stream().sorted((r1, r2) -> Long.compare(r1.stepMs(), r2.stepMs())).map(TimeSeriesRing::new).toList();
+        Arrays.fill(previousTotals, Double.NaN);
+    }
+
+    public boolean isEnabled() {
+        return !rings.isEmpty();
+    }
+
+    public List<MonitorResolution> resolutions() {
+        return rings.stream().map(TimeSeriesRing::resolution).toList();
+    }
+
+    public synchronized void record(final Monitor monitor) {
+        if (rings.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < METRICS.length; i++) {
+            double value = extract(METRICS[i], monitor);
+            if (METRICS[i].getAggregation() == MonitorMetric.Aggregation.DELTA) {
+                double total = value;
+                // A counter going backward has been reset, its first value is not an increase
+                value = Double.isNaN(total) || Double.isNaN(previousTotals[i]) || total < previousTotals[i]
+                    ? Double.NaN
+                    : total - previousTotals[i];
+                previousTotals[i] = total;
+            }
+            sample[i] = value;
+        }
+        for (TimeSeriesRing ring : rings) {
+            ring.add(monitor.getTimestamp(), sample);
+        }
+    }
+
+    /**
+     * Return the points of a metric between two timestamps.
+     *
+     * <p>
+     * The points come from the finest resolution still covering the start of the range, or from a coarser one if its step doesn't
+     * exceed the requested one. When the requested step is larger than the step of the resolution, the points are aggregated.
+     * </p>
+     *
+     * @param metric the metric to return.
+     * @param from the start of the range, in epoch milliseconds.
+     * @param to the end of the range, in epoch milliseconds.
+     * @param stepMs the duration covered by each point, the step of the resolution is used if it is larger.
+     */
+    public synchronized MonitorSeries query(final MonitorMetric metric, final long from, final long to, final long stepMs) {
+        if (rings.isEmpty()) {
+            return new MonitorSeries(metric, stepMs, new long[0], new double[0]);
+        }
+        TimeSeriesRing selected = null;
+        for (int i = 0; i < rings.size(); i++) {
+            TimeSeriesRing ring = rings.get(i);
+            boolean covering = ring.oldestTimestamp() <= from || i == rings.size() - 1;
+            if (covering && (selected == null || ring.resolution().stepMs() <= stepMs)) {
+                selected = ring;
+            }
+        }
+        MonitorSeries series = selected.query(metric, from, to);
+        return stepMs > series.stepMs() ? downsample(series, stepMs) : series;
+    }
+
+    private static double extract(final MonitorMetric metric, final Monitor monitor) {
+        try {
+            return metric.getExtractor().applyAsDouble(monitor);
+        } catch (NullPointerException e) {
+            // Part of the monitor is not available
+            return Double.NaN;
+        }
+    }
+
+    private static MonitorSeries downsample(final MonitorSeries series, final long stepMs) {
+        long[] timestamps = new long[series.size()];
+        double[] values = new double[series.size()];
+        int count = -1;
+        int aggregated = 0;
+        for (int i = 0; i < series.size(); i++) {
+            long step = series.timestamps()[i] - Math.floorMod(series.timestamps()[i], stepMs);
+            if (count < 0 || timestamps[count] != step) {
+                complete(series.metric(), values, count, aggregated);
+                count++;
+                timestamps[count] = step;
+                values[count] = Double.NaN;
+                aggregated = 0;
+            }
+            double value = series.values()[i];
+            if (!Double.isNaN(value)) {
+                values[count] = aggregated == 0 ? value : values[count] + value;
+                aggregated++;
+            }
+        }
+        complete(series.metric(), values, count, aggregated);
+        return new MonitorSeries(series.metric(), stepMs, Arrays.copyOf(timestamps, count + 1), Arrays.copyOf(values, count + 1));
+    }
+
+    private static void complete(final MonitorMetric metric, final double[] values, final int index, final int aggregated) {
+        if (index >= 0 && aggregated > 0 && metric.getAggregation() == MonitorMetric.Aggregation.AVERAGE) {
+            values[index] /= aggregated;
+        }
+    }
+}
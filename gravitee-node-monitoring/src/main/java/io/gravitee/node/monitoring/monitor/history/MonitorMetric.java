@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.history;
+
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import java.util.function.ToDoubleFunction;
+import lombok.Getter;
+
+/**
+ * Metrics of the node kept by the {@link MonitorHistory}. Their keys match the properties of the node heartbeat.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+public enum MonitorMetric {
+    OS_CPU_PERCENT("os.cpu.percent", Aggregation.AVERAGE, monitor -> positiveOrNaN(monitor.getOs().cpu.percent)),
+    OS_CPU_LOAD_AVERAGE(
+        "os.cpu.average.0",
+        Aggregation.AVERAGE,
+        monitor -> monitor.getOs().cpu.loadAverage == null ? Double.NaN : positiveOrNaN(monitor.getOs().cpu.loadAverage[0])
+    ),
+    OS_MEM_USED_PERCENT(
+        "os.mem.percent",
+        Aggregation.AVERAGE,
+        monitor -> monitor.getOs().mem.total <= 0 ? Double.NaN : monitor.getOs().mem.getUsedPercent()
+    ),
+    PROCESS_CPU_PERCENT("process.cpu.percent", Aggregation.AVERAGE, monitor -> positiveOrNaN(monitor.getProcess().cpu.percent)),
+    PROCESS_FD_OPEN("process.fd.open", Aggregation.AVERAGE, monitor -> positiveOrNaN(monitor.getProcess().openFileDescriptors)),
+    JVM_HEAP_USED("jvm.mem.heap.used", Aggregation.AVERAGE, monitor -> monitor.getJvm().mem.heapUsed),
+    JVM_HEAP_PERCENT("jvm.mem.heap.percent", Aggregation.AVERAGE, monitor -> positiveOrNaN(monitor.getJvm().mem.getHeapUsedPercent())),
+    JVM_NON_HEAP_USED("jvm.mem.nonheap.used", Aggregation.AVERAGE, monitor -> monitor.getJvm().mem.nonHeapUsed),
+    JVM_THREADS_COUNT("jvm.threads.count", Aggregation.AVERAGE, monitor -> monitor.getJvm().threads.count),
+    JVM_GC_COLLECTIONS("jvm.gc.collections", Aggregation.DELTA, monitor -> gcTotal(monitor, true)),
+    JVM_GC_TIME("jvm.gc.time", Aggregation.DELTA, monitor -> gcTotal(monitor, false));
+
+    private final String key;
+    private final Aggregation aggregation;
+    private final ToDoubleFunction<Monitor> extractor;
+
+    MonitorMetric(final String key, final Aggregation aggregation, final ToDoubleFunction<Monitor> extractor) {
+        this.key = key;
+        this.aggregation = aggregation;
+        this.extractor = extractor;
+    }
+
+    /**
+     * @return the metric with the given key, or <code>null</code> if there is none.
+     */
+    public static MonitorMetric fromKey(final String key) {
+        for (MonitorMetric metric : values()) {
+            if (metric.key.equals(key)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    private static double positiveOrNaN(final double value) {
+        return value < 0 ? Double.NaN : value;
+    }
+
+    private static double gcTotal(final Monitor monitor, final boolean collections) {
+        if (monitor.getJvm().gc == null || monitor.getJvm().gc.collectors == null) {
+            return Double.NaN;
+        }
+        long total = 0;
+        for (JvmInfo.GarbageCollector collector : monitor.getJvm().gc.collectors) {
+            total += collections ? collector.collectionCount : collector.collectionTime;
+        }
+        return total;
+    }
+
+    public enum Aggregation {
+        /**
+         * Gauges, averaged over the step.
+         */
+        AVERAGE,
+        /**
+         * Cumulative counters, the history keeps their increase between two samples which are summed over the step.
+         */
+        DELTA,
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Step and retention of one level of the {@link MonitorHistory}.
+ *
+ * @param stepMs duration covered by a point, the samples received during a step being aggregated into a single point.
+ * @param retentionMs duration covered by the points kept.
+ *
+ * @author GraviteeSource Team
+ */
+public record MonitorResolution(long stepMs, long retentionMs) {
+    public MonitorResolution {
+        if (stepMs <= 0 || retentionMs < stepMs) {
+            throw new IllegalArgumentException(
+                "Invalid monitor history resolution, step: " + stepMs + "ms, retention: " + retentionMs + "ms"
+            );
+        }
+    }
+
+    /**
+     * @return the number of points kept by this resolution.
+     */
+    public int capacity() {
+        return (int) Math.min(Integer.MAX_VALUE, retentionMs / stepMs);
+    }
+
+    /**
+     * Parse a comma separated list of <code>step:retention</code> resolutions, each duration being a number followed by one of the
+     * <code>ms</code>, <code>s</code>, <code>m</code>, <code>h</code> or <code>d</code> units, e.g. <code>1s:10m,10s:6h,1m:7d</code>.
+     */
+    public static List<MonitorResolution> parse(final String resolutions) {
+        List<MonitorResolution> parsed = new ArrayList<>();
+        if (resolutions == null || resolutions.isBlank()) {
+            return parsed;
+        }
+        for (String resolution : resolutions.split(",")) {
+            String[] parts = resolution.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid monitor history resolution [" + resolution + "], expecting step:retention");
+            }
+            parsed.add(new MonitorResolution(parseDuration(parts[0]), parseDuration(parts[1])));
+        }
+        parsed.sort((r1, r2) -> Long.compare(r1.stepMs, r2.stepMs));
+        return parsed;
+    }
+
+    static long parseDuration(final String duration) {
+        String value = duration.trim();
+        int unitIndex = 0;
+        while (unitIndex < value.length() && Character.isDigit(value.charAt(unitIndex))) {
+            unitIndex++;
+        }
+        if (unitIndex == 0) {
+            throw new IllegalArgumentException("Invalid duration [" + duration + "]");
+        }
+        long amount = Long.parseLong(value.substring(0, unitIndex));
+        return switch (value.substring(unitIndex)) {
+            case "ms" -> amount;
+            case "s" -> amount * 1000;
+            case "m" -> amount * 60_000;
+            case "h" -> amount * 3_600_000;
+            case "d" -> amount * 86_400_000;
+            default -> throw new IllegalArgumentException("Invalid duration [" + duration + "]");
+        };
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.history;
+
+/**
+ * Points of a metric returned by the {@link MonitorHistory}, ordered by timestamp. Unavailable values are NaN.
+ *
+ * @param metric the metric.
+ * @param stepMs the duration covered by each point.
+ * @param timestamps the start of the step of each point, in epoch milliseconds.
+ * @param values the value of each point.
+ *
+ * @author GraviteeSource Team
+ */
+public record MonitorSeries(MonitorMetric metric, long stepMs, long[] timestamps, double[] values) {
+    public int size() {
+        return timestamps.length;
+    }
+}
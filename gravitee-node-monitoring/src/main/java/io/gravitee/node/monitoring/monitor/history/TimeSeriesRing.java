@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.history;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size ring of the points of all the {@link MonitorMetric}s at a given resolution.
+ *
+ * <p>
+ * The values are stored by column, in a single array holding the points of a metric next to each other. The samples received
+ * during the current step are accumulated and written as a single point once the step is over.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+final class TimeSeriesRing {
+
+    private static final MonitorMetric[] METRICS = MonitorMetric.values();
+    private static final long NO_STEP = Long.MIN_VALUE;
+
+    private final MonitorResolution resolution;
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[] values;
+    private int head;
+    private int size;
+
+    private long currentStep = NO_STEP;
+    private final double[] currentSums = new double[METRICS.length];
+    private final int[] currentCounts = new int[METRICS.length];
+
+    TimeSeriesRing(final MonitorResolution resolution) {
+        this.resolution = resolution;
+        this.capacity = resolution.capacity();
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity * METRICS.length];
+    }
+
+    MonitorResolution resolution() {
+        return resolution;
+    }
+
+    /**
+     * Add the values of a sample, indexed by {@link MonitorMetric#ordinal()}, unavailable values being NaN.
+     */
+    void add(final long timestamp, final double[] sample) {
+        long step = timestamp - Math.floorMod(timestamp, resolution.stepMs());
+        if (step != currentStep) {
+            flush();
+            currentStep = step;
+        }
+        for (int metric = 0; metric < METRICS.length; metric++) {
+            if (!Double.isNaN(sample[metric])) {
+                currentSums[metric] += sample[metric];
+                currentCounts[metric]++;
+            }
+        }
+    }
+
+    /**
+     * @return the timestamp of the oldest point, or {@link Long#MAX_VALUE} if there is none.
+     */
+    long oldestTimestamp() {
+        if (size > 0) {
+            return timestamps[Math.floorMod(head - size, capacity)];
+        }
+        return currentStep == NO_STEP ? Long.MAX_VALUE : currentStep;
+    }
+
+    /**
+     * Copy the points of the given metric between the two timestamps, inclusive, including the one of the current step.
+     */
+    MonitorSeries query(final MonitorMetric metric, final long from, final long to) {
+        long[] seriesTimestamps = new long[size + 1];
+        double[] seriesValues = new double[size + 1];
+        int count = 0;
+        int column = metric.ordinal() * capacity;
+        for (int i = size; i > 0; i--) {
+            int slot = Math.floorMod(head - i, capacity);
+            if (timestamps[slot] >= from && timestamps[slot] <= to) {
+                seriesTimestamps[count] = timestamps[slot];
+                seriesValues[count++] = values[column + slot];
+            }
+        }
+        if (currentStep != NO_STEP && currentStep >= from && currentStep <= to) {
+            seriesTimestamps[count] = currentStep;
+            seriesValues[count++] = aggregate(metric.ordinal());
+        }
+        return new MonitorSeries(
+            metric,
+            resolution.stepMs(),
+            Arrays.copyOf(seriesTimestamps, count),
+            Arrays.copyOf(seriesValues, count)
+        );
+    }
+
+    private void flush() {
+        if (currentStep == NO_STEP) {
+            return;
+        }
+        timestamps[head] = currentStep;
+        for (int metric = 0; metric < METRICS.length; metric++) {
+            values[metric * capacity + head] = aggregate(metric);
+            currentSums[metric] = 0;
+            currentCounts[metric] = 0;
+        }
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+    }
+
+    private double aggregate(final int metric) {
+        if (currentCounts[metric] == 0) {
+            return Double.NaN;
+        }
+        return METRICS[metric].getAggregation() == MonitorMetric.Aggregation.DELTA
+            ? currentSums[metric]
+            : currentSums[metric] / currentCounts[metric];
+    }
+}
@@ -19,6 +19,7 @@ import io.gravitee.node.api.monitor.JvmInfo;
 import java.lang.management.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +41,23 @@ public class JvmProbe {
         threadMXBean = ManagementFactory.getThreadMXBean();
     }
 
+    /**
+     * Memory pools and garbage collectors are resolved once, only the pools with a known GC type being kept.
+     */
+    static final MemoryPoolMXBean[] memoryPoolMXBeans = ManagementFactory
+        .getMemoryPoolMXBeans()
+        .stream()
+        .filter(pool -> getByMemoryPoolName(pool.getName(), null) != null)
+        .toArray(MemoryPoolMXBean[]::new);
+    static final String[] memoryPoolNames = Stream
+        .of(memoryPoolMXBeans)
+        .map(pool -> getByMemoryPoolName(pool.getName(), null))
+        .toArray(String[]::new);
+    static final GarbageCollectorMXBean[] gcMXBeans = ManagementFactory
+        .getGarbageCollectorMXBeans()
+        .toArray(GarbageCollectorMXBean[]::new);
+    static final String[] gcNames = Stream.of(gcMXBeans).map(gc -> getByGcName(gc.getName(), gc.getName())).toArray(String[]::new);
+
     private static class JvmProbeHolder {
 
         private static final JvmProbe INSTANCE = new JvmProbe();
@@ -64,20 +82,14 @@ public class JvmProbe {
         info.mem.nonHeapUsed = memUsage.getUsed() < 0 ? 0 : memUsage.getUsed();
         info.mem.nonHeapCommitted = memUsage.getCommitted() < 0 ? 0 : memUsage.getCommitted();
 
-        List<MemoryPoolMXBean> memoryPoolMXBeans = ManagementFactory.getMemoryPoolMXBeans();
-        List<JvmInfo.MemoryPool> pools = new ArrayList<>();
-        for (int i = 0; i < memoryPoolMXBeans.size(); i++) {
+        List<JvmInfo.MemoryPool> pools = new ArrayList<>(memoryPoolMXBeans.length);
+        for (int i = 0; i < memoryPoolMXBeans.length; i++) {
             try {
-                MemoryPoolMXBean memoryPoolMXBean = memoryPoolMXBeans.get(i);
-                MemoryUsage usage = memoryPoolMXBean.getUsage();
-                MemoryUsage peakUsage = memoryPoolMXBean.getPeakUsage();
-                String name = getByMemoryPoolName(memoryPoolMXBean.getName(), null);
-                if (name == null) { // if we can't resolve it, its not interesting.... (Per Gen, Code Cache)
-                    continue;
-                }
+                MemoryUsage usage = memoryPoolMXBeans[i].getUsage();
+                MemoryUsage peakUsage = memoryPoolMXBeans[i].getPeakUsage();
                 pools.add(
                     new JvmInfo.MemoryPool(
-                        name,
+                        memoryPoolNames[i],
                         usage.getUsed() < 0 ? 0 : usage.getUsed(),
                         usage.getMax() < 0 ? 0 : usage.getMax(),
                         peakUsage.getUsed() < 0 ? 0 : peakUsage.getUsed(),
@@ -98,15 +110,13 @@ public class JvmProbe {
         info.threads.count = threadMXBean.getThreadCount();
         info.threads.peakCount = threadMXBean.getPeakThreadCount();
 
-        List<GarbageCollectorMXBean> gcMxBeans = ManagementFactory.getGarbageCollectorMXBeans();
         info.gc = new JvmInfo.GarbageCollectors();
-        info.gc.collectors = new JvmInfo.GarbageCollector[gcMxBeans.size()];
+        info.gc.collectors = new JvmInfo.GarbageCollector[gcMXBeans.length];
         for (int i = 0; i < info.gc.collectors.length; i++) {
-            GarbageCollectorMXBean gcMxBean = gcMxBeans.get(i);
             info.gc.collectors[i] = new JvmInfo.GarbageCollector();
-            info.gc.collectors[i].name = getByGcName(gcMxBean.getName(), gcMxBean.getName());
-            info.gc.collectors[i].collectionCount = gcMxBean.getCollectionCount();
-            info.gc.collectors[i].collectionTime = gcMxBean.getCollectionTime();
+            info.gc.collectors[i].name = gcNames[i];
+            info.gc.collectors[i].collectionCount = gcMXBeans[i].getCollectionCount();
+            info.gc.collectors[i].collectionTime = gcMXBeans[i].getCollectionTime();
         }
 
         return info;
@@ -0,0 +1,342 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.probe;
+
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.api.monitor.OsInfo;
+import io.gravitee.node.api.monitor.ProcessInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sample the metrics of the node into {@link Monitor}s, meant to be called periodically by a single thread.
+ *
+ * <p>
+ * MXBeans and their platform specific getters are resolved once and each tick reads the raw values into a preallocated buffer
+ * which is compared to the one of the previous tick. The parts of the previous monitor whose values didn't change are reused by
+ * the new one, so only the changed parts are allocated. Monitors are never modified once returned and can be kept as-is.
+ * </p>
+ *
+ * <p>
+ * The process CPU usage and the garbage collections are computed as deltas between two ticks. Unlike the recent CPU load of the
+ * MXBean, the CPU usage doesn't depend on the other readers of the MXBean and stays accurate with short intervals.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class MonitorSampler {
+
+    private static final int OS_CPU_PERCENT = 0;
+    private static final int OS_LOAD_AVERAGE_AVAILABLE = 1;
+    private static final int OS_MEM_TOTAL = 2;
+    private static final int OS_MEM_FREE = 3;
+    private static final int OS_SWAP_TOTAL = 4;
+    private static final int OS_SWAP_FREE = 5;
+    private static final int PROCESS_FD_OPEN = 6;
+    private static final int PROCESS_FD_MAX = 7;
+    private static final int PROCESS_CPU_PERCENT = 8;
+    private static final int PROCESS_CPU_TOTAL = 9;
+    private static final int PROCESS_MEM_VIRTUAL = 10;
+    private static final int JVM_THREADS_COUNT = 11;
+    private static final int JVM_THREADS_PEAK = 12;
+    private static final int JVM_HEAP_USED = 13;
+    private static final int JVM_HEAP_COMMITTED = 14;
+    private static final int JVM_HEAP_MAX = 15;
+    private static final int JVM_NON_HEAP_USED = 16;
+    private static final int JVM_NON_HEAP_COMMITTED = 17;
+    private static final int JVM_POOLS = 18;
+
+    private static final int POOL_USED = 0;
+    private static final int POOL_MAX = 1;
+    private static final int POOL_PEAK_USED = 2;
+    private static final int POOL_PEAK_MAX = 3;
+    private static final int POOL_FIELDS = 4;
+
+    private static final int GC_COUNT = 0;
+    private static final int GC_TIME = 1;
+    private static final int GC_FIELDS = 2;
+
+    private static final RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
+    private static final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final OsProbe osProbe = OsProbe.getInstance();
+    private final ProcessProbe processProbe = ProcessProbe.getInstance();
+    private final int processors = Runtime.getRuntime().availableProcessors();
+    private final int gcOffset = JVM_POOLS + JvmProbe.memoryPoolMXBeans.length * POOL_FIELDS;
+
+    private long[] sample = new long[gcOffset + JvmProbe.gcMXBeans.length * GC_FIELDS];
+    private long[] previousSample = new long[sample.length];
+    private double[] loadAverage = new double[3];
+    private double[] previousLoadAverage = new double[3];
+    private final long[] gcCollectionsDeltas = new long[JvmProbe.gcMXBeans.length];
+    private final long[] gcTimeDeltas = new long[JvmProbe.gcMXBeans.length];
+
+    private boolean sampled;
+    private long previousNanoTime;
+    private long previousCpuTimeNanos = -1;
+
+    private OsInfo.Cpu osCpu;
+    private OsInfo.Mem osMem;
+    private OsInfo.Swap osSwap;
+    private ProcessInfo.Cpu processCpu;
+    private ProcessInfo.Mem processMem;
+    private JvmInfo.Mem jvmMem;
+    private JvmInfo.Threads jvmThreads;
+    private JvmInfo.GarbageCollectors jvmGc;
+
+    /**
+     * Sample the metrics of the node.
+     *
+     * @param nodeId the id of the node, set on the returned monitor.
+     * @return a new monitor, sharing the parts which didn't change with the one of the previous call.
+     */
+    public synchronized Monitor sample(final String nodeId) {
+        long timestamp = System.currentTimeMillis();
+        long nanoTime = System.nanoTime();
+
+        long[] swapSample = previousSample;
+        previousSample = sample;
+        sample = swapSample;
+        double[] swapLoadAverage = previousLoadAverage;
+        previousLoadAverage = loadAverage;
+        loadAverage = swapLoadAverage;
+
+        read(nanoTime);
+        computeGcDeltas();
+        sampled = true;
+        previousNanoTime = nanoTime;
+
+        return Monitor.on(nodeId).at(timestamp).os(os(timestamp)).jvm(jvm(timestamp)).process(process(timestamp)).build();
+    }
+
+    /**
+     * @return the number of garbage collectors of the JVM.
+     */
+    public int gcCount() {
+        return gcCollectionsDeltas.length;
+    }
+
+    /**
+     * @return the name of the given garbage collector, <code>young</code> or <code>old</code> for the well known ones.
+     */
+    public String gcName(final int gc) {
+        return JvmProbe.gcNames[gc];
+    }
+
+    /**
+     * @return the number of collections of the given garbage collector between the two last samples.
+     */
+    public synchronized long gcCollectionsDelta(final int gc) {
+        return gcCollectionsDeltas[gc];
+    }
+
+    /**
+     * @return the time spent by the given garbage collector between the two last samples, in milliseconds.
+     */
+    public synchronized long gcTimeDelta(final int gc) {
+        return gcTimeDeltas[gc];
+    }
+
+    private void read(final long nanoTime) {
+        sample[OS_CPU_PERCENT] = osProbe.getSystemCpuPercent();
+        sample[OS_LOAD_AVERAGE_AVAILABLE] = osProbe.readSystemLoadAverage(loadAverage) ? 1 : 0;
+        sample[OS_MEM_TOTAL] = osProbe.getTotalPhysicalMemorySize();
+        sample[OS_MEM_FREE] = osProbe.getFreePhysicalMemorySize();
+        sample[OS_SWAP_TOTAL] = osProbe.getTotalSwapSpaceSize();
+        sample[OS_SWAP_FREE] = osProbe.getFreeSwapSpaceSize();
+
+        long cpuTimeNanos = processProbe.getProcessCpuTimeNanos();
+        sample[PROCESS_FD_OPEN] = processProbe.getOpenFileDescriptorCount();
+        sample[PROCESS_FD_MAX] = processProbe.getMaxFileDescriptorCount();
+        sample[PROCESS_CPU_PERCENT] = processCpuPercent(cpuTimeNanos, nanoTime);
+        sample[PROCESS_CPU_TOTAL] = cpuTimeNanos >= 0 ? cpuTimeNanos / 1_000_000L : -1;
+        sample[PROCESS_MEM_VIRTUAL] = processProbe.getTotalVirtualMemorySize();
+        previousCpuTimeNanos = cpuTimeNanos;
+
+        MemoryUsage heap = memoryMXBean.getHeapMemoryUsage();
+        sample[JVM_HEAP_USED] = Math.max(0, heap.getUsed());
+        sample[JVM_HEAP_COMMITTED] = Math.max(0, heap.getCommitted());
+        sample[JVM_HEAP_MAX] = Math.max(0, heap.getMax());
+        MemoryUsage nonHeap = memoryMXBean.getNonHeapMemoryUsage();
+        sample[JVM_NON_HEAP_USED] = Math.max(0, nonHeap.getUsed());
+        sample[JVM_NON_HEAP_COMMITTED] = Math.max(0, nonHeap.getCommitted());
+        sample[JVM_THREADS_COUNT] = threadMXBean.getThreadCount();
+        sample[JVM_THREADS_PEAK] = threadMXBean.getPeakThreadCount();
+
+        for (int i = 0, offset = JVM_POOLS; i < JvmProbe.memoryPoolMXBeans.length; i++, offset += POOL_FIELDS) {
+            try {
+                MemoryUsage usage = JvmProbe.memoryPoolMXBeans[i].getUsage();
+                MemoryUsage peakUsage = JvmProbe.memoryPoolMXBeans[i].getPeakUsage();
+                sample[offset + POOL_USED] = Math.max(0, usage.getUsed());
+                sample[offset + POOL_MAX] = Math.max(0, usage.getMax());
+                sample[offset + POOL_PEAK_USED] = Math.max(0, peakUsage.getUsed());
+                sample[offset + POOL_PEAK_MAX] = Math.max(0, peakUsage.getMax());
+            } catch (OutOfMemoryError err) {
+                throw err;
+            } catch (Exception ex) {
+                // Some JVMs fail with java.lang.InternalError: Memory Pool not found, the pool is skipped
+                log.debug("Unexpected exception", ex);
+                sample[offset + POOL_USED] = -1;
+            }
+        }
+
+        for (int i = 0, offset = gcOffset; i < JvmProbe.gcMXBeans.length; i++, offset += GC_FIELDS) {
+            sample[offset + GC_COUNT] = JvmProbe.gcMXBeans[i].getCollectionCount();
+            sample[offset + GC_TIME] = JvmProbe.gcMXBeans[i].getCollectionTime();
+        }
+    }
+
+    /**
+     * CPU time consumed by the process since the previous sample, relative to the elapsed time and the available processors.
+     * The recent CPU load given by the MXBean is used for the first sample.
+     */
+    private short processCpuPercent(final long cpuTimeNanos, final long nanoTime) {
+        long elapsedNanos = nanoTime - previousNanoTime;
+        if (!sampled || cpuTimeNanos < 0 || previousCpuTimeNanos < 0 || elapsedNanos <= 0) {
+            return processProbe.getProcessCpuPercent();
+        }
+        double load = (double) (cpuTimeNanos - previousCpuTimeNanos) / elapsedNanos / processors;
+        return (short) Math.min(100, Math.max(0, Math.round(load * 100)));
+    }
+
+    private void computeGcDeltas() {
+        for (int i = 0, offset = gcOffset; i < gcCollectionsDeltas.length; i++, offset += GC_FIELDS) {
+            gcCollectionsDeltas[i] = sampled ? Math.max(0, sample[offset + GC_COUNT] - previousSample[offset + GC_COUNT]) : 0;
+            gcTimeDeltas[i] = sampled ? Math.max(0, sample[offset + GC_TIME] - previousSample[offset + GC_TIME]) : 0;
+        }
+    }
+
+    private OsInfo os(final long timestamp) {
+        if (osCpu == null || changed(OS_CPU_PERCENT, OS_LOAD_AVERAGE_AVAILABLE) || !Arrays.equals(loadAverage, previousLoadAverage)) {
+            osCpu = new OsInfo.Cpu();
+            osCpu.percent = (short) sample[OS_CPU_PERCENT];
+            osCpu.loadAverage = sample[OS_LOAD_AVERAGE_AVAILABLE] == 1 ? loadAverage.clone() : null;
+        }
+        if (osMem == null || changed(OS_MEM_TOTAL, OS_MEM_FREE)) {
+            osMem = new OsInfo.Mem();
+            osMem.total = sample[OS_MEM_TOTAL];
+            osMem.free = sample[OS_MEM_FREE];
+        }
+        if (osSwap == null || changed(OS_SWAP_TOTAL, OS_SWAP_FREE)) {
+            osSwap = new OsInfo.Swap();
+            osSwap.total = sample[OS_SWAP_TOTAL];
+            osSwap.free = sample[OS_SWAP_FREE];
+        }
+
+        OsInfo info = new OsInfo();
+        info.timestamp = timestamp;
+        info.cpu = osCpu;
+        info.mem = osMem;
+        info.swap = osSwap;
+        return info;
+    }
+
+    private ProcessInfo process(final long timestamp) {
+        if (processCpu == null || changed(PROCESS_CPU_PERCENT, PROCESS_CPU_TOTAL)) {
+            processCpu = new ProcessInfo.Cpu();
+            processCpu.percent = (short) sample[PROCESS_CPU_PERCENT];
+            processCpu.total = sample[PROCESS_CPU_TOTAL];
+        }
+        if (processMem == null || changed(PROCESS_MEM_VIRTUAL, PROCESS_MEM_VIRTUAL)) {
+            processMem = new ProcessInfo.Mem();
+            processMem.totalVirtual = sample[PROCESS_MEM_VIRTUAL];
+        }
+
+        ProcessInfo info = new ProcessInfo();
+        info.timestamp = timestamp;
+        info.openFileDescriptors = sample[PROCESS_FD_OPEN];
+        info.maxFileDescriptors = sample[PROCESS_FD_MAX];
+        info.cpu = processCpu;
+        info.mem = processMem;
+        return info;
+    }
+
+    private JvmInfo jvm(final long timestamp) {
+        if (jvmMem == null || changed(JVM_HEAP_USED, gcOffset - 1)) {
+            jvmMem = new JvmInfo.Mem();
+            jvmMem.heapUsed = sample[JVM_HEAP_USED];
+            jvmMem.heapCommitted = sample[JVM_HEAP_COMMITTED];
+            jvmMem.heapMax = sample[JVM_HEAP_MAX];
+            jvmMem.nonHeapUsed = sample[JVM_NON_HEAP_USED];
+            jvmMem.nonHeapCommitted = sample[JVM_NON_HEAP_COMMITTED];
+            jvmMem.pools = pools();
+        }
+        if (jvmThreads == null || changed(JVM_THREADS_COUNT, JVM_THREADS_PEAK)) {
+            jvmThreads = new JvmInfo.Threads();
+            jvmThreads.count = (int) sample[JVM_THREADS_COUNT];
+            jvmThreads.peakCount = (int) sample[JVM_THREADS_PEAK];
+        }
+        if (jvmGc == null || changed(gcOffset, sample.length - 1)) {
+            jvmGc = new JvmInfo.GarbageCollectors();
+            jvmGc.collectors = new JvmInfo.GarbageCollector[JvmProbe.gcMXBeans.length];
+            for (int i = 0, offset = gcOffset; i < jvmGc.collectors.length; i++, offset += GC_FIELDS) {
+                jvmGc.collectors[i] = new JvmInfo.GarbageCollector();
+                jvmGc.collectors[i].name = JvmProbe.gcNames[i];
+                jvmGc.collectors[i].collectionCount = sample[offset + GC_COUNT];
+                jvmGc.collectors[i].collectionTime = sample[offset + GC_TIME];
+            }
+        }
+
+        JvmInfo info = new JvmInfo(timestamp, runtimeMXBean.getUptime());
+        info.mem = jvmMem;
+        info.threads = jvmThreads;
+        info.gc = jvmGc;
+        return info;
+    }
+
+    private JvmInfo.MemoryPool[] pools() {
+        int count = 0;
+        for (int offset = JVM_POOLS; offset < gcOffset; offset += POOL_FIELDS) {
+            if (sample[offset + POOL_USED] >= 0) {
+                count++;
+            }
+        }
+        JvmInfo.MemoryPool[] pools = new JvmInfo.MemoryPool[count];
+        for (int i = 0, pool = 0, offset = JVM_POOLS; offset < gcOffset; i++, offset += POOL_FIELDS) {
+            if (sample[offset + POOL_USED] >= 0) {
+                pools[pool++] =
+                    new JvmInfo.MemoryPool(
+                        JvmProbe.memoryPoolNames[i],
+                        sample[offset + POOL_USED],
+                        sample[offset + POOL_MAX],
+                        sample[offset + POOL_PEAK_USED],
+                        sample[offset + POOL_PEAK_MAX]
+                    );
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * @return <code>true</code> if any of the sampled values between the two given indexes, inclusive, changed since the previous tick.
+     */
+    private boolean changed(final int from, final int to) {
+        for (int i = from; i <= to; i++) {
+            if (sample[i] != previousSample[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.probe;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Getters of the platform specific extensions of the {@link OperatingSystemMXBean}, looked up once and bound to the MXBean.
+ * Invoking them neither goes through reflection nor boxes the returned values.
+ *
+ * @author GraviteeSource Team
+ */
+final class OperatingSystemHandles {
+
+    private static final OperatingSystemMXBean osMxBean = ManagementFactory.getOperatingSystemMXBean();
+
+    static final MethodHandle FREE_PHYSICAL_MEMORY_SIZE = getter("getFreePhysicalMemorySize", long.class);
+    static final MethodHandle TOTAL_PHYSICAL_MEMORY_SIZE = getter("getTotalPhysicalMemorySize", long.class);
+    static final MethodHandle FREE_SWAP_SPACE_SIZE = getter("getFreeSwapSpaceSize", long.class);
+    static final MethodHandle TOTAL_SWAP_SPACE_SIZE = getter("getTotalSwapSpaceSize", long.class);
+    static final MethodHandle SYSTEM_CPU_LOAD = getter("getSystemCpuLoad", double.class);
+    static final MethodHandle PROCESS_CPU_LOAD = getter("getProcessCpuLoad", double.class);
+    static final MethodHandle PROCESS_CPU_TIME = getter("getProcessCpuTime", long.class);
+    static final MethodHandle COMMITTED_VIRTUAL_MEMORY_SIZE = getter("getCommittedVirtualMemorySize", long.class);
+    static final MethodHandle MAX_FILE_DESCRIPTOR_COUNT = unixGetter("getMaxFileDescriptorCount");
+    static final MethodHandle OPEN_FILE_DESCRIPTOR_COUNT = unixGetter("getOpenFileDescriptorCount");
+
+    private OperatingSystemHandles() {}
+
+    static double systemLoadAverage() {
+        return osMxBean.getSystemLoadAverage();
+    }
+
+    /**
+     * @return the value returned by the given getter, or -1 if it is not available.
+     */
+    static long getLong(final MethodHandle getter) {
+        if (getter == null) {
+            return -1;
+        }
+        try {
+            return (long) getter.invokeExact();
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the value returned by the given getter, or -1 if it is not available.
+     */
+    static double getDouble(final MethodHandle getter) {
+        if (getter == null) {
+            return -1;
+        }
+        try {
+            return (double) getter.invokeExact();
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    private static MethodHandle getter(final String methodName, final Class<?> returnType) {
+        return find("com.sun.management.OperatingSystemMXBean", methodName, returnType);
+    }
+
+    private static MethodHandle unixGetter(final String methodName) {
+        return find("com.sun.management.UnixOperatingSystemMXBean", methodName, long.class);
+    }
+
+    /**
+     * Returns a given getter of the OperatingSystemMXBean bound to the platform MXBean, or null if the method is not found or
+     * unavailable.
+     */
+    private static MethodHandle find(final String className, final String methodName, final Class<?> returnType) {
+        try {
+            Class<?> mxBeanClass = Class.forName(className);
+            if (!mxBeanClass.isInstance(osMxBean)) {
+                return null;
+            }
+            return MethodHandles.publicLookup().findVirtual(mxBeanClass, methodName, MethodType.methodType(returnType)).bindTo(osMxBean);
+        } catch (Throwable t) {
+            // not available
+            return null;
+        }
+    }
+}
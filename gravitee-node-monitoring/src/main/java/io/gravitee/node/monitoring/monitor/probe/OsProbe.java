@@ -15,16 +15,14 @@
  */
 package io.gravitee.node.monitoring.monitor.probe;
 
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.FREE_PHYSICAL_MEMORY_SIZE;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.FREE_SWAP_SPACE_SIZE;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.SYSTEM_CPU_LOAD;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.TOTAL_PHYSICAL_MEMORY_SIZE;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.TOTAL_SWAP_SPACE_SIZE;
+
 import io.gravitee.node.api.monitor.OsInfo;
-import java.io.IOException;
-import java.lang.management.ManagementFactory;
-import java.lang.management.OperatingSystemMXBean;
-import java.lang.reflect.Method;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.util.List;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.nio.file.Path;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -32,25 +30,9 @@ import org.slf4j.LoggerFactory;
  */
 public class OsProbe {
 
-    private final Logger logger = LoggerFactory.getLogger(OsProbe.class);
-
-    private static final OperatingSystemMXBean osMxBean = ManagementFactory.getOperatingSystemMXBean();
-
-    private static final Method getFreePhysicalMemorySize;
-    private static final Method getTotalPhysicalMemorySize;
-    private static final Method getFreeSwapSpaceSize;
-    private static final Method getTotalSwapSpaceSize;
-    private static final Method getSystemLoadAverage;
-    private static final Method getSystemCpuLoad;
-
-    static {
-        getFreePhysicalMemorySize = getMethod("getFreePhysicalMemorySize");
-        getTotalPhysicalMemorySize = getMethod("getTotalPhysicalMemorySize");
-        getFreeSwapSpaceSize = getMethod("getFreeSwapSpaceSize");
-        getTotalSwapSpaceSize = getMethod("getTotalSwapSpaceSize");
-        getSystemLoadAverage = getMethod("getSystemLoadAverage");
-        getSystemCpuLoad = getMethod("getSystemCpuLoad");
-    }
+    private static final ProcLoadAverageReader procLoadAverageReader = Constants.LINUX || Constants.FREE_BSD
+        ? new ProcLoadAverageReader(Path.of(Constants.LINUX ? "/proc/loadavg" : "/compat/linux/proc/loadavg"))
+        : null;
 
     private static class OsProbeHolder {
 
@@ -67,112 +49,60 @@ public class OsProbe {
      * Returns the amount of free physical memory in bytes.
      */
     public long getFreePhysicalMemorySize() {
-        if (getFreePhysicalMemorySize == null) {
-            return -1;
-        }
-        try {
-            return (long) getFreePhysicalMemorySize.invoke(osMxBean);
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return -1;
-        }
+        return OperatingSystemHandles.getLong(FREE_PHYSICAL_MEMORY_SIZE);
     }
 
     /**
      * Returns the total amount of physical memory in bytes.
      */
     public long getTotalPhysicalMemorySize() {
-        if (getTotalPhysicalMemorySize == null) {
-            return -1;
-        }
-        try {
-            return (long) getTotalPhysicalMemorySize.invoke(osMxBean);
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return -1;
-        }
+        return OperatingSystemHandles.getLong(TOTAL_PHYSICAL_MEMORY_SIZE);
     }
 
     /**
      * Returns the amount of free swap space in bytes.
      */
     public long getFreeSwapSpaceSize() {
-        if (getFreeSwapSpaceSize == null) {
-            return -1;
-        }
-        try {
-            return (long) getFreeSwapSpaceSize.invoke(osMxBean);
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return -1;
-        }
+        return OperatingSystemHandles.getLong(FREE_SWAP_SPACE_SIZE);
     }
 
     /**
      * Returns the total amount of swap space in bytes.
      */
     public long getTotalSwapSpaceSize() {
-        if (getTotalSwapSpaceSize == null) {
-            return -1;
-        }
-        try {
-            return (long) getTotalSwapSpaceSize.invoke(osMxBean);
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return -1;
-        }
+        return OperatingSystemHandles.getLong(TOTAL_SWAP_SPACE_SIZE);
     }
 
     /**
      * Returns the system load averages
      */
     public double[] getSystemLoadAverage() {
-        if (Constants.LINUX || Constants.FREE_BSD) {
-            final String procLoadAvg = Constants.LINUX ? "/proc/loadavg" : "/compat/linux/proc/loadavg";
-            double[] loadAverage = readProcLoadavg(procLoadAvg);
-            if (loadAverage != null) {
-                return loadAverage;
-            }
-            // fallback
+        double[] loadAverage = new double[3];
+        return readSystemLoadAverage(loadAverage) ? loadAverage : null;
+    }
+
+    /**
+     * Read the 1, 5 and 15 minutes system load averages into the given array, the ones which are not available being set to -1.
+     *
+     * @return <code>false</code> if the load averages are not available at all.
+     */
+    boolean readSystemLoadAverage(final double[] loadAverage) {
+        if (procLoadAverageReader != null && procLoadAverageReader.read(loadAverage)) {
+            return true;
         }
         if (Constants.WINDOWS) {
-            return null;
-        }
-        if (getSystemLoadAverage == null) {
-            return null;
+            return false;
         }
-        try {
-            double oneMinuteLoadAverage = (double) getSystemLoadAverage.invoke(osMxBean);
-            return new double[] { oneMinuteLoadAverage >= 0 ? oneMinuteLoadAverage : -1, -1, -1 };
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return null;
-        }
-    }
-
-    private static double[] readProcLoadavg(String procLoadavg) {
-        try {
-            List<String> lines = Files.readAllLines(FileSystems.getDefault().getPath(procLoadavg));
-            if (!lines.isEmpty()) {
-                String[] fields = lines.get(0).split("\\s+");
-                return new double[] { Double.parseDouble(fields[0]), Double.parseDouble(fields[1]), Double.parseDouble(fields[2]) };
-            }
-        } catch (IOException e) {}
-        return null;
+        double oneMinuteLoadAverage = OperatingSystemHandles.systemLoadAverage();
+        loadAverage[0] = oneMinuteLoadAverage >= 0 ? oneMinuteLoadAverage : -1;
+        loadAverage[1] = -1;
+        loadAverage[2] = -1;
+        return true;
     }
 
     public short getSystemCpuPercent() {
-        if (getSystemCpuLoad != null) {
-            try {
-                double load = (double) getSystemCpuLoad.invoke(osMxBean);
-                if (load >= 0) {
-                    return (short) (load * 100);
-                }
-            } catch (Throwable t) {
-                return -1;
-            }
-        }
-        return -1;
+        double load = OperatingSystemHandles.getDouble(SYSTEM_CPU_LOAD);
+        return load >= 0 ? (short) (load * 100) : -1;
     }
 
     public OsInfo osInfo() {
@@ -192,17 +122,4 @@ public class OsProbe {
 
         return info;
     }
-
-    /**
-     * Returns a given method of the OperatingSystemMXBean,
-     * or null if the method is not found or unavailable.
-     */
-    private static Method getMethod(String methodName) {
-        try {
-            return Class.forName("com.sun.management.OperatingSystemMXBean").getMethod(methodName);
-        } catch (Throwable t) {
-            // not available
-            return null;
-        }
-    }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.probe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read the load averages from a <code>loadavg</code> file of the proc filesystem. The file is kept open and read again from the
+ * start into the same buffer, procfs generating its content on each read, and the values are parsed without creating strings.
+ *
+ * @author GraviteeSource Team
+ */
+final class ProcLoadAverageReader {
+
+    private static final int BUFFER_SIZE = 128;
+
+    private final Path path;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private FileChannel channel;
+
+    ProcLoadAverageReader(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Read the 1, 5 and 15 minutes load averages into the given array.
+     *
+     * @return <code>true</code> if the load averages have been read.
+     */
+    synchronized boolean read(final double[] loadAverage) {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            }
+            buffer.clear();
+            int read = channel.read(buffer, 0);
+            return read > 0 && parse(buffer.array(), read, loadAverage);
+        } catch (IOException | RuntimeException e) {
+            close();
+            return false;
+        }
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing to do, the file is opened again on the next read
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Parse the first three decimal numbers separated by spaces, e.g. <code>0.52 0.58 0.59 2/1024 12345</code>.
+     */
+    static boolean parse(final byte[] bytes, final int length, final double[] values) {
+        int position = 0;
+        for (int i = 0; i < values.length; i++) {
+            while (position < length && bytes[position] == ' ') {
+                position++;
+            }
+            long integerPart = 0;
+            long fractionPart = 0;
+            long fractionScale = 1;
+            boolean fraction = false;
+            int start = position;
+            for (; position < length && bytes[position] != ' ' && bytes[position] != '\n'; position++) {
+                byte b = bytes[position];
+                if (b == '.' && !fraction) {
+                    fraction = true;
+                } else if (b >= '0' && b <= '9') {
+                    if (fraction) {
+                        fractionPart = fractionPart * 10 + (b - '0');
+                        fractionScale *= 10;
+                    } else {
+                        integerPart = integerPart * 10 + (b - '0');
+                    }
+                } else {
+                    return false;
+                }
+            }
+            if (position == start) {
+                return false;
+            }
+            values[i] = integerPart + (double) fractionPart / fractionScale;
+        }
+        return true;
+    }
+}
@@ -15,12 +15,13 @@
  */
 package io.gravitee.node.monitoring.monitor.probe;
 
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.COMMITTED_VIRTUAL_MEMORY_SIZE;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.MAX_FILE_DESCRIPTOR_COUNT;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.OPEN_FILE_DESCRIPTOR_COUNT;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.PROCESS_CPU_LOAD;
+import static io.gravitee.node.monitoring.monitor.probe.OperatingSystemHandles.PROCESS_CPU_TIME;
+
 import io.gravitee.node.api.monitor.ProcessInfo;
-import java.lang.management.ManagementFactory;
-import java.lang.management.OperatingSystemMXBean;
-import java.lang.reflect.Method;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -28,24 +29,6 @@ import org.slf4j.LoggerFactory;
  */
 public class ProcessProbe {
 
-    private final Logger logger = LoggerFactory.getLogger(ProcessProbe.class);
-
-    private static final OperatingSystemMXBean osMxBean = ManagementFactory.getOperatingSystemMXBean();
-
-    private static final Method getMaxFileDescriptorCountField;
-    private static final Method getOpenFileDescriptorCountField;
-    private static final Method getProcessCpuLoad;
-    private static final Method getProcessCpuTime;
-    private static final Method getCommittedVirtualMemorySize;
-
-    static {
-        getMaxFileDescriptorCountField = getUnixMethod("getMaxFileDescriptorCount");
-        getOpenFileDescriptorCountField = getUnixMethod("getOpenFileDescriptorCount");
-        getProcessCpuLoad = getMethod("getProcessCpuLoad");
-        getProcessCpuTime = getMethod("getProcessCpuTime");
-        getCommittedVirtualMemorySize = getMethod("getCommittedVirtualMemorySize");
-    }
-
     private static class ProcessProbeHolder {
 
         private static final ProcessProbe INSTANCE = new ProcessProbe();
@@ -61,30 +44,14 @@ public class ProcessProbe {
      * Returns the maximum number of file descriptors allowed on the system, or -1 if not supported.
      */
     public long getMaxFileDescriptorCount() {
-        if (getMaxFileDescriptorCountField == null) {
-            return -1;
-        }
-        try {
-            return (Long) getMaxFileDescriptorCountField.invoke(osMxBean);
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return -1;
-        }
+        return OperatingSystemHandles.getLong(MAX_FILE_DESCRIPTOR_COUNT);
     }
 
     /**
      * Returns the number of opened file descriptors associated with the current process, or -1 if not supported.
      */
     public long getOpenFileDescriptorCount() {
-        if (getOpenFileDescriptorCountField == null) {
-            return -1;
-        }
-        try {
-            return (Long) getOpenFileDescriptorCountField.invoke(osMxBean);
-        } catch (Exception ex) {
-            logger.debug("Unexpected exception", ex);
-            return -1;
-        }
+        return OperatingSystemHandles.getLong(OPEN_FILE_DESCRIPTOR_COUNT);
     }
 
     public ProcessInfo processInfo() {
@@ -108,76 +75,30 @@ public class ProcessProbe {
      * Returns the process CPU usage in percent
      */
     public short getProcessCpuPercent() {
-        if (getProcessCpuLoad != null) {
-            try {
-                double load = (double) getProcessCpuLoad.invoke(osMxBean);
-                if (load >= 0) {
-                    return (short) (load * 100);
-                }
-            } catch (Throwable t) {
-                return -1;
-            }
-        }
-        return -1;
+        double load = OperatingSystemHandles.getDouble(PROCESS_CPU_LOAD);
+        return load >= 0 ? (short) (load * 100) : -1;
     }
 
     /**
      * Returns the CPU time (in milliseconds) used by the process on which the Java virtual machine is running, or -1 if not supported.
      */
     public long getProcessCpuTotalTime() {
-        if (getProcessCpuTime != null) {
-            try {
-                long time = (long) getProcessCpuTime.invoke(osMxBean);
-                if (time >= 0) {
-                    return (time / 1_000_000L);
-                }
-            } catch (Exception t) {
-                return -1;
-            }
-        }
-        return -1;
-    }
-
-    /**
-     * Returns the size (in bytes) of virtual memory that is guaranteed to be available to the running process
-     */
-    public long getTotalVirtualMemorySize() {
-        if (getCommittedVirtualMemorySize != null) {
-            try {
-                long virtual = (long) getCommittedVirtualMemorySize.invoke(osMxBean);
-                if (virtual >= 0) {
-                    return virtual;
-                }
-            } catch (Exception t) {
-                return -1;
-            }
-        }
-        return -1;
+        long time = getProcessCpuTimeNanos();
+        return time >= 0 ? time / 1_000_000L : -1;
     }
 
     /**
-     * Returns a given method of the OperatingSystemMXBean,
-     * or null if the method is not found or unavailable.
+     * Returns the CPU time (in nanoseconds) used by the process on which the Java virtual machine is running, or -1 if not supported.
      */
-    private static Method getMethod(String methodName) {
-        try {
-            return Class.forName("com.sun.management.OperatingSystemMXBean").getMethod(methodName);
-        } catch (Throwable t) {
-            // not available
-            return null;
-        }
+    long getProcessCpuTimeNanos() {
+        return OperatingSystemHandles.getLong(PROCESS_CPU_TIME);
     }
 
     /**
-     * Returns a given method of the UnixOperatingSystemMXBean,
-     * or null if the method is not found or unavailable.
+     * Returns the size (in bytes) of virtual memory that is guaranteed to be available to the running process
      */
-    private static Method getUnixMethod(String methodName) {
-        try {
-            return Class.forName("com.sun.management.UnixOperatingSystemMXBean").getMethod(methodName);
-        } catch (Throwable t) {
-            // not available
-            return null;
-        }
+    public long getTotalVirtualMemorySize() {
+        long virtual = OperatingSystemHandles.getLong(COMMITTED_VIRTUAL_MEMORY_SIZE);
+        return virtual >= 0 ? virtual : -1;
     }
 }
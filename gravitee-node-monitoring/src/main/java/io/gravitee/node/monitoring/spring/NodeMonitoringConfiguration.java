@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gravitee.node.api.Node;
 import io.gravitee.node.api.NodeMonitoringRepository;
 import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.node.api.configuration.Configuration;
 import io.gravitee.node.api.healthcheck.ProbeManager;
 import io.gravitee.node.monitoring.DefaultNodeMonitoringService;
 import io.gravitee.node.monitoring.NodeMonitoringService;
@@ -27,8 +28,11 @@ import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckManagementEndpoint
 import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
 import io.gravitee.node.monitoring.healthcheck.ProbeManagerImpl;
 import io.gravitee.node.monitoring.infos.NodeInfosService;
+import io.gravitee.node.monitoring.monitor.NodeMonitorHistoryManagementEndpoint;
 import io.gravitee.node.monitoring.monitor.NodeMonitorManagementEndpoint;
 import io.gravitee.node.monitoring.monitor.NodeMonitorService;
+import io.gravitee.node.monitoring.monitor.history.MonitorHistory;
+import io.gravitee.node.monitoring.monitor.history.MonitorResolution;
 import io.vertx.core.Vertx;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
@@ -40,8 +44,12 @@ import org.springframework.context.annotation.Lazy;
 public class NodeMonitoringConfiguration {
 
     @Bean
-    public NodeMonitoringService nodeMonitoringService(@Lazy NodeMonitoringRepository repository) {
-        return new DefaultNodeMonitoringService(repository);
+    public NodeMonitoringService nodeMonitoringService(@Lazy NodeMonitoringRepository repository, Configuration configuration) {
+        return new DefaultNodeMonitoringService(
+            repository,
+            configuration.getProperty("services.monitoring.repository.flushInterval", Long.class, 1000L),
+            configuration.getProperty("services.monitoring.repository.batchSize", Integer.class, 100)
+        );
     }
 
     @Bean
@@ -54,6 +62,21 @@ public class NodeMonitoringConfiguration {
         return new NodeMonitorManagementEndpoint();
     }
 
+    @Bean
+    public MonitorHistory monitorHistory(Configuration configuration) {
+        if (!configuration.getProperty("services.monitoring.history.enabled", Boolean.class, true)) {
+            return MonitorHistory.DISABLED;
+        }
+        return new MonitorHistory(
+            MonitorResolution.parse(configuration.getProperty("services.monitoring.history.resolutions", "1s:10m,10s:6h,1m:7d"))
+        );
+    }
+
+    @Bean
+    public NodeMonitorHistoryManagementEndpoint nodeMonitorHistoryManagementEndpoint(MonitorHistory monitorHistory) {
+        return new NodeMonitorHistoryManagementEndpoint(monitorHistory);
+    }
+
     @Bean
     public NodeHealthCheckService nodeHealthCheckService() {
         return new NodeHealthCheckService();
@@ -15,22 +15,33 @@
  */
 package io.gravitee.node.monitoring;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import io.gravitee.node.api.Monitoring;
 import io.gravitee.node.api.NodeMonitoringRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.observers.TestObserver;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -132,4 +143,109 @@ public class NodeMonitoringServiceTest {
         obs.assertNoValues();
         obs.assertComplete();
     }
+
+    @Test
+    void should_coalesce_buffered_writes_of_a_same_node_and_type() {
+        DefaultNodeMonitoringService batching = new DefaultNodeMonitoringService(repository, 3_600_000, 100);
+        when(repository.findByNodeIdAndType(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(repository.bulkCreateOrUpdate(any(), any())).thenReturn(Completable.complete());
+
+        Monitoring first = monitoring("node#1", Monitoring.MONITOR);
+        Monitoring second = monitoring("node#1", Monitoring.MONITOR);
+        Monitoring other = monitoring("node#2", Monitoring.MONITOR);
+        TestObserver<Monitoring> firstObs = batching.createOrUpdate(first).test();
+        TestObserver<Monitoring> secondObs = batching.createOrUpdate(second).test();
+        TestObserver<Monitoring> otherObs = batching.createOrUpdate(other).test();
+        firstObs.assertNotComplete();
+
+        batching.flush();
+
+        ArgumentCaptor<Collection<Monitoring>> toCreate = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).bulkCreateOrUpdate(toCreate.capture(), any());
+        assertThat(toCreate.getValue()).containsExactlyInAnyOrder(second, other);
+        firstObs.assertValue(second);
+        secondObs.assertValue(second);
+        otherObs.assertValue(other);
+        assertThat(second.getId()).isNotNull();
+        batching.close();
+    }
+
+    @Test
+    void should_update_monitoring_written_by_a_previous_flush() {
+        DefaultNodeMonitoringService batching = new DefaultNodeMonitoringService(repository, 3_600_000, 100);
+        when(repository.findByNodeIdAndType("node#1", Monitoring.MONITOR)).thenReturn(Maybe.empty());
+        when(repository.bulkCreateOrUpdate(any(), any())).thenReturn(Completable.complete());
+
+        Monitoring created = monitoring("node#1", Monitoring.MONITOR);
+        batching.createOrUpdate(created);
+        batching.flush();
+        Monitoring updated = monitoring("node#1", Monitoring.MONITOR);
+        TestObserver<Monitoring> obs = batching.createOrUpdate(updated).test();
+        batching.flush();
+
+        obs.assertValue(updated);
+        assertThat(updated.getId()).isEqualTo(created.getId());
+        assertThat(updated.getCreatedAt()).isEqualTo(created.getCreatedAt());
+        verify(repository).bulkCreateOrUpdate(List.of(), List.of(updated));
+        verify(repository, times(1)).findByNodeIdAndType("node#1", Monitoring.MONITOR);
+        batching.close();
+    }
+
+    @Test
+    void should_flush_as_soon_as_a_batch_is_full() throws InterruptedException {
+        DefaultNodeMonitoringService batching = new DefaultNodeMonitoringService(repository, 3_600_000, 2);
+        when(repository.findByNodeIdAndType(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(repository.bulkCreateOrUpdate(any(), any())).thenReturn(Completable.complete());
+
+        TestObserver<Monitoring> firstObs = batching.createOrUpdate(monitoring("node#1", Monitoring.MONITOR)).test();
+        TestObserver<Monitoring> secondObs = batching.createOrUpdate(monitoring("node#1", Monitoring.HEALTH_CHECK)).test();
+
+        assertThat(secondObs.await(5, TimeUnit.SECONDS)).isTrue();
+        firstObs.assertComplete();
+        batching.close();
+    }
+
+    @Test
+    void should_fail_buffered_writes_when_flush_fails() {
+        DefaultNodeMonitoringService batching = new DefaultNodeMonitoringService(repository, 3_600_000, 100);
+        when(repository.findByNodeIdAndType(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(repository.bulkCreateOrUpdate(any(), any())).thenReturn(Completable.error(new RuntimeException("unavailable")));
+
+        TestObserver<Monitoring> obs = batching.createOrUpdate(monitoring("node#1", Monitoring.MONITOR)).test();
+        batching.flush();
+
+        obs.assertError(RuntimeException.class);
+        batching.close();
+    }
+
+    @Test
+    void should_record_flush_metrics() {
+        DefaultNodeMonitoringService batching = new DefaultNodeMonitoringService(repository, 3_600_000, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        batching.bindTo(registry);
+        when(repository.findByNodeIdAndType(anyString(), anyString())).thenReturn(Maybe.empty());
+        when(repository.bulkCreateOrUpdate(any(), any())).thenReturn(Completable.complete());
+
+        batching.createOrUpdate(monitoring("node#1", Monitoring.MONITOR));
+        batching.createOrUpdate(monitoring("node#1", Monitoring.MONITOR));
+        batching.createOrUpdate(monitoring("node#2", Monitoring.MONITOR));
+        assertThat(registry.get("node.monitoring.writes.pending").gauge().value()).isEqualTo(2);
+        batching.flush();
+
+        assertThat(registry.get("node.monitoring.flush.size").summary().count()).isEqualTo(1);
+        assertThat(registry.get("node.monitoring.flush.size").summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get("node.monitoring.flush.duration").timer().count()).isEqualTo(1);
+        assertThat(registry.get("node.monitoring.writes.coalesced").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("node.monitoring.writes.pending").gauge().value()).isZero();
+        batching.close();
+    }
+
+    private static Monitoring monitoring(final String nodeId, final String type) {
+        final Monitoring monitoring = new Monitoring();
+        monitoring.setNodeId(nodeId);
+        monitoring.setType(type);
+        monitoring.setEvaluatedAt(new Date());
+        monitoring.setPayload("payload");
+        return monitoring;
+    }
 }
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import io.gravitee.node.api.healthcheck.HealthCheck;
+import io.gravitee.node.api.healthcheck.Result;
+import io.gravitee.node.api.infos.NodeInfos;
+import io.gravitee.node.api.infos.NodeStatus;
+import io.gravitee.node.api.infos.PluginInfos;
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.api.monitor.OsInfo;
+import io.gravitee.node.api.monitor.ProcessInfo;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MonitoringMessageCodecsTest {
+
+    @Test
+    void should_encode_and_decode_node_infos() throws IOException {
+        NodeInfos nodeInfos = new NodeInfos();
+        nodeInfos.setId("node-id");
+        nodeInfos.setName("Gateway");
+        nodeInfos.setApplication("gio-apim-gateway");
+        nodeInfos.setEvaluatedAt(1_700_000_000_000L);
+        nodeInfos.setStatus(NodeStatus.STARTED);
+        nodeInfos.setVersion("4.2.0");
+        nodeInfos.setJdkVersion("17.0.8");
+        nodeInfos.setTags(List.of("internal", "europe"));
+        nodeInfos.setHostname("gateway-1");
+        nodeInfos.setIp("10.0.0.1");
+        nodeInfos.setPort(8082);
+        PluginInfos plugin = new PluginInfos();
+        plugin.setId("rate-limit");
+        plugin.setName("Rate Limit");
+        plugin.setVersion("2.1.0");
+        plugin.setPlugin("policy-ratelimit");
+        plugin.setType("policy");
+        nodeInfos.setPluginInfos(Set.of(plugin));
+
+        NodeInfos decoded = roundTrip(new NodeInfosMessageCodec(), nodeInfos);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(nodeInfos);
+    }
+
+    @Test
+    void should_encode_and_decode_node_infos_with_null_fields() throws IOException {
+        NodeInfos nodeInfos = new NodeInfos();
+
+        NodeInfos decoded = roundTrip(new NodeInfosMessageCodec(), nodeInfos);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(nodeInfos);
+    }
+
+    @Test
+    void should_encode_and_decode_health_check() throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("cpu", Result.healthy());
+        results.put("memory", Result.unhealthy("Memory usage is above 90%"));
+        HealthCheck healthCheck = new HealthCheck(1_700_000_000_000L, results);
+
+        HealthCheck decoded = roundTrip(new HealthCheckMessageCodec(), healthCheck);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(healthCheck);
+        assertThat(decoded.isHealthy()).isFalse();
+    }
+
+    @Test
+    void should_encode_and_decode_health_check_evaluation() throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("cpu", Result.healthy().withEvaluation(1_700_000_000_000L, 12L));
+        results.put("memory", Result.unhealthy("Memory usage is above 90%"));
+        HealthCheck healthCheck = new HealthCheck(1_700_000_000_000L, results);
+
+        HealthCheck decoded = roundTrip(new HealthCheckMessageCodec(), healthCheck);
+
+        assertThat(decoded.getResults().get("cpu").getEvaluatedAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(decoded.getResults().get("cpu").getDurationMs()).isEqualTo(12L);
+        assertThat(decoded.getResults().get("memory").getEvaluatedAt()).isNull();
+        assertThat(decoded.getResults().get("memory").getDurationMs()).isNull();
+    }
+
+    @Test
+    void should_decode_health_check_written_in_format_version_1() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(1);
+        output.writeBoolean(false);
+        AbstractMonitoringCodec.writeLong(output, 1_700_000_000_000L);
+        AbstractMonitoringCodec.writeSize(output, 1);
+        AbstractMonitoringCodec.writeString(output, "cpu");
+        output.writeBoolean(false);
+        AbstractMonitoringCodec.writeString(output, "high");
+
+        HealthCheck decoded = new HealthCheckMessageCodec().decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(decoded.isHealthy()).isFalse();
+        assertThat(decoded.getEvaluatedAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(decoded.getResults()).containsExactly(Map.entry("cpu", Result.unhealthy("high")));
+        assertThat(decoded.getResults().get("cpu").getDurationMs()).isNull();
+    }
+
+    @Test
+    void should_encode_and_decode_monitor() throws IOException {
+        Monitor monitor = monitor();
+
+        Monitor decoded = roundTrip(new MonitorMessageCodec(), monitor);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(monitor);
+    }
+
+    @Test
+    void should_encode_monitor_smaller_than_java_serialization() throws IOException {
+        Monitor monitor = monitor();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(serialized)) {
+            output.writeObject(monitor);
+        }
+
+        assertThat(encode(new MonitorMessageCodec(), monitor)).hasSizeLessThan(serialized.size() / 5);
+    }
+
+    private static Monitor monitor() {
+        JvmInfo jvm = new JvmInfo(1_700_000_000_000L, 3_600_000L);
+        jvm.mem = new JvmInfo.Mem();
+        jvm.mem.heapCommitted = 536_870_912L;
+        jvm.mem.heapUsed = 268_435_456L;
+        jvm.mem.heapMax = 1_073_741_824L;
+        jvm.mem.nonHeapCommitted = 134_217_728L;
+        jvm.mem.nonHeapUsed = 100_000_000L;
+        jvm.mem.pools =
+            new JvmInfo.MemoryPool[] {
+                new JvmInfo.MemoryPool("young", 1_000L, 2_000L, 1_500L, 2_000L),
+                new JvmInfo.MemoryPool("old", 10_000L, -1L, 15_000L, -1L),
+            };
+        jvm.threads = new JvmInfo.Threads();
+        jvm.threads.count = 42;
+        jvm.threads.peakCount = 50;
+        jvm.gc = new JvmInfo.GarbageCollectors();
+        JvmInfo.GarbageCollector collector = new JvmInfo.GarbageCollector();
+        collector.name = "G1 Young Generation";
+        collector.collectionCount = 12;
+        collector.collectionTime = 345;
+        jvm.gc.collectors = new JvmInfo.GarbageCollector[] { collector };
+
+        OsInfo os = new OsInfo();
+        os.timestamp = 1_700_000_000_000L;
+        os.cpu = new OsInfo.Cpu();
+        os.cpu.percent = 35;
+        os.cpu.loadAverage = new double[] { 1.5, 1.2, 0.9 };
+        os.mem = new OsInfo.Mem();
+        os.mem.total = 17_179_869_184L;
+        os.mem.free = 4_294_967_296L;
+
+        ProcessInfo process = new ProcessInfo();
+        process.timestamp = 1_700_000_000_000L;
+        process.openFileDescriptors = 256;
+        process.maxFileDescriptors = 65_536;
+        process.cpu = new ProcessInfo.Cpu();
+        process.cpu.percent = 12;
+        process.cpu.total = 123_456L;
+
+        return Monitor.on("node-id").at(1_700_000_000_000L).jvm(jvm).os(os).process(process).build();
+    }
+
+    private static <T> byte[] encode(final MessageCodec<T> codec, final T message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.encode(message, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static <T> T roundTrip(final MessageCodec<T> codec, final T message) throws IOException {
+        return codec.decode(new DataInputStream(new ByteArrayInputStream(encode(codec, message))));
+    }
+}
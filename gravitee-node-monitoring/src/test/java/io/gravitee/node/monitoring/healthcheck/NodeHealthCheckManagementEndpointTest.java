@@ -17,6 +17,8 @@ package io.gravitee.node.monitoring.healthcheck;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,6 +28,7 @@ import io.gravitee.node.api.healthcheck.Result;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -65,6 +68,7 @@ public class NodeHealthCheckManagementEndpointTest {
     void should_not_filter_all_healthy() {
         Map<Probe, Result> probeResultMap = fakeProbeResults(true);
         when(probeStatusRegistry.getResults()).thenReturn(probeResultMap);
+        when(probeStatusRegistry.refresh(any(), anyBoolean())).thenAnswer(i -> refreshed(probeResultMap, i.getArgument(0)));
         when(routingContext.queryParams()).thenReturn(queryParams);
         when(queryParams.contains(any())).thenReturn(false);
 
@@ -97,6 +101,7 @@ public class NodeHealthCheckManagementEndpointTest {
     void should_not_filter_one_unhealthy_healthy() {
         Map<Probe, Result> probeResultMap = fakeProbeResults(false);
         when(probeStatusRegistry.getResults()).thenReturn(probeResultMap);
+        when(probeStatusRegistry.refresh(any(), anyBoolean())).thenAnswer(i -> refreshed(probeResultMap, i.getArgument(0)));
         when(routingContext.queryParams()).thenReturn(queryParams);
         when(queryParams.contains(any())).thenReturn(false);
 
@@ -129,6 +134,7 @@ public class NodeHealthCheckManagementEndpointTest {
     void should_filter_all_healthy() {
         Map<Probe, Result> probeResultMap = fakeProbeResults(true);
         when(probeStatusRegistry.getResults()).thenReturn(probeResultMap);
+        when(probeStatusRegistry.refresh(any(), anyBoolean())).thenAnswer(i -> refreshed(probeResultMap, i.getArgument(0)));
         when(routingContext.queryParams()).thenReturn(queryParams);
         when(queryParams.contains(any())).thenReturn(true);
         when(queryParams.get(any())).thenReturn("ratelimit-repository,management-repository");
@@ -159,6 +165,7 @@ public class NodeHealthCheckManagementEndpointTest {
     void should_filter_by_probe_id() {
         Map<Probe, Result> probeResultMap = fakeProbeResults(false);
         when(probeStatusRegistry.getResults()).thenReturn(probeResultMap);
+        when(probeStatusRegistry.refresh(any(), anyBoolean())).thenAnswer(i -> refreshed(probeResultMap, i.getArgument(0)));
         when(routingContext.queryParams()).thenReturn(queryParams);
         when(queryParams.contains(any())).thenReturn(true);
         when(queryParams.get(any())).thenReturn("ratelimit-repository,management-repository,cpu");
@@ -188,6 +195,27 @@ public class NodeHealthCheckManagementEndpointTest {
         assertThat(writeCaptor.getValue()).isEqualTo(expected);
     }
 
+    @Test
+    void should_force_refresh_when_requested() {
+        Map<Probe, Result> probeResultMap = fakeProbeResults(true);
+        when(probeStatusRegistry.getResults()).thenReturn(probeResultMap);
+        when(probeStatusRegistry.refresh(any(), anyBoolean())).thenAnswer(i -> refreshed(probeResultMap, i.getArgument(0)));
+        when(routingContext.queryParams()).thenReturn(queryParams);
+        when(queryParams.contains(any())).thenReturn(false);
+        when(queryParams.get(NodeHealthCheckManagementEndpoint.REFRESH_PARAM)).thenReturn("true");
+
+        nodeHealthCheckManagementEndpoint.handle(routingContext);
+
+        verify(probeStatusRegistry).refresh(any(), eq(true));
+        verify(httpServerResponse).setStatusCode(HttpStatusCode.OK_200);
+    }
+
+    private CompletableFuture<Map<Probe, Result>> refreshed(Map<Probe, Result> probeResultMap, Collection<Probe> probes) {
+        Map<Probe, Result> results = new HashMap<>();
+        probes.forEach(probe -> results.put(probe, probeResultMap.get(probe)));
+        return CompletableFuture.completedFuture(results);
+    }
+
     private Map<Probe, Result> fakeProbeResults(boolean allHealthy) {
         Map<Probe, Result> probesMap = new HashMap<>();
         probesMap.put(new TestingProbe("http-server"), mockResult(true));
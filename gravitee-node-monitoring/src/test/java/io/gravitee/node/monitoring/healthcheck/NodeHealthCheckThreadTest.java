@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.healthcheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.gravitee.node.api.healthcheck.HealthCheck;
+import io.gravitee.node.api.healthcheck.Probe;
+import io.gravitee.node.api.healthcheck.Result;
+import io.vertx.core.eventbus.MessageProducer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NodeHealthCheckThreadTest {
+
+    @SuppressWarnings("unchecked")
+    private final MessageProducer<HealthCheck> producer = mock(MessageProducer.class);
+
+    private NodeHealthCheckThread cut;
+
+    @AfterEach
+    void afterEach() {
+        if (cut != null) {
+            cut.close();
+        }
+    }
+
+    @Test
+    void should_evaluate_probes_in_parallel() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Supplier<CompletionStage<Result>> check = () -> {
+            bothStarted.countDown();
+            try {
+                boolean parallel = bothStarted.await(5, TimeUnit.SECONDS);
+                return CompletableFuture.completedFuture(parallel ? Result.healthy() : Result.unhealthy("alone"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.completedFuture(Result.unhealthy(e));
+            }
+        };
+        TestingProbe first = new TestingProbe("first", check);
+        TestingProbe second = new TestingProbe("second", check);
+        cut = new NodeHealthCheckThread(List.of(first, second), producer, HealthCheckOptions.builder().threads(2).build());
+
+        Map<Probe, Result> results = cut.refresh(List.of(first, second), true).get(5, TimeUnit.SECONDS);
+
+        assertThat(results.get(first).isHealthy()).isTrue();
+        assertThat(results.get(second).isHealthy()).isTrue();
+    }
+
+    @Test
+    void should_report_probe_as_unhealthy_when_it_times_out() throws Exception {
+        TestingProbe probe = new TestingProbe("slow", CompletableFuture::new);
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().timeoutMs(50).build());
+
+        Result result = cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe);
+
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("Probe did not complete within 50 ms");
+        assertThat(result.getDurationMs()).isGreaterThanOrEqualTo(50);
+        assertThat(cut.getResults().get(probe)).isSameAs(result);
+    }
+
+    @Test
+    void should_interrupt_probe_blocking_beyond_its_timeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        TestingProbe probe = new TestingProbe(
+            "blocking",
+            () -> {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return CompletableFuture.completedFuture(Result.healthy());
+            }
+        );
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().timeoutMs(50).build());
+
+        Result result = cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe);
+
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_not_evaluate_probe_again_while_it_is_still_running() throws Exception {
+        CompletableFuture<Result> pending = new CompletableFuture<>();
+        TestingProbe probe = new TestingProbe("pending", () -> pending);
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().timeoutMs(50).build());
+
+        Result timedOut = cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe);
+        assertThat(cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe)).isSameAs(timedOut);
+        assertThat(probe.checks.get()).isEqualTo(1);
+
+        pending.complete(Result.healthy());
+
+        assertThat(cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe).isHealthy()).isTrue();
+        assertThat(probe.checks.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_evaluate_probe_again_when_its_check_never_completes() throws Exception {
+        TestingProbe probe = new TestingProbe("stalled", CompletableFuture::new);
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().timeoutMs(20).build());
+
+        cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS);
+        Thread.sleep(NodeHealthCheckThread.STALLED_PROBE_TIMEOUTS * 20 + 100);
+
+        assertThat(cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe).isHealthy()).isFalse();
+        assertThat(probe.checks.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_coalesce_concurrent_evaluations_of_a_probe() throws Exception {
+        CompletableFuture<Result> pending = new CompletableFuture<>();
+        TestingProbe probe = new TestingProbe("pending", () -> pending);
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().build());
+
+        CompletableFuture<Map<Probe, Result>> firstRefresh = cut.refresh(List.of(probe), true);
+        CompletableFuture<Map<Probe, Result>> secondRefresh = cut.refresh(List.of(probe), true);
+        pending.complete(Result.healthy());
+
+        assertThat(firstRefresh.get(5, TimeUnit.SECONDS).get(probe).isHealthy()).isTrue();
+        assertThat(secondRefresh.get(5, TimeUnit.SECONDS).get(probe).isHealthy()).isTrue();
+        assertThat(probe.checks.get()).isEqualTo(1);
+    }
+
+    @Test
+    void should_only_reevaluate_stale_results_unless_forced() throws Exception {
+        TestingProbe probe = new TestingProbe("probe", () -> CompletableFuture.completedFuture(Result.healthy()));
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().maxAgeMs(60_000).build());
+
+        assertThat(cut.getResults().get(probe)).isEqualTo(Result.notReady());
+
+        Result evaluated = cut.refresh(List.of(probe), false).get(5, TimeUnit.SECONDS).get(probe);
+        assertThat(evaluated.isHealthy()).isTrue();
+        assertThat(evaluated.getEvaluatedAt()).isNotNull();
+        assertThat(probe.checks.get()).isEqualTo(1);
+
+        assertThat(cut.refresh(List.of(probe), false).get(5, TimeUnit.SECONDS).get(probe)).isSameAs(evaluated);
+        assertThat(probe.checks.get()).isEqualTo(1);
+
+        cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS);
+        assertThat(probe.checks.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_report_probe_as_unhealthy_when_check_fails() throws Exception {
+        TestingProbe probe = new TestingProbe(
+            "failing",
+            () -> {
+                throw new IllegalStateException("Connection refused");
+            }
+        );
+        cut = new NodeHealthCheckThread(List.of(probe), producer, HealthCheckOptions.builder().build());
+
+        Result result = cut.refresh(List.of(probe), true).get(5, TimeUnit.SECONDS).get(probe);
+
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("Connection refused");
+    }
+
+    private static class TestingProbe implements Probe {
+
+        private final String id;
+        private final Supplier<CompletionStage<Result>> check;
+        private final AtomicInteger checks = new AtomicInteger();
+
+        private TestingProbe(String id, Supplier<CompletionStage<Result>> check) {
+            this.id = id;
+            this.check = check;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public CompletionStage<Result> check() {
+            checks.incrementAndGet();
+            return check.get();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.api.monitor.OsInfo;
+import io.gravitee.node.api.monitor.ProcessInfo;
+import io.gravitee.node.monitoring.monitor.history.MonitorHistory;
+import io.gravitee.node.monitoring.monitor.history.MonitorResolution;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NodeMonitorHistoryManagementEndpointTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Mock
+    private RoutingContext routingContext;
+
+    @Mock
+    private HttpServerResponse response;
+
+    private final MultiMap queryParams = MultiMap.caseInsensitiveMultiMap();
+
+    private NodeMonitorHistoryManagementEndpoint cut;
+
+    @BeforeEach
+    void beforeEach() {
+        MonitorHistory history = new MonitorHistory(List.of(new MonitorResolution(1_000, 60_000)));
+        history.record(monitor(START, 10));
+        history.record(monitor(START + 1_000, -1));
+        history.record(monitor(START + 2_000, 25));
+        cut = new NodeMonitorHistoryManagementEndpoint(history);
+
+        when(routingContext.response()).thenReturn(response);
+        when(routingContext.queryParams()).thenReturn(queryParams);
+    }
+
+    @Test
+    void should_stream_the_points_of_a_metric() {
+        queryParams.add("metric", "process.cpu.percent").add("from", String.valueOf(START)).add("to", String.valueOf(START + 2_000));
+
+        cut.handle(routingContext);
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(response).setStatusCode(HttpStatusCode.OK_200);
+        verify(response).end(body.capture());
+        assertThat(new JsonObject(body.getValue()))
+            .isEqualTo(
+                new JsonObject(
+                    "{\"metric\":\"process.cpu.percent\",\"step\":1000,\"points\":[[" +
+                    START +
+                    ",10],[" +
+                    (START + 1_000) +
+                    ",null],[" +
+                    (START + 2_000) +
+                    ",25]]}"
+                )
+            );
+    }
+
+    @Test
+    void should_reject_unknown_metric() {
+        queryParams.add("metric", "unknown");
+
+        cut.handle(routingContext);
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(response).setStatusCode(HttpStatusCode.BAD_REQUEST_400);
+        verify(response).end(body.capture());
+        assertThat(new JsonObject(body.getValue()).getJsonArray("metrics")).contains("process.cpu.percent", "jvm.gc.time");
+    }
+
+    @Test
+    void should_reject_invalid_range() {
+        queryParams.add("metric", "process.cpu.percent").add("from", "yesterday");
+
+        cut.handle(routingContext);
+
+        verify(response).setStatusCode(HttpStatusCode.BAD_REQUEST_400);
+        verify(response).end(any(String.class));
+    }
+
+    private static Monitor monitor(final long timestamp, final int processCpuPercent) {
+        OsInfo os = new OsInfo();
+        os.cpu = new OsInfo.Cpu();
+        os.mem = new OsInfo.Mem();
+        ProcessInfo process = new ProcessInfo();
+        process.cpu = new ProcessInfo.Cpu();
+        process.cpu.percent = (short) processCpuPercent;
+        JvmInfo jvm = new JvmInfo(timestamp, 0);
+        jvm.mem = new JvmInfo.Mem();
+        jvm.threads = new JvmInfo.Threads();
+        return Monitor.on("node-id").at(timestamp).os(os).process(process).jvm(jvm).build();
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.api.monitor.OsInfo;
+import io.gravitee.node.api.monitor.ProcessInfo;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MonitorHistoryTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void should_parse_resolutions() {
+        assertThat(MonitorResolution.parse("1m:7d, 1s:10m,10s:6h"))
+            .containsExactly(
+                new MonitorResolution(1_000, 600_000),
+                new MonitorResolution(10_000, 21_600_000),
+                new MonitorResolution(60_000, 604_800_000)
+            );
+        assertThat(MonitorResolution.parse("")).isEmpty();
+        assertThatThrownBy(() -> MonitorResolution.parse("1s")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MonitorResolution.parse("1w:1d")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MonitorResolution.parse("1h:1m")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_return_recorded_points() {
+        MonitorHistory cut = new MonitorHistory(List.of(new MonitorResolution(1_000, 60_000)));
+        cut.record(monitor(START, 10, 0));
+        cut.record(monitor(START + 1_000, 20, 0));
+        cut.record(monitor(START + 2_000, 30, 0));
+
+        MonitorSeries series = cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START, START + 2_000, 0);
+
+        assertThat(series.stepMs()).isEqualTo(1_000);
+        assertThat(series.timestamps()).containsExactly(START, START + 1_000, START + 2_000);
+        assertThat(series.values()).containsExactly(10, 20, 30);
+    }
+
+    @Test
+    void should_keep_a_fixed_number_of_points() {
+        MonitorHistory cut = new MonitorHistory(List.of(new MonitorResolution(1_000, 5_000)));
+        for (int i = 0; i < 20; i++) {
+            cut.record(monitor(START + i * 1_000L, i, 0));
+        }
+
+        MonitorSeries series = cut.query(MonitorMetric.PROCESS_CPU_PERCENT, 0, Long.MAX_VALUE, 0);
+
+        // 5 points in the ring and the one of the current step
+        assertThat(series.values()).containsExactly(14, 15, 16, 17, 18, 19);
+    }
+
+    @Test
+    void should_average_gauges_and_sum_counter_increases_over_the_step() {
+        MonitorHistory cut = new MonitorHistory(List.of(new MonitorResolution(10_000, 60_000)));
+        cut.record(monitor(START, 10, 100));
+        cut.record(monitor(START + 5_000, 30, 103));
+        cut.record(monitor(START + 10_000, 50, 110));
+        cut.record(monitor(START + 15_000, 70, 110));
+
+        MonitorSeries cpu = cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START, START + 20_000, 0);
+        MonitorSeries collections = cut.query(MonitorMetric.JVM_GC_COLLECTIONS, START, START + 20_000, 0);
+
+        assertThat(cpu.timestamps()).containsExactly(START, START + 10_000);
+        assertThat(cpu.values()).containsExactly(20, 60);
+        assertThat(collections.values()).containsExactly(3, 7);
+    }
+
+    @Test
+    void should_use_the_finest_resolution_covering_the_range() {
+        MonitorHistory cut = new MonitorHistory(List.of(new MonitorResolution(1_000, 10_000), new MonitorResolution(10_000, 600_000)));
+        for (int i = 0; i < 60; i++) {
+            cut.record(monitor(START + i * 1_000L, i, 0));
+        }
+
+        assertThat(cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START + 55_000, START + 60_000, 0).stepMs()).isEqualTo(1_000);
+        assertThat(cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START + 55_000, START + 60_000, 10_000).stepMs()).isEqualTo(10_000);
+
+        MonitorSeries series = cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START, START + 60_000, 0);
+        assertThat(series.stepMs()).isEqualTo(10_000);
+        assertThat(series.values()).containsExactly(4.5, 14.5, 24.5, 34.5, 44.5, 54.5);
+    }
+
+    @Test
+    void should_downsample_to_the_requested_step() {
+        MonitorHistory cut = new MonitorHistory(List.of(new MonitorResolution(1_000, 60_000)));
+        for (int i = 0; i < 4; i++) {
+            cut.record(monitor(START + i * 1_000L, i * 10, 0));
+        }
+
+        MonitorSeries series = cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START, START + 4_000, 2_000);
+
+        assertThat(series.stepMs()).isEqualTo(2_000);
+        assertThat(series.timestamps()).containsExactly(START, START + 2_000);
+        assertThat(series.values()).containsExactly(5, 25);
+    }
+
+    @Test
+    void should_record_unavailable_values_as_nan() {
+        MonitorHistory cut = new MonitorHistory(List.of(new MonitorResolution(1_000, 60_000)));
+        cut.record(monitor(START, -1, 0));
+
+        assertThat(cut.query(MonitorMetric.PROCESS_CPU_PERCENT, START, START, 0).values()).containsExactly(Double.NaN);
+        assertThat(cut.query(MonitorMetric.JVM_GC_COLLECTIONS, START, START, 0).values()).containsExactly(Double.NaN);
+    }
+
+    @Test
+    void should_not_record_when_disabled() {
+        MonitorHistory.DISABLED.record(monitor(START, 10, 0));
+
+        assertThat(MonitorHistory.DISABLED.isEnabled()).isFalse();
+        assertThat(MonitorHistory.DISABLED.query(MonitorMetric.PROCESS_CPU_PERCENT, 0, Long.MAX_VALUE, 0).size()).isZero();
+    }
+
+    static Monitor monitor(final long timestamp, final int processCpuPercent, final long gcCollections) {
+        OsInfo os = new OsInfo();
+        os.cpu = new OsInfo.Cpu();
+        os.mem = new OsInfo.Mem();
+        ProcessInfo process = new ProcessInfo();
+        process.cpu = new ProcessInfo.Cpu();
+        process.cpu.percent = (short) processCpuPercent;
+        JvmInfo jvm = new JvmInfo(timestamp, 0);
+        jvm.mem = new JvmInfo.Mem();
+        jvm.threads = new JvmInfo.Threads();
+        jvm.gc = new JvmInfo.GarbageCollectors();
+        JvmInfo.GarbageCollector collector = new JvmInfo.GarbageCollector();
+        collector.collectionCount = gcCollections;
+        jvm.gc.collectors = new JvmInfo.GarbageCollector[] { collector };
+        return Monitor.on("node-id").at(timestamp).os(os).process(process).jvm(jvm).build();
+    }
+}
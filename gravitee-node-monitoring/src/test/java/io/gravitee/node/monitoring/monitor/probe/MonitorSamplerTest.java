@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.monitor.probe;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.monitor.JvmInfo;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.api.monitor.OsInfo;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MonitorSamplerTest {
+
+    private final MonitorSampler cut = new MonitorSampler();
+
+    @Test
+    void should_sample_node_metrics() {
+        Monitor monitor = cut.sample("node-id");
+
+        assertThat(monitor.getNodeId()).isEqualTo("node-id");
+        assertThat(monitor.getTimestamp()).isPositive();
+        assertThat(monitor.getOs().cpu).isNotNull();
+        assertThat(monitor.getOs().mem).isNotNull();
+        assertThat(monitor.getProcess().cpu.total).isNotZero();
+        assertThat(monitor.getJvm().mem.heapUsed).isPositive();
+        assertThat(monitor.getJvm().threads.count).isPositive();
+        assertThat(monitor.getJvm().mem.pools).extracting(JvmInfo.MemoryPool::getName).containsAnyOf("young", "survivor", "old");
+        assertThat(monitor.getJvm().gc.collectors).hasSize(cut.gcCount());
+    }
+
+    @Test
+    void should_compute_process_cpu_percent_between_two_samples() {
+        cut.sample("node-id");
+        long sum = 0;
+        long end = System.nanoTime() + 50_000_000L;
+        while (System.nanoTime() < end) {
+            sum += IntStream.range(0, 1000).sum();
+        }
+
+        Monitor monitor = cut.sample("node-id");
+
+        assertThat(sum).isPositive();
+        assertThat(monitor.getProcess().cpu.percent).isBetween((short) 0, (short) 100);
+    }
+
+    @Test
+    void should_compute_gc_deltas_between_two_samples() {
+        Monitor first = cut.sample("node-id");
+        for (int i = 0; i < cut.gcCount(); i++) {
+            assertThat(cut.gcCollectionsDelta(i)).isZero();
+        }
+
+        System.gc();
+        Monitor second = cut.sample("node-id");
+
+        long collections = IntStream.range(0, cut.gcCount()).mapToLong(cut::gcCollectionsDelta).sum();
+        assertThat(collections).isPositive();
+        assertThat(second.getJvm().gc).isNotSameAs(first.getJvm().gc);
+        for (int i = 0; i < cut.gcCount(); i++) {
+            assertThat(cut.gcCollectionsDelta(i))
+                .isEqualTo(second.getJvm().gc.collectors[i].collectionCount - first.getJvm().gc.collectors[i].collectionCount);
+        }
+    }
+
+    @Test
+    void should_reuse_the_parts_which_did_not_change() {
+        Monitor first = cut.sample("node-id");
+        Monitor second = cut.sample("node-id");
+
+        OsInfo.Swap firstSwap = first.getOs().swap;
+        OsInfo.Swap secondSwap = second.getOs().swap;
+        if (firstSwap.total == secondSwap.total && firstSwap.free == secondSwap.free) {
+            assertThat(secondSwap).isSameAs(firstSwap);
+        } else {
+            assertThat(secondSwap).isNotSameAs(firstSwap);
+        }
+        JvmInfo.Threads firstThreads = first.getJvm().threads;
+        JvmInfo.Threads secondThreads = second.getJvm().threads;
+        if (firstThreads.count == secondThreads.count && firstThreads.peakCount == secondThreads.peakCount) {
+            assertThat(secondThreads).isSameAs(firstThreads);
+        } else {
+            assertThat(secondThreads).isNotSameAs(firstThreads);
+        }
+        assertThat(second.getOs()).isNotSameAs(first.getOs());
+        assertThat(second.getJvm().timestamp).isGreaterThanOrEqualTo(first.getJvm().timestamp);
+    }
+
+    @Test
+    void should_parse_proc_load_averages() {
+        byte[] content = "0.52 10.08 1.5 2/1024 12345\n".getBytes();
+        double[] loadAverage = new double[3];
+
+        assertThat(ProcLoadAverageReader.parse(content, content.length, loadAverage)).isTrue();
+        assertThat(loadAverage).containsExactly(0.52, 10.08, 1.5);
+    }
+
+    @Test
+    void should_not_parse_malformed_proc_load_averages() {
+        byte[] content = "0.52 abc".getBytes();
+
+        assertThat(ProcLoadAverageReader.parse(content, content.length, new double[3])).isFalse();
+    }
+}
@@ -15,57 +15,56 @@
  */
 package io.gravitee.node.reporter.vertx.eventbus;
 
+import io.gravitee.node.vertx.eventbus.BufferInputStream;
+import io.gravitee.node.vertx.eventbus.BufferOutputStream;
 import io.gravitee.reporter.api.Reportable;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.MessageCodec;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import lombok.extern.slf4j.Slf4j;
 
 /**
+ * Event bus codec of the {@link Reportable}s sent to the reporters.
+ *
+ * <p>
+ * Reportables are defined by the products, so they are still encoded with Java serialization, but the serialization is streamed
+ * directly into the {@link Buffer} of the message instead of being copied through intermediate byte arrays. A message is still
+ * written as its length followed by the serialized reportable, so nodes of the previous versions can exchange reportables with
+ * this one.
+ * </p>
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
+@Slf4j
 public class ReportableMessageCodec implements MessageCodec<Reportable, Reportable> {
 
     public static final String CODEC_NAME = "reportable-codec";
 
     @Override
     public void encodeToWire(Buffer buffer, Reportable reportable) {
-        try {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(bos);
+        final int lengthPosition = buffer.length();
+        buffer.appendInt(0);
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferOutputStream(buffer))) {
             oos.writeObject(reportable);
-            oos.flush();
-
-            byte[] data = bos.toByteArray();
-            int length = data.length;
-
-            // Write data into given buffer
-            buffer.appendInt(length);
-            buffer.appendBytes(data);
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Error while trying to encode a reportable", ex);
         }
+        buffer.setInt(lengthPosition, buffer.length() - lengthPosition - Integer.BYTES);
     }
 
     @Override
     public Reportable decodeFromWire(int position, Buffer buffer) {
         try {
-            // My custom message starting from this *position* of buffer
-            int pos = position;
-
-            // Length of data
-            int length = buffer.getInt(pos);
-
-            byte[] data = buffer.getBytes(pos += 4, pos += length);
+            int length = buffer.getInt(position);
+            int start = position + Integer.BYTES;
 
-            ByteArrayInputStream in = new ByteArrayInputStream(data);
-            ObjectInputStream is = new ObjectInputStream(in);
-            return (Reportable) is.readObject();
+            try (ObjectInputStream is = new ObjectInputStream(new BufferInputStream(buffer, start, start + length))) {
+                return (Reportable) is.readObject();
+            }
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Error while trying to decode a reportable", ex);
         }
 
         return null;
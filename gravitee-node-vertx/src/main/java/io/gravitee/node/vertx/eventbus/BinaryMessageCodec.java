@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.vertx.eventbus;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Event bus codec encoding the messages sent to a clustered event bus with a binary
+ * {@link io.gravitee.node.api.cluster.messaging.MessageCodec}, directly into the {@link Buffer} of the message.
+ *
+ * <p>
+ * A message is written as its length followed by the bytes of the binary codec, which starts with its format version. Messages
+ * encoded with Java serialization by the previous versions of the codecs are still decoded, but the previous versions can't decode
+ * the binary messages: while nodes of a previous version receive them, the encoding can be disabled to keep sending the messages
+ * with Java serialization.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class BinaryMessageCodec<T> implements MessageCodec<T, T> {
+
+    private static final int JAVA_SERIALIZATION_MAGIC = ObjectStreamConstants.STREAM_MAGIC & 0xFFFF;
+
+    private final String name;
+    private final io.gravitee.node.api.cluster.messaging.MessageCodec<T> codec;
+    private final boolean encodingEnabled;
+
+    public BinaryMessageCodec(final String name, final io.gravitee.node.api.cluster.messaging.MessageCodec<T> codec) {
+        this(name, codec, true);
+    }
+
+    /**
+     * @param encodingEnabled <code>false</code> to send the messages with Java serialization, for the nodes which can't decode them.
+     */
+    public BinaryMessageCodec(
+        final String name,
+        final io.gravitee.node.api.cluster.messaging.MessageCodec<T> codec,
+        final boolean encodingEnabled
+    ) {
+        this.name = name;
+        this.codec = codec;
+        this.encodingEnabled = encodingEnabled;
+    }
+
+    @Override
+    public void encodeToWire(final Buffer buffer, final T message) {
+        final int lengthPosition = buffer.length();
+        buffer.appendInt(0);
+        try {
+            if (encodingEnabled) {
+                codec.encode(message, new DataOutputStream(new BufferOutputStream(buffer)));
+            } else {
+                try (ObjectOutputStream oos = new ObjectOutputStream(new BufferOutputStream(buffer))) {
+                    oos.writeObject(message);
+                }
+            }
+        } catch (final Exception ex) {
+            log.error("Error while trying to encode a message using codec {}", name, ex);
+        }
+        buffer.setInt(lengthPosition, buffer.length() - lengthPosition - Integer.BYTES);
+    }
+
+    @Override
+    public T decodeFromWire(final int position, final Buffer buffer) {
+        try {
+            final int length = buffer.getInt(position);
+            final int start = position + Integer.BYTES;
+            final BufferInputStream input = new BufferInputStream(buffer, start, start + length);
+            if (isJavaSerialization(buffer, start, length)) {
+                return codec.type().cast(new ObjectInputStream(input).readObject());
+            }
+            return codec.decode(new DataInputStream(input));
+        } catch (final Exception ex) {
+            log.error("Error while trying to decode a message using codec {}", name, ex);
+        }
+        return null;
+    }
+
+    @Override
+    public T transform(final T message) {
+        // If a message is sent *locally* across the event bus, just send message just as is.
+        return message;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+
+    static boolean isJavaSerialization(final Buffer buffer, final int start, final int length) {
+        return length >= 2 && buffer.getUnsignedShort(start) == JAVA_SERIALIZATION_MAGIC;
+    }
+}
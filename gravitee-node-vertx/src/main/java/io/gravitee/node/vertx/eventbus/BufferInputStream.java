@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.vertx.eventbus;
+
+import io.vertx.core.buffer.Buffer;
+import java.io.InputStream;
+
+/**
+ * {@link InputStream} reading a range of a Vert.x {@link Buffer} in place, without copying it first.
+ *
+ * @author GraviteeSource Team
+ */
+public class BufferInputStream extends InputStream {
+
+    private final Buffer buffer;
+    private final int end;
+    private int position;
+
+    /**
+     * @param buffer the buffer to read.
+     * @param start the position of the first byte to read.
+     * @param end the position following the last byte to read.
+     */
+    public BufferInputStream(final Buffer buffer, final int start, final int end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public int read() {
+        return position < end ? buffer.getByte(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= end) {
+            return -1;
+        }
+        int count = Math.min(len, end - position);
+        buffer.getBytes(position, position + count, b, off);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) {
+        long count = Math.max(0, Math.min(n, end - position));
+        position += (int) count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return end - position;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.vertx.eventbus;
+
+import io.vertx.core.buffer.Buffer;
+import java.io.OutputStream;
+
+/**
+ * {@link OutputStream} appending the bytes written directly to a Vert.x {@link Buffer}, without any intermediate copy.
+ *
+ * @author GraviteeSource Team
+ */
+public class BufferOutputStream extends OutputStream {
+
+    private final Buffer buffer;
+
+    public BufferOutputStream(final Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(final int b) {
+        buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        buffer.appendBytes(b, off, len);
+    }
+}
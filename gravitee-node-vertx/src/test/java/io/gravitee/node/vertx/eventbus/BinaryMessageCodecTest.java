@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.vertx.eventbus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import io.vertx.core.buffer.Buffer;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BinaryMessageCodecTest {
+
+    private final BinaryMessageCodec<String> cut = new BinaryMessageCodec<>("test", new StringCodec());
+
+    @Test
+    void should_encode_and_decode_message() {
+        Buffer buffer = Buffer.buffer();
+
+        cut.encodeToWire(buffer, "a message");
+
+        assertThat(buffer.length()).isEqualTo(Integer.BYTES + 1 + 2 + "a message".length());
+        assertThat(cut.decodeFromWire(0, buffer)).isEqualTo("a message");
+    }
+
+    @Test
+    void should_decode_message_at_position() {
+        Buffer buffer = Buffer.buffer().appendString("header");
+
+        cut.encodeToWire(buffer, "first");
+        int position = buffer.length();
+        cut.encodeToWire(buffer, "second");
+
+        assertThat(cut.decodeFromWire("header".length(), buffer)).isEqualTo("first");
+        assertThat(cut.decodeFromWire(position, buffer)).isEqualTo("second");
+    }
+
+    @Test
+    void should_decode_message_encoded_with_java_serialization() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject("a legacy message");
+        }
+        Buffer buffer = Buffer.buffer().appendInt(bos.size()).appendBytes(bos.toByteArray());
+
+        assertThat(cut.decodeFromWire(0, buffer)).isEqualTo("a legacy message");
+    }
+
+    @Test
+    void should_encode_message_with_java_serialization_when_encoding_is_disabled() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject("a legacy message");
+        }
+        Buffer buffer = Buffer.buffer();
+
+        new BinaryMessageCodec<>("test", new StringCodec(), false).encodeToWire(buffer, "a legacy message");
+
+        assertThat(buffer.getInt(0)).isEqualTo(bos.size());
+        assertThat(buffer.getBytes(Integer.BYTES, buffer.length())).isEqualTo(bos.toByteArray());
+        assertThat(cut.decodeFromWire(0, buffer)).isEqualTo("a legacy message");
+    }
+
+    @Test
+    void should_return_null_when_format_version_is_unknown() {
+        Buffer buffer = Buffer.buffer().appendInt(3).appendByte((byte) 9).appendBytes(new byte[] { 0, 0 });
+
+        assertThat(cut.decodeFromWire(0, buffer)).isNull();
+    }
+
+    @Test
+    void should_stream_bytes_of_buffer_range() throws IOException {
+        Buffer buffer = Buffer.buffer().appendBytes(new byte[] { 1, 2, 3, 4, 5 });
+        BufferInputStream input = new BufferInputStream(buffer, 1, 4);
+
+        byte[] read = new byte[5];
+        assertThat(input.read(read, 0, 5)).isEqualTo(3);
+        assertThat(List.of(read[0], read[1], read[2])).containsExactly((byte) 2, (byte) 3, (byte) 4);
+        assertThat(input.read()).isEqualTo(-1);
+    }
+
+    private static class StringCodec implements MessageCodec<String> {
+
+        @Override
+        public int id() {
+            return 1;
+        }
+
+        @Override
+        public Class<String> type() {
+            return String.class;
+        }
+
+        @Override
+        public void encode(final String message, final DataOutput output) throws IOException {
+            output.writeByte(1);
+            output.writeUTF(message);
+        }
+
+        @Override
+        public String decode(final DataInput input) throws IOException {
+            byte version = input.readByte();
+            if (version != 1) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            return input.readUTF();
+        }
+    }
+}